@@ -50,7 +50,7 @@ INSERT INTO `accounts` (`account_id`, `account_number`, `user_id`, `account_type
 --
 DELIMITER $$
 CREATE TRIGGER `after_account_balance_update` AFTER UPDATE ON `accounts` FOR EACH ROW BEGIN
-    IF OLD.balance != NEW.balance THEN
+    IF OLD.balance != NEW.balance AND @bankease_journaled IS NULL THEN
         INSERT INTO transactions (transaction_type, account_id, amount, description, status)
         VALUES (
             CASE 
@@ -45,6 +45,8 @@ CREATE TABLE IF NOT EXISTS accounts (
     creation_date TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     is_active BOOLEAN DEFAULT TRUE,
     is_frozen BOOLEAN DEFAULT FALSE,
+    maturity_date DATE NULL,
+    accrued_interest DECIMAL(15,2) DEFAULT 0.00,
     FOREIGN KEY (user_id) REFERENCES users(user_id) ON DELETE CASCADE,
     INDEX idx_account_number (account_number),
     INDEX idx_user_id (user_id),
@@ -69,6 +71,51 @@ CREATE TABLE IF NOT EXISTS transactions (
     INDEX idx_timestamp (timestamp)
 );
 
+-- Standing orders: recurring transfers executed by the standing order scheduler
+CREATE TABLE IF NOT EXISTS standing_orders (
+    order_id INT AUTO_INCREMENT PRIMARY KEY,
+    user_id INT NOT NULL,
+    from_account_number VARCHAR(20) NOT NULL,
+    to_account_number VARCHAR(20) NOT NULL,
+    amount DECIMAL(15,2) NOT NULL,
+    description VARCHAR(255),
+    frequency ENUM('DAILY', 'WEEKLY', 'MONTHLY') NOT NULL,
+    start_at TIMESTAMP NOT NULL,
+    next_run TIMESTAMP NOT NULL,
+    run_count INT NOT NULL DEFAULT 0,
+    is_active BOOLEAN DEFAULT TRUE,
+    failure_count INT NOT NULL DEFAULT 0,
+    last_run TIMESTAMP NULL,
+    last_status VARCHAR(255) NULL,
+    creation_date TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (user_id) REFERENCES users(user_id) ON DELETE CASCADE,
+    INDEX idx_user_id (user_id),
+    INDEX idx_active_next_run (is_active, next_run)
+);
+
+-- Interest accrual runs: one checkpoint row per run date
+CREATE TABLE IF NOT EXISTS interest_runs (
+    run_date DATE PRIMARY KEY,
+    last_account_id INT NOT NULL DEFAULT 0,
+    accounts_posted INT NOT NULL DEFAULT 0,
+    total_credited DECIMAL(15,2) NOT NULL DEFAULT 0.00,
+    total_accrued DECIMAL(15,2) NOT NULL DEFAULT 0.00,
+    status ENUM('RUNNING', 'COMPLETED') DEFAULT 'RUNNING',
+    started_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    completed_at TIMESTAMP NULL
+);
+
+-- Interest postings: at most one per account and run date
+CREATE TABLE IF NOT EXISTS interest_postings (
+    account_id INT NOT NULL,
+    run_date DATE NOT NULL,
+    credit_amount DECIMAL(15,2) NOT NULL,
+    accrued_amount DECIMAL(15,2) NOT NULL,
+    PRIMARY KEY (account_id, run_date),
+    FOREIGN KEY (account_id) REFERENCES accounts(account_id) ON DELETE CASCADE,
+    INDEX idx_run_date (run_date)
+);
+
 -- Insert default admin user
 INSERT INTO admins (username, password, full_name, email, role) 
 VALUES ('admin', 'admin123', 'System Administrator', 'admin@bankease.com', 'SUPER_ADMIN')
@@ -170,9 +217,11 @@ BEGIN
         SIGNAL SQLSTATE '45000' SET MESSAGE_TEXT = 'Insufficient funds';
     END IF;
     
-    -- Update balances
+    -- Update balances; the transfer rows below journal them
+    SET @bankease_journaled = 1;
     UPDATE accounts SET balance = balance - p_amount WHERE account_id = p_from_account_id;
     UPDATE accounts SET balance = balance + p_amount WHERE account_id = p_to_account_id;
+    SET @bankease_journaled = NULL;
     
     -- Create transfer out transaction
     INSERT INTO transactions (transaction_type, account_id, from_account_number, to_account_number, amount, description, status)
@@ -190,12 +239,14 @@ END //
 DELIMITER ;
 
 -- Create trigger to log account balance changes
+-- The application writes its own journal rows in the same transaction as the balance
+-- update and sets @bankease_journaled on that session, so those changes are not logged twice
 DELIMITER //
 CREATE TRIGGER after_account_balance_update
 AFTER UPDATE ON accounts
 FOR EACH ROW
 BEGIN
-    IF OLD.balance != NEW.balance THEN
+    IF OLD.balance != NEW.balance AND @bankease_journaled IS NULL THEN
         INSERT INTO transactions (transaction_type, account_id, amount, description, status)
         VALUES (
             CASE 
@@ -0,0 +1,151 @@
+-- BankEase Database Upgrade
+-- Brings a database created from an earlier schema.sql or bankease.sql up to the current schema.
+-- Every step checks what already exists, so the script can be run more than once.
+
+USE bankease;
+
+-- Add the fixed deposit and interest columns to accounts
+DROP PROCEDURE IF EXISTS bankease_add_column;
+
+DELIMITER //
+CREATE PROCEDURE bankease_add_column(
+    IN p_table VARCHAR(64),
+    IN p_column VARCHAR(64),
+    IN p_definition VARCHAR(255)
+)
+BEGIN
+    IF NOT EXISTS (
+        SELECT 1 FROM information_schema.columns
+        WHERE table_schema = DATABASE() AND table_name = p_table AND column_name = p_column
+    ) THEN
+        SET @bankease_ddl = CONCAT('ALTER TABLE ', p_table, ' ADD COLUMN ', p_column, ' ', p_definition);
+        PREPARE bankease_stmt FROM @bankease_ddl;
+        EXECUTE bankease_stmt;
+        DEALLOCATE PREPARE bankease_stmt;
+    END IF;
+END //
+DELIMITER ;
+
+CALL bankease_add_column('accounts', 'maturity_date', 'DATE NULL');
+CALL bankease_add_column('accounts', 'accrued_interest', 'DECIMAL(15,2) DEFAULT 0.00');
+DROP PROCEDURE bankease_add_column;
+
+-- Standing orders: recurring transfers executed by the standing order scheduler
+CREATE TABLE IF NOT EXISTS standing_orders (
+    order_id INT AUTO_INCREMENT PRIMARY KEY,
+    user_id INT NOT NULL,
+    from_account_number VARCHAR(20) NOT NULL,
+    to_account_number VARCHAR(20) NOT NULL,
+    amount DECIMAL(15,2) NOT NULL,
+    description VARCHAR(255),
+    frequency ENUM('DAILY', 'WEEKLY', 'MONTHLY') NOT NULL,
+    start_at TIMESTAMP NOT NULL,
+    next_run TIMESTAMP NOT NULL,
+    run_count INT NOT NULL DEFAULT 0,
+    is_active BOOLEAN DEFAULT TRUE,
+    failure_count INT NOT NULL DEFAULT 0,
+    last_run TIMESTAMP NULL,
+    last_status VARCHAR(255) NULL,
+    creation_date TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (user_id) REFERENCES users(user_id) ON DELETE CASCADE,
+    INDEX idx_user_id (user_id),
+    INDEX idx_active_next_run (is_active, next_run)
+);
+
+-- Interest accrual runs: one checkpoint row per run date
+CREATE TABLE IF NOT EXISTS interest_runs (
+    run_date DATE PRIMARY KEY,
+    last_account_id INT NOT NULL DEFAULT 0,
+    accounts_posted INT NOT NULL DEFAULT 0,
+    total_credited DECIMAL(15,2) NOT NULL DEFAULT 0.00,
+    total_accrued DECIMAL(15,2) NOT NULL DEFAULT 0.00,
+    status ENUM('RUNNING', 'COMPLETED') DEFAULT 'RUNNING',
+    started_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    completed_at TIMESTAMP NULL
+);
+
+-- Interest postings: at most one per account and run date
+CREATE TABLE IF NOT EXISTS interest_postings (
+    account_id INT NOT NULL,
+    run_date DATE NOT NULL,
+    credit_amount DECIMAL(15,2) NOT NULL,
+    accrued_amount DECIMAL(15,2) NOT NULL,
+    PRIMARY KEY (account_id, run_date),
+    FOREIGN KEY (account_id) REFERENCES accounts(account_id) ON DELETE CASCADE,
+    INDEX idx_run_date (run_date)
+);
+
+-- Re-create the transfer procedure so it marks its balance updates as journaled
+DROP PROCEDURE IF EXISTS TransferBetweenAccounts;
+DELIMITER //
+CREATE PROCEDURE TransferBetweenAccounts(
+    IN p_from_account_id INT,
+    IN p_to_account_id INT,
+    IN p_amount DECIMAL(15,2),
+    IN p_description TEXT
+)
+BEGIN
+    DECLARE from_balance DECIMAL(15,2);
+    DECLARE to_balance DECIMAL(15,2);
+    DECLARE from_account_number VARCHAR(20);
+    DECLARE to_account_number VARCHAR(20);
+    DECLARE transfer_id INT;
+    
+    -- Start transaction
+    START TRANSACTION;
+    
+    -- Get account details
+    SELECT balance, account_number INTO from_balance, from_account_number
+    FROM accounts WHERE account_id = p_from_account_id;
+    
+    SELECT balance, account_number INTO to_balance, to_account_number
+    FROM accounts WHERE account_id = p_to_account_id;
+    
+    -- Check if sufficient funds
+    IF from_balance < p_amount THEN
+        SIGNAL SQLSTATE '45000' SET MESSAGE_TEXT = 'Insufficient funds';
+    END IF;
+    
+    -- Update balances; the transfer rows below journal them
+    SET @bankease_journaled = 1;
+    UPDATE accounts SET balance = balance - p_amount WHERE account_id = p_from_account_id;
+    UPDATE accounts SET balance = balance + p_amount WHERE account_id = p_to_account_id;
+    SET @bankease_journaled = NULL;
+    
+    -- Create transfer out transaction
+    INSERT INTO transactions (transaction_type, account_id, from_account_number, to_account_number, amount, description, status)
+    VALUES ('TRANSFER_OUT', p_from_account_id, from_account_number, to_account_number, p_amount, p_description, 'COMPLETED');
+    
+    -- Create transfer in transaction
+    INSERT INTO transactions (transaction_type, account_id, from_account_number, to_account_number, amount, description, status)
+    VALUES ('TRANSFER_IN', p_to_account_id, from_account_number, to_account_number, p_amount, p_description, 'COMPLETED');
+    
+    -- Commit transaction
+    COMMIT;
+    
+    SELECT 'Transfer completed successfully' as result;
+END //
+DELIMITER ;
+
+-- Re-create the balance trigger so it skips changes the application journals itself
+DROP TRIGGER IF EXISTS after_account_balance_update;
+DELIMITER //
+CREATE TRIGGER after_account_balance_update
+AFTER UPDATE ON accounts
+FOR EACH ROW
+BEGIN
+    IF OLD.balance != NEW.balance AND @bankease_journaled IS NULL THEN
+        INSERT INTO transactions (transaction_type, account_id, amount, description, status)
+        VALUES (
+            CASE 
+                WHEN NEW.balance > OLD.balance THEN 'DEPOSIT'
+                ELSE 'WITHDRAWAL'
+            END,
+            NEW.account_id,
+            ABS(NEW.balance - OLD.balance),
+            CONCAT('Balance update: ', OLD.balance, ' -> ', NEW.balance),
+            'COMPLETED'
+        );
+    END IF;
+END //
+DELIMITER ;
@@ -0,0 +1,33 @@
+package com.bankease.bench;
+
+import com.bankease.utils.DatabaseConfig;
+
+import java.sql.SQLException;
+
+/**
+ * In-memory H2 database in MySQL mode for benchmarks that go through the DAOs.
+ * <p>
+ * Must be started before the rules engine is first used in the benchmark JVM, so the
+ * relaxed velocity rule below takes effect.
+ */
+public final class EmbeddedDatabase {
+    private static boolean started;
+
+    private EmbeddedDatabase() {
+    }
+
+    /**
+     * Create the database and load the schema, once per JVM
+     * @throws SQLException if the schema cannot be loaded
+     */
+    public static synchronized void start() throws SQLException {
+        if (started) {
+            return;
+        }
+        // Benchmarks hit the same accounts far more often than the velocity rules allow
+        System.setProperty("rules.velocity.1", "ACCOUNT 1m COUNT 1000000000 FLAG");
+        
+        DatabaseConfig.useEmbeddedDatabase("bankease");
+        started = true;
+    }
+}
@@ -0,0 +1,96 @@
+package com.bankease.dao;
+
+import com.bankease.model.BankAccount;
+import com.bankease.model.Transaction;
+import org.h2.tools.SimpleResultSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+
+/**
+ * JMH benchmark of the DAO row mappers over an in-memory ResultSet, so that only the mapping
+ * (column lookups, conversions and object creation) is measured, not the driver or network
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(java.util.concurrent.TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class RowMappingBenchmark {
+    private static final String[] TYPES = {"DEPOSIT", "WITHDRAWAL", "TRANSFER_IN", "TRANSFER_OUT"};
+
+    @Param("1000")
+    private int rows;
+
+    private final TransactionDAO transactionDAO = new TransactionDAO();
+    private final BankAccountDAO accountDAO = new BankAccountDAO();
+    private SimpleResultSet transactionRows;
+    private SimpleResultSet accountRows;
+
+    @Setup
+    public void setUp() {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        
+        transactionRows = new SimpleResultSet();
+        transactionRows.setAutoClose(false);
+        transactionRows.addColumn("transaction_id", Types.INTEGER, 10, 0);
+        transactionRows.addColumn("transaction_type", Types.VARCHAR, 20, 0);
+        transactionRows.addColumn("account_id", Types.INTEGER, 10, 0);
+        transactionRows.addColumn("from_account_number", Types.VARCHAR, 20, 0);
+        transactionRows.addColumn("to_account_number", Types.VARCHAR, 20, 0);
+        transactionRows.addColumn("amount", Types.DECIMAL, 15, 2);
+        transactionRows.addColumn("description", Types.VARCHAR, 255, 0);
+        transactionRows.addColumn("timestamp", Types.TIMESTAMP, 0, 0);
+        transactionRows.addColumn("status", Types.VARCHAR, 20, 0);
+        for (int i = 0; i < rows; i++) {
+            transactionRows.addRow(i, TYPES[i % TYPES.length], i % 100, "ACC0000000000001", "ACC0000000000002",
+                                   new BigDecimal("125.50"), "Row " + i, now, "COMPLETED");
+        }
+        
+        accountRows = new SimpleResultSet();
+        accountRows.setAutoClose(false);
+        accountRows.addColumn("account_id", Types.INTEGER, 10, 0);
+        accountRows.addColumn("account_number", Types.VARCHAR, 20, 0);
+        accountRows.addColumn("user_id", Types.INTEGER, 10, 0);
+        accountRows.addColumn("account_type", Types.VARCHAR, 20, 0);
+        accountRows.addColumn("balance", Types.DECIMAL, 15, 2);
+        accountRows.addColumn("creation_date", Types.TIMESTAMP, 0, 0);
+        accountRows.addColumn("is_active", Types.BOOLEAN, 1, 0);
+        accountRows.addColumn("is_frozen", Types.BOOLEAN, 1, 0);
+        for (int i = 0; i < rows; i++) {
+            accountRows.addRow(i, String.format("ACC%013d", i), i % 100, "SAVINGS", new BigDecimal("1000.00"),
+                               now, true, false);
+        }
+    }
+
+    @Benchmark
+    public void mapTransactions(Blackhole blackhole) throws SQLException {
+        transactionRows.beforeFirst();
+        while (transactionRows.next()) {
+            Transaction transaction = transactionDAO.mapResultSetToTransaction(transactionRows);
+            blackhole.consume(transaction);
+        }
+    }
+
+    @Benchmark
+    public void mapAccounts(Blackhole blackhole) throws SQLException {
+        accountRows.beforeFirst();
+        while (accountRows.next()) {
+            BankAccount account = accountDAO.mapResultSetToAccount(accountRows);
+            blackhole.consume(account);
+        }
+    }
+}
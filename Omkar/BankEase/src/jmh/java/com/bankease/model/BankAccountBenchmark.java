@@ -0,0 +1,58 @@
+package com.bankease.model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of the BankAccount aggregate methods over large transaction lists
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class BankAccountBenchmark {
+    @Param({"1000", "100000"})
+    private int transactions;
+
+    private BankAccount account;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        TransactionType[] types = TransactionType.values();
+        account = new BankAccount("ACC0000000000001", 1, AccountType.SAVINGS, 0);
+        for (int i = 0; i < transactions; i++) {
+            account.addTransaction(new Transaction(types[random.nextInt(types.length)], 1,
+                                                   1 + random.nextInt(100_000) / 100.0, "Row " + i));
+        }
+    }
+
+    @Benchmark
+    public double totalDeposits() {
+        return account.getTotalDeposits();
+    }
+
+    @Benchmark
+    public double allTotals() {
+        return account.getTotalDeposits() + account.getTotalWithdrawals()
+                + account.getTotalTransfersIn() + account.getTotalTransfersOut();
+    }
+
+    @Benchmark
+    public List<Transaction> transactionsByType() {
+        return account.getTransactionsByType("DEPOSIT");
+    }
+}
@@ -0,0 +1,90 @@
+package com.bankease.service;
+
+import com.bankease.bench.EmbeddedDatabase;
+import com.bankease.model.Transaction;
+import com.bankease.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of the BankingService money movement paths against an embedded database,
+ * and of account number generation
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class BankingServiceBenchmark {
+    @Param("64")
+    private int accounts;
+
+    private BankingService bankingService;
+    private String[] accountNumbers;
+
+    @Setup
+    public void setUp() throws Exception {
+        EmbeddedDatabase.start();
+        bankingService = new BankingService();
+        User user = bankingService.registerUser("bench" + System.nanoTime(), "bench", 
+                                                "bench" + System.nanoTime() + "@bankease.test", "Bench User", "");
+        accountNumbers = new String[accounts];
+        for (int i = 0; i < accounts; i++) {
+            accountNumbers[i] = createAccount(user.getUserId());
+        }
+    }
+
+    private String createAccount(int userId) throws SQLException {
+        // Account numbers are time based and can collide when opened back to back
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return bankingService.createAccount(userId, "SAVINGS", 1_000_000_000).getAccountNumber();
+            } catch (SQLException e) {
+                if (attempt == 3) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public Transaction deposit() throws Exception {
+        return bankingService.deposit(randomAccount(), 1.00, "Benchmark deposit");
+    }
+
+    @Benchmark
+    public Transaction withdraw() throws Exception {
+        return bankingService.withdraw(randomAccount(), 1.00, "Benchmark withdrawal");
+    }
+
+    @Benchmark
+    public List<Transaction> transfer() throws Exception {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int from = random.nextInt(accounts);
+        int to = (from + 1 + random.nextInt(accounts - 1)) % accounts;
+        return bankingService.transfer(accountNumbers[from], accountNumbers[to], 1.00, "Benchmark transfer");
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public String generateAccountNumber() {
+        return bankingService.generateAccountNumber();
+    }
+
+    private String randomAccount() {
+        return accountNumbers[ThreadLocalRandom.current().nextInt(accounts)];
+    }
+}
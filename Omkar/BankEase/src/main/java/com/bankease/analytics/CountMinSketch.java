@@ -0,0 +1,118 @@
+package com.bankease.analytics;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Count-Min sketch over long keys.
+ * Estimates never under-count; with width w and depth d the over-count is at most
+ * e/w of the total added weight with probability 1 - e^-d.
+ * Not thread-safe; callers synchronize.
+ */
+public class CountMinSketch {
+    private final int depth;
+    private final int width;
+    private final int mask;
+    private final long[] table;
+    private long totalWeight;
+
+    /**
+     * @param depth number of hash rows
+     * @param width counters per row, rounded up to a power of two
+     */
+    public CountMinSketch(int depth, int width) {
+        if (depth < 1 || width < 1) {
+            throw new IllegalArgumentException("Depth and width must be positive");
+        }
+        this.depth = depth;
+        this.width = width == 1 ? 1 : Integer.highestOneBit(width - 1) << 1;
+        this.mask = this.width - 1;
+        this.table = new long[depth * this.width];
+    }
+
+    /**
+     * Add weight to a key
+     * @param key key
+     * @param weight non-negative weight
+     */
+    public void add(long key, long weight) {
+        long hash = Hashing.mix64(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int row = 0; row < depth; row++) {
+            table[row * width + ((h1 + row * h2) & mask)] += weight;
+        }
+        totalWeight += weight;
+    }
+
+    /**
+     * Estimate the total weight added for a key
+     * @param key key
+     * @return upper-bound estimate
+     */
+    public long estimate(long key) {
+        long hash = Hashing.mix64(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            min = Math.min(min, table[row * width + ((h1 + row * h2) & mask)]);
+        }
+        return min;
+    }
+
+    /**
+     * Add all counts of another sketch with the same dimensions
+     * @param other sketch to merge
+     */
+    public void merge(CountMinSketch other) {
+        if (other.depth != depth || other.width != width) {
+            throw new IllegalArgumentException("Cannot merge sketches of different dimensions");
+        }
+        for (int i = 0; i < table.length; i++) {
+            table[i] += other.table[i];
+        }
+        totalWeight += other.totalWeight;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public long getTotalWeight() {
+        return totalWeight;
+    }
+
+    /**
+     * Maximum expected over-count of an estimate
+     * @return error bound (e / width * total weight)
+     */
+    public long getErrorBound() {
+        return (long) Math.ceil(Math.E / width * totalWeight);
+    }
+
+    public void writeTo(DataOutputStream out) throws IOException {
+        out.writeInt(depth);
+        out.writeInt(width);
+        out.writeLong(totalWeight);
+        for (long counter : table) {
+            out.writeLong(counter);
+        }
+    }
+
+    public static CountMinSketch readFrom(DataInputStream in) throws IOException {
+        int depth = in.readInt();
+        int width = in.readInt();
+        CountMinSketch sketch = new CountMinSketch(depth, width);
+        sketch.totalWeight = in.readLong();
+        for (int i = 0; i < sketch.table.length; i++) {
+            sketch.table[i] = in.readLong();
+        }
+        return sketch;
+    }
+}
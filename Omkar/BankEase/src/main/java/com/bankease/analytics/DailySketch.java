@@ -0,0 +1,114 @@
+package com.bankease.analytics;
+
+import com.bankease.model.AccountType;
+import com.bankease.model.TransactionType;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Sketches for one day of committed transactions: heavy hitters by outgoing transfer
+ * volume, the distinct set of accounts that transacted, and a quantile digest of
+ * transaction amounts per account type.
+ * Thread-safe; every access holds the bucket's monitor.
+ */
+public class DailySketch {
+    private static final int ACCOUNT_TYPE_COUNT = AccountType.values().length;
+
+    private final TopKTracker transferVolume;
+    private final HyperLogLog activeAccounts;
+    private final TDigest[] amounts;
+
+    public DailySketch(int topK, int depth, int width, int precision, double compression) {
+        this(new TopKTracker(topK, depth, width), new HyperLogLog(precision), newDigests(compression));
+    }
+
+    private DailySketch(TopKTracker transferVolume, HyperLogLog activeAccounts, TDigest[] amounts) {
+        this.transferVolume = transferVolume;
+        this.activeAccounts = activeAccounts;
+        this.amounts = amounts;
+    }
+
+    private static TDigest[] newDigests(double compression) {
+        TDigest[] digests = new TDigest[ACCOUNT_TYPE_COUNT];
+        for (int i = 0; i < digests.length; i++) {
+            digests[i] = new TDigest(compression);
+        }
+        return digests;
+    }
+
+    /**
+     * Record a committed transaction.
+     * The incoming leg of a transfer only marks the account active; its amount is
+     * already counted on the outgoing leg.
+     * @param accountId account ID
+     * @param accountType type of the account, or null if unknown
+     * @param type transaction type
+     * @param amountCents amount in cents
+     */
+    public synchronized void record(int accountId, AccountType accountType, TransactionType type, long amountCents) {
+        activeAccounts.add(accountId);
+        if (type == TransactionType.TRANSFER_OUT) {
+            transferVolume.add(accountId, amountCents);
+        }
+        if (accountType != null && type != TransactionType.TRANSFER_IN) {
+            amounts[accountType.getCode()].add(amountCents);
+        }
+    }
+
+    /**
+     * Merge this bucket into the given accumulators
+     * @param transfers heavy-hitter accumulator, or null to skip
+     * @param accounts distinct-account accumulator, or null to skip
+     */
+    public synchronized void mergeInto(TopKTracker transfers, HyperLogLog accounts) {
+        if (transfers != null) {
+            transfers.merge(transferVolume);
+        }
+        if (accounts != null) {
+            accounts.merge(activeAccounts);
+        }
+    }
+
+    /**
+     * Merge this bucket's amount digest for one account type into an accumulator
+     * @param accountType account type
+     * @param digest accumulator
+     */
+    public synchronized void mergeAmountsInto(AccountType accountType, TDigest digest) {
+        digest.merge(amounts[accountType.getCode()]);
+    }
+
+    /**
+     * Check whether this bucket was built with the given dimensions and can be merged
+     * with buckets built from them
+     * @return true if all dimensions match
+     */
+    public boolean matches(int topK, int depth, int width, int precision, double compression) {
+        CountMinSketch sketch = transferVolume.getSketch();
+        return transferVolume.getK() == topK
+                && sketch.getDepth() == depth
+                && sketch.getWidth() == width
+                && activeAccounts.getPrecision() == precision
+                && amounts[0].getCompression() == compression;
+    }
+
+    public synchronized void writeTo(DataOutputStream out) throws IOException {
+        transferVolume.writeTo(out);
+        activeAccounts.writeTo(out);
+        for (TDigest digest : amounts) {
+            digest.writeTo(out);
+        }
+    }
+
+    public static DailySketch readFrom(DataInputStream in) throws IOException {
+        TopKTracker transfers = TopKTracker.readFrom(in);
+        HyperLogLog accounts = HyperLogLog.readFrom(in);
+        TDigest[] amounts = new TDigest[ACCOUNT_TYPE_COUNT];
+        for (int i = 0; i < amounts.length; i++) {
+            amounts[i] = TDigest.readFrom(in);
+        }
+        return new DailySketch(transfers, accounts, amounts);
+    }
+}
@@ -0,0 +1,22 @@
+package com.bankease.analytics;
+
+/**
+ * 64-bit mixing functions shared by the sketches
+ */
+final class Hashing {
+
+    private Hashing() {
+    }
+
+    /**
+     * SplitMix64 finalizer: a fast, well-distributed 64-bit mix
+     * @param value input
+     * @return mixed value
+     */
+    static long mix64(long value) {
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,246 @@
+package com.bankease.analytics;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Merging t-digest for streaming quantile estimates.
+ * Values are buffered and periodically merged into at most about compression / 2
+ * weighted centroids. Centroids are kept small near the tails, so extreme quantiles
+ * such as p99 stay accurate. Digests with the same compression can be merged.
+ * Not thread-safe; callers synchronize.
+ */
+public class TDigest {
+    private final double compression;
+    private final double[] means;
+    private final double[] weights;
+    private final double[] bufferValues;
+    private final double[] bufferWeights;
+    private int centroids;
+    private int buffered;
+    private double totalWeight;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    /**
+     * @param compression accuracy/size trade-off; 100 gives roughly 0.1% error at p99
+     */
+    public TDigest(double compression) {
+        if (compression < 10) {
+            throw new IllegalArgumentException("Compression must be at least 10");
+        }
+        this.compression = compression;
+        int capacity = (int) Math.ceil(compression) + 10;
+        this.means = new double[capacity];
+        this.weights = new double[capacity];
+        this.bufferValues = new double[capacity * 5];
+        this.bufferWeights = new double[capacity * 5];
+    }
+
+    /**
+     * Add a value
+     * @param value value
+     */
+    public void add(double value) {
+        add(value, 1);
+    }
+
+    private void add(double value, double weight) {
+        if (buffered == bufferValues.length) {
+            compress();
+        }
+        bufferValues[buffered] = value;
+        bufferWeights[buffered] = weight;
+        buffered++;
+        totalWeight += weight;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    /**
+     * Add all values of another digest with the same compression
+     * @param other digest to merge
+     */
+    public void merge(TDigest other) {
+        if (other.compression != compression) {
+            throw new IllegalArgumentException("Cannot merge digests of different compression");
+        }
+        other.compress();
+        for (int i = 0; i < other.centroids; i++) {
+            add(other.means[i], other.weights[i]);
+        }
+        if (other.centroids > 0) {
+            min = Math.min(min, other.min);
+            max = Math.max(max, other.max);
+        }
+    }
+
+    /**
+     * Estimate a quantile
+     * @param q quantile between 0 and 1
+     * @return estimated value, or NaN if the digest is empty
+     */
+    public double quantile(double q) {
+        if (q < 0 || q > 1) {
+            throw new IllegalArgumentException("Quantile must be between 0 and 1");
+        }
+        compress();
+        if (centroids == 0) {
+            return Double.NaN;
+        }
+        if (centroids == 1) {
+            return means[0];
+        }
+        double index = q * totalWeight;
+        if (index <= weights[0] / 2) {
+            return min + (means[0] - min) * index / (weights[0] / 2);
+        }
+        double cumulative = weights[0] / 2;
+        for (int i = 0; i < centroids - 1; i++) {
+            double gap = (weights[i] + weights[i + 1]) / 2;
+            if (index <= cumulative + gap) {
+                return means[i] + (means[i + 1] - means[i]) * (index - cumulative) / gap;
+            }
+            cumulative += gap;
+        }
+        double tail = totalWeight - cumulative;
+        return tail <= 0 ? max : means[centroids - 1] + (max - means[centroids - 1]) * (index - cumulative) / tail;
+    }
+
+    /**
+     * Number of values added
+     * @return total weight
+     */
+    public long getCount() {
+        return Math.round(totalWeight);
+    }
+
+    public double getMin() {
+        return totalWeight == 0 ? Double.NaN : min;
+    }
+
+    public double getMax() {
+        return totalWeight == 0 ? Double.NaN : max;
+    }
+
+    public double getCompression() {
+        return compression;
+    }
+
+    /**
+     * Merge the buffered values into the centroids
+     */
+    private void compress() {
+        if (buffered == 0) {
+            return;
+        }
+        int n = centroids + buffered;
+        double[] values = new double[n];
+        double[] valueWeights = new double[n];
+        System.arraycopy(means, 0, values, 0, centroids);
+        System.arraycopy(weights, 0, valueWeights, 0, centroids);
+        System.arraycopy(bufferValues, 0, values, centroids, buffered);
+        System.arraycopy(bufferWeights, 0, valueWeights, centroids, buffered);
+        sort(values, valueWeights, 0, n - 1);
+
+        // Greedily merge neighbours while the centroid stays within one unit of the k1 scale
+        double seen = 0;
+        double limit = totalWeight * quantileForScale(scaleForQuantile(0) + 1);
+        int out = 0;
+        double mean = values[0];
+        double weight = valueWeights[0];
+        for (int i = 1; i < n; i++) {
+            if (seen + weight + valueWeights[i] <= limit) {
+                weight += valueWeights[i];
+                mean += (values[i] - mean) * valueWeights[i] / weight;
+            } else {
+                means[out] = mean;
+                weights[out] = weight;
+                out++;
+                seen += weight;
+                limit = totalWeight * quantileForScale(scaleForQuantile(seen / totalWeight) + 1);
+                mean = values[i];
+                weight = valueWeights[i];
+            }
+        }
+        means[out] = mean;
+        weights[out] = weight;
+        centroids = out + 1;
+        buffered = 0;
+    }
+
+    private double scaleForQuantile(double q) {
+        return compression / (2 * Math.PI) * Math.asin(2 * Math.min(1, q) - 1);
+    }
+
+    private double quantileForScale(double k) {
+        double angle = Math.min(Math.PI / 2, k * 2 * Math.PI / compression);
+        return (Math.sin(angle) + 1) / 2;
+    }
+
+    private static void sort(double[] values, double[] valueWeights, int low, int high) {
+        while (low < high) {
+            double pivot = values[(low + high) >>> 1];
+            int i = low;
+            int j = high;
+            while (i <= j) {
+                while (values[i] < pivot) {
+                    i++;
+                }
+                while (values[j] > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    double value = values[i];
+                    values[i] = values[j];
+                    values[j] = value;
+                    double weight = valueWeights[i];
+                    valueWeights[i] = valueWeights[j];
+                    valueWeights[j] = weight;
+                    i++;
+                    j--;
+                }
+            }
+            // Recurse into the smaller half to bound the stack depth
+            if (j - low < high - i) {
+                sort(values, valueWeights, low, j);
+                low = i;
+            } else {
+                sort(values, valueWeights, i, high);
+                high = j;
+            }
+        }
+    }
+
+    public void writeTo(DataOutputStream out) throws IOException {
+        compress();
+        out.writeDouble(compression);
+        out.writeDouble(min);
+        out.writeDouble(max);
+        out.writeInt(centroids);
+        for (int i = 0; i < centroids; i++) {
+            out.writeDouble(means[i]);
+            out.writeDouble(weights[i]);
+        }
+    }
+
+    public static TDigest readFrom(DataInputStream in) throws IOException {
+        TDigest digest = new TDigest(in.readDouble());
+        double min = in.readDouble();
+        double max = in.readDouble();
+        int count = in.readInt();
+        if (count > digest.means.length) {
+            throw new IOException("Corrupt digest: " + count + " centroids");
+        }
+        for (int i = 0; i < count; i++) {
+            digest.means[i] = in.readDouble();
+            digest.weights[i] = in.readDouble();
+            digest.totalWeight += digest.weights[i];
+        }
+        digest.centroids = count;
+        digest.min = min;
+        digest.max = max;
+        return digest;
+    }
+}
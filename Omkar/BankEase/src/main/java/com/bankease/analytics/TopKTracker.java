@@ -0,0 +1,177 @@
+package com.bankease.analytics;
+
+import com.bankease.model.AccountVolume;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Heavy-hitter tracker: a Count-Min sketch for weights plus a min-heap holding the
+ * k keys with the highest estimated weight seen so far.
+ * Not thread-safe; callers synchronize.
+ */
+public class TopKTracker {
+    private final int k;
+    private final CountMinSketch sketch;
+    private final long[] heapKeys;
+    private final long[] heapWeights;
+    private final Map<Long, Integer> positions;
+    private int size;
+
+    /**
+     * @param k number of heavy hitters to track
+     * @param depth Count-Min depth
+     * @param width Count-Min width
+     */
+    public TopKTracker(int k, int depth, int width) {
+        this(k, new CountMinSketch(depth, width));
+    }
+
+    private TopKTracker(int k, CountMinSketch sketch) {
+        if (k < 1) {
+            throw new IllegalArgumentException("k must be positive");
+        }
+        this.k = k;
+        this.sketch = sketch;
+        this.heapKeys = new long[k];
+        this.heapWeights = new long[k];
+        this.positions = new HashMap<>(k * 2);
+    }
+
+    /**
+     * Add weight to a key
+     * @param key key
+     * @param weight non-negative weight
+     */
+    public void add(long key, long weight) {
+        sketch.add(key, weight);
+        offer(key, sketch.estimate(key));
+    }
+
+    private void offer(long key, long estimate) {
+        Integer position = positions.get(key);
+        if (position != null) {
+            heapWeights[position] = estimate;
+            siftDown(position);
+        } else if (size < k) {
+            heapKeys[size] = key;
+            heapWeights[size] = estimate;
+            positions.put(key, size);
+            siftUp(size++);
+        } else if (estimate > heapWeights[0]) {
+            positions.remove(heapKeys[0]);
+            heapKeys[0] = key;
+            heapWeights[0] = estimate;
+            positions.put(key, 0);
+            siftDown(0);
+        }
+    }
+
+    /**
+     * Merge another tracker with the same k and sketch dimensions
+     * @param other tracker to merge
+     */
+    public void merge(TopKTracker other) {
+        sketch.merge(other.sketch);
+        List<Long> candidates = new ArrayList<>(size + other.size);
+        for (int i = 0; i < size; i++) {
+            candidates.add(heapKeys[i]);
+        }
+        for (int i = 0; i < other.size; i++) {
+            candidates.add(other.heapKeys[i]);
+        }
+        positions.clear();
+        size = 0;
+        for (long key : candidates) {
+            offer(key, sketch.estimate(key));
+        }
+    }
+
+    /**
+     * Current heavy hitters
+     * @return keys with their estimated weight, highest first
+     */
+    public List<AccountVolume> getTop() {
+        List<AccountVolume> top = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            top.add(new AccountVolume((int) heapKeys[i], heapWeights[i]));
+        }
+        top.sort((a, b) -> Long.compare(b.getVolumeCents(), a.getVolumeCents()));
+        return top;
+    }
+
+    public int getK() {
+        return k;
+    }
+
+    public CountMinSketch getSketch() {
+        return sketch;
+    }
+
+    public void writeTo(DataOutputStream out) throws IOException {
+        out.writeInt(k);
+        sketch.writeTo(out);
+        out.writeInt(size);
+        for (int i = 0; i < size; i++) {
+            out.writeLong(heapKeys[i]);
+        }
+    }
+
+    public static TopKTracker readFrom(DataInputStream in) throws IOException {
+        int k = in.readInt();
+        TopKTracker tracker = new TopKTracker(k, CountMinSketch.readFrom(in));
+        int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            long key = in.readLong();
+            tracker.offer(key, tracker.sketch.estimate(key));
+        }
+        return tracker;
+    }
+
+    // Min-heap maintenance
+    private void siftUp(int index) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (heapWeights[parent] <= heapWeights[index]) {
+                break;
+            }
+            swap(index, parent);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int index) {
+        while (true) {
+            int left = 2 * index + 1;
+            if (left >= size) {
+                return;
+            }
+            int smallest = left;
+            int right = left + 1;
+            if (right < size && heapWeights[right] < heapWeights[left]) {
+                smallest = right;
+            }
+            if (heapWeights[index] <= heapWeights[smallest]) {
+                return;
+            }
+            swap(index, smallest);
+            index = smallest;
+        }
+    }
+
+    private void swap(int a, int b) {
+        long key = heapKeys[a];
+        long weight = heapWeights[a];
+        heapKeys[a] = heapKeys[b];
+        heapWeights[a] = heapWeights[b];
+        heapKeys[b] = key;
+        heapWeights[b] = weight;
+        positions.put(heapKeys[a], a);
+        positions.put(heapKeys[b], b);
+    }
+}
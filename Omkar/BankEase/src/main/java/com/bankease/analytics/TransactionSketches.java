@@ -0,0 +1,578 @@
+package com.bankease.analytics;
+
+import com.bankease.dao.TransactionDAO;
+import com.bankease.events.BankEvent;
+import com.bankease.events.EventBus;
+import com.bankease.events.EventRing;
+import com.bankease.events.EventType;
+import com.bankease.model.AccountType;
+import com.bankease.model.AccountVolume;
+import com.bankease.model.AmountSummary;
+import com.bankease.model.TransactionType;
+import com.bankease.utils.DatabaseConfig;
+import com.bankease.utils.TimeUtils;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Streaming analytics over committed transactions, kept as one DailySketch per day
+ * and fed by an EventBus subscription once started.
+ * Queries over a range of days merge the daily buckets, so they cost a few
+ * milliseconds regardless of how many transactions the days contain.
+ * Buckets are persisted to analytics.sketchDir and older than analytics.retentionDays
+ * are dropped. Only days recorded into or rebuilt since the last persist are written, so
+ * a closed day is written once after its last transaction rather than every period.
+ * Closed days without transactions are persisted as empty markers, so they are not
+ * rebuilt from the journal again on the next start.
+ */
+public class TransactionSketches {
+    private static final int FILE_MAGIC = 0x534B5432;
+    private static final int EMPTY_MAGIC = 0x534B5430;
+    private static final String FILE_SUFFIX = ".sketch";
+    private static final int SKETCH_DEPTH = 4;
+    private static final int SKETCH_WIDTH = 8192;
+    private static final int HLL_PRECISION = 14;
+    private static final double DIGEST_COMPRESSION = 100;
+
+    private static final TransactionSketches INSTANCE = new TransactionSketches(
+            Paths.get(DatabaseConfig.getProperty("analytics.sketchDir", "data/sketches")),
+            DatabaseConfig.getIntProperty("analytics.topK", 200),
+            DatabaseConfig.getIntProperty("analytics.retentionDays", 90));
+
+    private final Path directory;
+    private final int trackedTopK;
+    private final int retentionDays;
+    private final Map<LocalDate, DailySketch> days = new ConcurrentHashMap<>();
+    private final Set<LocalDate> emptyDays = ConcurrentHashMap.newKeySet();
+    private final Set<LocalDate> dirty = ConcurrentHashMap.newKeySet();
+    private final Map<LocalDate, PendingDay> pending = new ConcurrentHashMap<>();
+    private ScheduledExecutorService persister;
+    private volatile EventRing subscription;
+
+    /**
+     * @param directory directory the daily buckets are persisted to
+     * @param trackedTopK heavy hitters tracked per day; queries may ask for at most this many
+     * @param retentionDays days of buckets to keep
+     */
+    public TransactionSketches(Path directory, int trackedTopK, int retentionDays) {
+        this.directory = directory;
+        this.trackedTopK = Math.max(1, trackedTopK);
+        this.retentionDays = Math.max(1, retentionDays);
+    }
+
+    /**
+     * Get the shared sketch store
+     * @return TransactionSketches instance
+     */
+    public static TransactionSketches getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Record a committed transaction
+     * @param accountId account the transaction was posted to
+     * @param accountType type of that account
+     * @param type transaction type
+     * @param amountCents amount in cents
+     * @param timestampMillis transaction time as epoch milliseconds
+     */
+    public void record(int accountId, AccountType accountType, TransactionType type, long amountCents,
+                       long timestampMillis) {
+        LocalDate day = TimeUtils.fromEpochMillis(timestampMillis).toLocalDate();
+        days.computeIfAbsent(day, d -> newBucket()).record(accountId, accountType, type, amountCents);
+        dirty.add(day);
+    }
+
+    /**
+     * Record TRANSACTION_COMMITTED events from the event bus. Events for a day whose
+     * bucket is being loaded or rebuilt are held back until it is installed
+     * @param event event to handle
+     * @param sequence event sequence
+     * @param endOfBatch whether more events are immediately available
+     */
+    private void onEvent(BankEvent event, long sequence, boolean endOfBatch) {
+        if (event.getType() == EventType.TRANSACTION_COMMITTED) {
+            LocalDate day = TimeUtils.fromEpochMillis(event.getTimestampMillis()).toLocalDate();
+            PendingDay held = pending.get(day);
+            if (held == null || !held.offer(event)) {
+                record(event.getAccountId(), event.getAccountType(), event.getTransactionType(),
+                       event.getAmountCents(), event.getTimestampMillis());
+            }
+        }
+        if (endOfBatch && !pending.isEmpty()) {
+            pending.values().removeIf(held -> held.isReleasedBy(sequence));
+        }
+    }
+
+    /**
+     * Accounts with the highest outgoing transfer volume over the last days
+     * @param k number of accounts, at most the tracked top-K
+     * @param lastDays number of days including today
+     * @return accounts with estimated volume, highest first
+     */
+    public List<AccountVolume> getTopAccountsByTransferVolume(int k, int lastDays) {
+        TopKTracker transfers = new TopKTracker(trackedTopK, SKETCH_DEPTH, SKETCH_WIDTH);
+        mergeWindow(lastDays, transfers, null);
+        List<AccountVolume> top = transfers.getTop();
+        return top.size() > k ? top.subList(0, k) : top;
+    }
+
+    /**
+     * Estimated number of distinct accounts that transacted over the last days
+     * @param lastDays number of days including today
+     * @return distinct account estimate
+     */
+    public long getDistinctActiveAccounts(int lastDays) {
+        HyperLogLog accounts = new HyperLogLog(HLL_PRECISION);
+        mergeWindow(lastDays, null, accounts);
+        return accounts.estimate();
+    }
+
+    /**
+     * Relative standard error of the distinct-account estimates
+     * @return standard error as a fraction
+     */
+    public double getDistinctStandardError() {
+        return new HyperLogLog(HLL_PRECISION).getStandardError();
+    }
+
+    /**
+     * Estimated transaction amount percentiles for one account type over a range of days
+     * @param startDate first day (inclusive)
+     * @param endDate last day (inclusive)
+     * @param accountType account type
+     * @return AmountSummary, with a count of 0 if no transactions were recorded
+     */
+    public AmountSummary getAmountSummary(LocalDate startDate, LocalDate endDate, AccountType accountType) {
+        TDigest digest = new TDigest(DIGEST_COMPRESSION);
+        for (Map.Entry<LocalDate, DailySketch> entry : days.entrySet()) {
+            LocalDate day = entry.getKey();
+            if (!day.isBefore(startDate) && !day.isAfter(endDate)) {
+                entry.getValue().mergeAmountsInto(accountType, digest);
+            }
+        }
+        return summarize(startDate, endDate, accountType, digest);
+    }
+
+    /**
+     * Estimated transaction amount percentiles per day and account type
+     * @param startDate first day (inclusive)
+     * @param endDate last day (inclusive)
+     * @return one AmountSummary per day and account type with transactions, by day
+     */
+    public List<AmountSummary> getDailyAmountSummaries(LocalDate startDate, LocalDate endDate) {
+        List<AmountSummary> summaries = new ArrayList<>();
+        for (LocalDate day = startDate; !day.isAfter(endDate); day = day.plusDays(1)) {
+            DailySketch bucket = days.get(day);
+            if (bucket == null) {
+                continue;
+            }
+            for (AccountType accountType : AccountType.values()) {
+                TDigest digest = new TDigest(DIGEST_COMPRESSION);
+                bucket.mergeAmountsInto(accountType, digest);
+                if (digest.getCount() > 0) {
+                    summaries.add(summarize(day, day, accountType, digest));
+                }
+            }
+        }
+        return summaries;
+    }
+
+    public int getTrackedTopK() {
+        return trackedTopK;
+    }
+
+    private AmountSummary summarize(LocalDate startDate, LocalDate endDate, AccountType accountType, TDigest digest) {
+        if (digest.getCount() == 0) {
+            return new AmountSummary(startDate, endDate, accountType, 0, 0, 0, 0, 0, 0);
+        }
+        return new AmountSummary(startDate, endDate, accountType, digest.getCount(),
+                Math.round(digest.getMin()),
+                Math.round(digest.quantile(0.50)),
+                Math.round(digest.quantile(0.90)),
+                Math.round(digest.quantile(0.99)),
+                Math.round(digest.getMax()));
+    }
+
+    private void mergeWindow(int lastDays, TopKTracker transfers, HyperLogLog accounts) {
+        LocalDate today = LocalDate.now();
+        LocalDate first = today.minusDays(Math.max(1, lastDays) - 1L);
+        for (Map.Entry<LocalDate, DailySketch> entry : days.entrySet()) {
+            LocalDate day = entry.getKey();
+            if (day.isBefore(first) || day.isAfter(today)) {
+                continue;
+            }
+            entry.getValue().mergeInto(transfers, accounts);
+        }
+    }
+
+    /**
+     * Subscribe to committed transactions, load persisted buckets, rebuild missing days
+     * from the transaction journal and start periodic persistence every
+     * analytics.persistSeconds. Transactions committed while a day is loaded or rebuilt
+     * are held back and added to its bucket once it is installed
+     * @param transactionDAO DAO used to rebuild days with no persisted bucket
+     * @throws SQLException if rebuilding fails
+     * @throws IOException if the sketch directory cannot be read
+     */
+    public synchronized void start(TransactionDAO transactionDAO) throws SQLException, IOException {
+        LocalDate today = LocalDate.now();
+        boolean subscribing = subscription == null;
+        if (subscribing) {
+            // Hold every day back before subscribing, so no event reaches a bucket that is about to be replaced
+            for (int i = 0; i < retentionDays; i++) {
+                pending.put(today.minusDays(i), new PendingDay());
+            }
+            subscription = EventBus.getInstance().subscribe("sketches", this::onEvent);
+        }
+        try {
+            if (subscribing) {
+                load();
+            }
+            for (int i = 0; i < retentionDays; i++) {
+                LocalDate day = today.minusDays(i);
+                if (!days.containsKey(day) && !emptyDays.contains(day)) {
+                    rebuildDay(transactionDAO, day);
+                }
+            }
+        } finally {
+            // Days that could not be loaded or rebuilt keep what they have plus the held events
+            for (Map.Entry<LocalDate, PendingDay> entry : pending.entrySet()) {
+                if (!entry.getValue().isInstalled()) {
+                    install(entry.getKey(), days.get(entry.getKey()));
+                }
+            }
+        }
+        EventRing ring = subscription;
+        pending.values().removeIf(held -> held.isReleasedBy(ring.getConsumedSequence()));
+        if (persister != null) {
+            return;
+        }
+        int periodSeconds = Math.max(1, DatabaseConfig.getIntProperty("analytics.persistSeconds", 60));
+        persister = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "sketch-persister");
+            thread.setDaemon(true);
+            return thread;
+        });
+        persister.scheduleWithFixedDelay(this::persistQuietly, periodSeconds, periodSeconds, TimeUnit.SECONDS);
+        Runtime.getRuntime().addShutdownHook(new Thread(this::persistQuietly, "sketch-persister-shutdown"));
+    }
+
+    /**
+     * Unsubscribe, stop periodic persistence and write the buckets one last time
+     */
+    public synchronized void stop() {
+        if (subscription != null) {
+            EventBus.getInstance().unsubscribe(subscription);
+            subscription = null;
+        }
+        pending.values().removeIf(PendingDay::isInstalled);
+        if (persister != null) {
+            persister.shutdownNow();
+            persister = null;
+        }
+        persistQuietly();
+    }
+
+    /**
+     * Replace one day's bucket with one rebuilt from the transaction journal. While
+     * subscribed, transactions committed during the rebuild are held back and added to
+     * the new bucket unless the rebuild already read them from the journal
+     * @param transactionDAO DAO to read the day's transactions from
+     * @param day day to rebuild
+     * @throws SQLException if database operation fails
+     */
+    public void rebuildDay(TransactionDAO transactionDAO, LocalDate day) throws SQLException {
+        PendingDay held = pending.compute(day, (d, current) ->
+                current == null || current.isInstalled() ? new PendingDay() : current);
+        DailySketch bucket = newBucket();
+        long[] rows = new long[1];
+        try {
+            transactionDAO.replayCompleted(day.atStartOfDay(), day.plusDays(1).atStartOfDay(),
+                    (transactionId, accountId, accountType, type, amountCents) -> {
+                        bucket.record(accountId, accountType, type, amountCents);
+                        held.replayed(transactionId);
+                        rows[0]++;
+                    });
+        } catch (SQLException e) {
+            install(day, days.get(day));
+            throw e;
+        }
+        install(day, rows[0] == 0 ? null : bucket);
+        if (!days.containsKey(day) && day.isBefore(LocalDate.now())) {
+            emptyDays.add(day);
+        }
+        dirty.add(day);
+    }
+
+    /**
+     * Install a loaded or rebuilt bucket, adding the transactions held back while it was built
+     * @param day day of the bucket
+     * @param bucket new bucket, or null if the day has no transactions
+     */
+    private void install(LocalDate day, DailySketch bucket) {
+        PendingDay held = pending.get(day);
+        if (held == null) {
+            put(day, bucket);
+            return;
+        }
+        // Under the hold's lock, so an event either is held back or finds the new bucket
+        synchronized (held) {
+            EventRing ring = subscription;
+            List<HeldTransaction> transactions = held.release(ring == null ? -1 : ring.getPublishedSequence());
+            for (HeldTransaction transaction : transactions) {
+                if (bucket == null) {
+                    bucket = newBucket();
+                }
+                bucket.record(transaction.accountId, transaction.accountType, transaction.type,
+                              transaction.amountCents);
+            }
+            put(day, bucket);
+            if (!transactions.isEmpty()) {
+                dirty.add(day);
+            }
+        }
+        if (subscription == null) {
+            pending.remove(day, held);
+        }
+    }
+
+    private void put(LocalDate day, DailySketch bucket) {
+        if (bucket == null) {
+            days.remove(day);
+        } else {
+            days.put(day, bucket);
+            emptyDays.remove(day);
+        }
+    }
+
+    /**
+     * Write the buckets changed since the last persist to the sketch directory and drop
+     * expired ones
+     * @throws IOException if a bucket cannot be written
+     */
+    public synchronized void persist() throws IOException {
+        Files.createDirectories(directory);
+        LocalDate cutoff = LocalDate.now().minusDays(retentionDays);
+        for (LocalDate day : days.keySet()) {
+            if (day.isBefore(cutoff)) {
+                days.remove(day);
+                dirty.remove(day);
+                Files.deleteIfExists(fileFor(day));
+            }
+        }
+        for (LocalDate day : emptyDays) {
+            if (day.isBefore(cutoff)) {
+                emptyDays.remove(day);
+                dirty.remove(day);
+                Files.deleteIfExists(fileFor(day));
+            }
+        }
+        for (LocalDate day : dirty) {
+            // Clear the mark before writing, so a transaction recorded meanwhile marks the day again
+            dirty.remove(day);
+            DailySketch bucket = days.get(day);
+            try {
+                if (bucket != null || emptyDays.contains(day)) {
+                    write(day, bucket);
+                } else {
+                    Files.deleteIfExists(fileFor(day));
+                }
+            } catch (IOException e) {
+                dirty.add(day);
+                throw e;
+            }
+        }
+    }
+
+    private void write(LocalDate day, DailySketch bucket) throws IOException {
+        Path temp = directory.resolve(day + FILE_SUFFIX + ".tmp");
+        try (OutputStream file = Files.newOutputStream(temp);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file))) {
+            if (bucket == null) {
+                out.writeInt(EMPTY_MAGIC);
+            } else {
+                out.writeInt(FILE_MAGIC);
+                bucket.writeTo(out);
+            }
+        }
+        Files.move(temp, fileFor(day), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Load persisted buckets and empty-day markers within the retention window, skipping
+     * unreadable files and files written with different sketch dimensions
+     * @throws IOException if the sketch directory cannot be listed
+     */
+    public void load() throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        LocalDate cutoff = LocalDate.now().minusDays(retentionDays);
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + FILE_SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                LocalDate day;
+                try {
+                    day = LocalDate.parse(name.substring(0, name.length() - FILE_SUFFIX.length()));
+                } catch (DateTimeParseException e) {
+                    continue;
+                }
+                if (day.isBefore(cutoff)) {
+                    Files.deleteIfExists(file);
+                    continue;
+                }
+                try (InputStream stream = Files.newInputStream(file);
+                     DataInputStream in = new DataInputStream(new BufferedInputStream(stream))) {
+                    int magic = in.readInt();
+                    if (magic == EMPTY_MAGIC) {
+                        install(day, null);
+                        if (!days.containsKey(day)) {
+                            emptyDays.add(day);
+                        }
+                        continue;
+                    }
+                    if (magic != FILE_MAGIC) {
+                        continue;
+                    }
+                    DailySketch bucket = DailySketch.readFrom(in);
+                    if (bucket.matches(trackedTopK, SKETCH_DEPTH, SKETCH_WIDTH, HLL_PRECISION, DIGEST_COMPRESSION)) {
+                        install(day, bucket);
+                    }
+                } catch (IOException | IllegalArgumentException e) {
+                    System.err.println("Skipping unreadable sketch file " + file + ": " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void persistQuietly() {
+        try {
+            persist();
+        } catch (IOException e) {
+            System.err.println("Sketch persistence failed: " + e.getMessage());
+        }
+    }
+
+    private Path fileFor(LocalDate day) {
+        return directory.resolve(day + FILE_SUFFIX);
+    }
+
+    private DailySketch newBucket() {
+        return new DailySketch(trackedTopK, SKETCH_DEPTH, SKETCH_WIDTH, HLL_PRECISION, DIGEST_COMPRESSION);
+    }
+
+    /**
+     * Transactions held back for a day while its bucket is loaded or rebuilt, with the
+     * IDs the rebuild read from the journal in ascending order. Once the bucket is
+     * installed, the IDs keep filtering events until the subscriber has handled every
+     * event published before the install
+     */
+    private static final class PendingDay {
+        private final List<HeldTransaction> held = new ArrayList<>();
+        private int[] replayedIds = new int[64];
+        private int replayedCount;
+        private boolean installed;
+        private long releasedAfter;
+
+        /**
+         * Note a transaction read by the rebuild; called by the rebuilding thread before install
+         * @param transactionId transaction ID, higher than any noted before
+         */
+        void replayed(int transactionId) {
+            if (replayedCount == replayedIds.length) {
+                replayedIds = Arrays.copyOf(replayedIds, replayedCount * 2);
+            }
+            replayedIds[replayedCount++] = transactionId;
+        }
+
+        /**
+         * Hold back a committed transaction until the bucket is installed
+         * @param event TRANSACTION_COMMITTED event
+         * @return true if the event was held back or the rebuild already read it
+         */
+        synchronized boolean offer(BankEvent event) {
+            if (!installed) {
+                held.add(new HeldTransaction(event));
+                return true;
+            }
+            return wasReplayed(event.getTransactionId());
+        }
+
+        /**
+         * Mark the bucket installed
+         * @param publishedSequence last event sequence published to the subscriber, -1 if not subscribed
+         * @return held transactions the rebuild did not read
+         */
+        synchronized List<HeldTransaction> release(long publishedSequence) {
+            installed = true;
+            releasedAfter = publishedSequence;
+            List<HeldTransaction> missed = new ArrayList<>();
+            for (HeldTransaction transaction : held) {
+                if (!wasReplayed(transaction.transactionId)) {
+                    missed.add(transaction);
+                }
+            }
+            held.clear();
+            return missed;
+        }
+
+        synchronized boolean isInstalled() {
+            return installed;
+        }
+
+        /**
+         * @param handledSequence sequence of an event the subscriber has handled
+         * @return true if the bucket is installed and no event published before that still needs filtering
+         */
+        synchronized boolean isReleasedBy(long handledSequence) {
+            return installed && handledSequence >= releasedAfter;
+        }
+
+        private boolean wasReplayed(int transactionId) {
+            return Arrays.binarySearch(replayedIds, 0, replayedCount, transactionId) >= 0;
+        }
+    }
+
+    /**
+     * Copy of a TRANSACTION_COMMITTED event, which the event bus reuses
+     */
+    private static final class HeldTransaction {
+        private final int transactionId;
+        private final int accountId;
+        private final AccountType accountType;
+        private final TransactionType type;
+        private final long amountCents;
+
+        HeldTransaction(BankEvent event) {
+            this.transactionId = event.getTransactionId();
+            this.accountId = event.getAccountId();
+            this.accountType = event.getAccountType();
+            this.type = event.getTransactionType();
+            this.amountCents = event.getAmountCents();
+        }
+    }
+}
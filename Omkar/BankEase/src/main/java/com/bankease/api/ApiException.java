@@ -0,0 +1,17 @@
+package com.bankease.api;
+
+/**
+ * Exception carrying the HTTP status an API request should fail with
+ */
+public class ApiException extends RuntimeException {
+    private final int status;
+    
+    public ApiException(int status, String message) {
+        super(message);
+        this.status = status;
+    }
+    
+    public int getStatus() {
+        return status;
+    }
+}
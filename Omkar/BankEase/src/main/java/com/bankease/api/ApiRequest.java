@@ -0,0 +1,125 @@
+package com.bankease.api;
+
+import com.bankease.model.Admin;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * A parsed API request: path parameters, query parameters, JSON body and session
+ */
+public class ApiRequest {
+    private final String method;
+    private final String path;
+    private final Map<String, String> pathParams;
+    private final Map<String, String> query;
+    private final Map<String, Object> body;
+    private final String token;
+    private final SessionStore.Session session;
+
+    public ApiRequest(String method, String path, Map<String, String> pathParams, Map<String, String> query,
+                      Map<String, Object> body, String token, SessionStore.Session session) {
+        this.method = method;
+        this.path = path;
+        this.pathParams = pathParams;
+        this.query = query;
+        this.body = body != null ? body : Collections.emptyMap();
+        this.token = token;
+        this.session = session;
+    }
+
+    // Getters
+    public String getMethod() {
+        return method;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public String getToken() {
+        return token;
+    }
+
+    public SessionStore.Session getSession() {
+        return session;
+    }
+
+    /**
+     * Get a path parameter such as {number} in /api/accounts/{number}
+     * @param name parameter name
+     * @return parameter value
+     */
+    public String pathParam(String name) {
+        return pathParams.get(name);
+    }
+
+    /**
+     * Get a query parameter
+     * @param name parameter name
+     * @return parameter value, or null if absent
+     */
+    public String queryParam(String name) {
+        return query.get(name);
+    }
+
+    /**
+     * Get a required string field from the body
+     * @param name field name
+     * @return field value
+     * @throws ApiException 400 if the field is missing or blank
+     */
+    public String getString(String name) {
+        String value = getString(name, null);
+        if (value == null || value.isBlank()) {
+            throw new ApiException(400, "Missing field: " + name);
+        }
+        return value;
+    }
+
+    /**
+     * Get an optional string field from the body
+     * @param name field name
+     * @param defaultValue value to use if the field is missing
+     * @return field value
+     */
+    public String getString(String name, String defaultValue) {
+        Object value = body.get(name);
+        return value != null ? value.toString() : defaultValue;
+    }
+
+    /**
+     * Get a required amount from the body, as a JSON number or numeric string
+     * @param name field name
+     * @return amount
+     * @throws ApiException 400 if the field is missing or not a number
+     */
+    public double getAmount(String name) {
+        Object value = body.get(name);
+        if (value == null) {
+            throw new ApiException(400, "Missing field: " + name);
+        }
+        try {
+            return value instanceof BigDecimal ? ((BigDecimal) value).doubleValue() : Double.parseDouble(value.toString());
+        } catch (NumberFormatException e) {
+            throw new ApiException(400, "Invalid number for " + name + ": " + value);
+        }
+    }
+
+    /**
+     * Get the user ID of the session; only valid on USER routes
+     * @return user ID
+     */
+    public int getUserId() {
+        return session.getUserId();
+    }
+
+    /**
+     * Get the admin of the session; only valid on ADMIN routes
+     * @return Admin
+     */
+    public Admin getAdmin() {
+        return session.getAdmin();
+    }
+}
@@ -0,0 +1,38 @@
+package com.bankease.api;
+
+/**
+ * Handler result for responses other than a plain 200 (or 204 for a null body)
+ */
+public class ApiResponse {
+    private final int status;
+    private final Object body;
+    private final String location;
+    
+    public ApiResponse(int status, Object body, String location) {
+        this.status = status;
+        this.body = body;
+        this.location = location;
+    }
+    
+    /**
+     * 202 Accepted for work that carries on after the response, pointing at its status resource
+     * @param body response body
+     * @param location path of the status resource
+     * @return response
+     */
+    public static ApiResponse accepted(Object body, String location) {
+        return new ApiResponse(202, body, location);
+    }
+    
+    public int getStatus() {
+        return status;
+    }
+    
+    public Object getBody() {
+        return body;
+    }
+    
+    public String getLocation() {
+        return location;
+    }
+}
@@ -0,0 +1,478 @@
+package com.bankease.api;
+
+import com.bankease.exceptions.AccountFrozenException;
+import com.bankease.exceptions.InsufficientFundsException;
+import com.bankease.exceptions.InvalidAccountException;
+import com.bankease.exceptions.TransactionBlockedException;
+import com.bankease.utils.DatabaseConfig;
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Embedded HTTP/JSON server built on the JDK's com.sun.net.httpserver.
+ * <p>
+ * Requests run on a worker executor: one virtual thread per request when api.virtualThreads
+ * is set and the JDK has them, otherwise a pool of api.threads platform threads. At most
+ * api.maxInFlight requests touch the database at once; the rest wait up to
+ * api.queueTimeoutMillis and then get 503, so a burst of clients cannot exhaust MySQL
+ * connections. Connections are kept alive between requests for api.keepAliveSeconds, and
+ * bodies larger than api.maxRequestBytes are rejected with 413. stop() stops accepting
+ * connections and gives in-flight requests api.shutdownGraceSeconds to finish.
+ * <p>
+ * Long-running admin jobs are handed to a JobRunner instead of holding a request thread and
+ * an in-flight permit; their routes answer 202 through ApiResponse.
+ * <p>
+ * Routes are registered with route(); a USER or ADMIN route needs an
+ * "Authorization: Bearer &lt;token&gt;" header for a session of that kind (see SessionStore).
+ */
+public class ApiServer {
+    /**
+     * Who may call a route
+     */
+    public enum Access {
+        PUBLIC, SESSION, USER, ADMIN
+    }
+
+    /**
+     * Handles one route; the returned value is written as the JSON response body
+     */
+    @FunctionalInterface
+    public interface Handler {
+        Object handle(ApiRequest request) throws Exception;
+    }
+
+    private final InetSocketAddress address;
+    private final int threads;
+    private final boolean virtualThreads;
+    private final int maxRequestBytes;
+    private final long queueTimeoutMillis;
+    private final int shutdownGraceSeconds;
+    private final SessionStore sessions;
+    private final JobRunner jobs;
+    private final Semaphore inFlight;
+    private final List<Route> routes = new ArrayList<>();
+    private final CountDownLatch stopped = new CountDownLatch(1);
+    private volatile boolean accepting;
+    private volatile boolean usingVirtualThreads;
+    private HttpServer server;
+    private ExecutorService workers;
+    private ScheduledExecutorService sweeper;
+
+    public ApiServer() {
+        this(new InetSocketAddress(DatabaseConfig.getProperty("api.host", "127.0.0.1"),
+                                   DatabaseConfig.getIntProperty("api.port", 8080)),
+             DatabaseConfig.getIntProperty("api.threads", 200),
+             Boolean.parseBoolean(DatabaseConfig.getProperty("api.virtualThreads", "true")),
+             DatabaseConfig.getIntProperty("api.maxInFlight", 64),
+             DatabaseConfig.getIntProperty("api.queueTimeoutMillis", 5000),
+             DatabaseConfig.getIntProperty("api.maxRequestBytes", 65536),
+             DatabaseConfig.getIntProperty("api.shutdownGraceSeconds", 10),
+             new SessionStore(DatabaseConfig.getIntProperty("api.sessionTtlMinutes", 30) * 60_000L,
+                              DatabaseConfig.getIntProperty("api.maxSessions", 100_000)),
+             new JobRunner(DatabaseConfig.getIntProperty("api.jobThreads", 1),
+                           DatabaseConfig.getIntProperty("api.maxJobs", 100)));
+        configureConnections(DatabaseConfig.getIntProperty("api.keepAliveSeconds", 30),
+                             DatabaseConfig.getIntProperty("api.maxIdleConnections", 1000),
+                             DatabaseConfig.getIntProperty("api.requestTimeoutSeconds", 30));
+    }
+
+    public ApiServer(InetSocketAddress address, int threads, boolean virtualThreads, int maxInFlight,
+                     long queueTimeoutMillis, int maxRequestBytes, int shutdownGraceSeconds, SessionStore sessions) {
+        this(address, threads, virtualThreads, maxInFlight, queueTimeoutMillis, maxRequestBytes, shutdownGraceSeconds,
+             sessions, new JobRunner(1, 100));
+    }
+
+    public ApiServer(InetSocketAddress address, int threads, boolean virtualThreads, int maxInFlight,
+                     long queueTimeoutMillis, int maxRequestBytes, int shutdownGraceSeconds, SessionStore sessions,
+                     JobRunner jobs) {
+        this.address = address;
+        this.threads = Math.max(1, threads);
+        this.virtualThreads = virtualThreads;
+        this.maxRequestBytes = maxRequestBytes;
+        this.queueTimeoutMillis = queueTimeoutMillis;
+        this.shutdownGraceSeconds = shutdownGraceSeconds;
+        this.sessions = sessions;
+        this.jobs = jobs;
+        this.inFlight = new Semaphore(Math.max(1, maxInFlight));
+    }
+
+    /**
+     * Set the JDK HTTP server's keep-alive and timeout properties. They are read once, when the
+     * server classes load, so this must run before the first server is created; values already
+     * given on the command line win.
+     */
+    private static void configureConnections(int keepAliveSeconds, int maxIdleConnections, int requestTimeoutSeconds) {
+        setIfAbsent("sun.net.httpserver.idleInterval", keepAliveSeconds);
+        setIfAbsent("sun.net.httpserver.maxIdleConnections", maxIdleConnections);
+        setIfAbsent("sun.net.httpserver.maxReqTime", requestTimeoutSeconds);
+    }
+
+    private static void setIfAbsent(String key, int value) {
+        if (System.getProperty(key) == null) {
+            System.setProperty(key, String.valueOf(value));
+        }
+    }
+
+    /**
+     * Register a route. Path segments written as {name} match any single segment and are
+     * available through ApiRequest.pathParam.
+     * @param method HTTP method
+     * @param pattern path pattern, e.g. /api/accounts/{number}
+     * @param access who may call the route
+     * @param handler route handler
+     */
+    public void route(String method, String pattern, Access access, Handler handler) {
+        routes.add(new Route(method, pattern, access, handler));
+    }
+
+    /**
+     * Start accepting requests
+     * @throws IOException if the address cannot be bound
+     */
+    public synchronized void start() throws IOException {
+        if (server != null) {
+            return;
+        }
+        workers = createWorkers();
+        server = HttpServer.create(address, DatabaseConfig.getIntProperty("api.backlog", 1024));
+        server.createContext("/", this::handle);
+        server.setExecutor(workers);
+        sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "api-session-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sweeper.scheduleAtFixedRate(sessions::purgeExpired, 1, 1, TimeUnit.MINUTES);
+        accepting = true;
+        server.start();
+    }
+
+    private ExecutorService createWorkers() {
+        if (virtualThreads) {
+            try {
+                // Java 21+; looked up reflectively so the code still compiles for Java 11
+                ExecutorService executor = (ExecutorService) Executors.class
+                        .getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+                usingVirtualThreads = true;
+                return executor;
+            } catch (ReflectiveOperationException e) {
+                // Fall back to platform threads on older JDKs
+            }
+        }
+        AtomicInteger threadNumber = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "api-worker-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Stop accepting requests and wait up to the grace period for in-flight ones to finish
+     */
+    public synchronized void stop() {
+        if (server == null) {
+            return;
+        }
+        accepting = false;
+        server.stop(shutdownGraceSeconds);
+        workers.shutdown();
+        try {
+            if (!workers.awaitTermination(shutdownGraceSeconds, TimeUnit.SECONDS)) {
+                workers.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            workers.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        sweeper.shutdownNow();
+        jobs.stop(shutdownGraceSeconds);
+        server = null;
+        stopped.countDown();
+    }
+
+    /**
+     * Block until stop() has completed
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public void awaitStop() throws InterruptedException {
+        stopped.await();
+    }
+
+    /**
+     * Get the bound port, which differs from the configured one when that was 0
+     * @return port
+     */
+    public int getPort() {
+        HttpServer current = server;
+        return current != null ? current.getAddress().getPort() : address.getPort();
+    }
+
+    public boolean isUsingVirtualThreads() {
+        return usingVirtualThreads;
+    }
+
+    public SessionStore getSessions() {
+        return sessions;
+    }
+
+    public JobRunner getJobs() {
+        return jobs;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        int status;
+        Object response;
+        try {
+            if (!accepting) {
+                throw new ApiException(503, "Server is shutting down");
+            }
+            status = 200;
+            response = dispatch(exchange);
+            if (response instanceof ApiResponse) {
+                ApiResponse custom = (ApiResponse) response;
+                status = custom.getStatus();
+                response = custom.getBody();
+                if (custom.getLocation() != null) {
+                    exchange.getResponseHeaders().set("Location", custom.getLocation());
+                }
+            } else if (response == null) {
+                status = 204;
+            }
+        } catch (Exception e) {
+            status = statusFor(e);
+            response = errorBody(status, e);
+        }
+
+        try {
+            send(exchange, status, response);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private Object dispatch(HttpExchange exchange) throws Exception {
+        String method = exchange.getRequestMethod();
+        String path = exchange.getRequestURI().getPath();
+        String[] segments = split(path);
+
+        Route match = null;
+        Map<String, String> pathParams = null;
+        boolean pathMatched = false;
+        for (Route route : routes) {
+            Map<String, String> params = route.match(segments);
+            if (params == null) {
+                continue;
+            }
+            pathMatched = true;
+            if (route.method.equalsIgnoreCase(method)) {
+                match = route;
+                pathParams = params;
+                break;
+            }
+        }
+        if (match == null) {
+            throw pathMatched ? new ApiException(405, "Method not allowed") : new ApiException(404, "Not found");
+        }
+
+        String token = bearerToken(exchange.getRequestHeaders());
+        SessionStore.Session session = sessions.get(token);
+        checkAccess(match.access, session);
+
+        Map<String, Object> body = readBody(exchange);
+        ApiRequest request = new ApiRequest(method, path, pathParams, parseQuery(exchange.getRequestURI().getRawQuery()),
+                                            body, token, session);
+
+        if (!inFlight.tryAcquire(queueTimeoutMillis, TimeUnit.MILLISECONDS)) {
+            throw new ApiException(503, "Server busy, try again later");
+        }
+        try {
+            return match.handler.handle(request);
+        } finally {
+            inFlight.release();
+        }
+    }
+
+    private static void checkAccess(Access access, SessionStore.Session session) {
+        if (access == Access.PUBLIC) {
+            return;
+        }
+        if (session == null) {
+            throw new ApiException(401, "Missing or expired session token");
+        }
+        if ((access == Access.USER && session.isAdmin()) || (access == Access.ADMIN && !session.isAdmin())) {
+            throw new ApiException(403, "Not allowed for this session");
+        }
+    }
+
+    private static String bearerToken(Headers headers) {
+        String authorization = headers.getFirst("Authorization");
+        if (authorization == null || !authorization.regionMatches(true, 0, "Bearer ", 0, 7)) {
+            return null;
+        }
+        return authorization.substring(7).trim();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> readBody(HttpExchange exchange) throws IOException {
+        String contentLength = exchange.getRequestHeaders().getFirst("Content-Length");
+        if (contentLength != null) {
+            try {
+                if (Long.parseLong(contentLength.trim()) > maxRequestBytes) {
+                    throw new ApiException(413, "Request body exceeds " + maxRequestBytes + " bytes");
+                }
+            } catch (NumberFormatException e) {
+                throw new ApiException(400, "Invalid Content-Length");
+            }
+        }
+
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (InputStream in = exchange.getRequestBody()) {
+            byte[] chunk = new byte[8192];
+            int read;
+            while ((read = in.read(chunk)) != -1) {
+                if (buffer.size() + read > maxRequestBytes) {
+                    throw new ApiException(413, "Request body exceeds " + maxRequestBytes + " bytes");
+                }
+                buffer.write(chunk, 0, read);
+            }
+        }
+        String text = buffer.toString(StandardCharsets.UTF_8).trim();
+        if (text.isEmpty()) {
+            return null;
+        }
+        Object parsed = Json.parse(text);
+        if (!(parsed instanceof Map)) {
+            throw new ApiException(400, "Request body must be a JSON object");
+        }
+        return (Map<String, Object>) parsed;
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<String, String> query = new HashMap<>();
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = eq >= 0 ? pair.substring(0, eq) : pair;
+            String value = eq >= 0 ? pair.substring(eq + 1) : "";
+            query.put(URLDecoder.decode(key, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return query;
+    }
+
+    private static int statusFor(Exception e) {
+        if (e instanceof ApiException) {
+            return ((ApiException) e).getStatus();
+        }
+        if (e instanceof IllegalArgumentException) {
+            return 400;
+        }
+        if (e instanceof InvalidAccountException) {
+            return 404;
+        }
+        if (e instanceof InsufficientFundsException || e instanceof AccountFrozenException) {
+            return 409;
+        }
+        if (e instanceof TransactionBlockedException) {
+            return 403;
+        }
+        return 500;
+    }
+
+    private static Map<String, Object> errorBody(int status, Exception e) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("status", status);
+        if (status == 500) {
+            // Do not leak SQL or internal details to clients
+            System.err.println("API request failed: " + e);
+            body.put("error", e instanceof SQLException ? "Database error" : "Internal error");
+        } else {
+            body.put("error", e.getMessage());
+        }
+        return body;
+    }
+
+    private static void send(HttpExchange exchange, int status, Object response) throws IOException {
+        Headers headers = exchange.getResponseHeaders();
+        if (status == 413 || status == 503) {
+            // The rest of the request may still be unread, so the connection cannot be reused
+            headers.set("Connection", "close");
+        }
+        if (status == 204) {
+            exchange.sendResponseHeaders(status, -1);
+            return;
+        }
+        byte[] bytes = Json.write(response).getBytes(StandardCharsets.UTF_8);
+        headers.set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static String[] split(String path) {
+        String trimmed = path.startsWith("/") ? path.substring(1) : path;
+        if (trimmed.endsWith("/")) {
+            trimmed = trimmed.substring(0, trimmed.length() - 1);
+        }
+        return trimmed.isEmpty() ? new String[0] : trimmed.split("/");
+    }
+
+    private static final class Route {
+        private final String method;
+        private final String[] segments;
+        private final Access access;
+        private final Handler handler;
+
+        private Route(String method, String pattern, Access access, Handler handler) {
+            this.method = method;
+            this.segments = split(pattern);
+            this.access = access;
+            this.handler = handler;
+        }
+
+        private Map<String, String> match(String[] path) {
+            if (path.length != segments.length) {
+                return null;
+            }
+            Map<String, String> params = Collections.emptyMap();
+            for (int i = 0; i < segments.length; i++) {
+                String segment = segments[i];
+                if (segment.startsWith("{") && segment.endsWith("}")) {
+                    if (params.isEmpty()) {
+                        params = new HashMap<>();
+                    }
+                    params.put(segment.substring(1, segment.length() - 1), path[i]);
+                } else if (!segment.equals(path[i])) {
+                    return null;
+                }
+            }
+            return params;
+        }
+    }
+}
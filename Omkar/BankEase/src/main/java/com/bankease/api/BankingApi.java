@@ -0,0 +1,506 @@
+package com.bankease.api;
+
+import com.bankease.exceptions.InvalidAccountException;
+import com.bankease.metrics.LatencyRecorder;
+import com.bankease.model.Admin;
+import com.bankease.model.BankAccount;
+import com.bankease.model.CompactTransaction;
+import com.bankease.model.Discrepancy;
+import com.bankease.model.InterestRunResult;
+import com.bankease.model.OperationLatency;
+import com.bankease.model.ReconciliationReport;
+import com.bankease.model.StandingOrder;
+import com.bankease.model.StandingOrderFrequency;
+import com.bankease.model.StatementRunResult;
+import com.bankease.model.SystemStatistics;
+import com.bankease.model.Transaction;
+import com.bankease.model.User;
+import com.bankease.scheduler.StandingOrderScheduler;
+import com.bankease.service.AdminService;
+import com.bankease.service.BankingService;
+import com.bankease.utils.ConsolePager;
+import com.bankease.utils.DatabaseConfig;
+import com.bankease.utils.TimeUtils;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collectors;
+
+/**
+ * JSON endpoints over BankingService and AdminService.
+ * <p>
+ * Users and admins log in through /api/sessions and /api/admin/sessions and send the returned
+ * token as a bearer token. User endpoints only operate on accounts the user owns; admin
+ * endpoints check the role permissions defined on Admin; batch jobs need a SUPER_ADMIN.
+ * <p>
+ * Listings that can grow without bound (users, accounts, transactions) are returned one
+ * keyset page at a time as {"items": [...], "next": id}: ?limit= sets the page size (up to
+ * api.maxPageSize, default api.pageSize) and passing "next" back as ?after= fetches the
+ * following page. Batch jobs are queued on the server's JobRunner and answered with 202 and
+ * a /api/admin/jobs/{id} status resource.
+ */
+public class BankingApi {
+    private final BankingService bankingService;
+    private final AdminService adminService;
+    private final StandingOrderScheduler standingOrderScheduler;
+    private final int pageSize;
+    private final int maxPageSize;
+
+    public BankingApi(BankingService bankingService, AdminService adminService,
+                      StandingOrderScheduler standingOrderScheduler) {
+        this(bankingService, adminService, standingOrderScheduler,
+             DatabaseConfig.getIntProperty("api.pageSize", 100), DatabaseConfig.getIntProperty("api.maxPageSize", 1000));
+    }
+
+    public BankingApi(BankingService bankingService, AdminService adminService,
+                      StandingOrderScheduler standingOrderScheduler, int pageSize, int maxPageSize) {
+        this.bankingService = bankingService;
+        this.adminService = adminService;
+        this.standingOrderScheduler = standingOrderScheduler;
+        this.maxPageSize = Math.max(1, maxPageSize);
+        this.pageSize = Math.min(Math.max(1, pageSize), this.maxPageSize);
+    }
+
+    /**
+     * Register every endpoint on a server
+     * @param server API server
+     */
+    public void register(ApiServer server) {
+        SessionStore sessions = server.getSessions();
+        JobRunner jobs = server.getJobs();
+
+        server.route("GET", "/api/health", ApiServer.Access.PUBLIC, request -> {
+            Map<String, Object> health = new LinkedHashMap<>();
+            health.put("status", "UP");
+            health.put("sessions", sessions.size());
+            health.put("virtualThreads", server.isUsingVirtualThreads());
+            return health;
+        });
+
+        // Sessions and registration
+        server.route("POST", "/api/users", ApiServer.Access.PUBLIC, request -> toJson(
+                bankingService.registerUser(request.getString("username"), request.getString("password"),
+                                            request.getString("email"), request.getString("fullName"),
+                                            request.getString("phoneNumber", ""))));
+        server.route("POST", "/api/sessions", ApiServer.Access.PUBLIC, request -> {
+            Optional<User> user = bankingService.loginUser(request.getString("username"), request.getString("password"));
+            if (user.isEmpty()) {
+                throw new ApiException(401, "Invalid username or password");
+            }
+            SessionStore.Session session = sessions.createUserSession(user.get().getUserId());
+            Map<String, Object> body = sessionJson(session, sessions);
+            body.put("userId", user.get().getUserId());
+            return body;
+        });
+        server.route("POST", "/api/admin/sessions", ApiServer.Access.PUBLIC, request -> {
+            Optional<Admin> admin = adminService.loginAdmin(request.getString("username"), request.getString("password"));
+            if (admin.isEmpty()) {
+                throw new ApiException(401, "Invalid username or password");
+            }
+            Map<String, Object> body = sessionJson(sessions.createAdminSession(admin.get()), sessions);
+            body.put("adminId", admin.get().getAdminId());
+            body.put("role", admin.get().getRole());
+            return body;
+        });
+        server.route("DELETE", "/api/sessions", ApiServer.Access.SESSION, request -> {
+            sessions.remove(request.getToken());
+            return null;
+        });
+
+        // User accounts and transactions
+        server.route("GET", "/api/accounts", ApiServer.Access.USER, request ->
+                bankingService.getUserAccounts(request.getUserId()).stream().map(this::toJson).collect(Collectors.toList()));
+        server.route("POST", "/api/accounts", ApiServer.Access.USER, request -> toJson(
+                bankingService.createAccount(request.getUserId(), request.getString("accountType"),
+                                             request.getAmount("initialBalance"))));
+        server.route("GET", "/api/accounts/{number}", ApiServer.Access.USER, request ->
+                toJson(requireOwnAccount(request, request.pathParam("number"))));
+        server.route("GET", "/api/accounts/{number}/transactions", ApiServer.Access.USER, request -> {
+            String accountNumber = requireOwnAccount(request, request.pathParam("number")).getAccountNumber();
+            return transactionPage(request, (beforeId, limit) ->
+                    bankingService.getTransactionHistoryPage(accountNumber, beforeId, limit));
+        });
+        server.route("POST", "/api/accounts/{number}/deposits", ApiServer.Access.USER, request -> {
+            String accountNumber = requireOwnAccount(request, request.pathParam("number")).getAccountNumber();
+            return toJson(bankingService.deposit(accountNumber, request.getAmount("amount"),
+                                                 request.getString("description", "Deposit")));
+        });
+        server.route("POST", "/api/accounts/{number}/withdrawals", ApiServer.Access.USER, request -> {
+            String accountNumber = requireOwnAccount(request, request.pathParam("number")).getAccountNumber();
+            return toJson(bankingService.withdraw(accountNumber, request.getAmount("amount"),
+                                                  request.getString("description", "Withdrawal")));
+        });
+        server.route("POST", "/api/transfers", ApiServer.Access.USER, request -> {
+            String fromAccount = requireOwnAccount(request, request.getString("fromAccount")).getAccountNumber();
+            return toJson(bankingService.transfer(fromAccount, request.getString("toAccount"),
+                                                  request.getAmount("amount"),
+                                                  request.getString("description", "Transfer")));
+        });
+        server.route("GET", "/api/transactions", ApiServer.Access.USER, request ->
+                transactionPage(request, (beforeId, limit) ->
+                        bankingService.getUserTransactionsPage(request.getUserId(), beforeId, limit)));
+
+        // Standing orders
+        server.route("GET", "/api/standing-orders", ApiServer.Access.USER, request ->
+                bankingService.getStandingOrders(request.getUserId()).stream().map(this::toJson)
+                              .collect(Collectors.toList()));
+        server.route("POST", "/api/standing-orders", ApiServer.Access.USER, request -> {
+            StandingOrder order = bankingService.createStandingOrder(request.getUserId(),
+                    request.getString("fromAccount"), request.getString("toAccount"), request.getAmount("amount"),
+                    request.getString("description", "Standing order"),
+                    StandingOrderFrequency.valueOf(request.getString("frequency").toUpperCase()),
+                    parseDateTime(request.getString("startAt")));
+            if (standingOrderScheduler != null) {
+                standingOrderScheduler.orderCreated(order);
+            }
+            return toJson(order);
+        });
+        server.route("DELETE", "/api/standing-orders/{id}", ApiServer.Access.USER, request -> {
+            if (!bankingService.cancelStandingOrder(request.getUserId(), parseId(request.pathParam("id")))) {
+                throw new ApiException(404, "No active standing order " + request.pathParam("id"));
+            }
+            return null;
+        });
+
+        // Admin
+        server.route("GET", "/api/admin/users", ApiServer.Access.ADMIN, request -> {
+            requirePermission(request.getAdmin().canManageUsers());
+            return page(request, false, adminService::getUsersPage, User::getUserId, this::toJson);
+        });
+        server.route("GET", "/api/admin/accounts", ApiServer.Access.ADMIN, request -> {
+            requirePermission(request.getAdmin().canViewAllAccounts());
+            return page(request, false, adminService::getAccountsPage, BankAccount::getAccountId, this::toJson);
+        });
+        server.route("GET", "/api/admin/transactions", ApiServer.Access.ADMIN, request -> {
+            requirePermission(request.getAdmin().canViewAllTransactions());
+            return transactionPage(request, transactionSource(request));
+        });
+        server.route("GET", "/api/admin/statistics", ApiServer.Access.ADMIN, request -> {
+            requirePermission(request.getAdmin().canViewAllAccounts());
+            return toJson(adminService.getDashboardStatistics());
+        });
+        server.route("GET", "/api/admin/latency", ApiServer.Access.ADMIN, request -> {
+            requirePermission(request.getAdmin().canViewAllAccounts());
+            return LatencyRecorder.getInstance().getLatencies().stream().map(this::toJson).collect(Collectors.toList());
+        });
+        server.route("POST", "/api/admin/accounts/{number}/freeze", ApiServer.Access.ADMIN, request ->
+                setFrozen(request, true));
+        server.route("POST", "/api/admin/accounts/{number}/unfreeze", ApiServer.Access.ADMIN, request ->
+                setFrozen(request, false));
+        server.route("POST", "/api/admin/jobs/reconciliation", ApiServer.Access.ADMIN, request -> {
+            requirePermission(request.getAdmin().isSuperAdmin());
+            return accepted(jobs.submit("reconciliation", "reconciliation",
+                                        () -> toJson(adminService.runReconciliation())));
+        });
+        server.route("POST", "/api/admin/jobs/interest", ApiServer.Access.ADMIN, request -> {
+            requirePermission(request.getAdmin().isSuperAdmin());
+            String date = request.getString("date", null);
+            LocalDate runDate = date != null ? parseDate(date) : LocalDate.now();
+            return accepted(jobs.submit("interest", "interest " + runDate,
+                                        () -> toJson(adminService.runInterestAccrual(runDate))));
+        });
+        server.route("POST", "/api/admin/jobs/statements", ApiServer.Access.ADMIN, request -> {
+            requirePermission(request.getAdmin().isSuperAdmin());
+            String month = request.getString("month", null);
+            YearMonth statementMonth = month != null ? parseMonth(month) : YearMonth.now().minusMonths(1);
+            return accepted(jobs.submit("statements", "statements " + statementMonth,
+                                        () -> toJson(adminService.generateMonthlyStatements(statementMonth))));
+        });
+        server.route("GET", "/api/admin/jobs/{id}", ApiServer.Access.ADMIN, request -> {
+            requirePermission(request.getAdmin().isSuperAdmin());
+            JobRunner.Job job = jobs.get(parseId(request.pathParam("id")));
+            if (job == null) {
+                throw new ApiException(404, "No job " + request.pathParam("id"));
+            }
+            return toJson(job);
+        });
+    }
+
+    private BankAccount requireOwnAccount(ApiRequest request, String accountNumber) throws Exception {
+        for (BankAccount account : bankingService.getUserAccounts(request.getUserId())) {
+            if (account.getAccountNumber().equals(accountNumber)) {
+                return account;
+            }
+        }
+        // Same answer whether the account is missing or someone else's
+        throw new InvalidAccountException("Account not found: " + accountNumber);
+    }
+
+    private ConsolePager.PageSource<CompactTransaction> transactionSource(ApiRequest request) {
+        if (request.queryParam("account") != null) {
+            String accountNumber = request.queryParam("account");
+            return (beforeId, limit) -> adminService.getTransactionsByAccountPageCompact(accountNumber, beforeId, limit);
+        }
+        if (request.queryParam("userId") != null) {
+            int userId = parseId(request.queryParam("userId"));
+            return (beforeId, limit) -> adminService.getTransactionsByUserIdPageCompact(userId, beforeId, limit);
+        }
+        if (request.queryParam("type") != null) {
+            String type = request.queryParam("type").toUpperCase();
+            return (beforeId, limit) -> adminService.getTransactionsByTypePageCompact(type, beforeId, limit);
+        }
+        if (request.queryParam("status") != null) {
+            String status = request.queryParam("status").toUpperCase();
+            return (beforeId, limit) -> adminService.getTransactionsByStatusPageCompact(status, beforeId, limit);
+        }
+        if (request.queryParam("from") != null && request.queryParam("to") != null) {
+            LocalDateTime from = parseDate(request.queryParam("from")).atStartOfDay();
+            LocalDateTime to = parseDate(request.queryParam("to")).plusDays(1).atStartOfDay();
+            return (beforeId, limit) -> adminService.getTransactionsByDateRangePageCompact(from, to, beforeId, limit);
+        }
+        return adminService::getTransactionsPageCompact;
+    }
+
+    private Map<String, Object> transactionPage(ApiRequest request, ConsolePager.PageSource<CompactTransaction> source)
+            throws SQLException {
+        return page(request, true, source, CompactTransaction::getTransactionId, this::toJson);
+    }
+
+    /**
+     * Fetch the page after the ?after= cursor, reading one extra row to learn whether another page follows
+     */
+    private <T> Map<String, Object> page(ApiRequest request, boolean descending, ConsolePager.PageSource<T> source,
+                                         ToIntFunction<T> idOf, Function<T, Map<String, Object>> json)
+            throws SQLException {
+        int limit = pageSize;
+        if (request.queryParam("limit") != null) {
+            limit = parseId(request.queryParam("limit"));
+            if (limit < 1) {
+                throw new ApiException(400, "limit must be at least 1");
+            }
+            limit = Math.min(limit, maxPageSize);
+        }
+        String after = request.queryParam("after");
+        int cursor = after != null ? parseId(after) : descending ? Integer.MAX_VALUE : 0;
+
+        List<T> rows = source.fetch(cursor, limit + 1);
+        boolean hasNext = rows.size() > limit;
+        if (hasNext) {
+            rows = rows.subList(0, limit);
+        }
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("items", rows.stream().map(json).collect(Collectors.toList()));
+        body.put("next", hasNext ? idOf.applyAsInt(rows.get(rows.size() - 1)) : null);
+        return body;
+    }
+
+    private ApiResponse accepted(JobRunner.Job job) {
+        return ApiResponse.accepted(toJson(job), "/api/admin/jobs/" + job.getId());
+    }
+
+    private Object setFrozen(ApiRequest request, boolean frozen) throws Exception {
+        requirePermission(request.getAdmin().canFreezeAccounts());
+        String accountNumber = request.pathParam("number");
+        if (!adminService.updateAccountFrozenStatus(accountNumber, frozen)) {
+            throw new InvalidAccountException("Account not found: " + accountNumber);
+        }
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("accountNumber", accountNumber);
+        body.put("frozen", frozen);
+        return body;
+    }
+
+    private static void requirePermission(boolean allowed) {
+        if (!allowed) {
+            throw new ApiException(403, "Insufficient admin permissions");
+        }
+    }
+
+    private static int parseId(String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new ApiException(400, "Invalid ID: " + value);
+        }
+    }
+
+    private static LocalDate parseDate(String value) {
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new ApiException(400, "Invalid date (expected yyyy-MM-dd): " + value);
+        }
+    }
+
+    private static LocalDateTime parseDateTime(String value) {
+        try {
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new ApiException(400, "Invalid date-time (expected yyyy-MM-ddTHH:mm): " + value);
+        }
+    }
+
+    private static YearMonth parseMonth(String value) {
+        try {
+            return YearMonth.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new ApiException(400, "Invalid month (expected yyyy-MM): " + value);
+        }
+    }
+
+    private static Map<String, Object> sessionJson(SessionStore.Session session, SessionStore sessions) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("token", session.getToken());
+        body.put("expiresInSeconds", sessions.getTtlMillis() / 1000);
+        return body;
+    }
+
+    private Map<String, Object> toJson(User user) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("userId", user.getUserId());
+        json.put("username", user.getUsername());
+        json.put("email", user.getEmail());
+        json.put("fullName", user.getFullName());
+        json.put("phoneNumber", user.getPhoneNumber());
+        json.put("registrationDate", user.getRegistrationDate());
+        json.put("active", user.isActive());
+        return json;
+    }
+
+    private Map<String, Object> toJson(BankAccount account) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("accountId", account.getAccountId());
+        json.put("accountNumber", account.getAccountNumber());
+        json.put("userId", account.getUserId());
+        json.put("accountType", account.getAccountType());
+        json.put("balance", account.getBalance());
+        json.put("creationDate", account.getCreationDate());
+        json.put("active", account.isActive());
+        json.put("frozen", account.isFrozen());
+        return json;
+    }
+
+    private Map<String, Object> toJson(Transaction transaction) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("transactionId", transaction.getTransactionId());
+        json.put("type", transaction.getTransactionType());
+        json.put("accountId", transaction.getAccountId());
+        json.put("fromAccount", transaction.getFromAccountNumber());
+        json.put("toAccount", transaction.getToAccountNumber());
+        json.put("amount", transaction.getAmount());
+        json.put("description", transaction.getDescription());
+        json.put("timestamp", transaction.getTimestamp());
+        json.put("status", transaction.getStatus());
+        return json;
+    }
+
+    private Map<String, Object> toJson(CompactTransaction transaction) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("transactionId", transaction.getTransactionId());
+        json.put("type", transaction.getTransactionType());
+        json.put("accountId", transaction.getAccountId());
+        json.put("amount", transaction.getAmount());
+        json.put("timestamp", TimeUtils.fromEpochMillis(transaction.getTimestampMillis()));
+        json.put("status", transaction.getStatus());
+        return json;
+    }
+
+    private List<Map<String, Object>> toJson(List<Transaction> transactions) {
+        return transactions.stream().map(this::toJson).collect(Collectors.toList());
+    }
+
+    private Map<String, Object> toJson(JobRunner.Job job) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("jobId", job.getId());
+        json.put("kind", job.getKind());
+        json.put("state", job.getState());
+        json.put("submittedAt", job.getSubmittedAt());
+        json.put("startedAt", job.getStartedAt());
+        json.put("finishedAt", job.getFinishedAt());
+        json.put("result", job.getResult());
+        json.put("error", job.getError());
+        return json;
+    }
+
+    private Map<String, Object> toJson(StandingOrder order) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("orderId", order.getOrderId());
+        json.put("fromAccount", order.getFromAccountNumber());
+        json.put("toAccount", order.getToAccountNumber());
+        json.put("amount", order.getAmount());
+        json.put("description", order.getDescription());
+        json.put("frequency", order.getFrequency());
+        json.put("startAt", order.getStartAt());
+        json.put("nextRunAt", order.getNextRunAt());
+        json.put("runCount", order.getRunCount());
+        json.put("active", order.isActive());
+        json.put("lastStatus", order.getLastStatus());
+        return json;
+    }
+
+    private Map<String, Object> toJson(SystemStatistics statistics) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("totalUsers", statistics.getTotalUsers());
+        json.put("totalAccounts", statistics.getTotalAccounts());
+        json.put("totalTransactions", statistics.getTotalTransactions());
+        json.put("totalBalance", statistics.getTotalBalance());
+        json.put("ageMillis", statistics.getAgeMillis());
+        return json;
+    }
+
+    private Map<String, Object> toJson(ReconciliationReport report) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("accountsChecked", report.getAccountsChecked());
+        json.put("partitions", report.getPartitions());
+        json.put("failedPartitions", report.getFailedPartitions());
+        json.put("netDifference", report.getNetDifference());
+        json.put("clean", report.isClean());
+        json.put("elapsedMillis", report.getElapsedMillis());
+        json.put("discrepancies", report.getDiscrepancies().stream().map(this::toJson).collect(Collectors.toList()));
+        return json;
+    }
+
+    private Map<String, Object> toJson(Discrepancy discrepancy) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("accountNumber", discrepancy.getAccountNumber());
+        json.put("difference", discrepancy.getDifference());
+        json.put("confirmed", discrepancy.isConfirmed());
+        return json;
+    }
+
+    private Map<String, Object> toJson(InterestRunResult result) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("runDate", result.getRunDate());
+        json.put("alreadyCompleted", result.isAlreadyCompleted());
+        json.put("accountsPosted", result.getAccountsPosted());
+        json.put("maturities", result.getMaturities());
+        json.put("credited", result.getCredited());
+        json.put("accrued", result.getAccrued());
+        json.put("elapsedMillis", result.getElapsedMillis());
+        return json;
+    }
+
+    private Map<String, Object> toJson(StatementRunResult result) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("month", result.getMonth());
+        json.put("statementsWritten", result.getStatementsWritten());
+        json.put("statementsSkipped", result.getStatementsSkipped());
+        json.put("accounts", result.getAccounts());
+        json.put("transactions", result.getTransactions());
+        json.put("elapsedMillis", result.getElapsedMillis());
+        return json;
+    }
+
+    private Map<String, Object> toJson(OperationLatency latency) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("operation", latency.getOperation());
+        json.put("phase", latency.getPhase());
+        json.put("count", latency.getCount());
+        json.put("totalNanos", latency.getTotalNanos());
+        json.put("p50Nanos", latency.getP50Nanos());
+        json.put("p95Nanos", latency.getP95Nanos());
+        json.put("p99Nanos", latency.getP99Nanos());
+        json.put("p999Nanos", latency.getP999Nanos());
+        json.put("maxNanos", latency.getMaxNanos());
+        return json;
+    }
+}
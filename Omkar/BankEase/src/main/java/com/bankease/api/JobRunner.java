@@ -0,0 +1,208 @@
+package com.bankease.api;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs admin batch jobs (reconciliation, interest, statements) off the request threads.
+ * <p>
+ * The request that submits a job gets 202 and the job's status resource back at once; the
+ * job then runs on one of api.jobThreads background threads without holding an
+ * api.maxInFlight permit, so a long batch cannot starve ordinary requests or outlive the
+ * request timeout. Submitting a job with the same key while one is queued or running returns
+ * that job instead of starting a second copy. The api.maxJobs most recent finished jobs are
+ * kept for status queries; older ones are forgotten.
+ */
+public class JobRunner {
+    /**
+     * Job lifecycle
+     */
+    public enum State {
+        QUEUED, RUNNING, SUCCEEDED, FAILED
+    }
+
+    /**
+     * The work a job does; the returned value becomes the job's JSON result
+     */
+    @FunctionalInterface
+    public interface Work {
+        Object run() throws Exception;
+    }
+
+    /**
+     * A submitted job and its outcome
+     */
+    public static final class Job {
+        private final int id;
+        private final String kind;
+        private final String key;
+        private final LocalDateTime submittedAt = LocalDateTime.now();
+        private volatile State state = State.QUEUED;
+        private volatile LocalDateTime startedAt;
+        private volatile LocalDateTime finishedAt;
+        private volatile Object result;
+        private volatile String error;
+
+        private Job(int id, String kind, String key) {
+            this.id = id;
+            this.kind = kind;
+            this.key = key;
+        }
+
+        public int getId() {
+            return id;
+        }
+
+        public String getKind() {
+            return kind;
+        }
+
+        public State getState() {
+            return state;
+        }
+
+        public boolean isFinished() {
+            return state == State.SUCCEEDED || state == State.FAILED;
+        }
+
+        public LocalDateTime getSubmittedAt() {
+            return submittedAt;
+        }
+
+        public LocalDateTime getStartedAt() {
+            return startedAt;
+        }
+
+        public LocalDateTime getFinishedAt() {
+            return finishedAt;
+        }
+
+        public Object getResult() {
+            return result;
+        }
+
+        public String getError() {
+            return error;
+        }
+    }
+
+    private final ExecutorService executor;
+    private final int maxFinishedJobs;
+    private final AtomicInteger nextId = new AtomicInteger();
+    private final Map<Integer, Job> jobs = new LinkedHashMap<>();
+    private final Map<String, Job> active = new HashMap<>();
+
+    /**
+     * @param threads jobs run at once
+     * @param maxFinishedJobs finished jobs kept for status queries
+     */
+    public JobRunner(int threads, int maxFinishedJobs) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.max(1, threads), runnable -> {
+            Thread thread = new Thread(runnable, "api-job-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.maxFinishedJobs = Math.max(1, maxFinishedJobs);
+    }
+
+    /**
+     * Queue a job, or return the queued or running job with the same key
+     * @param kind job kind shown in its status
+     * @param key identifies duplicate submissions, e.g. kind plus parameters
+     * @param work the job
+     * @return job
+     */
+    public synchronized Job submit(String kind, String key, Work work) {
+        Job running = active.get(key);
+        if (running != null) {
+            return running;
+        }
+        Job job = new Job(nextId.incrementAndGet(), kind, key);
+        try {
+            executor.execute(() -> run(job, work));
+        } catch (RejectedExecutionException e) {
+            throw new ApiException(503, "Server is shutting down");
+        }
+        jobs.put(job.id, job);
+        active.put(key, job);
+        return job;
+    }
+
+    /**
+     * Find a job
+     * @param id job ID
+     * @return job, or null if unknown or already forgotten
+     */
+    public synchronized Job get(int id) {
+        return jobs.get(id);
+    }
+
+    /**
+     * Stop taking jobs and wait for running ones
+     * @param graceSeconds how long to wait before interrupting them
+     */
+    public void stop(int graceSeconds) {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(graceSeconds, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run(Job job, Work work) {
+        job.startedAt = LocalDateTime.now();
+        job.state = State.RUNNING;
+        try {
+            job.result = work.run();
+            finish(job, State.SUCCEEDED);
+        } catch (Exception e) {
+            // Same rule as request errors: no SQL or internal details in the status resource
+            System.err.println("API job " + job.id + " (" + job.kind + ") failed: " + e);
+            job.error = e instanceof SQLException ? "Database error"
+                    : e instanceof ApiException || e instanceof IllegalArgumentException ? e.getMessage()
+                    : "Internal error";
+            finish(job, State.FAILED);
+        } catch (Error e) {
+            // Still a finished job, or it would stay RUNNING and block its key forever
+            System.err.println("API job " + job.id + " (" + job.kind + ") failed: " + e);
+            job.error = "Internal error";
+            finish(job, State.FAILED);
+            throw e;
+        }
+    }
+
+    private synchronized void finish(Job job, State state) {
+        job.finishedAt = LocalDateTime.now();
+        job.state = state;
+        active.remove(job.key);
+
+        int finished = 0;
+        for (Job each : jobs.values()) {
+            if (each.isFinished()) {
+                finished++;
+            }
+        }
+        // Forget the oldest finished jobs; queued and running ones always stay
+        Iterator<Job> oldest = jobs.values().iterator();
+        while (finished > maxFinishedJobs && oldest.hasNext()) {
+            if (oldest.next().isFinished()) {
+                oldest.remove();
+                finished--;
+            }
+        }
+    }
+}
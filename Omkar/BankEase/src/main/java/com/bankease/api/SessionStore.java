@@ -0,0 +1,143 @@
+package com.bankease.api;
+
+import com.bankease.model.Admin;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory store of API sessions keyed by bearer token.
+ * <p>
+ * A session belongs either to a user or to an admin and expires after the configured idle
+ * time. Expired sessions are dropped when they are looked up and by purgeExpired, which the
+ * server calls periodically. Tokens are 256-bit random values, so they cannot be guessed.
+ */
+public class SessionStore {
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+    private final long ttlMillis;
+    private final int maxSessions;
+
+    public SessionStore(long ttlMillis, int maxSessions) {
+        this.ttlMillis = ttlMillis;
+        this.maxSessions = maxSessions;
+    }
+
+    /**
+     * Open a session for a user
+     * @param userId user ID
+     * @return new Session
+     */
+    public Session createUserSession(int userId) {
+        return create(userId, null);
+    }
+
+    /**
+     * Open a session for an admin
+     * @param admin admin
+     * @return new Session
+     */
+    public Session createAdminSession(Admin admin) {
+        return create(-1, admin);
+    }
+
+    private Session create(int userId, Admin admin) {
+        if (sessions.size() >= maxSessions) {
+            purgeExpired();
+            if (sessions.size() >= maxSessions) {
+                throw new ApiException(503, "Too many active sessions");
+            }
+        }
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        Session session = new Session(Base64.getUrlEncoder().withoutPadding().encodeToString(bytes), userId, admin);
+        sessions.put(session.getToken(), session);
+        return session;
+    }
+
+    /**
+     * Look up a live session and extend it
+     * @param token bearer token
+     * @return Session, or null if the token is unknown or expired
+     */
+    public Session get(String token) {
+        if (token == null) {
+            return null;
+        }
+        Session session = sessions.get(token);
+        if (session == null) {
+            return null;
+        }
+        long now = System.currentTimeMillis();
+        if (now - session.lastAccessMillis > ttlMillis) {
+            sessions.remove(token);
+            return null;
+        }
+        session.lastAccessMillis = now;
+        return session;
+    }
+
+    /**
+     * Close a session
+     * @param token bearer token
+     * @return true if the session existed
+     */
+    public boolean remove(String token) {
+        return token != null && sessions.remove(token) != null;
+    }
+
+    /**
+     * Drop every expired session
+     * @return number of sessions dropped
+     */
+    public int purgeExpired() {
+        long cutoff = System.currentTimeMillis() - ttlMillis;
+        int before = sessions.size();
+        sessions.values().removeIf(session -> session.lastAccessMillis < cutoff);
+        return Math.max(0, before - sessions.size());
+    }
+
+    public int size() {
+        return sessions.size();
+    }
+
+    public long getTtlMillis() {
+        return ttlMillis;
+    }
+
+    /**
+     * An authenticated user or admin session
+     */
+    public static class Session {
+        private final String token;
+        private final int userId;
+        private final Admin admin;
+        private volatile long lastAccessMillis;
+
+        private Session(String token, int userId, Admin admin) {
+            this.token = token;
+            this.userId = userId;
+            this.admin = admin;
+            this.lastAccessMillis = System.currentTimeMillis();
+        }
+
+        public String getToken() {
+            return token;
+        }
+
+        public int getUserId() {
+            return userId;
+        }
+
+        public Admin getAdmin() {
+            return admin;
+        }
+
+        public boolean isAdmin() {
+            return admin != null;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.bankease.batch;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One line of a batch command script.
+ * <p>
+ * Lines are a command name followed by whitespace-separated arguments; arguments
+ * containing spaces are double-quoted, and blank lines and lines starting with # are
+ * ignored. Account and user arguments may be $name references bound by earlier commands:
+ * <pre>
+ * REGISTER alice secret alice@example.com "Alice Smith" 5550100   binds $alice to the user ID
+ * OPEN $alice SAVINGS 500.00 AS main                               binds $main to the account number
+ * DEPOSIT $main 100.00 "Paycheck"
+ * WITHDRAW $main 20.00
+ * TRANSFER $main ACC0000000000042 50.00 "Rent"
+ * FREEZE $main / UNFREEZE $main / BALANCE $main
+ * SYNC                                                             waits for all earlier commands
+ * </pre>
+ */
+public class BatchCommand {
+
+    /**
+     * Command names and their argument counts
+     */
+    public enum Type {
+        REGISTER(4, 5),
+        OPEN(3, 5),
+        DEPOSIT(2, 3),
+        WITHDRAW(2, 3),
+        TRANSFER(3, 4),
+        FREEZE(1, 1),
+        UNFREEZE(1, 1),
+        BALANCE(1, 1),
+        SYNC(0, 0);
+
+        private final int minArgs;
+        private final int maxArgs;
+
+        Type(int minArgs, int maxArgs) {
+            this.minArgs = minArgs;
+            this.maxArgs = maxArgs;
+        }
+    }
+
+    private final int lineNumber;
+    private final Type type;
+    private final List<String> args;
+
+    public BatchCommand(int lineNumber, Type type, List<String> args) {
+        this.lineNumber = lineNumber;
+        this.type = type;
+        this.args = List.copyOf(args);
+    }
+
+    /**
+     * Parse one script line
+     * @param line script line
+     * @param lineNumber 1-based line number, used in results
+     * @return BatchCommand, or null for blank and comment lines
+     * @throws IllegalArgumentException if the line is malformed
+     */
+    public static BatchCommand parse(String line, int lineNumber) {
+        String trimmed = line.trim();
+        if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+            return null;
+        }
+        List<String> tokens = tokenize(trimmed);
+        
+        Type type;
+        try {
+            type = Type.valueOf(tokens.get(0).toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown command: " + tokens.get(0));
+        }
+        
+        List<String> args = tokens.subList(1, tokens.size());
+        if (type == Type.OPEN && args.size() == 5 && !"AS".equalsIgnoreCase(args.get(3))) {
+            throw new IllegalArgumentException("Expected AS before the binding name");
+        }
+        if (args.size() < type.minArgs || args.size() > type.maxArgs || (type == Type.OPEN && args.size() == 4)) {
+            throw new IllegalArgumentException("Wrong number of arguments for " + type);
+        }
+        return new BatchCommand(lineNumber, type, args);
+    }
+
+    /**
+     * @param index argument index
+     * @return argument, or null if absent
+     */
+    public String arg(int index) {
+        return index < args.size() ? args.get(index) : null;
+    }
+
+    // Getters
+    public int getLineNumber() {
+        return lineNumber;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public List<String> getArgs() {
+        return args;
+    }
+
+    private static List<String> tokenize(String line) {
+        List<String> tokens = new ArrayList<>();
+        StringBuilder token = new StringBuilder();
+        boolean quoted = false;
+        boolean inToken = false;
+        
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                quoted = !quoted;
+                inToken = true;
+            } else if (Character.isWhitespace(c) && !quoted) {
+                if (inToken) {
+                    tokens.add(token.toString());
+                    token.setLength(0);
+                    inToken = false;
+                }
+            } else {
+                token.append(c);
+                inToken = true;
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quote");
+        }
+        if (inToken) {
+            tokens.add(token.toString());
+        }
+        return tokens;
+    }
+
+    @Override
+    public String toString() {
+        return type + (args.isEmpty() ? "" : " " + String.join(" ", args));
+    }
+}
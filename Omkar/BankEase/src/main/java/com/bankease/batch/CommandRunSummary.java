@@ -0,0 +1,87 @@
+package com.bankease.batch;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Totals and per-command throughput of a batch command run
+ */
+public class CommandRunSummary {
+
+    /**
+     * Figures for one command type
+     */
+    public static class TypeStats {
+        private final long count;
+        private final long failed;
+        private final long totalNanos;
+
+        public TypeStats(long count, long failed, long totalNanos) {
+            this.count = count;
+            this.failed = failed;
+            this.totalNanos = totalNanos;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getFailed() {
+            return failed;
+        }
+
+        public double getAverageMillis() {
+            return count > 0 ? totalNanos / 1_000_000.0 / count : 0;
+        }
+    }
+
+    private final long commands;
+    private final long failed;
+    private final long elapsedMillis;
+    private final int threads;
+    private final Map<BatchCommand.Type, TypeStats> byType;
+
+    public CommandRunSummary(long commands, long failed, long elapsedMillis, int threads,
+                             Map<BatchCommand.Type, TypeStats> byType) {
+        this.commands = commands;
+        this.failed = failed;
+        this.elapsedMillis = elapsedMillis;
+        this.threads = threads;
+        this.byType = new EnumMap<>(byType);
+    }
+
+    // Getters
+    public long getCommands() {
+        return commands;
+    }
+
+    public long getSucceeded() {
+        return commands - failed;
+    }
+
+    /**
+     * @return commands that failed, including lines that could not be parsed
+     */
+    public long getFailed() {
+        return failed;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public double getCommandsPerSecond() {
+        return elapsedMillis > 0 ? commands * 1000.0 / elapsedMillis : commands;
+    }
+
+    /**
+     * @return figures for each command type that ran
+     */
+    public Map<BatchCommand.Type, TypeStats> getByType() {
+        return byType;
+    }
+}
@@ -0,0 +1,230 @@
+package com.bankease.batch;
+
+import com.bankease.metrics.StartupTimer;
+import com.bankease.model.BankAccount;
+import com.bankease.model.Transaction;
+import com.bankease.model.User;
+import com.bankease.service.BankingService;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Runs a batch command script (see BatchCommand) through BankingService without prompts.
+ * <p>
+ * With one thread, commands run strictly in order. With more, commands run concurrently
+ * and SYNC waits for everything before it; a $name reference must therefore be separated
+ * from the command that binds it by a SYNC. Results are printed in script order either way,
+ * one line per command, and at most threads * 64 commands are in flight, so scripts of
+ * any length can be streamed from stdin.
+ */
+public class CommandRunner {
+    private static final int STAT_COUNT = 0;
+    private static final int STAT_FAILED = 1;
+    private static final int STAT_NANOS = 2;
+
+    private final BankingService bankingService;
+    private final int threads;
+    private final PrintStream out;
+    private final Map<String, String> bindings = new ConcurrentHashMap<>();
+    private final Map<BatchCommand.Type, AtomicLongArray> stats = new EnumMap<>(BatchCommand.Type.class);
+    private final AtomicInteger parseErrors = new AtomicInteger();
+
+    public CommandRunner(BankingService bankingService, int threads, PrintStream out) {
+        this.bankingService = bankingService;
+        this.threads = Math.max(1, threads);
+        this.out = out;
+        for (BatchCommand.Type type : BatchCommand.Type.values()) {
+            stats.put(type, new AtomicLongArray(3));
+        }
+    }
+
+    /**
+     * Run every command in a script
+     * @param reader script source
+     * @return CommandRunSummary
+     * @throws IOException if the script cannot be read
+     */
+    public CommandRunSummary run(BufferedReader reader) throws IOException {
+        long started = System.currentTimeMillis();
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService pool = threads == 1 ? null : Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "batch-command-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        Deque<Future<String>> inFlight = new ArrayDeque<>();
+        int maxInFlight = threads * 64;
+        
+        try {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                BatchCommand command;
+                try {
+                    command = BatchCommand.parse(line, lineNumber);
+                } catch (IllegalArgumentException e) {
+                    parseErrors.incrementAndGet();
+                    inFlight.add(CompletableFuture.completedFuture(
+                            "[line " + lineNumber + "] FAILED " + line.trim() + " -> " + e.getMessage()));
+                    drain(inFlight, pool == null ? 0 : maxInFlight);
+                    continue;
+                }
+                
+                if (command == null) {
+                    continue;
+                }
+                if (command.getType() == BatchCommand.Type.SYNC) {
+                    drain(inFlight, 0);
+                    continue;
+                }
+                if (pool == null) {
+                    out.println(execute(command));
+                } else {
+                    inFlight.add(pool.submit(() -> execute(command)));
+                    drain(inFlight, maxInFlight);
+                }
+            }
+            drain(inFlight, 0);
+        } finally {
+            if (pool != null) {
+                pool.shutdownNow();
+            }
+        }
+        
+        long commands = parseErrors.get();
+        long failed = parseErrors.get();
+        Map<BatchCommand.Type, CommandRunSummary.TypeStats> byType = new EnumMap<>(BatchCommand.Type.class);
+        for (Map.Entry<BatchCommand.Type, AtomicLongArray> entry : stats.entrySet()) {
+            AtomicLongArray figures = entry.getValue();
+            if (figures.get(STAT_COUNT) > 0) {
+                byType.put(entry.getKey(), new CommandRunSummary.TypeStats(figures.get(STAT_COUNT),
+                        figures.get(STAT_FAILED), figures.get(STAT_NANOS)));
+                commands += figures.get(STAT_COUNT);
+                failed += figures.get(STAT_FAILED);
+            }
+        }
+        return new CommandRunSummary(commands, failed, System.currentTimeMillis() - started, threads, byType);
+    }
+
+    /**
+     * Print completed results in order until at most maxInFlight remain
+     */
+    private void drain(Deque<Future<String>> inFlight, int maxInFlight) {
+        while (inFlight.size() > maxInFlight) {
+            Future<String> result = inFlight.poll();
+            try {
+                out.println(result.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for batch commands", e);
+            } catch (ExecutionException e) {
+                out.println("FAILED " + e.getCause());
+            }
+        }
+    }
+
+    /**
+     * Execute one command and record its timing
+     * @param command parsed command
+     * @return result line
+     */
+    private String execute(BatchCommand command) {
+        long start = System.nanoTime();
+        String outcome;
+        boolean success = false;
+        try {
+            outcome = apply(command);
+            success = true;
+        } catch (Exception e) {
+            outcome = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+        }
+        long nanos = System.nanoTime() - start;
+        StartupTimer.operationCompleted();
+        
+        AtomicLongArray figures = stats.get(command.getType());
+        figures.incrementAndGet(STAT_COUNT);
+        figures.addAndGet(STAT_NANOS, nanos);
+        if (!success) {
+            figures.incrementAndGet(STAT_FAILED);
+        }
+        return String.format("[line %d] %s %s -> %s (%.2f ms)", command.getLineNumber(), success ? "OK" : "FAILED",
+                             command, outcome, nanos / 1_000_000.0);
+    }
+
+    private String apply(BatchCommand command) throws Exception {
+        switch (command.getType()) {
+            case REGISTER: {
+                User user = bankingService.registerUser(command.arg(0), command.arg(1), command.arg(2),
+                                                        command.arg(3), command.arg(4));
+                bindings.put(user.getUsername(), String.valueOf(user.getUserId()));
+                return "user " + user.getUserId();
+            }
+            case OPEN: {
+                int userId = Integer.parseInt(resolve(command.arg(0)));
+                BankAccount account = bankingService.createAccount(userId, command.arg(1).toUpperCase(),
+                                                                   Double.parseDouble(command.arg(2)));
+                if (command.arg(4) != null) {
+                    bindings.put(command.arg(4), account.getAccountNumber());
+                }
+                return "account " + account.getAccountNumber();
+            }
+            case DEPOSIT: {
+                Transaction transaction = bankingService.deposit(resolve(command.arg(0)),
+                        Double.parseDouble(command.arg(1)), describe(command.arg(2), "Batch deposit"));
+                return "transaction " + transaction.getTransactionId();
+            }
+            case WITHDRAW: {
+                Transaction transaction = bankingService.withdraw(resolve(command.arg(0)),
+                        Double.parseDouble(command.arg(1)), describe(command.arg(2), "Batch withdrawal"));
+                return "transaction " + transaction.getTransactionId();
+            }
+            case TRANSFER: {
+                List<Transaction> transactions = bankingService.transfer(resolve(command.arg(0)), resolve(command.arg(1)),
+                        Double.parseDouble(command.arg(2)), describe(command.arg(3), "Batch transfer"));
+                return "transactions " + transactions.get(0).getTransactionId() + ", " + transactions.get(1).getTransactionId();
+            }
+            case FREEZE:
+            case UNFREEZE: {
+                boolean isFrozen = command.getType() == BatchCommand.Type.FREEZE;
+                bankingService.updateAccountFrozenStatus(resolve(command.arg(0)), isFrozen);
+                return isFrozen ? "frozen" : "unfrozen";
+            }
+            case BALANCE:
+                return String.format("$%.2f", bankingService.getAccountBalance(resolve(command.arg(0))));
+            default:
+                throw new IllegalArgumentException("Unsupported command: " + command.getType());
+        }
+    }
+
+    private String resolve(String argument) {
+        if (!argument.startsWith("$")) {
+            return argument;
+        }
+        String value = bindings.get(argument.substring(1));
+        if (value == null) {
+            throw new IllegalArgumentException("Unbound reference " + argument + 
+                                               (threads > 1 ? " (add SYNC after the command that binds it)" : ""));
+        }
+        return value;
+    }
+
+    private static String describe(String description, String fallback) {
+        return description != null ? description : fallback;
+    }
+}
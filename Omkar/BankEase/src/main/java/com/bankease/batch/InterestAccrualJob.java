@@ -0,0 +1,176 @@
+package com.bankease.batch;
+
+import com.bankease.dao.InterestDAO;
+import com.bankease.events.EventBus;
+import com.bankease.metrics.SystemCounters;
+import com.bankease.model.BankAccount;
+import com.bankease.model.InterestAccount;
+import com.bankease.model.InterestPosting;
+import com.bankease.model.InterestRunResult;
+import com.bankease.utils.DatabaseConfig;
+import com.bankease.utils.MoneyUtils;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Daily interest accrual and fixed deposit maturity batch.
+ * <p>
+ * Interest-bearing accounts are read in account ID order in chunks of interest.chunkSize.
+ * While one chunk is computed across interest.threads workers and applied, the next chunk
+ * is already being read. Each chunk's balance updates, journal rows, posting records and
+ * checkpoint are written with JDBC batches in one transaction, so a failed or interrupted
+ * run is resumed from the last committed chunk by running it again for the same date,
+ * and a posting record per account and date prevents crediting twice. After each chunk
+ * commits, its credits are added to SystemCounters and published on the EventBus like any
+ * other deposit.
+ */
+public class InterestAccrualJob {
+    private final InterestDAO interestDAO;
+    private final InterestCalculator calculator;
+    private final int chunkSize;
+    private final int threads;
+
+    public InterestAccrualJob() {
+        this(new InterestDAO(), new InterestCalculator(),
+             DatabaseConfig.getIntProperty("interest.chunkSize", 1000),
+             DatabaseConfig.getIntProperty("interest.threads", 4));
+    }
+
+    public InterestAccrualJob(InterestDAO interestDAO, InterestCalculator calculator, int chunkSize, int threads) {
+        this.interestDAO = interestDAO;
+        this.calculator = calculator;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.threads = Math.max(1, threads);
+    }
+
+    /**
+     * Accrue interest for a date, resuming a previous incomplete run for the same date
+     * @param runDate date interest is accrued for
+     * @return InterestRunResult for this invocation
+     * @throws SQLException if a chunk cannot be read or applied; committed chunks stay applied
+     */
+    public InterestRunResult run(LocalDate runDate) throws SQLException {
+        long started = System.currentTimeMillis();
+        int resumeAfter = interestDAO.startRun(runDate);
+        if (resumeAfter < 0) {
+            return new InterestRunResult(runDate, true, 0, 0, 0, 0, 0, 0, System.currentTimeMillis() - started);
+        }
+        
+        int chunks = 0;
+        int posted = 0;
+        int maturities = 0;
+        long credited = 0;
+        long accrued = 0;
+        
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(threads + 1, runnable -> {
+            Thread thread = new Thread(runnable, "interest-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<InterestAccount> chunk = interestDAO.findInterestBearingAccounts(resumeAfter, chunkSize);
+            while (!chunk.isEmpty()) {
+                int lastAccountId = chunk.get(chunk.size() - 1).getAccountId();
+                Future<List<InterestAccount>> nextChunk =
+                        pool.submit(() -> interestDAO.findInterestBearingAccounts(lastAccountId, chunkSize));
+                
+                List<InterestPosting> applied = interestDAO.applyChunk(runDate, compute(pool, chunk, runDate), 
+                                                                       lastAccountId);
+                chunks++;
+                if (applied != null) {
+                    publishApplied(chunk, applied);
+                    for (InterestPosting posting : applied) {
+                        posted++;
+                        credited += posting.getCreditCents();
+                        accrued += posting.getAccruedDeltaCents();
+                        if (posting.isMaturity()) {
+                            maturities++;
+                        }
+                    }
+                }
+                
+                chunk = nextChunk.get();
+            }
+            interestDAO.completeRun(runDate);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interest accrual interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof SQLException) {
+                throw (SQLException) e.getCause();
+            }
+            throw new SQLException("Interest accrual failed: " + e.getCause(), e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+        
+        return new InterestRunResult(runDate, false, resumeAfter, chunks, posted, maturities, credited, accrued,
+                                     System.currentTimeMillis() - started);
+    }
+
+    /**
+     * Count and publish the credits of a committed chunk
+     */
+    private static void publishApplied(List<InterestAccount> chunk, List<InterestPosting> applied) {
+        Map<Integer, InterestAccount> accounts = new HashMap<>(chunk.size() * 2);
+        for (InterestAccount account : chunk) {
+            accounts.put(account.getAccountId(), account);
+        }
+        
+        EventBus bus = EventBus.getInstance();
+        long credited = 0;
+        for (InterestPosting posting : applied) {
+            InterestAccount account = accounts.get(posting.getAccountId());
+            if (posting.getJournal() == null || account == null) {
+                continue;
+            }
+            // Balance as read with the chunk plus the credit; the update itself was relative
+            BankAccount bankAccount = new BankAccount(account.getAccountNumber(), account.getUserId(), 
+                    account.getAccountType(), MoneyUtils.fromCents(account.getBalanceCents() + posting.getCreditCents()));
+            bankAccount.setAccountId(account.getAccountId());
+            bus.publishBalanceChanged(bankAccount, posting.getCreditCents());
+            bus.publishTransactionCommitted(posting.getJournal(), bankAccount);
+            credited += posting.getCreditCents();
+        }
+        if (credited != 0) {
+            SystemCounters.getInstance().balanceChanged(credited);
+        }
+    }
+
+    private List<InterestPosting> compute(ExecutorService pool, List<InterestAccount> chunk, LocalDate runDate)
+            throws InterruptedException, ExecutionException {
+        int sliceSize = (chunk.size() + threads - 1) / threads;
+        List<Future<List<InterestPosting>>> slices = new ArrayList<>(threads);
+        for (int start = 0; start < chunk.size(); start += sliceSize) {
+            List<InterestAccount> slice = chunk.subList(start, Math.min(chunk.size(), start + sliceSize));
+            slices.add(pool.submit(() -> {
+                List<InterestPosting> postings = new ArrayList<>(slice.size());
+                for (InterestAccount account : slice) {
+                    InterestPosting posting = calculator.calculate(account, runDate);
+                    if (posting != null) {
+                        postings.add(posting);
+                    }
+                }
+                return postings;
+            }));
+        }
+        
+        // Slices are joined in order so postings stay in account ID order
+        List<InterestPosting> postings = new ArrayList<>(chunk.size());
+        for (Future<List<InterestPosting>> slice : slices) {
+            postings.addAll(slice.get());
+        }
+        return postings;
+    }
+}
@@ -0,0 +1,96 @@
+package com.bankease.batch;
+
+import com.bankease.model.AccountType;
+import com.bankease.model.InterestAccount;
+import com.bankease.model.InterestPosting;
+import com.bankease.utils.DatabaseConfig;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+
+/**
+ * Computes one day of interest for an account.
+ * <p>
+ * SAVINGS accounts are credited daily. FIXED_DEPOSIT accounts with a maturity date accrue
+ * interest outside the balance until the maturity date, when everything accrued is paid
+ * in; after that they earn nothing more. A fixed deposit without a maturity date is
+ * open-ended and credited daily like a savings account. Interest is balance * annual
+ * rate / day count, rounded half-up to the cent.
+ */
+public class InterestCalculator {
+    private final BigDecimal savingsRate;
+    private final BigDecimal fixedDepositRate;
+    private final BigDecimal dayCount;
+
+    public InterestCalculator() {
+        this(new BigDecimal(DatabaseConfig.getProperty("interest.rate.SAVINGS", "0.035")),
+             new BigDecimal(DatabaseConfig.getProperty("interest.rate.FIXED_DEPOSIT", "0.065")),
+             DatabaseConfig.getIntProperty("interest.dayCount", 365));
+    }
+
+    /**
+     * @param savingsRate annual savings rate, e.g. 0.035
+     * @param fixedDepositRate annual fixed deposit rate
+     * @param dayCount days per year used to derive the daily rate
+     */
+    public InterestCalculator(BigDecimal savingsRate, BigDecimal fixedDepositRate, int dayCount) {
+        this.savingsRate = savingsRate;
+        this.fixedDepositRate = fixedDepositRate;
+        this.dayCount = BigDecimal.valueOf(dayCount);
+    }
+
+    /**
+     * Compute the posting for one account and run date
+     * @param account interest-bearing account
+     * @param runDate date interest is accrued for
+     * @return posting, or null if there is nothing to apply
+     */
+    public InterestPosting calculate(InterestAccount account, LocalDate runDate) {
+        if (account.getAccountType() == AccountType.SAVINGS) {
+            return credit(account, dailyInterest(account.getBalanceCents(), savingsRate));
+        }
+        if (account.getAccountType() != AccountType.FIXED_DEPOSIT) {
+            return null;
+        }
+        
+        LocalDate maturityDate = account.getMaturityDate();
+        if (maturityDate == null) {
+            return credit(account, dailyInterest(account.getBalanceCents(), fixedDepositRate));
+        }
+        if (runDate.isBefore(maturityDate)) {
+            long interest = dailyInterest(account.getBalanceCents(), fixedDepositRate);
+            return interest > 0
+                    ? new InterestPosting(account.getAccountId(), account.getAccountNumber(), 0, interest, false)
+                    : null;
+        }
+        
+        // Matured: pay out everything accrued
+        long accrued = account.getAccruedInterestCents();
+        return accrued > 0
+                ? new InterestPosting(account.getAccountId(), account.getAccountNumber(), accrued, -accrued, true)
+                : null;
+    }
+
+    /**
+     * Daily interest on a balance
+     * @param balanceCents balance in cents
+     * @param annualRate annual rate
+     * @return interest in cents, 0 for non-positive balances
+     */
+    public long dailyInterest(long balanceCents, BigDecimal annualRate) {
+        if (balanceCents <= 0) {
+            return 0;
+        }
+        return BigDecimal.valueOf(balanceCents)
+                .multiply(annualRate)
+                .divide(dayCount, 0, RoundingMode.HALF_UP)
+                .longValueExact();
+    }
+
+    private static InterestPosting credit(InterestAccount account, long interest) {
+        return interest > 0
+                ? new InterestPosting(account.getAccountId(), account.getAccountNumber(), interest, 0, false)
+                : null;
+    }
+}
@@ -0,0 +1,170 @@
+package com.bankease.batch;
+
+import com.bankease.dao.ReconciliationDAO;
+import com.bankease.model.Discrepancy;
+import com.bankease.model.ReconciliationReport;
+import com.bankease.utils.DatabaseConfig;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * End-of-day check that every account balance equals the sum of its journal.
+ * <p>
+ * Accounts are split into ID-range partitions of reconcile.partitionSize IDs that are
+ * scanned in parallel by reconcile.threads workers with streaming queries. The scans
+ * are consistent non-locking reads, so online traffic is never blocked; the thread
+ * count bounds the load put on the database. Operations in flight during the scan can
+ * look like drift, so discrepancies are re-checked once (up to reconcile.recheckLimit)
+ * and only those still present are marked confirmed.
+ */
+public class ReconciliationJob {
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final ReconciliationDAO reconciliationDAO;
+    private final int threads;
+    private final int partitionSize;
+    private final int recheckLimit;
+
+    public ReconciliationJob() {
+        this(new ReconciliationDAO(),
+             DatabaseConfig.getIntProperty("reconcile.threads", 4),
+             DatabaseConfig.getIntProperty("reconcile.partitionSize", 50000),
+             DatabaseConfig.getIntProperty("reconcile.recheckLimit", 1000));
+    }
+
+    public ReconciliationJob(ReconciliationDAO reconciliationDAO, int threads, int partitionSize, int recheckLimit) {
+        this.reconciliationDAO = reconciliationDAO;
+        this.threads = Math.max(1, threads);
+        this.partitionSize = Math.max(1, partitionSize);
+        this.recheckLimit = Math.max(0, recheckLimit);
+    }
+
+    /**
+     * Reconcile every account
+     * @return ReconciliationReport with the discrepancies found
+     * @throws SQLException if the account ID range cannot be read
+     */
+    public ReconciliationReport run() throws SQLException {
+        long started = System.currentTimeMillis();
+        int[] range = reconciliationDAO.getAccountIdRange();
+        
+        ConcurrentLinkedQueue<Discrepancy> found = new ConcurrentLinkedQueue<>();
+        List<String> failed = Collections.synchronizedList(new ArrayList<>());
+        AtomicLong checked = new AtomicLong();
+        AtomicLong totalBalance = new AtomicLong();
+        AtomicLong totalJournal = new AtomicLong();
+        AtomicInteger partitions = new AtomicInteger();
+        
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "reconcile-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (long from = range[0]; from <= range[1]; from += partitionSize) {
+                int fromId = (int) from;
+                int toId = (int) Math.min(range[1], from + partitionSize - 1);
+                partitions.incrementAndGet();
+                futures.add(pool.submit(() -> {
+                    try {
+                        reconciliationDAO.scanBalances(fromId, toId, (accountId, accountNumber, balance, journal) -> {
+                            checked.incrementAndGet();
+                            totalBalance.addAndGet(balance);
+                            totalJournal.addAndGet(journal);
+                            if (balance != journal) {
+                                found.add(new Discrepancy(accountId, accountNumber, balance, journal, false));
+                            }
+                        });
+                    } catch (SQLException e) {
+                        failed.add(fromId + "-" + toId + ": " + e.getMessage());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Reconciliation interrupted", e);
+        } catch (ExecutionException e) {
+            throw new SQLException("Reconciliation partition failed: " + e.getCause(), e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+        
+        List<Discrepancy> discrepancies = recheck(new ArrayList<>(found));
+        discrepancies.sort(Comparator.comparingLong((Discrepancy d) -> Math.abs(d.getDifferenceCents())).reversed());
+        return new ReconciliationReport(started, System.currentTimeMillis() - started, checked.get(),
+                                        partitions.get(), failed, discrepancies,
+                                        totalBalance.get(), totalJournal.get());
+    }
+
+    private List<Discrepancy> recheck(List<Discrepancy> candidates) throws SQLException {
+        if (candidates.size() > recheckLimit) {
+            // Too many to re-check one by one; report them unconfirmed
+            return candidates;
+        }
+        List<Discrepancy> confirmed = new ArrayList<>();
+        for (Discrepancy candidate : candidates) {
+            int accountId = candidate.getAccountId();
+            reconciliationDAO.scanBalances(accountId, accountId, (id, accountNumber, balance, journal) -> {
+                if (balance != journal) {
+                    confirmed.add(new Discrepancy(id, accountNumber, balance, journal, true));
+                }
+            });
+        }
+        return confirmed;
+    }
+
+    /**
+     * Write a discrepancy report as CSV
+     * @param report reconciliation report
+     * @param directory directory to write to, created if missing
+     * @return path of the written file
+     * @throws IOException if the file cannot be written
+     */
+    public Path writeReport(ReconciliationReport report, Path directory) throws IOException {
+        Files.createDirectories(directory);
+        Path file = directory.resolve("reconciliation-" + LocalDateTime.now().format(FILE_TIMESTAMP) + ".csv");
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("# accounts_checked=" + report.getAccountsChecked() +
+                         " partitions=" + report.getPartitions() +
+                         " failed_partitions=" + report.getFailedPartitions().size() +
+                         " elapsed_ms=" + report.getElapsedMillis());
+            writer.newLine();
+            for (String failure : report.getFailedPartitions()) {
+                writer.write("# failed " + failure);
+                writer.newLine();
+            }
+            writer.write("account_id,account_number,balance_cents,journal_cents,difference_cents,confirmed");
+            writer.newLine();
+            for (Discrepancy discrepancy : report.getDiscrepancies()) {
+                writer.write(discrepancy.getAccountId() + "," + discrepancy.getAccountNumber() + "," +
+                             discrepancy.getBalanceCents() + "," + discrepancy.getJournalCents() + "," +
+                             discrepancy.getDifferenceCents() + "," + discrepancy.isConfirmed());
+                writer.newLine();
+            }
+        }
+        return file;
+    }
+}
@@ -0,0 +1,113 @@
+package com.bankease.batch;
+
+import com.bankease.model.AccountStatement;
+import com.bankease.model.Transaction;
+import com.bankease.model.TransactionType;
+import com.bankease.model.UserStatement;
+import com.bankease.utils.MoneyUtils;
+import com.bankease.utils.TimeUtils;
+
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Output formats for monthly statements
+ */
+public enum StatementFormat {
+    TEXT("txt"),
+    CSV("csv");
+
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final String extension;
+
+    StatementFormat(String extension) {
+        this.extension = extension;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Render a statement
+     * @param statement user statement
+     * @return statement text
+     */
+    public String format(UserStatement statement) {
+        StringBuilder out = new StringBuilder(256 + statement.getTransactionCount() * 96);
+        if (this == CSV) {
+            formatCsv(statement, out);
+        } else {
+            formatText(statement, out);
+        }
+        return out.toString();
+    }
+
+    private static void formatText(UserStatement statement, StringBuilder out) {
+        out.append("BankEase Monthly Statement\n");
+        out.append("Customer: ").append(statement.getFullName())
+           .append(" (").append(statement.getUsername()).append(")\n");
+        out.append("Period: ").append(statement.getMonth().atDay(1))
+           .append(" to ").append(statement.getMonth().atEndOfMonth()).append('\n');
+        
+        for (AccountStatement account : statement.getAccounts()) {
+            out.append("\nAccount ").append(account.getAccountNumber())
+               .append(" (").append(account.getAccountType()).append(")\n");
+            out.append(String.format("Opening Balance: $%.2f%n", account.getOpeningBalance()));
+            out.append(String.format("%-20s %-13s %12s %14s  %s%n", "Date", "Type", "Amount", "Balance", "Description"));
+            
+            long balance = account.getOpeningCents();
+            for (Transaction transaction : account.getTransactions()) {
+                long cents = signedCents(transaction);
+                balance += cents;
+                out.append(String.format("%-20s %-13s %12.2f %14.2f  %s%n",
+                                         TimeUtils.fromEpochMillis(transaction.getTimestampMillis()).format(TIMESTAMP),
+                                         transaction.getType(),
+                                         MoneyUtils.fromCents(cents),
+                                         MoneyUtils.fromCents(balance),
+                                         transaction.getDescription() != null ? transaction.getDescription() : ""));
+            }
+            out.append(String.format("Closing Balance: $%.2f%n", account.getClosingBalance()));
+        }
+    }
+
+    private static void formatCsv(UserStatement statement, StringBuilder out) {
+        out.append("account_number,account_type,timestamp,type,amount,balance,description\n");
+        for (AccountStatement account : statement.getAccounts()) {
+            String prefix = account.getAccountNumber() + "," + account.getAccountType() + ",";
+            out.append(prefix).append(statement.getMonth().atDay(1)).append(" 00:00:00,OPENING,,")
+               .append(MoneyUtils.toBigDecimal(account.getOpeningCents())).append(",\n");
+            
+            long balance = account.getOpeningCents();
+            for (Transaction transaction : account.getTransactions()) {
+                long cents = signedCents(transaction);
+                balance += cents;
+                out.append(prefix)
+                   .append(TimeUtils.fromEpochMillis(transaction.getTimestampMillis()).format(TIMESTAMP)).append(',')
+                   .append(transaction.getType()).append(',')
+                   .append(MoneyUtils.toBigDecimal(cents)).append(',')
+                   .append(MoneyUtils.toBigDecimal(balance)).append(',')
+                   .append(csvField(transaction.getDescription())).append('\n');
+            }
+            
+            out.append(prefix).append(statement.getMonth().atEndOfMonth()).append(" 23:59:59,CLOSING,,")
+               .append(MoneyUtils.toBigDecimal(account.getClosingCents())).append(",\n");
+        }
+    }
+
+    private static long signedCents(Transaction transaction) {
+        long cents = MoneyUtils.toCents(transaction.getAmount());
+        TransactionType type = transaction.getType();
+        return type == TransactionType.DEPOSIT || type == TransactionType.TRANSFER_IN ? cents : -cents;
+    }
+
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
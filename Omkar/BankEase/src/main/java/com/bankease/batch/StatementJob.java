@@ -0,0 +1,178 @@
+package com.bankease.batch;
+
+import com.bankease.dao.StatementDAO;
+import com.bankease.model.StatementRunResult;
+import com.bankease.utils.DatabaseConfig;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.SQLException;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates monthly statements for every user with accounts.
+ * <p>
+ * Statements are assembled by one streaming pass over accounts and transactions
+ * (see StatementDAO) and formatted and written on statements.threads workers; a bounded
+ * hand-off queue makes the reader format statements itself when the workers fall behind,
+ * so memory stays bounded. Each statement is written through a file channel to a
+ * uniquely named temporary file that is then atomically renamed, so a statement is
+ * either complete or absent and a rerun for the same month skips every statement
+ * already present and only produces the missing ones. The outcome of every statement
+ * is checked, and the run fails if any of them could not be formatted or written.
+ */
+public class StatementJob {
+    private static final int MAX_REPORTED_FAILURES = 10;
+
+    private final StatementDAO statementDAO;
+    private final Path baseDirectory;
+    private final StatementFormat format;
+    private final int threads;
+
+    public StatementJob() {
+        this(new StatementDAO(),
+             Paths.get(DatabaseConfig.getProperty("statements.outputDir", "data/statements")),
+             StatementFormat.valueOf(DatabaseConfig.getProperty("statements.format", "TEXT")),
+             DatabaseConfig.getIntProperty("statements.threads", 4));
+    }
+
+    public StatementJob(StatementDAO statementDAO, Path baseDirectory, StatementFormat format, int threads) {
+        this.statementDAO = statementDAO;
+        this.baseDirectory = baseDirectory;
+        this.format = format;
+        this.threads = Math.max(1, threads);
+    }
+
+    /**
+     * Generate the statements for a month under statements.outputDir/yyyy-MM
+     * @param month statement month
+     * @return StatementRunResult with throughput figures
+     * @throws SQLException if statements cannot be read
+     * @throws IOException if any statement cannot be formatted or written; the others are kept
+     */
+    public StatementRunResult run(YearMonth month) throws SQLException, IOException {
+        long started = System.currentTimeMillis();
+        Path directory = baseDirectory.resolve(month.toString());
+        Files.createDirectories(directory);
+        
+        AtomicInteger written = new AtomicInteger();
+        AtomicInteger skipped = new AtomicInteger();
+        AtomicLong accounts = new AtomicLong();
+        AtomicLong transactions = new AtomicLong();
+        AtomicLong bytes = new AtomicLong();
+        List<Future<?>> pending = new ArrayList<>();
+        List<Exception> failures = new ArrayList<>();
+        
+        AtomicInteger threadNumber = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(threads * 4), runnable -> {
+                    Thread thread = new Thread(runnable, "statements-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+        
+        try {
+            statementDAO.streamStatements(month, statement -> {
+                Path file = directory.resolve("statement-" + statement.getUserId() + "." + format.getExtension());
+                if (Files.exists(file)) {
+                    skipped.incrementAndGet();
+                    return;
+                }
+                pending.add(pool.submit(() -> {
+                    bytes.addAndGet(write(file, format.format(statement)));
+                    written.incrementAndGet();
+                    accounts.addAndGet(statement.getAccounts().size());
+                    transactions.addAndGet(statement.getTransactionCount());
+                    return null;
+                }));
+                if (pending.size() >= threads * 16) {
+                    collect(pending, false, failures);
+                }
+            });
+            collect(pending, true, failures);
+        } finally {
+            pool.shutdown();
+            try {
+                pool.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                pool.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+        
+        if (!failures.isEmpty()) {
+            Exception first = failures.get(0);
+            IOException failure = new IOException(failures.size() + " statements could not be written: " + first, first);
+            for (int i = 1; i < failures.size() && i < MAX_REPORTED_FAILURES; i++) {
+                failure.addSuppressed(failures.get(i));
+            }
+            throw failure;
+        }
+        return new StatementRunResult(month, directory, written.get(), skipped.get(), accounts.get(),
+                                      transactions.get(), bytes.get(), System.currentTimeMillis() - started);
+    }
+
+    /**
+     * Wait for submitted statements and note the ones that failed
+     * @param pending statements submitted and not yet checked; checked ones are removed
+     * @param all whether to wait for all of them or only check those already done
+     * @param failures receives the cause of each failed statement
+     */
+    private static void collect(List<Future<?>> pending, boolean all, List<Exception> failures) {
+        Iterator<Future<?>> iterator = pending.iterator();
+        while (iterator.hasNext()) {
+            Future<?> future = iterator.next();
+            if (!all && !future.isDone()) {
+                continue;
+            }
+            iterator.remove();
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                failures.add(e.getCause() instanceof Exception ? (Exception) e.getCause() : e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failures.add(e);
+                return;
+            }
+        }
+    }
+
+    private static long write(Path file, String text) throws IOException {
+        // Unique per write, so a concurrent run for the same month never shares a temporary file
+        Path temporary = Files.createTempFile(file.getParent(), file.getFileName() + ".", ".tmp");
+        ByteBuffer buffer = StandardCharsets.UTF_8.encode(text);
+        long size = buffer.remaining();
+        
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE,
+                                                        StandardOpenOption.TRUNCATE_EXISTING)) {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            Files.deleteIfExists(temporary);
+            throw e;
+        }
+        return size;
+    }
+}
@@ -204,6 +204,21 @@ public class AdminDAO {
         }
     }
     
+    /**
+     * Check if any admin exists
+     * @return true if the admins table has at least one row
+     * @throws SQLException if database operation fails
+     */
+    public boolean anyExists() throws SQLException {
+        String sql = "SELECT 1 FROM admins LIMIT 1";
+        
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql);
+             ResultSet rs = pstmt.executeQuery()) {
+            return rs.next();
+        }
+    }
+    
     /**
      * Check if username exists
      * @param username username to check
@@ -0,0 +1,17 @@
+package com.bankease.dao;
+
+/**
+ * Receives account balances alongside the balance implied by their journal
+ */
+@FunctionalInterface
+public interface BalanceRowHandler {
+
+    /**
+     * Handle one account
+     * @param accountId account ID
+     * @param accountNumber account number
+     * @param balanceCents stored balance in cents
+     * @param journalCents sum of completed credits minus debits in cents
+     */
+    void accept(int accountId, String accountNumber, long balanceCents, long journalCents);
+}
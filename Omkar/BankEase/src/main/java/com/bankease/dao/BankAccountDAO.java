@@ -1,17 +1,29 @@
 package com.bankease.dao;
 
+import com.bankease.metrics.SystemCounters;
+import com.bankease.model.AccountType;
 import com.bankease.model.BankAccount;
+import com.bankease.model.FreezeCriteria;
+import com.bankease.model.Transaction;
 import com.bankease.utils.DatabaseConfig;
+import com.bankease.utils.MoneyUtils;
 
+import java.math.BigDecimal;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
  * Data Access Object for BankAccount entity
  */
 public class BankAccountDAO {
+    private static final int ID_LOOKUP_SLICE = 1000;
     
     /**
      * Create a new bank account
@@ -30,7 +42,7 @@ public class BankAccountDAO {
             pstmt.setInt(2, account.getUserId());
             pstmt.setString(3, account.getAccountType());
             pstmt.setDouble(4, account.getBalance());
-            pstmt.setTimestamp(5, Timestamp.valueOf(account.getCreationDate()));
+            pstmt.setTimestamp(5, new Timestamp(account.getCreationDateMillis()));
             pstmt.setBoolean(6, account.isActive());
             pstmt.setBoolean(7, account.isFrozen());
             
@@ -49,6 +61,11 @@ public class BankAccountDAO {
             }
         }
         
+        SystemCounters counters = SystemCounters.getInstance();
+        counters.accountCreated();
+        if (account.isActive()) {
+            counters.balanceChanged(MoneyUtils.toCents(account.getBalance()));
+        }
         return account;
     }
     
@@ -76,6 +93,41 @@ public class BankAccountDAO {
         return Optional.empty();
     }
     
+    /**
+     * Find accounts by account number, querying in slices of at most 1000 numbers
+     * @param accountNumbers account numbers to look up
+     * @return Map of account number to BankAccount; unknown numbers are absent
+     * @throws SQLException if database operation fails
+     */
+    public Map<String, BankAccount> findByAccountNumbers(Collection<String> accountNumbers) throws SQLException {
+        Map<String, BankAccount> accounts = new HashMap<>();
+        List<String> numbers = new ArrayList<>(new LinkedHashSet<>(accountNumbers));
+        if (numbers.isEmpty()) {
+            return accounts;
+        }
+        
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            for (int start = 0; start < numbers.size(); start += ID_LOOKUP_SLICE) {
+                int end = Math.min(numbers.size(), start + ID_LOOKUP_SLICE);
+                String sql = "SELECT * FROM accounts WHERE account_number IN (" + placeholders(end - start) + ")";
+                
+                try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                    for (int i = start; i < end; i++) {
+                        pstmt.setString(i - start + 1, numbers.get(i));
+                    }
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        while (rs.next()) {
+                            BankAccount account = mapResultSetToAccount(rs);
+                            accounts.put(account.getAccountNumber(), account);
+                        }
+                    }
+                }
+            }
+        }
+        
+        return accounts;
+    }
+    
     /**
      * Find account by ID
      * @param accountId account ID to search for
@@ -146,6 +198,156 @@ public class BankAccountDAO {
         return accounts;
     }
     
+    /**
+     * Get one page of accounts in ID order, keyed on account_id rather than OFFSET
+     * @param afterId return accounts with an ID above this; 0 for the first page
+     * @param limit maximum number of rows
+     * @return List of up to limit accounts
+     * @throws SQLException if database operation fails
+     */
+    public List<BankAccount> findPage(int afterId, int limit) throws SQLException {
+        String sql = "SELECT * FROM accounts WHERE account_id > ? ORDER BY account_id LIMIT ?";
+        List<BankAccount> accounts = new ArrayList<>();
+        
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            pstmt.setInt(1, afterId);
+            pstmt.setInt(2, limit);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    accounts.add(mapResultSetToAccount(rs));
+                }
+            }
+        }
+        
+        return accounts;
+    }
+    
+    /**
+     * Add to an account balance and journal the deposit in one transaction. The update is
+     * a single statement, so concurrent changes to the same account cannot overwrite each other.
+     * @param accountId account ID
+     * @param amount amount to add
+     * @param journal transaction recording the change; receives its generated ID
+     * @return true if the account exists; nothing is written otherwise
+     * @throws SQLException if database operation fails; nothing is written
+     */
+    public boolean creditBalance(int accountId, double amount, Transaction journal) throws SQLException {
+        String sql = "UPDATE accounts SET balance = balance + ? WHERE account_id = ?";
+        
+        return updateJournaled(List.of(journal), conn -> {
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setBigDecimal(1, MoneyUtils.toBigDecimal(MoneyUtils.toCents(amount)));
+                pstmt.setInt(2, accountId);
+                return pstmt.executeUpdate() > 0;
+            }
+        });
+    }
+    
+    /**
+     * Subtract from an account balance and journal the withdrawal in one transaction. The
+     * update is a single statement that only succeeds while the balance covers the amount,
+     * so concurrent withdrawals can neither overwrite each other nor take the balance below zero.
+     * @param accountId account ID
+     * @param amount amount to subtract
+     * @param journal transaction recording the change; receives its generated ID
+     * @return true if the balance was reduced, false if it was too low or the account does not exist
+     * @throws SQLException if database operation fails; nothing is written
+     */
+    public boolean debitBalance(int accountId, double amount, Transaction journal) throws SQLException {
+        String sql = "UPDATE accounts SET balance = balance - ? WHERE account_id = ? AND balance >= ?";
+        
+        return updateJournaled(List.of(journal), conn -> {
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                BigDecimal value = MoneyUtils.toBigDecimal(MoneyUtils.toCents(amount));
+                pstmt.setBigDecimal(1, value);
+                pstmt.setInt(2, accountId);
+                pstmt.setBigDecimal(3, value);
+                return pstmt.executeUpdate() > 0;
+            }
+        });
+    }
+    
+    /**
+     * Move an amount between two accounts and journal both sides in one transaction: the
+     * debit only succeeds while the source balance covers the amount, and either everything
+     * commits or nothing does. Rows are updated in ascending account ID order, the same
+     * order batch transfers lock them in, so concurrent transfers cannot deadlock.
+     * @param fromAccountId source account ID
+     * @param toAccountId destination account ID
+     * @param amount amount to move
+     * @param withdrawal transaction recording the debit; receives its generated ID
+     * @param deposit transaction recording the credit; receives its generated ID
+     * @return true if moved, false if the source balance was too low or an account does not exist
+     * @throws SQLException if database operation fails; nothing is written
+     */
+    public boolean moveBalance(int fromAccountId, int toAccountId, double amount, 
+                               Transaction withdrawal, Transaction deposit) throws SQLException {
+        String debitSql = "UPDATE accounts SET balance = balance - ? WHERE account_id = ? AND balance >= ?";
+        String creditSql = "UPDATE accounts SET balance = balance + ? WHERE account_id = ?";
+        BigDecimal value = MoneyUtils.toBigDecimal(MoneyUtils.toCents(amount));
+        
+        return updateJournaled(List.of(withdrawal, deposit), conn -> {
+            try (PreparedStatement debit = conn.prepareStatement(debitSql);
+                 PreparedStatement credit = conn.prepareStatement(creditSql)) {
+                debit.setBigDecimal(1, value);
+                debit.setInt(2, fromAccountId);
+                debit.setBigDecimal(3, value);
+                credit.setBigDecimal(1, value);
+                credit.setInt(2, toAccountId);
+                
+                if (fromAccountId < toAccountId) {
+                    return debit.executeUpdate() > 0 && credit.executeUpdate() > 0;
+                }
+                return credit.executeUpdate() > 0 && debit.executeUpdate() > 0;
+            }
+        });
+    }
+    
+    /**
+     * Balance statements run by updateJournaled
+     */
+    @FunctionalInterface
+    private interface BalanceUpdate {
+        
+        /**
+         * @return true if every row was updated, false to roll back
+         */
+        boolean apply(Connection conn) throws SQLException;
+    }
+    
+    /**
+     * Run balance updates and insert their journal rows in one transaction, on a session
+     * marked so the balance trigger does not journal the same changes again
+     */
+    private static boolean updateJournaled(List<Transaction> journal, BalanceUpdate update) throws SQLException {
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try {
+                DatabaseConfig.markApplicationJournaled(conn);
+                if (!update.apply(conn)) {
+                    conn.rollback();
+                    return false;
+                }
+                TransactionDAO.insertTransactions(conn, journal);
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
+        }
+        
+        SystemCounters counters = SystemCounters.getInstance();
+        for (Transaction transaction : journal) {
+            counters.transactionRecorded(transaction.getType(), MoneyUtils.toCents(transaction.getAmount()));
+        }
+        return true;
+    }
+    
     /**
      * Update account balance
      * @param accountId account ID
@@ -220,7 +422,12 @@ public class BankAccountDAO {
             
             pstmt.setInt(1, accountId);
             
-            return pstmt.executeUpdate() > 0;
+            boolean deleted = pstmt.executeUpdate() > 0;
+            if (deleted) {
+                // The removed balance is picked up by the next reconciliation
+                SystemCounters.getInstance().accountDeleted();
+            }
+            return deleted;
         }
     }
     
@@ -292,6 +499,145 @@ public class BankAccountDAO {
         }
     }
 
+    /**
+     * Find the accounts matching bulk freeze criteria whose frozen status differs from the target.
+     * Account number and user ID lists are looked up in slices so the IN lists stay bounded;
+     * when both are given, every number slice is paired with every user slice. An account has
+     * one number and one owner, so it matches exactly one pair. A list that is given but
+     * empty matches no account.
+     * @param criteria selection criteria
+     * @param isFrozen target frozen status
+     * @return matching account IDs in ascending order
+     * @throws SQLException if database operation fails
+     */
+    public int[] findAccountIdsForFrozenUpdate(FreezeCriteria criteria, boolean isFrozen) throws SQLException {
+        if (isEmptyList(criteria.getAccountNumbers()) || isEmptyList(criteria.getUserIds())) {
+            return new int[0];
+        }
+        List<List<String>> numberSlices = slices(criteria.getAccountNumbers());
+        List<List<Integer>> userSlices = slices(criteria.getUserIds());
+        
+        int[] ids = new int[64];
+        int count = 0;
+        
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            for (List<String> numbers : numberSlices) {
+                for (List<Integer> users : userSlices) {
+                    StringBuilder sql = new StringBuilder("SELECT account_id FROM accounts WHERE is_frozen <> ?");
+                    List<Object> params = new ArrayList<>();
+                    params.add(isFrozen);
+                    
+                    if (numbers != null) {
+                        appendIn(sql, params, "account_number", numbers);
+                    }
+                    if (users != null) {
+                        appendIn(sql, params, "user_id", users);
+                    }
+                    if (criteria.getAccountType() != null) {
+                        sql.append(" AND account_type = ?");
+                        params.add(criteria.getAccountType().name());
+                    }
+                    if (criteria.getCreatedFrom() != null) {
+                        sql.append(" AND creation_date >= ?");
+                        params.add(Timestamp.valueOf(criteria.getCreatedFrom()));
+                    }
+                    if (criteria.getCreatedTo() != null) {
+                        sql.append(" AND creation_date < ?");
+                        params.add(Timestamp.valueOf(criteria.getCreatedTo()));
+                    }
+                    
+                    try (PreparedStatement pstmt = conn.prepareStatement(sql.toString())) {
+                        for (int i = 0; i < params.size(); i++) {
+                            pstmt.setObject(i + 1, params.get(i));
+                        }
+                        try (ResultSet rs = pstmt.executeQuery()) {
+                            while (rs.next()) {
+                                if (count == ids.length) {
+                                    ids = Arrays.copyOf(ids, count * 2);
+                                }
+                                ids[count++] = rs.getInt("account_id");
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        
+        // Sorted IDs make the chunked updates lock rows in a consistent order
+        ids = Arrays.copyOf(ids, count);
+        Arrays.sort(ids);
+        return Arrays.stream(ids).distinct().toArray();
+    }
+
+    /**
+     * Update the frozen status of many accounts with set-based updates on one connection,
+     * committing after each chunk. Each chunk first locks the rows of the chunk that are not
+     * yet in the target state, so only those are updated and reported, even if another
+     * session changed some of them since the IDs were looked up. If a chunk fails, the
+     * chunks before it stay committed.
+     * @param accountIds account IDs to update
+     * @param isFrozen frozen status
+     * @param chunkSize accounts per UPDATE statement
+     * @param listener progress listener, or null
+     * @return IDs of the accounts whose status changed, in ascending order
+     * @throws SQLException if database operation fails
+     */
+    public int[] updateFrozenStatusByIds(int[] accountIds, boolean isFrozen, int chunkSize,
+                                         BulkProgressListener listener) throws SQLException {
+        int[] changed = new int[accountIds.length];
+        int count = 0;
+        
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try {
+                for (int start = 0; start < accountIds.length; start += chunkSize) {
+                    int end = Math.min(accountIds.length, start + chunkSize);
+                    String select = "SELECT account_id FROM accounts WHERE account_id IN (" +
+                                   placeholders(end - start) + ") AND is_frozen <> ? ORDER BY account_id FOR UPDATE";
+                    
+                    try {
+                        int first = count;
+                        try (PreparedStatement pstmt = conn.prepareStatement(select)) {
+                            for (int i = start; i < end; i++) {
+                                pstmt.setInt(i - start + 1, accountIds[i]);
+                            }
+                            pstmt.setBoolean(end - start + 1, isFrozen);
+                            try (ResultSet rs = pstmt.executeQuery()) {
+                                while (rs.next()) {
+                                    changed[count++] = rs.getInt("account_id");
+                                }
+                            }
+                        }
+                        if (count > first) {
+                            String update = "UPDATE accounts SET is_frozen = ? WHERE account_id IN (" +
+                                           placeholders(count - first) + ")";
+                            try (PreparedStatement pstmt = conn.prepareStatement(update)) {
+                                pstmt.setBoolean(1, isFrozen);
+                                for (int i = first; i < count; i++) {
+                                    pstmt.setInt(i - first + 2, changed[i]);
+                                }
+                                pstmt.executeUpdate();
+                            }
+                        }
+                        conn.commit();
+                    } catch (SQLException e) {
+                        conn.rollback();
+                        throw e;
+                    }
+                    
+                    if (listener != null) {
+                        listener.onProgress(end, accountIds.length);
+                    }
+                }
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
+        }
+        
+        return Arrays.copyOf(changed, count);
+    }
+
     /**
      * Get total number of accounts
      * @return total number of accounts
@@ -388,16 +734,56 @@ public class BankAccountDAO {
      * @return BankAccount object
      * @throws SQLException if mapping fails
      */
-    private BankAccount mapResultSetToAccount(ResultSet rs) throws SQLException {
+    BankAccount mapResultSetToAccount(ResultSet rs) throws SQLException {
         BankAccount account = new BankAccount();
         account.setAccountId(rs.getInt("account_id"));
         account.setAccountNumber(rs.getString("account_number"));
         account.setUserId(rs.getInt("user_id"));
-        account.setAccountType(rs.getString("account_type"));
+        account.setType(AccountType.fromName(rs.getString("account_type")));
         account.setBalance(rs.getDouble("balance"));
-        account.setCreationDate(rs.getTimestamp("creation_date").toLocalDateTime());
+        account.setCreationDateMillis(rs.getTimestamp("creation_date").getTime());
         account.setActive(rs.getBoolean("is_active"));
         account.setFrozen(rs.getBoolean("is_frozen"));
         return account;
     }
+
+    /**
+     * Append an IN condition with one placeholder per value
+     * @param sql SQL being built
+     * @param params parameter list to add the values to
+     * @param column column name
+     * @param values values to match
+     */
+    private static boolean isEmptyList(List<?> values) {
+        return values != null && values.isEmpty();
+    }
+
+    /**
+     * Split a filter list into ID_LOOKUP_SLICE sized slices; an absent list is a single
+     * null slice, meaning no filter
+     */
+    private static <T> List<List<T>> slices(List<T> values) {
+        List<List<T>> slices = new ArrayList<>();
+        if (values == null) {
+            slices.add(null);
+            return slices;
+        }
+        for (int start = 0; start < values.size(); start += ID_LOOKUP_SLICE) {
+            slices.add(values.subList(start, Math.min(values.size(), start + ID_LOOKUP_SLICE)));
+        }
+        return slices;
+    }
+
+    private static void appendIn(StringBuilder sql, List<Object> params, String column, List<?> values) {
+        sql.append(" AND ").append(column).append(" IN (").append(placeholders(values.size())).append(')');
+        params.addAll(values);
+    }
+
+    private static String placeholders(int count) {
+        StringBuilder builder = new StringBuilder(count * 2);
+        for (int i = 0; i < count; i++) {
+            builder.append(i == 0 ? "?" : ",?");
+        }
+        return builder.toString();
+    }
 } 
\ No newline at end of file
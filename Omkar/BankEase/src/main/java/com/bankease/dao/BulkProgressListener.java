@@ -0,0 +1,15 @@
+package com.bankease.dao;
+
+/**
+ * Receives progress from chunked bulk updates
+ */
+@FunctionalInterface
+public interface BulkProgressListener {
+
+    /**
+     * Called after each committed chunk
+     * @param processed rows processed so far
+     * @param total rows to process
+     */
+    void onProgress(int processed, int total);
+}
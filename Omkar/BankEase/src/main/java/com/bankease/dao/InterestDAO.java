@@ -0,0 +1,251 @@
+package com.bankease.dao;
+
+import com.bankease.metrics.SystemCounters;
+import com.bankease.model.AccountType;
+import com.bankease.model.InterestAccount;
+import com.bankease.model.InterestPosting;
+import com.bankease.model.Transaction;
+import com.bankease.model.TransactionStatus;
+import com.bankease.model.TransactionType;
+import com.bankease.utils.DatabaseConfig;
+import com.bankease.utils.MoneyUtils;
+
+import java.sql.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Data Access Object for interest accrual runs.
+ * Each run date has a checkpoint row in interest_runs and one interest_postings row per
+ * account credited; the postings primary key guarantees an account is never credited
+ * twice for the same run date.
+ */
+public class InterestDAO {
+    
+    /**
+     * Start or resume the run for a date
+     * @param runDate run date
+     * @return last account ID already applied (0 for a new run), or -1 if the run is completed
+     * @throws SQLException if database operation fails
+     */
+    public int startRun(LocalDate runDate) throws SQLException {
+        String selectSql = "SELECT last_account_id, status FROM interest_runs WHERE run_date = ?";
+        String insertSql = "INSERT INTO interest_runs (run_date, last_account_id, status) VALUES (?, 0, 'RUNNING')";
+        
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            try (PreparedStatement pstmt = conn.prepareStatement(selectSql)) {
+                pstmt.setDate(1, Date.valueOf(runDate));
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    if (rs.next()) {
+                        return "COMPLETED".equals(rs.getString("status")) ? -1 : rs.getInt("last_account_id");
+                    }
+                }
+            }
+            
+            try (PreparedStatement pstmt = conn.prepareStatement(insertSql)) {
+                pstmt.setDate(1, Date.valueOf(runDate));
+                pstmt.executeUpdate();
+            }
+        }
+        
+        return 0;
+    }
+    
+    /**
+     * Get the next chunk of interest-bearing accounts in account ID order.
+     * Only active, unfrozen SAVINGS and FIXED_DEPOSIT accounts are returned.
+     * @param afterAccountId return accounts with a greater ID
+     * @param limit maximum number of accounts
+     * @return List of accounts, empty when there are no more
+     * @throws SQLException if database operation fails
+     */
+    public List<InterestAccount> findInterestBearingAccounts(int afterAccountId, int limit) throws SQLException {
+        String sql = "SELECT account_id, user_id, account_number, account_type, balance, accrued_interest, maturity_date " +
+                    "FROM accounts WHERE account_id > ? AND account_type IN ('SAVINGS', 'FIXED_DEPOSIT') " +
+                    "AND is_active = TRUE AND is_frozen = FALSE ORDER BY account_id LIMIT ?";
+        List<InterestAccount> accounts = new ArrayList<>();
+        
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            pstmt.setInt(1, afterAccountId);
+            pstmt.setInt(2, limit);
+            
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    Date maturityDate = rs.getDate("maturity_date");
+                    accounts.add(new InterestAccount(rs.getInt("account_id"),
+                                                     rs.getInt("user_id"),
+                                                     rs.getString("account_number"),
+                                                     AccountType.fromName(rs.getString("account_type")),
+                                                     MoneyUtils.toCents(rs.getBigDecimal("balance")),
+                                                     MoneyUtils.toCents(rs.getBigDecimal("accrued_interest")),
+                                                     maturityDate != null ? maturityDate.toLocalDate() : null));
+                }
+            }
+        }
+        
+        return accounts;
+    }
+    
+    /**
+     * Apply one chunk of postings and advance the run checkpoint in a single transaction.
+     * The run row is locked first, so concurrent runners for the same date apply each chunk
+     * once; accounts that already have a posting for the date are skipped. Applied postings
+     * that credit the balance carry their journal row, and the journal rows are counted in
+     * SystemCounters once committed.
+     * @param runDate run date
+     * @param postings postings for accounts in the chunk, in account ID order
+     * @param lastAccountId last account ID scanned in the chunk
+     * @return postings applied, or null if the checkpoint was already past this chunk
+     * @throws SQLException if database operation fails; the chunk is rolled back
+     */
+    public List<InterestPosting> applyChunk(LocalDate runDate, List<InterestPosting> postings, int lastAccountId) throws SQLException {
+        String lockSql = "SELECT last_account_id FROM interest_runs WHERE run_date = ? FOR UPDATE";
+        String postedSql = "SELECT account_id FROM interest_postings WHERE run_date = ? AND account_id BETWEEN ? AND ?";
+        String postingSql = "INSERT INTO interest_postings (account_id, run_date, credit_amount, accrued_amount) " +
+                           "VALUES (?, ?, ?, ?)";
+        String balanceSql = "UPDATE accounts SET balance = balance + ?, accrued_interest = accrued_interest + ? " +
+                           "WHERE account_id = ?";
+        String checkpointSql = "UPDATE interest_runs SET last_account_id = ?, " +
+                              "accounts_posted = accounts_posted + ?, total_credited = total_credited + ?, " +
+                              "total_accrued = total_accrued + ? WHERE run_date = ?";
+        
+        List<InterestPosting> pending;
+        List<Transaction> journal = new ArrayList<>();
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try {
+                DatabaseConfig.markApplicationJournaled(conn);
+                try (PreparedStatement pstmt = conn.prepareStatement(lockSql)) {
+                    pstmt.setDate(1, Date.valueOf(runDate));
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        if (!rs.next()) {
+                            throw new SQLException("Interest run not started for " + runDate);
+                        }
+                        if (rs.getInt("last_account_id") >= lastAccountId) {
+                            conn.rollback();
+                            return null;
+                        }
+                    }
+                }
+                
+                pending = withoutPosted(conn, postedSql, runDate, postings);
+                long credited = 0;
+                long accrued = 0;
+                
+                try (PreparedStatement postingStmt = conn.prepareStatement(postingSql);
+                     PreparedStatement balanceStmt = conn.prepareStatement(balanceSql)) {
+                    
+                    for (InterestPosting posting : pending) {
+                        postingStmt.setInt(1, posting.getAccountId());
+                        postingStmt.setDate(2, Date.valueOf(runDate));
+                        postingStmt.setBigDecimal(3, MoneyUtils.toBigDecimal(posting.getCreditCents()));
+                        postingStmt.setBigDecimal(4, MoneyUtils.toBigDecimal(posting.getAccruedDeltaCents()));
+                        postingStmt.addBatch();
+                        
+                        balanceStmt.setBigDecimal(1, MoneyUtils.toBigDecimal(posting.getCreditCents()));
+                        balanceStmt.setBigDecimal(2, MoneyUtils.toBigDecimal(posting.getAccruedDeltaCents()));
+                        balanceStmt.setInt(3, posting.getAccountId());
+                        balanceStmt.addBatch();
+                        
+                        if (posting.getCreditCents() > 0) {
+                            Transaction transaction = new Transaction(TransactionType.DEPOSIT, posting.getAccountId(),
+                                    MoneyUtils.fromCents(posting.getCreditCents()),
+                                    (posting.isMaturity() ? "Fixed deposit maturity interest " : "Interest credit ") + runDate);
+                            transaction.setToAccountNumber(posting.getAccountNumber());
+                            transaction.setTransactionStatus(TransactionStatus.COMPLETED);
+                            posting.setJournal(transaction);
+                            journal.add(transaction);
+                        }
+                        
+                        credited += posting.getCreditCents();
+                        accrued += posting.getAccruedDeltaCents();
+                    }
+                    
+                    if (!pending.isEmpty()) {
+                        postingStmt.executeBatch();
+                        balanceStmt.executeBatch();
+                    }
+                    if (!journal.isEmpty()) {
+                        TransactionDAO.insertTransactions(conn, journal);
+                    }
+                }
+                
+                try (PreparedStatement pstmt = conn.prepareStatement(checkpointSql)) {
+                    pstmt.setInt(1, lastAccountId);
+                    pstmt.setInt(2, pending.size());
+                    pstmt.setBigDecimal(3, MoneyUtils.toBigDecimal(credited));
+                    pstmt.setBigDecimal(4, MoneyUtils.toBigDecimal(accrued));
+                    pstmt.setDate(5, Date.valueOf(runDate));
+                    pstmt.executeUpdate();
+                }
+                
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
+        }
+        
+        SystemCounters counters = SystemCounters.getInstance();
+        for (Transaction transaction : journal) {
+            counters.transactionRecorded(transaction.getType(), MoneyUtils.toCents(transaction.getAmount()));
+        }
+        return pending;
+    }
+    
+    /**
+     * Mark the run for a date as completed
+     * @param runDate run date
+     * @throws SQLException if database operation fails
+     */
+    public void completeRun(LocalDate runDate) throws SQLException {
+        String sql = "UPDATE interest_runs SET status = 'COMPLETED', completed_at = ? WHERE run_date = ?";
+        
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            pstmt.setTimestamp(1, Timestamp.valueOf(LocalDateTime.now()));
+            pstmt.setDate(2, Date.valueOf(runDate));
+            pstmt.executeUpdate();
+        }
+    }
+    
+    private static List<InterestPosting> withoutPosted(Connection conn, String sql, LocalDate runDate,
+                                                       List<InterestPosting> postings) throws SQLException {
+        if (postings.isEmpty()) {
+            return postings;
+        }
+        
+        Set<Integer> posted = new HashSet<>();
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setDate(1, Date.valueOf(runDate));
+            pstmt.setInt(2, postings.get(0).getAccountId());
+            pstmt.setInt(3, postings.get(postings.size() - 1).getAccountId());
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    posted.add(rs.getInt("account_id"));
+                }
+            }
+        }
+        
+        if (posted.isEmpty()) {
+            return postings;
+        }
+        List<InterestPosting> pending = new ArrayList<>(postings.size());
+        for (InterestPosting posting : postings) {
+            if (!posted.contains(posting.getAccountId())) {
+                pending.add(posting);
+            }
+        }
+        return pending;
+    }
+}
@@ -0,0 +1,21 @@
+package com.bankease.dao;
+
+import com.bankease.model.AccountType;
+import com.bankease.model.TransactionType;
+
+/**
+ * Receives rows replayed from the transaction journal
+ */
+@FunctionalInterface
+public interface JournalRowHandler {
+
+    /**
+     * Handle one committed transaction
+     * @param transactionId transaction ID
+     * @param accountId account the transaction was posted to
+     * @param accountType type of that account
+     * @param type transaction type
+     * @param amountCents amount in cents
+     */
+    void accept(int transactionId, int accountId, AccountType accountType, TransactionType type, long amountCents);
+}
@@ -0,0 +1,69 @@
+package com.bankease.dao;
+
+import com.bankease.utils.DatabaseConfig;
+import com.bankease.utils.MoneyUtils;
+
+import java.sql.*;
+
+/**
+ * Data Access Object for comparing account balances with the transaction journal
+ */
+public class ReconciliationDAO {
+    private static final String JOURNAL_SUM =
+            "SUM(CASE WHEN transaction_type IN ('DEPOSIT', 'TRANSFER_IN') THEN amount ELSE -amount END)";
+    
+    /**
+     * Get the lowest and highest account IDs
+     * @return array with [minAccountId, maxAccountId], or [0, -1] if there are no accounts
+     * @throws SQLException if database operation fails
+     */
+    public int[] getAccountIdRange() throws SQLException {
+        String sql = "SELECT MIN(account_id) AS min_id, MAX(account_id) AS max_id FROM accounts";
+        
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql);
+             ResultSet rs = pstmt.executeQuery()) {
+            
+            if (rs.next() && rs.getObject("min_id") != null) {
+                return new int[]{rs.getInt("min_id"), rs.getInt("max_id")};
+            }
+        }
+        
+        return new int[]{0, -1};
+    }
+    
+    /**
+     * Stream every account in an ID range with its balance and journal sum.
+     * Balance and journal come from one statement, so they are read from the same
+     * consistent snapshot without taking row locks.
+     * @param fromId first account ID (inclusive)
+     * @param toId last account ID (inclusive)
+     * @param handler receives each account
+     * @throws SQLException if database operation fails
+     */
+    public void scanBalances(int fromId, int toId, BalanceRowHandler handler) throws SQLException {
+        String sql = "SELECT a.account_id, a.account_number, a.balance, COALESCE(j.journal, 0) AS journal " +
+                    "FROM accounts a LEFT JOIN (SELECT account_id, " + JOURNAL_SUM + " AS journal " +
+                    "FROM transactions WHERE status = 'COMPLETED' AND account_id BETWEEN ? AND ? " +
+                    "GROUP BY account_id) j ON j.account_id = a.account_id " +
+                    "WHERE a.account_id BETWEEN ? AND ?";
+        
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement pstmt = DatabaseConfig.prepareStreamingStatement(conn, sql)) {
+            
+            pstmt.setInt(1, fromId);
+            pstmt.setInt(2, toId);
+            pstmt.setInt(3, fromId);
+            pstmt.setInt(4, toId);
+            
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    handler.accept(rs.getInt("account_id"),
+                                   rs.getString("account_number"),
+                                   MoneyUtils.toCents(rs.getBigDecimal("balance")),
+                                   MoneyUtils.toCents(rs.getBigDecimal("journal")));
+                }
+            }
+        }
+    }
+}
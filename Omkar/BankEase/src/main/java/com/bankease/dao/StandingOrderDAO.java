@@ -0,0 +1,229 @@
+package com.bankease.dao;
+
+import com.bankease.model.StandingOrder;
+import com.bankease.model.StandingOrderFrequency;
+import com.bankease.utils.DatabaseConfig;
+
+import java.sql.*;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Data Access Object for StandingOrder entity
+ */
+public class StandingOrderDAO {
+    
+    /**
+     * Create a new standing order
+     * @param order StandingOrder to create
+     * @return StandingOrder with generated ID
+     * @throws SQLException if database operation fails
+     */
+    public StandingOrder createOrder(StandingOrder order) throws SQLException {
+        String sql = "INSERT INTO standing_orders (user_id, from_account_number, to_account_number, amount, " +
+                    "description, frequency, start_at, next_run, run_count, is_active) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?, ?, 0, TRUE)";
+        
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            
+            pstmt.setInt(1, order.getUserId());
+            pstmt.setString(2, order.getFromAccountNumber());
+            pstmt.setString(3, order.getToAccountNumber());
+            pstmt.setDouble(4, order.getAmount());
+            pstmt.setString(5, order.getDescription());
+            pstmt.setString(6, order.getFrequency().name());
+            pstmt.setTimestamp(7, Timestamp.valueOf(order.getStartAt()));
+            pstmt.setTimestamp(8, Timestamp.valueOf(order.getNextRunAt()));
+            
+            int affectedRows = pstmt.executeUpdate();
+            
+            if (affectedRows == 0) {
+                throw new SQLException("Creating standing order failed, no rows affected.");
+            }
+            
+            try (ResultSet generatedKeys = pstmt.getGeneratedKeys()) {
+                if (generatedKeys.next()) {
+                    order.setOrderId(generatedKeys.getInt(1));
+                } else {
+                    throw new SQLException("Creating standing order failed, no ID obtained.");
+                }
+            }
+        }
+        
+        return order;
+    }
+    
+    /**
+     * Get all standing orders for a user
+     * @param userId user ID
+     * @return List of standing orders
+     * @throws SQLException if database operation fails
+     */
+    public List<StandingOrder> findByUserId(int userId) throws SQLException {
+        String sql = "SELECT * FROM standing_orders WHERE user_id = ? ORDER BY order_id";
+        List<StandingOrder> orders = new ArrayList<>();
+        
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            pstmt.setInt(1, userId);
+            
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    orders.add(mapResultSetToOrder(rs));
+                }
+            }
+        }
+        
+        return orders;
+    }
+    
+    /**
+     * Get active standing orders due at or before a time
+     * @param until latest run time
+     * @return List of due orders, earliest first
+     * @throws SQLException if database operation fails
+     */
+    public List<StandingOrder> findDueBefore(LocalDateTime until) throws SQLException {
+        String sql = "SELECT * FROM standing_orders WHERE is_active = TRUE AND next_run <= ? ORDER BY next_run";
+        List<StandingOrder> orders = new ArrayList<>();
+        
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            pstmt.setTimestamp(1, Timestamp.valueOf(until));
+            
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    orders.add(mapResultSetToOrder(rs));
+                }
+            }
+        }
+        
+        return orders;
+    }
+    
+    /**
+     * Claim the next run of each order by advancing it to the first run after now, provided
+     * the run is due and nobody else has advanced it since it was read. A run is claimed
+     * at most once, so it is executed at most once even with several schedulers, and
+     * never before it is due, however early the caller asks. Runs missed in between, for
+     * example while the application was down, are skipped: an order makes at most one
+     * catch-up run, never one per missed period.
+     * @param orders orders as read from the database
+     * @param now current time; runs due after it are not claimed
+     * @return orders that were claimed, updated to their new run count and next run
+     * @throws SQLException if database operation fails
+     */
+    public List<StandingOrder> claimRuns(List<StandingOrder> orders, LocalDateTime now) throws SQLException {
+        String sql = "UPDATE standing_orders SET next_run = ?, run_count = ? " +
+                    "WHERE order_id = ? AND run_count = ? AND is_active = TRUE AND next_run <= ?";
+        List<StandingOrder> claimed = new ArrayList<>(orders.size());
+        if (orders.isEmpty()) {
+            return claimed;
+        }
+        
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            Timestamp due = Timestamp.valueOf(now);
+            int[] following = new int[orders.size()];
+            for (int i = 0; i < orders.size(); i++) {
+                StandingOrder order = orders.get(i);
+                following[i] = order.getFollowingRunCount(now);
+                pstmt.setTimestamp(1, Timestamp.valueOf(order.getFrequency().occurrence(order.getStartAt(), following[i])));
+                pstmt.setInt(2, following[i]);
+                pstmt.setInt(3, order.getOrderId());
+                pstmt.setInt(4, order.getRunCount());
+                pstmt.setTimestamp(5, due);
+                pstmt.addBatch();
+            }
+            
+            int[] counts = pstmt.executeBatch();
+            for (int i = 0; i < orders.size(); i++) {
+                if (counts[i] == 1) {
+                    StandingOrder order = orders.get(i);
+                    order.setNextRunAt(order.getFrequency().occurrence(order.getStartAt(), following[i]));
+                    order.setRunCount(following[i]);
+                    claimed.add(order);
+                }
+            }
+        }
+        
+        return claimed;
+    }
+    
+    /**
+     * Record the outcome of executed runs
+     * @param orders executed orders with their failure count, status and active flag set
+     * @throws SQLException if database operation fails
+     */
+    public void recordResults(List<StandingOrder> orders) throws SQLException {
+        String sql = "UPDATE standing_orders SET last_run = ?, last_status = ?, failure_count = ?, is_active = ? " +
+                    "WHERE order_id = ?";
+        if (orders.isEmpty()) {
+            return;
+        }
+        
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            for (StandingOrder order : orders) {
+                pstmt.setTimestamp(1, now);
+                pstmt.setString(2, order.getLastStatus());
+                pstmt.setInt(3, order.getFailureCount());
+                pstmt.setBoolean(4, order.isActive());
+                pstmt.setInt(5, order.getOrderId());
+                pstmt.addBatch();
+            }
+            pstmt.executeBatch();
+        }
+    }
+    
+    /**
+     * Cancel a standing order
+     * @param orderId order ID
+     * @param userId owner's user ID
+     * @return true if an active order was cancelled
+     * @throws SQLException if database operation fails
+     */
+    public boolean cancelOrder(int orderId, int userId) throws SQLException {
+        String sql = "UPDATE standing_orders SET is_active = FALSE WHERE order_id = ? AND user_id = ? AND is_active = TRUE";
+        
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            pstmt.setInt(1, orderId);
+            pstmt.setInt(2, userId);
+            
+            return pstmt.executeUpdate() > 0;
+        }
+    }
+    
+    /**
+     * Map ResultSet to StandingOrder object
+     * @param rs ResultSet
+     * @return StandingOrder object
+     * @throws SQLException if database operation fails
+     */
+    private StandingOrder mapResultSetToOrder(ResultSet rs) throws SQLException {
+        StandingOrder order = new StandingOrder();
+        order.setOrderId(rs.getInt("order_id"));
+        order.setUserId(rs.getInt("user_id"));
+        order.setFromAccountNumber(rs.getString("from_account_number"));
+        order.setToAccountNumber(rs.getString("to_account_number"));
+        order.setAmount(rs.getDouble("amount"));
+        order.setDescription(rs.getString("description"));
+        order.setFrequency(StandingOrderFrequency.valueOf(rs.getString("frequency")));
+        order.setStartAt(rs.getTimestamp("start_at").toLocalDateTime());
+        order.setNextRunAt(rs.getTimestamp("next_run").toLocalDateTime());
+        order.setRunCount(rs.getInt("run_count"));
+        order.setActive(rs.getBoolean("is_active"));
+        order.setFailureCount(rs.getInt("failure_count"));
+        order.setLastStatus(rs.getString("last_status"));
+        return order;
+    }
+}
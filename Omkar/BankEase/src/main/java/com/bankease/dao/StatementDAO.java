@@ -0,0 +1,125 @@
+package com.bankease.dao;
+
+import com.bankease.model.AccountStatement;
+import com.bankease.model.AccountType;
+import com.bankease.model.Transaction;
+import com.bankease.model.TransactionStatus;
+import com.bankease.model.TransactionType;
+import com.bankease.model.UserStatement;
+import com.bankease.utils.DatabaseConfig;
+import com.bankease.utils.MoneyUtils;
+
+import java.sql.*;
+import java.time.YearMonth;
+
+/**
+ * Data Access Object that assembles monthly statements in a single pass.
+ * Accounts with their opening and closing balances and the month's transactions are
+ * streamed on two connections, both ordered by user and account, and merged so that
+ * each user's statement is handed over as soon as it is complete.
+ */
+public class StatementDAO {
+    private static final String SIGNED_AMOUNT =
+            "CASE WHEN t.transaction_type IN ('DEPOSIT', 'TRANSFER_IN') THEN t.amount ELSE -t.amount END";
+    
+    /**
+     * Stream every user's statement for a month. Balances are derived from the current
+     * balance minus completed transactions after the period boundaries.
+     * @param month statement month
+     * @param handler receives each user's statement, in user ID order
+     * @throws SQLException if database operation fails
+     */
+    public void streamStatements(YearMonth month, StatementHandler handler) throws SQLException {
+        Timestamp start = Timestamp.valueOf(month.atDay(1).atStartOfDay());
+        Timestamp end = Timestamp.valueOf(month.plusMonths(1).atDay(1).atStartOfDay());
+        
+        String accountSql = "SELECT a.user_id, u.username, u.full_name, a.account_id, a.account_number, " +
+                           "a.account_type, a.balance, " +
+                           "COALESCE(SUM(CASE WHEN t.timestamp >= ? THEN " + SIGNED_AMOUNT + " ELSE 0 END), 0) AS after_start, " +
+                           "COALESCE(SUM(CASE WHEN t.timestamp >= ? THEN " + SIGNED_AMOUNT + " ELSE 0 END), 0) AS after_end " +
+                           "FROM accounts a JOIN users u ON u.user_id = a.user_id " +
+                           "LEFT JOIN transactions t ON t.account_id = a.account_id AND t.status = 'COMPLETED' " +
+                           "AND t.timestamp >= ? " +
+                           "WHERE a.creation_date < ? " +
+                           "GROUP BY a.user_id, u.username, u.full_name, a.account_id, a.account_number, " +
+                           "a.account_type, a.balance " +
+                           "ORDER BY a.user_id, a.account_id";
+        String transactionSql = "SELECT a.user_id, t.account_id, t.transaction_id, t.transaction_type, " +
+                               "t.from_account_number, t.to_account_number, t.amount, t.description, t.timestamp " +
+                               "FROM transactions t JOIN accounts a ON a.account_id = t.account_id " +
+                               "WHERE t.status = 'COMPLETED' AND t.timestamp >= ? AND t.timestamp < ? " +
+                               "ORDER BY a.user_id, t.account_id, t.timestamp, t.transaction_id";
+        
+        try (Connection accountConn = DatabaseConfig.getConnection();
+             Connection transactionConn = DatabaseConfig.getConnection();
+             PreparedStatement accountStmt = DatabaseConfig.prepareStreamingStatement(accountConn, accountSql);
+             PreparedStatement transactionStmt = DatabaseConfig.prepareStreamingStatement(transactionConn, transactionSql)) {
+            
+            accountStmt.setTimestamp(1, start);
+            accountStmt.setTimestamp(2, end);
+            accountStmt.setTimestamp(3, start);
+            accountStmt.setTimestamp(4, end);
+            transactionStmt.setTimestamp(1, start);
+            transactionStmt.setTimestamp(2, end);
+            
+            try (ResultSet accounts = accountStmt.executeQuery();
+                 ResultSet transactions = transactionStmt.executeQuery()) {
+                
+                boolean hasTransaction = transactions.next();
+                UserStatement current = null;
+                
+                while (accounts.next()) {
+                    int userId = accounts.getInt("user_id");
+                    int accountId = accounts.getInt("account_id");
+                    
+                    if (current == null || current.getUserId() != userId) {
+                        if (current != null) {
+                            handler.accept(current);
+                        }
+                        current = new UserStatement(userId, accounts.getString("username"),
+                                                    accounts.getString("full_name"), month);
+                    }
+                    
+                    long balance = MoneyUtils.toCents(accounts.getBigDecimal("balance"));
+                    AccountStatement account = new AccountStatement(accountId, accounts.getString("account_number"),
+                            AccountType.fromName(accounts.getString("account_type")),
+                            balance - MoneyUtils.toCents(accounts.getBigDecimal("after_start")),
+                            balance - MoneyUtils.toCents(accounts.getBigDecimal("after_end")));
+                    current.getAccounts().add(account);
+                    
+                    // Skip transactions of accounts not in the statement, then take this account's
+                    while (hasTransaction && compare(transactions, userId, accountId) < 0) {
+                        hasTransaction = transactions.next();
+                    }
+                    while (hasTransaction && compare(transactions, userId, accountId) == 0) {
+                        account.getTransactions().add(mapTransaction(transactions));
+                        hasTransaction = transactions.next();
+                    }
+                }
+                
+                if (current != null) {
+                    handler.accept(current);
+                }
+            }
+        }
+    }
+    
+    private static int compare(ResultSet transactions, int userId, int accountId) throws SQLException {
+        int byUser = Integer.compare(transactions.getInt("user_id"), userId);
+        return byUser != 0 ? byUser : Integer.compare(transactions.getInt("account_id"), accountId);
+    }
+    
+    private static Transaction mapTransaction(ResultSet rs) throws SQLException {
+        Transaction transaction = new Transaction();
+        transaction.setTransactionId(rs.getInt("transaction_id"));
+        transaction.setType(TransactionType.fromName(rs.getString("transaction_type")));
+        transaction.setAccountId(rs.getInt("account_id"));
+        transaction.setFromAccountNumber(rs.getString("from_account_number"));
+        transaction.setToAccountNumber(rs.getString("to_account_number"));
+        transaction.setAmount(rs.getDouble("amount"));
+        transaction.setDescription(rs.getString("description"));
+        transaction.setTimestampMillis(rs.getTimestamp("timestamp").getTime());
+        transaction.setTransactionStatus(TransactionStatus.COMPLETED);
+        return transaction;
+    }
+}
@@ -0,0 +1,16 @@
+package com.bankease.dao;
+
+import com.bankease.model.UserStatement;
+
+/**
+ * Receives complete user statements as they are assembled from the database
+ */
+@FunctionalInterface
+public interface StatementHandler {
+
+    /**
+     * Handle one user's statement
+     * @param statement statement with every account and transaction of the user
+     */
+    void accept(UserStatement statement);
+}
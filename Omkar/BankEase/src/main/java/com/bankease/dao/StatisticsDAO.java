@@ -0,0 +1,107 @@
+package com.bankease.dao;
+
+import com.bankease.model.SystemStatistics;
+import com.bankease.model.TransactionType;
+import com.bankease.utils.DatabaseConfig;
+import com.bankease.utils.MoneyUtils;
+
+import java.sql.*;
+
+/**
+ * Data Access Object for system-wide aggregate statistics
+ */
+public class StatisticsDAO {
+    
+    /**
+     * Get a consistent snapshot of the dashboard totals.
+     * All four aggregates are computed by a single statement on one connection, so
+     * they come from the same read view instead of four independent queries.
+     * @return SystemStatistics snapshot
+     * @throws SQLException if database operation fails
+     */
+    public SystemStatistics getSnapshot() throws SQLException {
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            return getSnapshot(conn);
+        }
+    }
+    
+    /**
+     * Get journal row counts and volumes grouped by transaction type
+     * @return array with [counts, volumeCents], each indexed by TransactionType code
+     * @throws SQLException if database operation fails
+     */
+    public long[][] getVolumeByType() throws SQLException {
+        int typeCount = TransactionType.values().length;
+        long[] counts = new long[typeCount];
+        long[] volumes = new long[typeCount];
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            fillVolumeByType(conn, counts, volumes);
+        }
+        return new long[][]{counts, volumes};
+    }
+    
+    /**
+     * Get the dashboard totals and the per-type journal totals in one repeatable-read
+     * transaction, so both come from the same read view
+     * @param typeCounts filled with the row count per TransactionType code
+     * @param typeVolumeCents filled with the volume in cents per TransactionType code
+     * @return SystemStatistics snapshot
+     * @throws SQLException if database operation fails
+     */
+    public SystemStatistics getTotals(long[] typeCounts, long[] typeVolumeCents) throws SQLException {
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            boolean autoCommit = conn.getAutoCommit();
+            int isolation = conn.getTransactionIsolation();
+            conn.setAutoCommit(false);
+            conn.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+            try {
+                SystemStatistics snapshot = getSnapshot(conn);
+                fillVolumeByType(conn, typeCounts, typeVolumeCents);
+                conn.commit();
+                return snapshot;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(autoCommit);
+                conn.setTransactionIsolation(isolation);
+            }
+        }
+    }
+    
+    private SystemStatistics getSnapshot(Connection conn) throws SQLException {
+        String sql = "SELECT (SELECT COUNT(*) FROM users) AS total_users, " +
+                    "(SELECT COUNT(*) FROM accounts) AS total_accounts, " +
+                    "(SELECT COUNT(*) FROM transactions) AS total_transactions, " +
+                    "(SELECT COALESCE(SUM(balance), 0) FROM accounts WHERE is_active = true) AS total_balance";
+        
+        try (PreparedStatement pstmt = conn.prepareStatement(sql);
+             ResultSet rs = pstmt.executeQuery()) {
+            
+            if (rs.next()) {
+                return new SystemStatistics(rs.getLong("total_users"),
+                                            rs.getLong("total_accounts"),
+                                            rs.getLong("total_transactions"),
+                                            rs.getDouble("total_balance"),
+                                            System.currentTimeMillis());
+            }
+        }
+        
+        return new SystemStatistics(0, 0, 0, 0.0, System.currentTimeMillis());
+    }
+    
+    private void fillVolumeByType(Connection conn, long[] counts, long[] volumes) throws SQLException {
+        String sql = "SELECT transaction_type, COUNT(*) AS total_count, COALESCE(SUM(amount), 0) AS total_amount " +
+                    "FROM transactions GROUP BY transaction_type";
+        
+        try (PreparedStatement pstmt = conn.prepareStatement(sql);
+             ResultSet rs = pstmt.executeQuery()) {
+            
+            while (rs.next()) {
+                int code = TransactionType.fromName(rs.getString("transaction_type")).getCode();
+                counts[code] = rs.getLong("total_count");
+                volumes[code] = MoneyUtils.toCents(rs.getDouble("total_amount"));
+            }
+        }
+    }
+}
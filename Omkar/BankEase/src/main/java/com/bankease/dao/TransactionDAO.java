@@ -1,7 +1,15 @@
 package com.bankease.dao;
 
+import com.bankease.metrics.SystemCounters;
+import com.bankease.model.AccountType;
+import com.bankease.model.CompactTransaction;
 import com.bankease.model.Transaction;
+import com.bankease.model.TransactionBlock;
+import com.bankease.model.TransactionStatus;
+import com.bankease.model.TransactionType;
+import com.bankease.model.VolumeBucket;
 import com.bankease.utils.DatabaseConfig;
+import com.bankease.utils.MoneyUtils;
 
 import java.sql.*;
 import java.time.LocalDateTime;
@@ -13,6 +21,8 @@ import java.util.Optional;
  * Data Access Object for Transaction entity
  */
 public class TransactionDAO {
+    private static final String COMPACT_COLUMNS =
+            "transaction_id, transaction_type, account_id, amount, timestamp, status";
     
     /**
      * Create a new transaction
@@ -33,7 +43,7 @@ public class TransactionDAO {
             pstmt.setString(4, transaction.getToAccountNumber());
             pstmt.setDouble(5, transaction.getAmount());
             pstmt.setString(6, transaction.getDescription());
-            pstmt.setTimestamp(7, Timestamp.valueOf(transaction.getTimestamp()));
+            pstmt.setTimestamp(7, new Timestamp(transaction.getTimestampMillis()));
             pstmt.setString(8, transaction.getStatus());
             
             int affectedRows = pstmt.executeUpdate();
@@ -51,9 +61,46 @@ public class TransactionDAO {
             }
         }
         
+        SystemCounters.getInstance().transactionRecorded(transaction.getType(),
+                                                         MoneyUtils.toCents(transaction.getAmount()));
         return transaction;
     }
     
+    /**
+     * Insert journal rows on the caller's connection and transaction, with one JDBC batch
+     * @param conn connection, usually inside a transaction that also changes balances
+     * @param journal transactions to insert; each receives its generated ID
+     * @throws SQLException if database operation fails
+     */
+    static void insertTransactions(Connection conn, List<Transaction> journal) throws SQLException {
+        String sql = "INSERT INTO transactions (transaction_type, account_id, from_account_number, to_account_number, " +
+                    "amount, description, timestamp, status) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+        
+        try (PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            for (Transaction transaction : journal) {
+                pstmt.setString(1, transaction.getTransactionType());
+                pstmt.setInt(2, transaction.getAccountId());
+                pstmt.setString(3, transaction.getFromAccountNumber());
+                pstmt.setString(4, transaction.getToAccountNumber());
+                pstmt.setDouble(5, transaction.getAmount());
+                pstmt.setString(6, transaction.getDescription());
+                pstmt.setTimestamp(7, new Timestamp(transaction.getTimestampMillis()));
+                pstmt.setString(8, transaction.getStatus());
+                pstmt.addBatch();
+            }
+            pstmt.executeBatch();
+            
+            try (ResultSet generatedKeys = pstmt.getGeneratedKeys()) {
+                for (Transaction transaction : journal) {
+                    if (!generatedKeys.next()) {
+                        throw new SQLException("Creating transactions failed, not all IDs obtained.");
+                    }
+                    transaction.setTransactionId(generatedKeys.getInt(1));
+                }
+            }
+        }
+    }
+    
     /**
      * Find transaction by ID
      * @param transactionId transaction ID to search for
@@ -337,23 +384,366 @@ public class TransactionDAO {
         return transactions;
     }
 
+    /**
+     * Get one page of transactions as compact rows, newest first.
+     * Pages are keyed on transaction_id rather than OFFSET, so every page is a short
+     * primary-key range scan however deep the caller has paged. The filtered pages below
+     * walk the filter's index instead, which carries the primary key as well; the date
+     * range page is keyed on (timestamp, transaction_id) so it can walk idx_timestamp.
+     * @param beforeId return transactions with an ID below this; Integer.MAX_VALUE for the first page
+     * @param limit maximum number of rows
+     * @return List of up to limit transactions
+     * @throws SQLException if database operation fails
+     */
+    public List<CompactTransaction> findPageCompact(int beforeId, int limit) throws SQLException {
+        String sql = "SELECT " + COMPACT_COLUMNS + " FROM transactions WHERE transaction_id < ? " +
+                    "ORDER BY transaction_id DESC LIMIT ?";
+        
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            pstmt.setInt(1, beforeId);
+            pstmt.setInt(2, limit);
+            return collectCompact(pstmt);
+        }
+    }
+
+    /**
+     * Get one page of transactions of a type as compact rows, newest first
+     * @param transactionType transaction type
+     * @param beforeId return transactions with an ID below this; Integer.MAX_VALUE for the first page
+     * @param limit maximum number of rows
+     * @return List of up to limit transactions of the specified type
+     * @throws SQLException if database operation fails
+     */
+    public List<CompactTransaction> findByTypePageCompact(String transactionType, int beforeId, int limit)
+            throws SQLException {
+        String sql = "SELECT " + COMPACT_COLUMNS + " FROM transactions WHERE transaction_type = ? " +
+                    "AND transaction_id < ? ORDER BY transaction_id DESC LIMIT ?";
+        
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            pstmt.setString(1, transactionType);
+            pstmt.setInt(2, beforeId);
+            pstmt.setInt(3, limit);
+            return collectCompact(pstmt);
+        }
+    }
+
+    /**
+     * Get one page of transactions with a status as compact rows, newest first
+     * @param status transaction status
+     * @param beforeId return transactions with an ID below this; Integer.MAX_VALUE for the first page
+     * @param limit maximum number of rows
+     * @return List of up to limit transactions with the specified status
+     * @throws SQLException if database operation fails
+     */
+    public List<CompactTransaction> findByStatusPageCompact(String status, int beforeId, int limit)
+            throws SQLException {
+        String sql = "SELECT " + COMPACT_COLUMNS + " FROM transactions WHERE status = ? " +
+                    "AND transaction_id < ? ORDER BY transaction_id DESC LIMIT ?";
+        
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            pstmt.setString(1, status);
+            pstmt.setInt(2, beforeId);
+            pstmt.setInt(3, limit);
+            return collectCompact(pstmt);
+        }
+    }
+
+    /**
+     * Get one page of transactions in a date range as compact rows, newest first by
+     * timestamp and then ID.
+     * Filtering a transaction_id range by timestamp would walk the primary key through
+     * every newer transaction before reaching an old range, so the page is keyed on
+     * (timestamp, transaction_id) and read from idx_timestamp. The timestamp half of the
+     * cursor is looked up from the cursor ID (or the nearest ID below it) by primary key.
+     * @param startDate start date
+     * @param endDate end date (inclusive)
+     * @param beforeId last transaction ID of the previous page; Integer.MAX_VALUE for the first page
+     * @param limit maximum number of rows
+     * @return List of up to limit transactions in the date range
+     * @throws SQLException if database operation fails
+     */
+    public List<CompactTransaction> findByDateRangePageCompact(LocalDateTime startDate, LocalDateTime endDate,
+                                                               int beforeId, int limit) throws SQLException {
+        String cursorSql = "SELECT timestamp FROM transactions WHERE transaction_id <= ? " +
+                          "ORDER BY transaction_id DESC LIMIT 1";
+        String sql = "SELECT " + COMPACT_COLUMNS + " FROM transactions WHERE timestamp >= ? AND timestamp <= ? " +
+                    "AND (timestamp < ? OR transaction_id < ?) " +
+                    "ORDER BY timestamp DESC, transaction_id DESC LIMIT ?";
+        
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            Timestamp cursorTime = Timestamp.valueOf(endDate);
+            int cursorId = Integer.MAX_VALUE;
+            if (beforeId != Integer.MAX_VALUE) {
+                try (PreparedStatement pstmt = conn.prepareStatement(cursorSql)) {
+                    pstmt.setInt(1, beforeId);
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        if (!rs.next()) {
+                            return new ArrayList<>();
+                        }
+                        // A cursor past the end of the range starts from the top of the range
+                        Timestamp timestamp = rs.getTimestamp(1);
+                        if (!timestamp.after(cursorTime)) {
+                            cursorTime = timestamp;
+                            cursorId = beforeId;
+                        }
+                    }
+                }
+            }
+            
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setTimestamp(1, Timestamp.valueOf(startDate));
+                pstmt.setTimestamp(2, cursorTime);
+                pstmt.setTimestamp(3, cursorTime);
+                pstmt.setInt(4, cursorId);
+                pstmt.setInt(5, limit);
+                return collectCompact(pstmt);
+            }
+        }
+    }
+
+    /**
+     * Get one page of a user's transactions as compact rows, newest first
+     * @param userId user ID
+     * @param beforeId return transactions with an ID below this; Integer.MAX_VALUE for the first page
+     * @param limit maximum number of rows
+     * @return List of up to limit transactions for the user
+     * @throws SQLException if database operation fails
+     */
+    public List<CompactTransaction> findByUserIdPageCompact(int userId, int beforeId, int limit) throws SQLException {
+        String sql = "SELECT t.transaction_id, t.transaction_type, t.account_id, t.amount, t.timestamp, t.status " +
+                    "FROM transactions t JOIN accounts a ON t.account_id = a.account_id " +
+                    "WHERE a.user_id = ? AND t.transaction_id < ? ORDER BY t.transaction_id DESC LIMIT ?";
+        
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            pstmt.setInt(1, userId);
+            pstmt.setInt(2, beforeId);
+            pstmt.setInt(3, limit);
+            return collectCompact(pstmt);
+        }
+    }
+
+    /**
+     * Get one page of an account's transactions as compact rows, newest first
+     * @param accountNumber account number
+     * @param beforeId return transactions with an ID below this; Integer.MAX_VALUE for the first page
+     * @param limit maximum number of rows
+     * @return List of up to limit transactions for the account
+     * @throws SQLException if database operation fails
+     */
+    public List<CompactTransaction> findByAccountNumberPageCompact(String accountNumber, int beforeId, int limit)
+            throws SQLException {
+        String sql = "SELECT t.transaction_id, t.transaction_type, t.account_id, t.amount, t.timestamp, t.status " +
+                    "FROM transactions t JOIN accounts a ON t.account_id = a.account_id " +
+                    "WHERE a.account_number = ? AND t.transaction_id < ? ORDER BY t.transaction_id DESC LIMIT ?";
+        
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            pstmt.setString(1, accountNumber);
+            pstmt.setInt(2, beforeId);
+            pstmt.setInt(3, limit);
+            return collectCompact(pstmt);
+        }
+    }
+
+    /**
+     * Get all transactions as a columnar block
+     * @return TransactionBlock with all transactions, newest first
+     * @throws SQLException if database operation fails
+     */
+    public TransactionBlock findAllBlock() throws SQLException {
+        String sql = "SELECT " + COMPACT_COLUMNS + " FROM transactions ORDER BY timestamp DESC";
+        
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            return fillBlock(pstmt);
+        }
+    }
+
+    /**
+     * Get transactions by type as a columnar block
+     * @param transactionType transaction type
+     * @return TransactionBlock with transactions of the specified type
+     * @throws SQLException if database operation fails
+     */
+    public TransactionBlock findByTypeBlock(String transactionType) throws SQLException {
+        String sql = "SELECT " + COMPACT_COLUMNS + " FROM transactions WHERE transaction_type = ? ORDER BY timestamp DESC";
+        
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            pstmt.setString(1, transactionType);
+            return fillBlock(pstmt);
+        }
+    }
+
+    /**
+     * Get transactions by date range as a columnar block
+     * @param startDate start date
+     * @param endDate end date
+     * @return TransactionBlock with transactions in the date range
+     * @throws SQLException if database operation fails
+     */
+    public TransactionBlock findByDateRangeBlock(LocalDateTime startDate, LocalDateTime endDate) throws SQLException {
+        String sql = "SELECT " + COMPACT_COLUMNS + " FROM transactions WHERE timestamp BETWEEN ? AND ? " +
+                    "ORDER BY timestamp DESC";
+        
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            pstmt.setTimestamp(1, Timestamp.valueOf(startDate));
+            pstmt.setTimestamp(2, Timestamp.valueOf(endDate));
+            return fillBlock(pstmt);
+        }
+    }
+
+    /**
+     * Replay completed transactions in a half-open time range, in journal order,
+     * together with the type of the account they were posted to
+     * @param from range start (inclusive)
+     * @param to range end (exclusive)
+     * @param handler receives each row
+     * @throws SQLException if database operation fails
+     */
+    public void replayCompleted(LocalDateTime from, LocalDateTime to, JournalRowHandler handler) throws SQLException {
+        String sql = "SELECT t.transaction_id, t.account_id, a.account_type, t.transaction_type, t.amount " +
+                    "FROM transactions t JOIN accounts a ON t.account_id = a.account_id " +
+                    "WHERE t.timestamp >= ? AND t.timestamp < ? AND t.status = 'COMPLETED' " +
+                    "ORDER BY t.transaction_id";
+        
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            pstmt.setTimestamp(1, Timestamp.valueOf(from));
+            pstmt.setTimestamp(2, Timestamp.valueOf(to));
+            
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    handler.accept(rs.getInt("transaction_id"), rs.getInt("account_id"),
+                                   AccountType.fromName(rs.getString("account_type")),
+                                   TransactionType.fromName(rs.getString("transaction_type")),
+                                   MoneyUtils.toCents(rs.getDouble("amount")));
+                }
+            }
+        }
+    }
+
+    /**
+     * Aggregate completed transaction volume in a time range into a report bucket,
+     * grouped by transaction type, account type and user
+     * @param from range start (inclusive)
+     * @param to range end (exclusive)
+     * @param bucket bucket to add the aggregated rows to
+     * @throws SQLException if database operation fails
+     */
+    public void aggregateVolume(LocalDateTime from, LocalDateTime to, VolumeBucket bucket) throws SQLException {
+        String sql = "SELECT t.transaction_type, a.account_type, a.user_id, COUNT(*) AS total_count, " +
+                    "SUM(t.amount) AS total_amount FROM transactions t " +
+                    "JOIN accounts a ON t.account_id = a.account_id " +
+                    "WHERE t.timestamp >= ? AND t.timestamp < ? AND t.status = 'COMPLETED' " +
+                    "GROUP BY t.transaction_type, a.account_type, a.user_id";
+        
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            pstmt.setTimestamp(1, Timestamp.valueOf(from));
+            pstmt.setTimestamp(2, Timestamp.valueOf(to));
+            
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    bucket.add(TransactionType.fromName(rs.getString("transaction_type")).getCode(),
+                               AccountType.fromName(rs.getString("account_type")).getCode(),
+                               rs.getInt("user_id"),
+                               rs.getLong("total_count"),
+                               MoneyUtils.toCents(rs.getDouble("total_amount")));
+                }
+            }
+        }
+    }
+
     /**
      * Map ResultSet to Transaction object
      * @param rs ResultSet
      * @return Transaction object
      * @throws SQLException if mapping fails
      */
-    private Transaction mapResultSetToTransaction(ResultSet rs) throws SQLException {
+    Transaction mapResultSetToTransaction(ResultSet rs) throws SQLException {
         Transaction transaction = new Transaction();
         transaction.setTransactionId(rs.getInt("transaction_id"));
-        transaction.setTransactionType(rs.getString("transaction_type"));
+        transaction.setType(TransactionType.fromName(rs.getString("transaction_type")));
         transaction.setAccountId(rs.getInt("account_id"));
         transaction.setFromAccountNumber(rs.getString("from_account_number"));
         transaction.setToAccountNumber(rs.getString("to_account_number"));
         transaction.setAmount(rs.getDouble("amount"));
         transaction.setDescription(rs.getString("description"));
-        transaction.setTimestamp(rs.getTimestamp("timestamp").toLocalDateTime());
-        transaction.setStatus(rs.getString("status"));
+        transaction.setTimestampMillis(rs.getTimestamp("timestamp").getTime());
+        transaction.setTransactionStatus(TransactionStatus.fromName(rs.getString("status")));
         return transaction;
     }
+
+    /**
+     * Map ResultSet to CompactTransaction row
+     * @param rs ResultSet selecting the compact columns
+     * @return CompactTransaction row
+     * @throws SQLException if mapping fails
+     */
+    private CompactTransaction mapResultSetToCompactTransaction(ResultSet rs) throws SQLException {
+        return new CompactTransaction(
+                rs.getInt("transaction_id"),
+                rs.getInt("account_id"),
+                MoneyUtils.toCents(rs.getDouble("amount")),
+                rs.getTimestamp("timestamp").getTime(),
+                TransactionType.fromName(rs.getString("transaction_type")).getCode(),
+                TransactionStatus.fromName(rs.getString("status")).getCode());
+    }
+
+    /**
+     * Run a compact-column query and fill a columnar block directly from the ResultSet
+     * @param pstmt prepared statement with all parameters bound
+     * @return TransactionBlock with the result rows
+     * @throws SQLException if database operation fails
+     */
+    private TransactionBlock fillBlock(PreparedStatement pstmt) throws SQLException {
+        TransactionBlock block = new TransactionBlock();
+        
+        try (ResultSet rs = pstmt.executeQuery()) {
+            while (rs.next()) {
+                block.add(rs.getInt("transaction_id"),
+                          rs.getInt("account_id"),
+                          MoneyUtils.toCents(rs.getDouble("amount")),
+                          rs.getTimestamp("timestamp").getTime(),
+                          TransactionType.fromName(rs.getString("transaction_type")).getCode(),
+                          TransactionStatus.fromName(rs.getString("status")).getCode());
+            }
+        }
+        
+        return block;
+    }
+
+    /**
+     * Run a compact-row query and collect the results
+     * @param pstmt prepared statement with all parameters bound
+     * @return List of compact transaction rows
+     * @throws SQLException if database operation fails
+     */
+    private List<CompactTransaction> collectCompact(PreparedStatement pstmt) throws SQLException {
+        List<CompactTransaction> transactions = new ArrayList<>();
+        
+        try (ResultSet rs = pstmt.executeQuery()) {
+            while (rs.next()) {
+                transactions.add(mapResultSetToCompactTransaction(rs));
+            }
+        }
+        
+        return transactions;
+    }
 } 
\ No newline at end of file
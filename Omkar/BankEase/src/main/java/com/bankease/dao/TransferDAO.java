@@ -0,0 +1,158 @@
+package com.bankease.dao;
+
+import com.bankease.metrics.SystemCounters;
+import com.bankease.model.BankAccount;
+import com.bankease.model.Transaction;
+import com.bankease.model.TransactionStatus;
+import com.bankease.model.TransactionType;
+import com.bankease.model.TransferRequest;
+import com.bankease.model.TransferResult;
+import com.bankease.utils.DatabaseConfig;
+import com.bankease.utils.MoneyUtils;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Data Access Object for applying many transfers in one database transaction
+ */
+public class TransferDAO {
+    
+    /**
+     * Apply transfers in one transaction. All involved account rows are locked with
+     * SELECT ... FOR UPDATE in ascending account ID order, so concurrent batches cannot
+     * deadlock; the transfers are then applied in request order against the locked
+     * balances, and the balance updates and journal rows are written with JDBC batches.
+     * A transfer whose source lacks funds, or whose accounts became frozen or inactive,
+     * fails on its own without affecting the others.
+     * @param requests transfers to apply
+     * @param accounts accounts by account number; must contain every account in the requests
+     * @return results in request order
+     * @throws SQLException if database operation fails; nothing is applied
+     */
+    public List<TransferResult> applyTransfers(List<TransferRequest> requests, Map<String, BankAccount> accounts)
+            throws SQLException {
+        List<TransferResult> results = new ArrayList<>(requests.size());
+        if (requests.isEmpty()) {
+            return results;
+        }
+        
+        Set<Integer> accountIds = new TreeSet<>();
+        for (TransferRequest request : requests) {
+            accountIds.add(accounts.get(request.getFromAccountNumber()).getAccountId());
+            accountIds.add(accounts.get(request.getToAccountNumber()).getAccountId());
+        }
+        
+        List<Transaction> journal = new ArrayList<>(requests.size() * 2);
+        
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try {
+                DatabaseConfig.markApplicationJournaled(conn);
+                Map<Integer, long[]> locked = lockAccounts(conn, accountIds);
+                Set<Integer> changed = new LinkedHashSet<>();
+                
+                for (TransferRequest request : requests) {
+                    BankAccount from = accounts.get(request.getFromAccountNumber());
+                    BankAccount to = accounts.get(request.getToAccountNumber());
+                    long[] fromRow = locked.get(from.getAccountId());
+                    long[] toRow = locked.get(to.getAccountId());
+                    long cents = MoneyUtils.toCents(request.getAmount());
+                    
+                    if (fromRow == null || toRow == null) {
+                        results.add(TransferResult.failed(request, "Account no longer exists"));
+                    } else if (fromRow[1] != 0 || toRow[1] != 0) {
+                        results.add(TransferResult.failed(request, "Account is frozen or inactive"));
+                    } else if (fromRow[0] < cents) {
+                        results.add(TransferResult.failed(request, "Insufficient funds in source account. Balance: $" + 
+                                                          MoneyUtils.fromCents(fromRow[0]) + ", Required: $" + request.getAmount()));
+                    } else {
+                        fromRow[0] -= cents;
+                        toRow[0] += cents;
+                        changed.add(from.getAccountId());
+                        changed.add(to.getAccountId());
+                        
+                        Transaction withdrawal = new Transaction(TransactionType.TRANSFER_OUT, from.getAccountId(), 
+                                request.getAmount(), request.getDescription() + " (Transfer to " + request.getToAccountNumber() + ")");
+                        withdrawal.setTransactionStatus(TransactionStatus.COMPLETED);
+                        withdrawal.setToAccountNumber(request.getToAccountNumber());
+                        
+                        Transaction deposit = new Transaction(TransactionType.TRANSFER_IN, to.getAccountId(), 
+                                request.getAmount(), request.getDescription() + " (Transfer from " + request.getFromAccountNumber() + ")");
+                        deposit.setTransactionStatus(TransactionStatus.COMPLETED);
+                        deposit.setFromAccountNumber(request.getFromAccountNumber());
+                        
+                        journal.add(withdrawal);
+                        journal.add(deposit);
+                        results.add(TransferResult.completed(request, withdrawal, deposit, fromRow[0], toRow[0]));
+                    }
+                }
+                
+                if (!changed.isEmpty()) {
+                    updateBalances(conn, changed, locked);
+                    TransactionDAO.insertTransactions(conn, journal);
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
+        }
+        
+        SystemCounters counters = SystemCounters.getInstance();
+        for (Transaction transaction : journal) {
+            counters.transactionRecorded(transaction.getType(), MoneyUtils.toCents(transaction.getAmount()));
+        }
+        return results;
+    }
+    
+    /**
+     * Lock account rows in ascending ID order
+     * @return map of account ID to [balanceCents, unavailable (1 if frozen or inactive)]
+     */
+    private static Map<Integer, long[]> lockAccounts(Connection conn, Set<Integer> accountIds) throws SQLException {
+        StringBuilder sql = new StringBuilder("SELECT account_id, balance, is_active, is_frozen FROM accounts " +
+                                              "WHERE account_id IN (");
+        for (int i = 0; i < accountIds.size(); i++) {
+            sql.append(i == 0 ? "?" : ",?");
+        }
+        sql.append(") ORDER BY account_id FOR UPDATE");
+        
+        Map<Integer, long[]> locked = new HashMap<>();
+        try (PreparedStatement pstmt = conn.prepareStatement(sql.toString())) {
+            int index = 1;
+            for (int accountId : accountIds) {
+                pstmt.setInt(index++, accountId);
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    boolean unavailable = !rs.getBoolean("is_active") || rs.getBoolean("is_frozen");
+                    locked.put(rs.getInt("account_id"), 
+                               new long[]{MoneyUtils.toCents(rs.getBigDecimal("balance")), unavailable ? 1 : 0});
+                }
+            }
+        }
+        return locked;
+    }
+    
+    private static void updateBalances(Connection conn, Set<Integer> changed, Map<Integer, long[]> locked) 
+            throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement("UPDATE accounts SET balance = ? WHERE account_id = ?")) {
+            for (int accountId : changed) {
+                pstmt.setBigDecimal(1, MoneyUtils.toBigDecimal(locked.get(accountId)[0]));
+                pstmt.setInt(2, accountId);
+                pstmt.addBatch();
+            }
+            pstmt.executeBatch();
+        }
+    }
+}
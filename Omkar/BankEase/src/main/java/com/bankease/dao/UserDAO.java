@@ -1,5 +1,6 @@
 package com.bankease.dao;
 
+import com.bankease.metrics.SystemCounters;
 import com.bankease.model.User;
 import com.bankease.utils.DatabaseConfig;
 
@@ -50,6 +51,7 @@ public class UserDAO {
             }
         }
         
+        SystemCounters.getInstance().userCreated();
         return user;
     }
     
@@ -122,6 +124,32 @@ public class UserDAO {
         return users;
     }
     
+    /**
+     * Get one page of users in ID order, keyed on user_id rather than OFFSET
+     * @param afterId return users with an ID above this; 0 for the first page
+     * @param limit maximum number of rows
+     * @return List of up to limit users
+     * @throws SQLException if database operation fails
+     */
+    public List<User> findPage(int afterId, int limit) throws SQLException {
+        String sql = "SELECT * FROM users WHERE user_id > ? ORDER BY user_id LIMIT ?";
+        List<User> users = new ArrayList<>();
+        
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            pstmt.setInt(1, afterId);
+            pstmt.setInt(2, limit);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    users.add(mapResultSetToUser(rs));
+                }
+            }
+        }
+        
+        return users;
+    }
+    
     /**
      * Update user
      * @param user User object to update
@@ -161,7 +189,11 @@ public class UserDAO {
             
             pstmt.setInt(1, userId);
             
-            return pstmt.executeUpdate() > 0;
+            boolean deleted = pstmt.executeUpdate() > 0;
+            if (deleted) {
+                SystemCounters.getInstance().userDeleted();
+            }
+            return deleted;
         }
     }
     
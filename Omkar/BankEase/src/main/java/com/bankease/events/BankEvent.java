@@ -0,0 +1,151 @@
+package com.bankease.events;
+
+import com.bankease.model.AccountType;
+import com.bankease.model.TransactionType;
+
+/**
+ * One event on the EventBus.
+ * Instances are preallocated ring-buffer slots that are overwritten as the ring wraps,
+ * so handlers must copy any values they keep after onEvent returns. Fields that do not
+ * apply to an event's type are left at 0, null or false.
+ */
+public final class BankEvent {
+    private EventType type;
+    private long timestampMillis;
+    private int accountId;
+    private int userId;
+    private String accountNumber;
+    private AccountType accountType;
+    private int transactionId;
+    private TransactionType transactionType;
+    private long amountCents;
+    private long balanceCents;
+    private boolean frozen;
+
+    BankEvent() {
+    }
+
+    /**
+     * Reset every field for a new event of the given type
+     * @param type event type
+     * @param timestampMillis event time as epoch milliseconds
+     * @return this event
+     */
+    BankEvent reset(EventType type, long timestampMillis) {
+        this.type = type;
+        this.timestampMillis = timestampMillis;
+        this.accountId = 0;
+        this.userId = 0;
+        this.accountNumber = null;
+        this.accountType = null;
+        this.transactionId = 0;
+        this.transactionType = null;
+        this.amountCents = 0;
+        this.balanceCents = 0;
+        this.frozen = false;
+        return this;
+    }
+
+    void copyFrom(BankEvent other) {
+        this.type = other.type;
+        this.timestampMillis = other.timestampMillis;
+        this.accountId = other.accountId;
+        this.userId = other.userId;
+        this.accountNumber = other.accountNumber;
+        this.accountType = other.accountType;
+        this.transactionId = other.transactionId;
+        this.transactionType = other.transactionType;
+        this.amountCents = other.amountCents;
+        this.balanceCents = other.balanceCents;
+        this.frozen = other.frozen;
+    }
+
+    BankEvent account(int accountId, int userId, String accountNumber, AccountType accountType) {
+        this.accountId = accountId;
+        this.userId = userId;
+        this.accountNumber = accountNumber;
+        this.accountType = accountType;
+        return this;
+    }
+
+    BankEvent transaction(int transactionId, TransactionType transactionType) {
+        this.transactionId = transactionId;
+        this.transactionType = transactionType;
+        return this;
+    }
+
+    BankEvent amounts(long amountCents, long balanceCents) {
+        this.amountCents = amountCents;
+        this.balanceCents = balanceCents;
+        return this;
+    }
+
+    BankEvent frozen(boolean frozen) {
+        this.frozen = frozen;
+        return this;
+    }
+
+    // Getters
+    public EventType getType() {
+        return type;
+    }
+
+    public long getTimestampMillis() {
+        return timestampMillis;
+    }
+
+    public int getAccountId() {
+        return accountId;
+    }
+
+    public int getUserId() {
+        return userId;
+    }
+
+    public String getAccountNumber() {
+        return accountNumber;
+    }
+
+    public AccountType getAccountType() {
+        return accountType;
+    }
+
+    public int getTransactionId() {
+        return transactionId;
+    }
+
+    public TransactionType getTransactionType() {
+        return transactionType;
+    }
+
+    /**
+     * @return transaction amount for TRANSACTION_COMMITTED, balance delta for BALANCE_CHANGED,
+     *         initial balance for ACCOUNT_CREATED
+     */
+    public long getAmountCents() {
+        return amountCents;
+    }
+
+    /**
+     * @return balance after the change for BALANCE_CHANGED and ACCOUNT_CREATED
+     */
+    public long getBalanceCents() {
+        return balanceCents;
+    }
+
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    @Override
+    public String toString() {
+        return "BankEvent{" +
+                "type=" + type +
+                ", accountId=" + accountId +
+                ", transactionId=" + transactionId +
+                ", amountCents=" + amountCents +
+                ", balanceCents=" + balanceCents +
+                ", frozen=" + frozen +
+                '}';
+    }
+}
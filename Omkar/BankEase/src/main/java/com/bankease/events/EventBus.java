@@ -0,0 +1,153 @@
+package com.bankease.events;
+
+import com.bankease.model.BankAccount;
+import com.bankease.model.Transaction;
+import com.bankease.utils.DatabaseConfig;
+import com.bankease.utils.MoneyUtils;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Typed in-process event bus for committed banking operations.
+ * <p>
+ * Every subscriber gets its own preallocated EventRing and thread, so publishing is a
+ * CAS and a field copy per subscriber and a slow subscriber only ever drops its own
+ * events instead of delaying BankingService. Ring size and wait strategy come from
+ * events.&lt;name&gt;.bufferSize and events.&lt;name&gt;.waitStrategy, falling back to
+ * events.bufferSize and events.waitStrategy.
+ */
+public class EventBus {
+    private static final EventBus INSTANCE = new EventBus();
+
+    private final ThreadLocal<BankEvent> scratch = ThreadLocal.withInitial(BankEvent::new);
+    private volatile EventRing[] rings = new EventRing[0];
+
+    /**
+     * Get the shared event bus
+     * @return EventBus instance
+     */
+    public static EventBus getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Subscribe with the configured ring size and wait strategy for this name
+     * @param name subscriber name, also used for its thread and configuration keys
+     * @param handler event handler
+     * @return the subscription
+     */
+    public EventRing subscribe(String name, EventHandler handler) {
+        int bufferSize = DatabaseConfig.getIntProperty("events." + name + ".bufferSize",
+                DatabaseConfig.getIntProperty("events.bufferSize", 8192));
+        String strategy = DatabaseConfig.getProperty("events." + name + ".waitStrategy",
+                DatabaseConfig.getProperty("events.waitStrategy", WaitStrategy.SLEEPING.name()));
+        return subscribe(name, handler, bufferSize, WaitStrategy.valueOf(strategy.toUpperCase()));
+    }
+
+    /**
+     * Subscribe with an explicit ring size and wait strategy
+     * @param name subscriber name
+     * @param handler event handler
+     * @param bufferSize ring capacity, rounded up to a power of two
+     * @param waitStrategy how the subscriber waits when idle
+     * @return the subscription
+     */
+    public synchronized EventRing subscribe(String name, EventHandler handler, int bufferSize,
+                                            WaitStrategy waitStrategy) {
+        EventRing ring = new EventRing(name, handler, bufferSize, waitStrategy);
+        ring.start();
+        EventRing[] updated = Arrays.copyOf(rings, rings.length + 1);
+        updated[rings.length] = ring;
+        rings = updated;
+        return ring;
+    }
+
+    /**
+     * Remove a subscription after it has handled the events already published to it
+     * @param ring subscription to remove
+     */
+    public synchronized void unsubscribe(EventRing ring) {
+        rings = Arrays.stream(rings).filter(r -> r != ring).toArray(EventRing[]::new);
+        ring.stop(1000);
+    }
+
+    /**
+     * Stop every subscription
+     */
+    public synchronized void shutdown() {
+        EventRing[] stopping = rings;
+        rings = new EventRing[0];
+        for (EventRing ring : stopping) {
+            ring.stop(1000);
+        }
+    }
+
+    public List<EventRing> getSubscriptions() {
+        return List.of(rings);
+    }
+
+    /**
+     * Publish that an account was created
+     * @param account created account
+     */
+    public void publishAccountCreated(BankAccount account) {
+        if (rings.length == 0) {
+            return;
+        }
+        long balance = MoneyUtils.toCents(account.getBalance());
+        publish(scratch.get().reset(EventType.ACCOUNT_CREATED, System.currentTimeMillis())
+                .account(account.getAccountId(), account.getUserId(), account.getAccountNumber(), account.getType())
+                .amounts(balance, balance));
+    }
+
+    /**
+     * Publish that an account balance changed
+     * @param account account with its new balance
+     * @param deltaCents change in cents
+     */
+    public void publishBalanceChanged(BankAccount account, long deltaCents) {
+        if (rings.length == 0) {
+            return;
+        }
+        publish(scratch.get().reset(EventType.BALANCE_CHANGED, System.currentTimeMillis())
+                .account(account.getAccountId(), account.getUserId(), account.getAccountNumber(), account.getType())
+                .amounts(deltaCents, MoneyUtils.toCents(account.getBalance())));
+    }
+
+    /**
+     * Publish that a transaction was committed
+     * @param transaction saved transaction
+     * @param account account the transaction was posted to
+     */
+    public void publishTransactionCommitted(Transaction transaction, BankAccount account) {
+        if (rings.length == 0) {
+            return;
+        }
+        publish(scratch.get().reset(EventType.TRANSACTION_COMMITTED, transaction.getTimestampMillis())
+                .account(account.getAccountId(), account.getUserId(), account.getAccountNumber(), account.getType())
+                .transaction(transaction.getTransactionId(), transaction.getType())
+                .amounts(MoneyUtils.toCents(transaction.getAmount()), MoneyUtils.toCents(account.getBalance())));
+    }
+
+    /**
+     * Publish that an account was frozen or unfrozen
+     * @param accountId account ID, or 0 if only the number is known
+     * @param accountNumber account number, or null if only the ID is known
+     * @param frozen new frozen status
+     */
+    public void publishAccountFrozen(int accountId, String accountNumber, boolean frozen) {
+        if (rings.length == 0) {
+            return;
+        }
+        publish(scratch.get().reset(EventType.ACCOUNT_FROZEN, System.currentTimeMillis())
+                .account(accountId, 0, accountNumber, null)
+                .frozen(frozen));
+    }
+
+    private void publish(BankEvent event) {
+        for (EventRing ring : rings) {
+            ring.tryPublish(event);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.bankease.events;
+
+/**
+ * Consumes events from an EventBus subscription on the subscription's own thread
+ */
+@FunctionalInterface
+public interface EventHandler {
+
+    /**
+     * Handle one event
+     * @param event event; only valid until this method returns
+     * @param sequence sequence number of the event within the subscription
+     * @param endOfBatch true for the last event currently available, a good point to flush
+     */
+    void onEvent(BankEvent event, long sequence, boolean endOfBatch);
+}
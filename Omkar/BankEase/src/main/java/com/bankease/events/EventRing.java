@@ -0,0 +1,195 @@
+package com.bankease.events;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * One subscription: a preallocated multi-producer, single-consumer ring buffer drained
+ * in batches by a dedicated thread.
+ * <p>
+ * Publishers claim a sequence with a CAS, copy the event into the preallocated slot and
+ * mark the slot published; they never wait. When the ring is full because the
+ * subscriber has fallen behind, the event is dropped for this subscriber only and
+ * counted in {@link #getDropped()}.
+ */
+public final class EventRing {
+    private final String name;
+    private final EventHandler handler;
+    private final WaitStrategy waitStrategy;
+    private final BankEvent[] entries;
+    private final int mask;
+    private final int shift;
+    // Lap number last published into each slot, so a slot is readable once its lap matches
+    private final AtomicIntegerArray published;
+    private final AtomicLong cursor = new AtomicLong(-1);
+    private final AtomicLong consumed = new AtomicLong(-1);
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final Thread thread;
+    private volatile boolean running = true;
+    private volatile boolean parked;
+
+    EventRing(String name, EventHandler handler, int bufferSize, WaitStrategy waitStrategy) {
+        int capacity = bufferSize <= 1 ? 2 : Integer.highestOneBit(bufferSize - 1) << 1;
+        this.name = name;
+        this.handler = handler;
+        this.waitStrategy = waitStrategy;
+        this.entries = new BankEvent[capacity];
+        for (int i = 0; i < capacity; i++) {
+            entries[i] = new BankEvent();
+        }
+        this.mask = capacity - 1;
+        this.shift = Integer.numberOfTrailingZeros(capacity);
+        this.published = new AtomicIntegerArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            published.set(i, -1);
+        }
+        this.thread = new Thread(this::run, "event-" + name);
+        this.thread.setDaemon(true);
+    }
+
+    void start() {
+        thread.start();
+    }
+
+    /**
+     * Copy an event into the ring without waiting
+     * @param event event to copy
+     * @return true if published, false if dropped because the ring is full
+     */
+    boolean tryPublish(BankEvent event) {
+        long next;
+        while (true) {
+            long current = cursor.get();
+            next = current + 1;
+            if (next - entries.length > consumed.get()) {
+                dropped.incrementAndGet();
+                return false;
+            }
+            if (cursor.compareAndSet(current, next)) {
+                break;
+            }
+        }
+        int index = (int) next & mask;
+        entries[index].copyFrom(event);
+        published.lazySet(index, (int) (next >>> shift));
+        if (parked) {
+            LockSupport.unpark(thread);
+        }
+        return true;
+    }
+
+    private void run() {
+        long next = consumed.get() + 1;
+        int idle = 0;
+        while (true) {
+            long available = highestPublished(next, cursor.get());
+            if (available < next) {
+                if (!running) {
+                    return;
+                }
+                waitStrategy.idle(this, idle++);
+                continue;
+            }
+            idle = 0;
+            for (long sequence = next; sequence <= available; sequence++) {
+                try {
+                    handler.onEvent(entries[(int) sequence & mask], sequence, sequence == available);
+                } catch (RuntimeException e) {
+                    // A failing handler must not stop the subscription
+                    if (failures.getAndIncrement() == 0) {
+                        System.err.println("Event subscriber " + name + " failed: " + e);
+                    }
+                }
+            }
+            consumed.set(available);
+            next = available + 1;
+        }
+    }
+
+    private long highestPublished(long from, long to) {
+        for (long sequence = from; sequence <= to; sequence++) {
+            if (published.get((int) sequence & mask) != (int) (sequence >>> shift)) {
+                return sequence - 1;
+            }
+        }
+        return to;
+    }
+
+    void park(long maxNanos) {
+        parked = true;
+        if (cursor.get() == consumed.get()) {
+            LockSupport.parkNanos(this, maxNanos);
+        }
+        parked = false;
+    }
+
+    /**
+     * Stop the subscriber after it has handled the events already published
+     * @param timeoutMillis maximum time to wait for the drain
+     */
+    void stop(long timeoutMillis) {
+        running = false;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(timeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Getters
+    public String getName() {
+        return name;
+    }
+
+    public WaitStrategy getWaitStrategy() {
+        return waitStrategy;
+    }
+
+    public int getCapacity() {
+        return entries.length;
+    }
+
+    /**
+     * @return events published but not yet handled
+     */
+    public long getBacklog() {
+        return Math.max(0, cursor.get() - consumed.get());
+    }
+
+    /**
+     * @return events dropped because this subscriber's ring was full
+     */
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    /**
+     * @return events whose handler threw an exception
+     */
+    public long getFailures() {
+        return failures.get();
+    }
+
+    /**
+     * @return sequence of the last published event, -1 if none
+     */
+    public long getPublishedSequence() {
+        return cursor.get();
+    }
+
+    /**
+     * @return sequence of the last handled event, -1 if none
+     */
+    public long getConsumedSequence() {
+        return consumed.get();
+    }
+
+    @Override
+    public String toString() {
+        return name + " (" + waitStrategy + ", capacity " + entries.length + ", backlog " + getBacklog() +
+                ", dropped " + getDropped() + ")";
+    }
+}
@@ -0,0 +1,12 @@
+package com.bankease.events;
+
+/**
+ * Kinds of events published on the EventBus
+ */
+public enum EventType {
+    ACCOUNT_CREATED,
+    BALANCE_CHANGED,
+    TRANSACTION_COMMITTED,
+    /** Frozen status changed, in either direction; BankEvent.isFrozen() is the new status */
+    ACCOUNT_FROZEN
+}
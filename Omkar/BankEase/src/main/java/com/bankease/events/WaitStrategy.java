@@ -0,0 +1,59 @@
+package com.bankease.events;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * How an idle subscriber waits for new events.
+ * Strategies trade consumer latency against CPU; none of them make publishers wait.
+ */
+public enum WaitStrategy {
+    /** Spin continuously: lowest latency, burns a core */
+    BUSY_SPIN,
+    /** Spin briefly, then yield the CPU */
+    YIELDING,
+    /** Spin, yield, then sleep in short parks: low CPU, sub-millisecond latency */
+    SLEEPING,
+    /** Park until a publisher wakes the subscriber: lowest CPU, costs publishers an unpark */
+    BLOCKING;
+
+    private static final int SPIN_TRIES = 100;
+    private static final int YIELD_TRIES = 200;
+    private static final long SLEEP_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+    private static final long MAX_BLOCK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    /**
+     * Wait once for new events
+     * @param ring subscription that found no events
+     * @param attempts consecutive idle attempts so far
+     */
+    void idle(EventRing ring, int attempts) {
+        switch (this) {
+            case BUSY_SPIN:
+                Thread.onSpinWait();
+                break;
+            case YIELDING:
+                if (attempts < SPIN_TRIES) {
+                    Thread.onSpinWait();
+                } else {
+                    Thread.yield();
+                }
+                break;
+            case SLEEPING:
+                if (attempts < SPIN_TRIES) {
+                    Thread.onSpinWait();
+                } else if (attempts < YIELD_TRIES) {
+                    Thread.yield();
+                } else {
+                    LockSupport.parkNanos(SLEEP_NANOS);
+                }
+                break;
+            case BLOCKING:
+                // The timeout bounds the delay if a publisher's wake-up races with parking
+                ring.park(MAX_BLOCK_NANOS);
+                break;
+            default:
+                throw new IllegalStateException("Unknown wait strategy: " + this);
+        }
+    }
+}
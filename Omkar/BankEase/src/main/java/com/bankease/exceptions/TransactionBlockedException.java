@@ -0,0 +1,16 @@
+package com.bankease.exceptions;
+
+/**
+ * Exception thrown when a velocity rule blocks a transaction before it is committed.
+ * Unchecked, so that rule enforcement does not change the banking method signatures.
+ */
+public class TransactionBlockedException extends RuntimeException {
+    
+    public TransactionBlockedException(String message) {
+        super(message);
+    }
+    
+    public TransactionBlockedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,50 @@
+package com.bankease.jfr;
+
+import com.bankease.model.Transaction;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight Recorder event for BankingService.deposit
+ */
+@Name("com.bankease.Deposit")
+@Label("Deposit")
+@Category({"BankEase", "Banking"})
+@Description("Deposit into an account, from validation to the journal entry")
+@StackTrace(false)
+@Threshold("20 ms")
+public class DepositEvent extends Event {
+    @Label("Account Number")
+    String accountNumber;
+
+    @Label("Account ID")
+    int accountId;
+
+    @Label("Amount")
+    double amount;
+
+    @Label("Succeeded")
+    boolean succeeded;
+
+    /**
+     * End the event and commit it if it is recorded and over its threshold
+     * @param accountNumber account deposited into
+     * @param amount amount deposited
+     * @param transaction resulting transaction, or null if the deposit failed
+     */
+    public void complete(String accountNumber, double amount, Transaction transaction) {
+        end();
+        if (shouldCommit()) {
+            this.accountNumber = accountNumber;
+            this.accountId = transaction != null ? transaction.getAccountId() : 0;
+            this.amount = amount;
+            this.succeeded = transaction != null;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.bankease.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight Recorder event for time spent waiting on an application lock
+ */
+@Name("com.bankease.LockWait")
+@Label("Lock Wait")
+@Category({"BankEase", "Locks"})
+@Description("Wait to acquire an application lock such as the transfer lock")
+@Threshold("1 ms")
+public class LockWaitEvent extends Event {
+    @Label("Lock")
+    String lock;
+
+    @Label("Account Number")
+    String accountNumber;
+
+    /**
+     * End the event and commit it if it is recorded and over its threshold
+     * @param lock name of the lock waited for
+     * @param accountNumber account the waiting operation works on
+     */
+    public void complete(String lock, String accountNumber) {
+        end();
+        if (shouldCommit()) {
+            this.lock = lock;
+            this.accountNumber = accountNumber;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.bankease.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight Recorder event for user and admin logins
+ */
+@Name("com.bankease.Login")
+@Label("Login")
+@Category({"BankEase", "Banking"})
+@Description("User or admin login, including loading the user's accounts")
+@StackTrace(false)
+@Threshold("20 ms")
+public class LoginEvent extends Event {
+    @Label("Username")
+    String username;
+
+    @Label("User or Admin ID")
+    int id;
+
+    @Label("Admin")
+    boolean admin;
+
+    @Label("Succeeded")
+    boolean succeeded;
+
+    /**
+     * End the event and commit it if it is recorded and over its threshold
+     * @param username username that logged in
+     * @param admin whether this was an admin login
+     * @param id user or admin ID, or 0 if the login failed
+     */
+    public void complete(String username, boolean admin, int id) {
+        end();
+        if (shouldCommit()) {
+            this.username = username;
+            this.admin = admin;
+            this.id = id;
+            this.succeeded = id != 0;
+            commit();
+        }
+    }
+}
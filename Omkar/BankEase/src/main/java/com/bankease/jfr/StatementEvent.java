@@ -0,0 +1,63 @@
+package com.bankease.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight Recorder event for one DAO statement execution, emitted by the JDBC instrumentation
+ */
+@Name("com.bankease.Statement")
+@Label("DAO Statement")
+@Category({"BankEase", "Database"})
+@Description("Execution of a DAO statement, including reading its rows")
+@Threshold("10 ms")
+public class StatementEvent extends Event {
+    private static final EventType TYPE = EventType.getEventType(StatementEvent.class);
+
+    @Label("Caller")
+    @Description("DAO method that prepared the statement")
+    String caller;
+
+    @Label("SQL")
+    String sql;
+
+    @Label("Parameters")
+    @Description("Shapes of the bound parameters")
+    String parameters;
+
+    @Label("Rows")
+    @Description("Rows read or affected, -1 if unknown")
+    long rows;
+
+    /**
+     * Check whether statement events are recorded at all, so the instrumentation can skip
+     * creating them; statement events outlive the execute call and would not be optimized away
+     * @return true if a recording has the event enabled
+     */
+    public static boolean isRecorded() {
+        return TYPE.isEnabled();
+    }
+
+    /**
+     * End the event and commit it if it is over its threshold
+     * @param caller DAO method that prepared the statement
+     * @param sql statement text
+     * @param parameters shapes of the bound parameters
+     * @param rows rows read or affected
+     */
+    public void complete(String caller, String sql, String parameters, long rows) {
+        end();
+        if (shouldCommit()) {
+            this.caller = caller;
+            this.sql = sql;
+            this.parameters = parameters;
+            this.rows = rows;
+            commit();
+        }
+    }
+}
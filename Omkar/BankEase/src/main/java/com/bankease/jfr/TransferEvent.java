@@ -0,0 +1,64 @@
+package com.bankease.jfr;
+
+import com.bankease.model.Transaction;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+import java.util.List;
+
+/**
+ * Flight Recorder event for BankingService.transfer
+ */
+@Name("com.bankease.Transfer")
+@Label("Transfer")
+@Category({"BankEase", "Banking"})
+@Description("Transfer between two accounts, including the wait for the transfer lock")
+@StackTrace(false)
+@Threshold("20 ms")
+public class TransferEvent extends Event {
+    @Label("From Account Number")
+    String fromAccountNumber;
+
+    @Label("From Account ID")
+    int fromAccountId;
+
+    @Label("To Account Number")
+    String toAccountNumber;
+
+    @Label("To Account ID")
+    int toAccountId;
+
+    @Label("Amount")
+    double amount;
+
+    @Label("Succeeded")
+    boolean succeeded;
+
+    /**
+     * End the event and commit it if it is recorded and over its threshold
+     * @param fromAccountNumber source account number
+     * @param toAccountNumber destination account number
+     * @param amount amount transferred
+     * @param transactions withdrawal and deposit transactions, or null if the transfer failed
+     */
+    public void complete(String fromAccountNumber, String toAccountNumber, double amount,
+                         List<Transaction> transactions) {
+        end();
+        if (shouldCommit()) {
+            this.fromAccountNumber = fromAccountNumber;
+            this.toAccountNumber = toAccountNumber;
+            this.amount = amount;
+            this.succeeded = transactions != null;
+            if (transactions != null) {
+                this.fromAccountId = transactions.get(0).getAccountId();
+                this.toAccountId = transactions.get(1).getAccountId();
+            }
+            commit();
+        }
+    }
+}
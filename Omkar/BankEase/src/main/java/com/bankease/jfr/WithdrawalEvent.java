@@ -0,0 +1,50 @@
+package com.bankease.jfr;
+
+import com.bankease.model.Transaction;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight Recorder event for BankingService.withdraw
+ */
+@Name("com.bankease.Withdrawal")
+@Label("Withdrawal")
+@Category({"BankEase", "Banking"})
+@Description("Withdrawal from an account, from validation to the journal entry")
+@StackTrace(false)
+@Threshold("20 ms")
+public class WithdrawalEvent extends Event {
+    @Label("Account Number")
+    String accountNumber;
+
+    @Label("Account ID")
+    int accountId;
+
+    @Label("Amount")
+    double amount;
+
+    @Label("Succeeded")
+    boolean succeeded;
+
+    /**
+     * End the event and commit it if it is recorded and over its threshold
+     * @param accountNumber account withdrawn from
+     * @param amount amount withdrawn
+     * @param transaction resulting transaction, or null if the withdrawal failed
+     */
+    public void complete(String accountNumber, double amount, Transaction transaction) {
+        end();
+        if (shouldCommit()) {
+            this.accountNumber = accountNumber;
+            this.accountId = transaction != null ? transaction.getAccountId() : 0;
+            this.amount = amount;
+            this.succeeded = transaction != null;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,306 @@
+package com.bankease.load;
+
+import com.bankease.exceptions.AccountFrozenException;
+import com.bankease.exceptions.InsufficientFundsException;
+import com.bankease.exceptions.InvalidAccountException;
+import com.bankease.exceptions.TransactionBlockedException;
+import com.bankease.metrics.LatencyHistogram;
+import com.bankease.model.BankAccount;
+import com.bankease.model.User;
+import com.bankease.service.BankingService;
+import com.bankease.utils.DatabaseConfig;
+import com.bankease.utils.MoneyUtils;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Drives a banking workload through BankingService and measures it.
+ * <p>
+ * The generator first seeds load.users users with load.accountsPerUser accounts each, all
+ * opened with load.initialBalance. Then load.threads workers pick operations at random by
+ * the weights in load.mix (e.g. DEPOSIT:30,WITHDRAW:20,TRANSFER:30,HISTORY:10,BALANCE:10)
+ * against random seeded accounts for load.durationSeconds, recording each operation's
+ * latency in a histogram. Business rejections (insufficient funds, frozen accounts) are
+ * counted apart from errors. Operations blocked by a velocity rule are counted on their own
+ * and kept out of the latency figures, since they return before touching the database; the
+ * application runs the generator without velocity rules unless load.velocityRules is set,
+ * as the generated traffic trips them within seconds. Finally the seeded balances are summed and
+ * compared with the opening total plus every successful deposit minus every successful
+ * withdrawal, since transfers must move money without creating or destroying it.
+ */
+public class LoadGenerator {
+    /**
+     * Operations in the workload mix
+     */
+    public enum Operation {
+        DEPOSIT, WITHDRAW, TRANSFER, HISTORY, BALANCE
+    }
+
+    private static final int CREATE_ATTEMPTS = 3;
+
+    private final BankingService bankingService;
+    private final int users;
+    private final int accountsPerUser;
+    private final int threads;
+    private final long durationMillis;
+    private final double initialBalance;
+    private final Map<Operation, Integer> mix;
+    private final Map<Operation, OperationCounters> counters = new EnumMap<>(Operation.class);
+    private final LongAdder depositedCents = new LongAdder();
+    private final LongAdder withdrawnCents = new LongAdder();
+
+    public LoadGenerator(BankingService bankingService) {
+        this(bankingService,
+             DatabaseConfig.getIntProperty("load.users", 100),
+             DatabaseConfig.getIntProperty("load.accountsPerUser", 2),
+             DatabaseConfig.getIntProperty("load.threads", 8),
+             DatabaseConfig.getIntProperty("load.durationSeconds", 30) * 1000L,
+             DatabaseConfig.getIntProperty("load.initialBalance", 1000),
+             parseMix(DatabaseConfig.getProperty("load.mix", "DEPOSIT:30,WITHDRAW:20,TRANSFER:30,HISTORY:10,BALANCE:10")));
+    }
+
+    public LoadGenerator(BankingService bankingService, int users, int accountsPerUser, int threads,
+                         long durationMillis, double initialBalance, Map<Operation, Integer> mix) {
+        if (users < 1 || accountsPerUser < 1 || users * accountsPerUser < 2) {
+            throw new IllegalArgumentException("At least two accounts are needed to generate transfers");
+        }
+        this.bankingService = bankingService;
+        this.users = users;
+        this.accountsPerUser = accountsPerUser;
+        this.threads = Math.max(1, threads);
+        this.durationMillis = durationMillis;
+        this.initialBalance = initialBalance;
+        this.mix = new EnumMap<>(mix);
+        for (Operation operation : Operation.values()) {
+            counters.put(operation, new OperationCounters());
+        }
+    }
+
+    /**
+     * Parse a workload mix such as DEPOSIT:30,TRANSFER:70
+     * @param spec comma-separated OPERATION:weight pairs
+     * @return weight per operation
+     * @throws IllegalArgumentException if the spec is malformed or all weights are zero
+     */
+    public static Map<Operation, Integer> parseMix(String spec) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (String part : spec.split(",")) {
+            String[] pair = part.trim().split(":");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Invalid mix entry (expected OPERATION:weight): " + part);
+            }
+            int weight;
+            try {
+                weight = Integer.parseInt(pair[1].trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid weight in mix entry: " + part);
+            }
+            if (weight < 0) {
+                throw new IllegalArgumentException("Negative weight in mix entry: " + part);
+            }
+            mix.put(Operation.valueOf(pair[0].trim().toUpperCase()), weight);
+        }
+        if (mix.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+            throw new IllegalArgumentException("Workload mix has no operations");
+        }
+        return mix;
+    }
+
+    /**
+     * Seed the accounts, run the workload and check balance conservation
+     * @return LoadReport
+     * @throws SQLException if seeding or the final balance check fails
+     * @throws InterruptedException if interrupted while waiting for workers
+     */
+    public LoadReport run() throws SQLException, InterruptedException {
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "load-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            long seedStarted = System.currentTimeMillis();
+            List<String> accounts = seed(pool);
+            long seedMillis = System.currentTimeMillis() - seedStarted;
+            long openingCents = MoneyUtils.toCents(initialBalance) * accounts.size();
+
+            Operation[] schedule = buildSchedule();
+            long started = System.currentTimeMillis();
+            long deadline = started + durationMillis;
+            List<Future<?>> workers = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                workers.add(pool.submit(() -> drive(accounts, schedule, deadline)));
+            }
+            await(workers);
+            long elapsedMillis = System.currentTimeMillis() - started;
+
+            long actualCents = 0;
+            for (String accountNumber : accounts) {
+                try {
+                    actualCents += MoneyUtils.toCents(bankingService.getAccountBalance(accountNumber));
+                } catch (InvalidAccountException e) {
+                    throw new SQLException("Seeded account disappeared: " + accountNumber, e);
+                }
+            }
+            long expectedCents = openingCents + depositedCents.sum() - withdrawnCents.sum();
+
+            Map<Operation, LoadReport.OperationStats> stats = new EnumMap<>(Operation.class);
+            for (Map.Entry<Operation, OperationCounters> entry : counters.entrySet()) {
+                OperationCounters c = entry.getValue();
+                stats.put(entry.getKey(), new LoadReport.OperationStats(c.latency, c.succeeded.sum(),
+                                                                        c.rejected.sum(), c.blocked.sum(), 
+                                                                        c.errors.sum()));
+            }
+            return new LoadReport(users, accounts.size(), threads, seedMillis, elapsedMillis, stats,
+                                  expectedCents, actualCents);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private List<String> seed(ExecutorService pool) throws SQLException, InterruptedException {
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+        List<Future<List<String>>> futures = new ArrayList<>();
+        for (int i = 0; i < users; i++) {
+            int n = i;
+            futures.add(pool.submit(() -> seedUser(runId, n)));
+        }
+        List<String> accounts = new ArrayList<>(users * accountsPerUser);
+        for (Future<List<String>> future : futures) {
+            try {
+                accounts.addAll(future.get());
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                throw cause instanceof SQLException ? (SQLException) cause
+                                                    : new SQLException("Seeding failed: " + cause.getMessage(), cause);
+            }
+        }
+        return accounts;
+    }
+
+    private List<String> seedUser(String runId, int n) throws SQLException {
+        String username = "load-" + runId + "-" + n;
+        User user = bankingService.registerUser(username, "load", username + "@load.bankease.test",
+                                                "Load User " + n, "");
+        List<String> accounts = new ArrayList<>(accountsPerUser);
+        for (int i = 0; i < accountsPerUser; i++) {
+            accounts.add(createAccount(user.getUserId()).getAccountNumber());
+        }
+        return accounts;
+    }
+
+    private BankAccount createAccount(int userId) throws SQLException {
+        // Account numbers are time based and can collide when many are opened at once
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return bankingService.createAccount(userId, "SAVINGS", initialBalance);
+            } catch (SQLException e) {
+                if (attempt == CREATE_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private Operation[] buildSchedule() {
+        List<Operation> schedule = new ArrayList<>();
+        for (Map.Entry<Operation, Integer> entry : mix.entrySet()) {
+            for (int i = 0; i < entry.getValue(); i++) {
+                schedule.add(entry.getKey());
+            }
+        }
+        return schedule.toArray(new Operation[0]);
+    }
+
+    private void drive(List<String> accounts, Operation[] schedule, long deadline) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (System.currentTimeMillis() < deadline && !Thread.currentThread().isInterrupted()) {
+            Operation operation = schedule[random.nextInt(schedule.length)];
+            String account = accounts.get(random.nextInt(accounts.size()));
+            OperationCounters c = counters.get(operation);
+            long started = System.nanoTime();
+            try {
+                execute(operation, account, accounts, random);
+                c.latency.record(System.nanoTime() - started);
+                c.succeeded.increment();
+            } catch (TransactionBlockedException e) {
+                c.blocked.increment();
+            } catch (InsufficientFundsException | AccountFrozenException e) {
+                c.latency.record(System.nanoTime() - started);
+                c.rejected.increment();
+            } catch (Exception e) {
+                c.latency.record(System.nanoTime() - started);
+                c.errors.increment();
+            }
+        }
+    }
+
+    private void execute(Operation operation, String account, List<String> accounts, ThreadLocalRandom random)
+            throws Exception {
+        switch (operation) {
+            case DEPOSIT: {
+                double amount = randomAmount(random, 10000);
+                bankingService.deposit(account, amount, "Load deposit");
+                depositedCents.add(MoneyUtils.toCents(amount));
+                break;
+            }
+            case WITHDRAW: {
+                double amount = randomAmount(random, 5000);
+                bankingService.withdraw(account, amount, "Load withdrawal");
+                withdrawnCents.add(MoneyUtils.toCents(amount));
+                break;
+            }
+            case TRANSFER: {
+                String to = account;
+                while (to.equals(account)) {
+                    to = accounts.get(random.nextInt(accounts.size()));
+                }
+                bankingService.transfer(account, to, randomAmount(random, 5000), "Load transfer");
+                break;
+            }
+            case HISTORY:
+                bankingService.getTransactionHistory(account);
+                break;
+            case BALANCE:
+                bankingService.getAccountBalance(account);
+                break;
+            default:
+                throw new IllegalStateException("Unknown operation: " + operation);
+        }
+    }
+
+    private static double randomAmount(ThreadLocalRandom random, int maxCents) {
+        return MoneyUtils.toBigDecimal(1 + random.nextInt(maxCents)).doubleValue();
+    }
+
+    private static void await(List<Future<?>> workers) throws InterruptedException {
+        for (Future<?> worker : workers) {
+            try {
+                worker.get();
+            } catch (ExecutionException e) {
+                // Workers catch everything per operation; nothing is expected here
+                System.err.println("Load worker failed: " + e.getCause());
+            }
+        }
+    }
+
+    private static final class OperationCounters {
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder succeeded = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+        private final LongAdder blocked = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+    }
+}
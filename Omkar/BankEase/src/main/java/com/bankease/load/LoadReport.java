@@ -0,0 +1,184 @@
+package com.bankease.load;
+
+import com.bankease.metrics.LatencyHistogram;
+import com.bankease.utils.MoneyUtils;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Throughput, latency and balance conservation figures of a load generator run
+ */
+public class LoadReport {
+    /**
+     * Share of operations blocked by velocity rules above which throughput and latency
+     * no longer describe the workload that was asked for
+     */
+    public static final double MAX_BLOCKED_SHARE = 0.1;
+
+    /**
+     * Figures for one operation
+     */
+    public static class OperationStats {
+        private final LatencyHistogram latency;
+        private final long succeeded;
+        private final long rejected;
+        private final long blocked;
+        private final long errors;
+
+        public OperationStats(LatencyHistogram latency, long succeeded, long rejected, long blocked, long errors) {
+            this.latency = latency;
+            this.succeeded = succeeded;
+            this.rejected = rejected;
+            this.blocked = blocked;
+            this.errors = errors;
+        }
+
+        public LatencyHistogram getLatency() {
+            return latency;
+        }
+
+        public long getSucceeded() {
+            return succeeded;
+        }
+
+        public long getRejected() {
+            return rejected;
+        }
+
+        /**
+         * Operations refused by a velocity rule; not part of the count or the latency figures
+         * @return blocked operations
+         */
+        public long getBlocked() {
+            return blocked;
+        }
+
+        public long getErrors() {
+            return errors;
+        }
+
+        public long getCount() {
+            return succeeded + rejected + errors;
+        }
+
+        public double getErrorRate() {
+            long count = getCount();
+            return count > 0 ? (double) errors / count : 0;
+        }
+
+        /**
+         * Get a latency percentile in milliseconds
+         * @param percentile percentile between 0 and 100
+         * @return latency in milliseconds
+         */
+        public double getPercentileMillis(double percentile) {
+            return latency.getPercentile(percentile) / 1_000_000.0;
+        }
+    }
+
+    private final int users;
+    private final int accounts;
+    private final int threads;
+    private final long seedMillis;
+    private final long elapsedMillis;
+    private final Map<LoadGenerator.Operation, OperationStats> byOperation;
+    private final long expectedBalanceCents;
+    private final long actualBalanceCents;
+
+    public LoadReport(int users, int accounts, int threads, long seedMillis, long elapsedMillis,
+                      Map<LoadGenerator.Operation, OperationStats> byOperation,
+                      long expectedBalanceCents, long actualBalanceCents) {
+        this.users = users;
+        this.accounts = accounts;
+        this.threads = threads;
+        this.seedMillis = seedMillis;
+        this.elapsedMillis = elapsedMillis;
+        this.byOperation = new EnumMap<>(byOperation);
+        this.expectedBalanceCents = expectedBalanceCents;
+        this.actualBalanceCents = actualBalanceCents;
+    }
+
+    // Getters
+    public int getUsers() {
+        return users;
+    }
+
+    public int getAccounts() {
+        return accounts;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public long getSeedMillis() {
+        return seedMillis;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public Map<LoadGenerator.Operation, OperationStats> getByOperation() {
+        return byOperation;
+    }
+
+    public long getOperations() {
+        return byOperation.values().stream().mapToLong(OperationStats::getCount).sum();
+    }
+
+    public long getErrors() {
+        return byOperation.values().stream().mapToLong(OperationStats::getErrors).sum();
+    }
+
+    public long getBlocked() {
+        return byOperation.values().stream().mapToLong(OperationStats::getBlocked).sum();
+    }
+
+    /**
+     * Whether few enough operations were blocked by velocity rules for the throughput and
+     * latency figures to be meaningful
+     * @return true if at most MAX_BLOCKED_SHARE of all attempted operations were blocked
+     */
+    public boolean isMeasurementValid() {
+        long attempted = getOperations() + getBlocked();
+        return attempted == 0 || getBlocked() <= attempted * MAX_BLOCKED_SHARE;
+    }
+
+    public double getOperationsPerSecond() {
+        return elapsedMillis > 0 ? getOperations() * 1000.0 / elapsedMillis : 0;
+    }
+
+    /**
+     * Get the rate of successful transfers
+     * @return transfers per second
+     */
+    public double getTransfersPerSecond() {
+        OperationStats transfers = byOperation.get(LoadGenerator.Operation.TRANSFER);
+        return transfers != null && elapsedMillis > 0 ? transfers.getSucceeded() * 1000.0 / elapsedMillis : 0;
+    }
+
+    public double getExpectedBalance() {
+        return MoneyUtils.toBigDecimal(expectedBalanceCents).doubleValue();
+    }
+
+    public double getActualBalance() {
+        return MoneyUtils.toBigDecimal(actualBalanceCents).doubleValue();
+    }
+
+    /**
+     * Whether the seeded accounts hold exactly the opening balances plus deposits minus withdrawals
+     * @return true if no money was created or lost
+     */
+    public boolean isBalanceConserved() {
+        return expectedBalanceCents == actualBalanceCents;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("LoadReport{operations=%d, elapsedMillis=%d, opsPerSecond=%.1f, errors=%d, blocked=%d, " +
+                           "conserved=%s}", getOperations(), elapsedMillis, getOperationsPerSecond(), getErrors(), 
+                           getBlocked(), isBalanceConserved());
+    }
+}
@@ -1,31 +1,130 @@
 package com.bankease.main;
 
+import com.bankease.api.ApiServer;
+import com.bankease.api.BankingApi;
+import com.bankease.batch.BatchCommand;
+import com.bankease.batch.CommandRunSummary;
+import com.bankease.batch.CommandRunner;
+import com.bankease.events.EventBus;
+import com.bankease.load.LoadGenerator;
+import com.bankease.load.LoadReport;
+import com.bankease.events.EventRing;
+import com.bankease.metrics.LatencyRecorder;
+import com.bankease.metrics.StartupTimer;
+import com.bankease.metrics.SystemCounters;
+import com.bankease.model.AccountVolume;
 import com.bankease.model.Admin;
+import com.bankease.model.AmountSummary;
 import com.bankease.model.BankAccount;
+import com.bankease.model.BulkUpdateResult;
+import com.bankease.model.AccountType;
+import com.bankease.model.CompactTransaction;
+import com.bankease.model.Discrepancy;
+import com.bankease.model.FreezeCriteria;
+import com.bankease.model.InterestRunResult;
+import com.bankease.model.OperationLatency;
+import com.bankease.model.ReconciliationReport;
+import com.bankease.model.ReportPeriod;
+import com.bankease.model.StatementRunResult;
+import com.bankease.model.StandingOrder;
+import com.bankease.model.StandingOrderFrequency;
+import com.bankease.model.SystemStatistics;
 import com.bankease.model.Transaction;
+import com.bankease.model.TransactionBlock;
+import com.bankease.model.TransactionType;
 import com.bankease.model.User;
+import com.bankease.model.VolumeBucket;
+import com.bankease.model.VolumeReport;
+import com.bankease.rules.RulesEngine;
+import com.bankease.scheduler.StandingOrderScheduler;
 import com.bankease.service.AdminService;
 import com.bankease.service.BankingService;
+import com.bankease.service.CounterReconciler;
+import com.bankease.utils.ConsolePager;
 import com.bankease.utils.DatabaseConfig;
+import com.bankease.utils.MoneyUtils;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.sql.SQLException;
+import java.time.Instant;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Scanner;
+import java.util.function.ToIntFunction;
 
 /**
  * Main application class for BankEase console application
  */
 public class BankEaseApplication {
-    private static final BankingService bankingService = new BankingService();
-    private static final AdminService adminService = new AdminService();
-    private static final Scanner scanner = new Scanner(System.in);
+    private static final Map<String, String> LOAD_OPTIONS = Map.of(
+            "--users", "load.users", "--threads", "load.threads", "--duration", "load.durationSeconds", "--mix", "load.mix");
     private static User currentUser = null;
     private static Admin currentAdmin = null;
 
+    // Services and the console scanner are created on first use, so batch and load runs only build what they use
+    private static final class BankingServiceHolder {
+        static final BankingService INSTANCE = new BankingService();
+    }
+
+    private static final class AdminServiceHolder {
+        static final AdminService INSTANCE = new AdminService();
+    }
+
+    private static final class SchedulerHolder {
+        static final StandingOrderScheduler INSTANCE = new StandingOrderScheduler(bankingService());
+    }
+
+    private static BankingService bankingService() {
+        return BankingServiceHolder.INSTANCE;
+    }
+
+    private static AdminService adminService() {
+        return AdminServiceHolder.INSTANCE;
+    }
+
+    private static StandingOrderScheduler standingOrderScheduler() {
+        return SchedulerHolder.INSTANCE;
+    }
+
+    private static final class ScannerHolder {
+        static final Scanner INSTANCE = new Scanner(System.in);
+    }
+
+    private static Scanner scanner() {
+        return ScannerHolder.INSTANCE;
+    }
+
     public static void main(String[] args) {
+        DatabaseConfig.preload();
+        if (args.length > 0) {
+            switch (args[0]) {
+                case "--api":
+                    System.exit(runApiMode(args));
+                    break;
+                case "--load":
+                    System.exit(runLoadMode(args));
+                    break;
+                default:
+                    System.exit(runBatchMode(args));
+            }
+        }
+        
         System.out.println("=== Welcome to BankEase - Banking Management System ===");
         
         // Test database connection
@@ -41,6 +140,8 @@ public class BankEaseApplication {
         // Initialize default admin if needed
         initializeDefaultAdmin();
         
+        startBackgroundServices();
+        
         while (true) {
             try {
                 showMainMenu();
@@ -68,6 +169,210 @@ public class BankEaseApplication {
         }
     }
 
+    /**
+     * Start the services that run alongside the console and the API server
+     */
+    private static void startBackgroundServices() {
+        // Seed live system counters and keep them reconciled
+        try {
+            new CounterReconciler().start();
+        } catch (SQLException e) {
+            System.out.println("Warning: Could not seed system counters: " + e.getMessage());
+        }
+        
+        // Load transaction analytics sketches
+        try {
+            adminService().startTransactionAnalytics();
+        } catch (SQLException | IOException e) {
+            System.out.println("Warning: Could not load transaction analytics: " + e.getMessage());
+        }
+        
+        // Execute standing orders as they come due
+        standingOrderScheduler().start();
+    }
+
+    /**
+     * Serve the HTTP/JSON API until the process is stopped: --api [--port N]
+     * @param args command line arguments
+     * @return exit code: 0 after a clean shutdown, 2 on usage or setup errors
+     */
+    private static int runApiMode(String[] args) {
+        if (args.length == 3 && "--port".equals(args[1])) {
+            System.setProperty("api.port", args[2]);
+        } else if (args.length != 1) {
+            System.err.println("Usage: BankEaseApplication --api [--port N]");
+            return 2;
+        }
+        
+        if (!DatabaseConfig.testConnection()) {
+            System.err.println("ERROR: Cannot connect to database: " + DatabaseConfig.getUrl());
+            return 2;
+        }
+        
+        initializeDefaultAdmin();
+        startBackgroundServices();
+        
+        ApiServer apiServer = new ApiServer();
+        new BankingApi(bankingService(), adminService(), standingOrderScheduler()).register(apiServer);
+        try {
+            apiServer.start();
+        } catch (IOException e) {
+            System.err.println("ERROR: Cannot start API server: " + e.getMessage());
+            return 2;
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(apiServer::stop, "api-shutdown"));
+        System.out.println("BankEase API listening on port " + apiServer.getPort() + 
+                          (apiServer.isUsingVirtualThreads() ? " (virtual threads)" : "") +
+                          ", ready " + StartupTimer.sinceJvmStart() + " ms after JVM start");
+        
+        try {
+            apiServer.awaitStop();
+        } catch (InterruptedException e) {
+            apiServer.stop();
+        }
+        return 0;
+    }
+
+    /**
+     * Seed accounts and drive a generated workload: --load [--users N] [--threads M] [--duration S]
+     * @param args command line arguments
+     * @return exit code: 0 if balances were conserved and nothing failed, 1 otherwise, 2 on usage or setup errors
+     */
+    private static int runLoadMode(String[] args) {
+        for (int i = 1; i < args.length; i += 2) {
+            String key = i + 1 < args.length ? LOAD_OPTIONS.get(args[i]) : null;
+            if (key == null) {
+                System.err.println("Usage: BankEaseApplication --load [--users N] [--threads M] [--duration S] " + 
+                                  "[--mix DEPOSIT:30,WITHDRAW:20,TRANSFER:30,HISTORY:10,BALANCE:10]");
+                return 2;
+            }
+            System.setProperty(key, args[i + 1]);
+        }
+        
+        if (!DatabaseConfig.testConnection()) {
+            System.err.println("ERROR: Cannot connect to database: " + DatabaseConfig.getUrl());
+            return 2;
+        }
+        
+        try {
+            // Generated traffic trips the velocity rules almost at once; leave them out unless asked for
+            boolean velocityRules = Boolean.parseBoolean(DatabaseConfig.getProperty("load.velocityRules", "false"));
+            LoadGenerator generator = new LoadGenerator(velocityRules ? bankingService() 
+                    : new BankingService(new RulesEngine(List.of(), 1, 1)));
+            System.out.println("Seeding accounts and running load" + (velocityRules ? " with velocity rules" : "") + "...");
+            LoadReport report = generator.run();
+            printLoadReport(report);
+            return report.isBalanceConserved() && report.getErrors() == 0 && report.isMeasurementValid() ? 0 : 1;
+        } catch (IllegalArgumentException e) {
+            System.err.println("ERROR: " + e.getMessage());
+            return 2;
+        } catch (SQLException e) {
+            System.err.println("ERROR: Load run failed: " + e.getMessage());
+            return 2;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 2;
+        }
+    }
+
+    private static void printLoadReport(LoadReport report) {
+        System.out.println("\n=== Load Report ===");
+        System.out.println("Seeded " + report.getUsers() + " users / " + report.getAccounts() + " accounts in " + 
+                          report.getSeedMillis() + " ms");
+        if (!report.isMeasurementValid()) {
+            System.out.printf("Throughput and latency not reported: %d of %d operations were blocked by velocity " +
+                             "rules (limit %.0f%%). Raise rules.velocity.* or set load.velocityRules=false.%n",
+                             report.getBlocked(), report.getOperations() + report.getBlocked(),
+                             LoadReport.MAX_BLOCKED_SHARE * 100);
+            for (Map.Entry<LoadGenerator.Operation, LoadReport.OperationStats> entry : report.getByOperation().entrySet()) {
+                LoadReport.OperationStats stats = entry.getValue();
+                if (stats.getCount() + stats.getBlocked() > 0) {
+                    System.out.printf("%-9s %9d OK %9d rejected %9d blocked %9d errors%n", entry.getKey(),
+                                     stats.getSucceeded(), stats.getRejected(), stats.getBlocked(), stats.getErrors());
+                }
+            }
+        } else {
+            System.out.printf("Ran %d operations on %d threads in %d ms: %.1f ops/s, %.1f transfers/s%n",
+                             report.getOperations(), report.getThreads(), report.getElapsedMillis(),
+                             report.getOperationsPerSecond(), report.getTransfersPerSecond());
+            System.out.printf("%-9s %9s %9s %9s %9s %8s %9s %9s %9s %9s %9s%n", "Operation", "OK", "Rejected", 
+                             "Blocked", "Errors", "Err %", "p50 ms", "p95 ms", "p99 ms", "p99.9 ms", "max ms");
+            for (Map.Entry<LoadGenerator.Operation, LoadReport.OperationStats> entry : report.getByOperation().entrySet()) {
+                LoadReport.OperationStats stats = entry.getValue();
+                if (stats.getCount() == 0) {
+                    continue;
+                }
+                System.out.printf("%-9s %9d %9d %9d %9d %8.2f %9.2f %9.2f %9.2f %9.2f %9.2f%n", entry.getKey(),
+                                 stats.getSucceeded(), stats.getRejected(), stats.getBlocked(), stats.getErrors(), 
+                                 stats.getErrorRate() * 100, stats.getPercentileMillis(50), stats.getPercentileMillis(95),
+                                 stats.getPercentileMillis(99), stats.getPercentileMillis(99.9),
+                                 stats.getLatency().getMax() / 1_000_000.0);
+            }
+        }
+        System.out.printf("Balance check: expected $%.2f, actual $%.2f - %s%n", report.getExpectedBalance(),
+                         report.getActualBalance(), report.isBalanceConserved() ? "CONSERVED" : "MISMATCH");
+    }
+
+    /**
+     * Run a command script without any prompts: --batch <file|-> [--threads N]
+     * @param args command line arguments
+     * @return exit code: 0 if every command succeeded, 1 if any failed, 2 on usage or setup errors
+     */
+    static int runBatchMode(String[] args) {
+        String source = null;
+        int threads = DatabaseConfig.getIntProperty("batch.threads", 1);
+        try {
+            for (int i = 0; i < args.length; i++) {
+                if ("--batch".equals(args[i]) && i + 1 < args.length) {
+                    source = args[++i];
+                } else if ("--threads".equals(args[i]) && i + 1 < args.length) {
+                    threads = Integer.parseInt(args[++i]);
+                } else {
+                    source = null;
+                    break;
+                }
+            }
+        } catch (NumberFormatException e) {
+            source = null;
+        }
+        if (source == null) {
+            System.err.println("Usage: BankEaseApplication --batch <script file, or - for stdin> [--threads N]");
+            return 2;
+        }
+        
+        if (!DatabaseConfig.testConnection()) {
+            System.err.println("ERROR: Cannot connect to database: " + DatabaseConfig.getUrl());
+            return 2;
+        }
+        
+        try (BufferedReader reader = "-".equals(source)
+                ? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8))
+                : Files.newBufferedReader(Paths.get(source), StandardCharsets.UTF_8)) {
+            CommandRunSummary summary = new CommandRunner(bankingService(), threads, System.out).run(reader);
+            printCommandRunSummary(summary);
+            return summary.getFailed() > 0 ? 1 : 0;
+        } catch (IOException e) {
+            System.err.println("ERROR: Cannot read batch script: " + e.getMessage());
+            return 2;
+        }
+    }
+
+    private static void printCommandRunSummary(CommandRunSummary summary) {
+        System.out.println("\n=== Batch Summary ===");
+        System.out.println("Commands: " + summary.getCommands() + " (" + summary.getSucceeded() + " succeeded, " + 
+                          summary.getFailed() + " failed) on " + summary.getThreads() + " thread(s)");
+        System.out.printf("Elapsed: %d ms (%.1f commands/s)%n", summary.getElapsedMillis(), summary.getCommandsPerSecond());
+        if (StartupTimer.getTimeToFirstOperation() >= 0) {
+            System.out.println("Time to first operation: " + StartupTimer.getTimeToFirstOperation() + " ms after JVM start");
+        }
+        System.out.printf("%-10s %-10s %-10s %-10s%n", "Command", "Count", "Failed", "Avg ms");
+        for (Map.Entry<BatchCommand.Type, CommandRunSummary.TypeStats> entry : summary.getByType().entrySet()) {
+            CommandRunSummary.TypeStats stats = entry.getValue();
+            System.out.printf("%-10s %-10d %-10d %-10.2f%n", entry.getKey(), stats.getCount(), stats.getFailed(),
+                             stats.getAverageMillis());
+        }
+    }
+
     private static void showMainMenu() {
         System.out.println("\n=== BankEase Main Menu ===");
         System.out.println("1. User Login");
@@ -83,7 +388,7 @@ public class BankEaseApplication {
         String password = getStringInput("Password: ");
         
         try {
-            Optional<User> userOpt = bankingService.loginUser(username, password);
+            Optional<User> userOpt = bankingService().loginUser(username, password);
             if (userOpt.isPresent()) {
                 currentUser = userOpt.get();
                 System.out.println("Login successful! Welcome, " + currentUser.getFullName());
@@ -105,7 +410,7 @@ public class BankEaseApplication {
         String phoneNumber = getStringInput("Phone Number: ");
         
         try {
-            User user = bankingService.registerUser(username, password, email, fullName, phoneNumber);
+            User user = bankingService().registerUser(username, password, email, fullName, phoneNumber);
             System.out.println("Registration successful! User ID: " + user.getUserId());
         } catch (SQLException e) {
             System.out.println("Database error: " + e.getMessage());
@@ -120,7 +425,7 @@ public class BankEaseApplication {
         String password = getStringInput("Password: ");
         
         try {
-            Optional<Admin> adminOpt = adminService.loginAdmin(username, password);
+            Optional<Admin> adminOpt = adminService().loginAdmin(username, password);
             if (adminOpt.isPresent()) {
                 currentAdmin = adminOpt.get();
                 System.out.println("Admin login successful! Welcome, " + currentAdmin.getFullName());
@@ -143,7 +448,8 @@ public class BankEaseApplication {
             System.out.println("5. Transfer");
             System.out.println("6. View Transaction History");
             System.out.println("7. View Account Statistics");
-            System.out.println("8. Logout");
+            System.out.println("8. Standing Orders");
+            System.out.println("9. Logout");
             System.out.println("==================");
             
             int choice = getIntInput("Enter your choice: ");
@@ -172,6 +478,9 @@ public class BankEaseApplication {
                         viewAccountStatistics();
                         break;
                     case 8:
+                        manageStandingOrders();
+                        break;
+                    case 9:
                         currentUser = null;
                         System.out.println("Logged out successfully.");
                         return;
@@ -195,7 +504,13 @@ public class BankEaseApplication {
             System.out.println("6. Search Users");
             System.out.println("7. Search Accounts");
             System.out.println("8. View Transactions by Filter");
-            System.out.println("9. Logout");
+            System.out.println("9. Transaction Volume Summary");
+            System.out.println("10. Periodic Volume Report");
+            System.out.println("11. Transaction Analytics");
+            System.out.println("12. Transaction Amount Percentiles");
+            System.out.println("13. Batch Jobs");
+            System.out.println("14. Latency Report");
+            System.out.println("15. Logout");
             System.out.println("===================");
             
             int choice = getIntInput("Enter your choice: ");
@@ -227,6 +542,24 @@ public class BankEaseApplication {
                         viewTransactionsByFilter();
                         break;
                     case 9:
+                        viewTransactionVolumeSummary();
+                        break;
+                    case 10:
+                        viewPeriodicVolumeReport();
+                        break;
+                    case 11:
+                        viewTransactionAnalytics();
+                        break;
+                    case 12:
+                        viewAmountPercentiles();
+                        break;
+                    case 13:
+                        runBatchJobs();
+                        break;
+                    case 14:
+                        viewLatencyReport();
+                        break;
+                    case 15:
                         currentAdmin = null;
                         System.out.println("Logged out successfully.");
                         return;
@@ -240,7 +573,7 @@ public class BankEaseApplication {
     }
 
     private static void viewUserAccounts() throws SQLException {
-        List<BankAccount> accounts = bankingService.getUserAccounts(currentUser.getUserId());
+        List<BankAccount> accounts = bankingService().getUserAccounts(currentUser.getUserId());
         
         if (accounts.isEmpty()) {
             System.out.println("No accounts found.");
@@ -268,7 +601,7 @@ public class BankEaseApplication {
         String accountType = getStringInput("Account Type: ").toUpperCase();
         double initialBalance = getDoubleInput("Initial Balance: ");
         
-        BankAccount account = bankingService.createAccount(currentUser.getUserId(), accountType, initialBalance);
+        BankAccount account = bankingService().createAccount(currentUser.getUserId(), accountType, initialBalance);
         System.out.println("Account created successfully!");
         System.out.println("Account Number: " + account.getAccountNumber());
         System.out.println("Account Type: " + account.getAccountType());
@@ -282,10 +615,10 @@ public class BankEaseApplication {
         String description = getStringInput("Description: ");
         
         try {
-            Transaction transaction = bankingService.deposit(accountNumber, amount, description);
+            Transaction transaction = bankingService().deposit(accountNumber, amount, description);
             System.out.println("Deposit successful!");
             System.out.println("Transaction ID: " + transaction.getTransactionId());
-            System.out.println("New Balance: $" + bankingService.getAccountBalance(accountNumber));
+            System.out.println("New Balance: $" + bankingService().getAccountBalance(accountNumber));
         } catch (Exception e) {
             System.out.println("Deposit failed: " + e.getMessage());
         }
@@ -298,10 +631,10 @@ public class BankEaseApplication {
         String description = getStringInput("Description: ");
         
         try {
-            Transaction transaction = bankingService.withdraw(accountNumber, amount, description);
+            Transaction transaction = bankingService().withdraw(accountNumber, amount, description);
             System.out.println("Withdrawal successful!");
             System.out.println("Transaction ID: " + transaction.getTransactionId());
-            System.out.println("New Balance: $" + bankingService.getAccountBalance(accountNumber));
+            System.out.println("New Balance: $" + bankingService().getAccountBalance(accountNumber));
         } catch (Exception e) {
             System.out.println("Withdrawal failed: " + e.getMessage());
         }
@@ -315,7 +648,7 @@ public class BankEaseApplication {
         String description = getStringInput("Description: ");
         
         try {
-            List<Transaction> transactions = bankingService.transfer(fromAccount, toAccount, amount, description);
+            List<Transaction> transactions = bankingService().transfer(fromAccount, toAccount, amount, description);
             System.out.println("Transfer successful!");
             System.out.println("Transaction IDs: " + transactions.get(0).getTransactionId() + 
                              ", " + transactions.get(1).getTransactionId());
@@ -324,9 +657,79 @@ public class BankEaseApplication {
         }
     }
 
+    private static void manageStandingOrders() throws SQLException {
+        System.out.println("\n=== Standing Orders ===");
+        System.out.println("1. View Standing Orders");
+        System.out.println("2. Create Standing Order");
+        System.out.println("3. Cancel Standing Order");
+        
+        int choice = getIntInput("Enter your choice: ");
+        switch (choice) {
+            case 1:
+                viewStandingOrders();
+                break;
+            case 2:
+                createStandingOrder();
+                break;
+            case 3:
+                int orderId = getIntInput("Order ID: ");
+                if (bankingService().cancelStandingOrder(currentUser.getUserId(), orderId)) {
+                    System.out.println("Standing order cancelled.");
+                } else {
+                    System.out.println("No active standing order with that ID.");
+                }
+                break;
+            default:
+                System.out.println("Invalid choice.");
+        }
+    }
+
+    private static void viewStandingOrders() throws SQLException {
+        List<StandingOrder> orders = bankingService().getStandingOrders(currentUser.getUserId());
+        if (orders.isEmpty()) {
+            System.out.println("No standing orders found.");
+            return;
+        }
+        
+        System.out.printf("%-8s %-15s %-15s %-12s %-10s %-20s %-10s%n", 
+                         "ID", "From", "To", "Amount", "Frequency", "Next Run", "Status");
+        System.out.println("------------------------------------------------------------");
+        for (StandingOrder order : orders) {
+            System.out.printf("%-8d %-15s %-15s $%-11.2f %-10s %-20s %-10s%n",
+                             order.getOrderId(),
+                             order.getFromAccountNumber(),
+                             order.getToAccountNumber(),
+                             order.getAmount(),
+                             order.getFrequency(),
+                             order.getNextRunAt().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")),
+                             order.isActive() ? "ACTIVE" : "INACTIVE");
+        }
+    }
+
+    private static void createStandingOrder() {
+        System.out.println("\n=== Create Standing Order ===");
+        String fromAccount = getStringInput("From Account Number: ");
+        String toAccount = getStringInput("To Account Number: ");
+        double amount = getDoubleInput("Amount: ");
+        String description = getStringInput("Description: ");
+        
+        try {
+            StandingOrderFrequency frequency = StandingOrderFrequency.valueOf(
+                    getStringInput("Frequency (DAILY, WEEKLY, MONTHLY): ").toUpperCase());
+            LocalDateTime startAt = LocalDateTime.parse(getStringInput("First Run (YYYY-MM-DD HH:MM): "),
+                                                        DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm"));
+            StandingOrder order = bankingService().createStandingOrder(currentUser.getUserId(), fromAccount, toAccount,
+                                                                     amount, description, frequency, startAt);
+            standingOrderScheduler().orderCreated(order);
+            System.out.println("Standing order created with ID " + order.getOrderId());
+        } catch (Exception e) {
+            System.out.println("Standing order failed: " + e.getMessage());
+        }
+    }
+
     private static void viewTransactionHistory() throws SQLException {
         System.out.println("\n=== Transaction History ===");
-        List<Transaction> transactions = bankingService.getUserTransactionHistory(currentUser.getUserId());
+        List<Transaction> transactions = bankingService().getUserTransactionHistory(currentUser.getUserId());
         
         if (transactions.isEmpty()) {
             System.out.println("No transactions found.");
@@ -352,7 +755,7 @@ public class BankEaseApplication {
         String accountNumber = getStringInput("Account Number: ");
         
         try {
-            double[] stats = bankingService.getAccountStatistics(accountNumber);
+            double[] stats = bankingService().getAccountStatistics(accountNumber);
             System.out.println("Total Deposits: $" + stats[0]);
             System.out.println("Total Withdrawals: $" + stats[1]);
             System.out.println("Total Transfers In: $" + stats[2]);
@@ -363,86 +766,80 @@ public class BankEaseApplication {
     }
 
     private static void viewAllUsers() throws SQLException {
-        List<User> users = adminService.getAllUsers();
-        
-        if (users.isEmpty()) {
-            System.out.println("No users found.");
-            return;
-        }
-        
-        System.out.println("\n=== All Users ===");
-        System.out.printf("%-8s %-15s %-25s %-20s %-10s%n", 
-                         "ID", "Username", "Full Name", "Email", "Status");
-        System.out.println("------------------------------------------------------------");
-        
-        for (User user : users) {
-            System.out.printf("%-8d %-15s %-25s %-20s %-10s%n",
-                             user.getUserId(),
-                             user.getUsername(),
-                             user.getFullName(),
-                             user.getEmail(),
-                             user.isActive() ? "Active" : "Inactive");
-        }
+        pager(adminService()::getUsersPage, User::getUserId, false).show(
+                "All Users",
+                String.format("%-8s %-15s %-25s %-20s %-10s", "ID", "Username", "Full Name", "Email", "Status"),
+                (out, user) -> out.printf("%-8d %-15s %-25s %-20s %-10s%n",
+                                          user.getUserId(),
+                                          user.getUsername(),
+                                          user.getFullName(),
+                                          user.getEmail(),
+                                          user.isActive() ? "Active" : "Inactive"),
+                "No users found.");
     }
 
     private static void viewAllAccounts() throws SQLException {
-        List<BankAccount> accounts = adminService.getAllAccounts();
-        
-        if (accounts.isEmpty()) {
-            System.out.println("No accounts found.");
-            return;
-        }
-        
-        System.out.println("\n=== All Accounts ===");
-        System.out.printf("%-8s %-15s %-8s %-12s %-15s %-10s %-10s%n", 
-                         "ID", "Account Number", "User ID", "Type", "Balance", "Status", "Frozen");
-        System.out.println("------------------------------------------------------------");
-        
-        for (BankAccount account : accounts) {
-            System.out.printf("%-8d %-15s %-8d %-12s $%-14.2f %-10s %-10s%n",
-                             account.getAccountId(),
-                             account.getAccountNumber(),
-                             account.getUserId(),
-                             account.getAccountType(),
-                             account.getBalance(),
-                             account.isActive() ? "Active" : "Inactive",
-                             account.isFrozen() ? "Yes" : "No");
-        }
+        pager(adminService()::getAccountsPage, BankAccount::getAccountId, false).show(
+                "All Accounts",
+                String.format("%-8s %-15s %-8s %-12s %-15s %-10s %-10s",
+                              "ID", "Account Number", "User ID", "Type", "Balance", "Status", "Frozen"),
+                (out, account) -> out.printf("%-8d %-15s %-8d %-12s $%-14.2f %-10s %-10s%n",
+                                             account.getAccountId(),
+                                             account.getAccountNumber(),
+                                             account.getUserId(),
+                                             account.getAccountType(),
+                                             account.getBalance(),
+                                             account.isActive() ? "Active" : "Inactive",
+                                             account.isFrozen() ? "Yes" : "No"),
+                "No accounts found.");
     }
 
     private static void viewAllTransactions() throws SQLException {
-        List<Transaction> transactions = adminService.getAllTransactions();
-        
-        if (transactions.isEmpty()) {
-            System.out.println("No transactions found.");
-            return;
-        }
-        
-        System.out.println("\n=== All Transactions ===");
-        System.out.printf("%-8s %-15s %-8s %-12s %-15s %-20s%n", 
-                         "ID", "Type", "Account ID", "Amount", "Status", "Timestamp");
-        System.out.println("------------------------------------------------------------");
-        
-        for (Transaction transaction : transactions) {
-            System.out.printf("%-8d %-15s %-8d $%-11.2f %-15s %-20s%n",
-                             transaction.getTransactionId(),
-                             transaction.getTransactionType(),
-                             transaction.getAccountId(),
-                             transaction.getAmount(),
-                             transaction.getStatus(),
-                             transaction.getFormattedTimestamp());
-        }
+        showTransactionPages("All Transactions", adminService()::getTransactionsPageCompact);
+    }
+
+    /**
+     * List compact transactions newest first, one page at a time
+     */
+    private static void showTransactionPages(String title, ConsolePager.PageSource<CompactTransaction> source)
+            throws SQLException {
+        pager(source, CompactTransaction::getTransactionId, true).show(
+                title,
+                String.format("%-8s %-15s %-8s %-12s %-15s %-20s",
+                              "ID", "Type", "Account ID", "Amount", "Status", "Timestamp"),
+                (out, transaction) -> out.printf("%-8d %-15s %-8d $%-11.2f %-15s %-20s%n",
+                                                 transaction.getTransactionId(),
+                                                 transaction.getTransactionType(),
+                                                 transaction.getAccountId(),
+                                                 transaction.getAmount(),
+                                                 transaction.getStatus(),
+                                                 transaction.getFormattedTimestamp()),
+                "No transactions found.");
+    }
+
+    private static <T> ConsolePager<T> pager(ConsolePager.PageSource<T> source, ToIntFunction<T> idOf,
+                                             boolean descending) {
+        PrintWriter out = new PrintWriter(new BufferedWriter(new OutputStreamWriter(System.out), 64 * 1024));
+        return new ConsolePager<>(source, idOf, descending, DatabaseConfig.getIntProperty("console.pageSize", 20),
+                                  BankEaseApplication::getStringInput, out);
     }
 
     private static void freezeUnfreezeAccount() throws SQLException {
         System.out.println("\n=== Freeze/Unfreeze Account ===");
+        System.out.println("1. Single Account");
+        System.out.println("2. Bulk by Criteria");
+        if (getIntInput("Enter your choice: ") == 2) {
+            bulkFreezeUnfreeze();
+            return;
+        }
+        
         String accountNumber = getStringInput("Account Number: ");
         String action = getStringInput("Action (freeze/unfreeze): ").toLowerCase();
         
         boolean isFrozen = action.equals("freeze");
         
         try {
-            boolean success = adminService.updateAccountFrozenStatus(accountNumber, isFrozen);
+            boolean success = adminService().updateAccountFrozenStatus(accountNumber, isFrozen);
             if (success) {
                 System.out.println("Account " + (isFrozen ? "frozen" : "unfrozen") + " successfully.");
             } else {
@@ -453,14 +850,102 @@ public class BankEaseApplication {
         }
     }
 
+    private static void bulkFreezeUnfreeze() throws SQLException {
+        System.out.println("\n=== Bulk Freeze/Unfreeze ===");
+        System.out.println("1. By User IDs");
+        System.out.println("2. By Account Numbers");
+        System.out.println("3. By Account Type");
+        System.out.println("4. By Creation Date Range");
+        int choice = getIntInput("Enter your choice: ");
+        
+        FreezeCriteria criteria;
+        switch (choice) {
+            case 1:
+                List<Integer> userIds = new ArrayList<>();
+                for (String id : getStringInput("User IDs (comma separated): ").split(",")) {
+                    userIds.add(Integer.parseInt(id.trim()));
+                }
+                criteria = FreezeCriteria.forUsers(userIds);
+                break;
+            case 2:
+                String numbers = getStringInput("Account Numbers (comma separated): ");
+                criteria = FreezeCriteria.forAccountNumbers(Arrays.asList(numbers.trim().split("\\s*,\\s*")));
+                break;
+            case 3:
+                AccountType accountType = AccountType.lookup(
+                        getStringInput("Account Type (SAVINGS/CHECKING/FIXED_DEPOSIT): ").trim().toUpperCase());
+                if (accountType == null) {
+                    System.out.println("Invalid account type.");
+                    return;
+                }
+                criteria = FreezeCriteria.forAccountType(accountType);
+                break;
+            case 4:
+                LocalDate from = LocalDate.parse(getStringInput("Created From (YYYY-MM-DD): "));
+                LocalDate to = LocalDate.parse(getStringInput("Created To (YYYY-MM-DD): "));
+                criteria = FreezeCriteria.forCreationRange(from.atStartOfDay(), to.plusDays(1).atStartOfDay());
+                break;
+            default:
+                System.out.println("Invalid choice.");
+                return;
+        }
+        
+        String action = getStringInput("Action (freeze/unfreeze): ").trim().toLowerCase();
+        if (!action.equals("freeze") && !action.equals("unfreeze")) {
+            System.out.println("Invalid action. Enter freeze or unfreeze.");
+            return;
+        }
+        boolean isFrozen = action.equals("freeze");
+        
+        int matched = adminService().countAccountsForFrozenUpdate(criteria, isFrozen);
+        if (matched == 0) {
+            System.out.println("No matching accounts to " + action + ".");
+            return;
+        }
+        String answer = getStringInput(Character.toUpperCase(action.charAt(0)) + action.substring(1) + " " +
+                                       matched + " matching accounts? (y/n): ");
+        if (!answer.trim().equalsIgnoreCase("y")) {
+            System.out.println("Cancelled.");
+            return;
+        }
+        
+        BulkUpdateResult result = adminService().bulkUpdateFrozenStatus(criteria, isFrozen,
+                (processed, total) -> System.out.printf("  %d/%d accounts processed%n", processed, total));
+        System.out.println(result.getUpdated() + " of " + result.getMatched() + " matching accounts " +
+                          (isFrozen ? "frozen" : "unfrozen") + " in " + result.getElapsedMillis() + " ms.");
+    }
+
     private static void viewSystemStatistics() throws SQLException {
-        double[] stats = adminService.getSystemStatistics();
+        SystemStatistics stats = adminService().getDashboardStatistics();
+        
+        System.out.println("\n=== System Statistics (" + stats.getStalenessDescription() + ") ===");
+        System.out.println("Total Users: " + stats.getTotalUsers());
+        System.out.println("Total Accounts: " + stats.getTotalAccounts());
+        System.out.println("Total Transactions: " + stats.getTotalTransactions());
+        System.out.println("Total Balance: $" + stats.getTotalBalance());
         
-        System.out.println("\n=== System Statistics ===");
-        System.out.println("Total Users: " + (int) stats[0]);
-        System.out.println("Total Accounts: " + (int) stats[1]);
-        System.out.println("Total Transactions: " + (int) stats[2]);
-        System.out.println("Total Balance: $" + stats[3]);
+        SystemCounters counters = adminService().getSystemCounters();
+        if (counters.isSeeded()) {
+            System.out.println("\nVolume by type (live counters):");
+            for (TransactionType type : TransactionType.values()) {
+                System.out.printf("%-15s %-10d $%-14.2f%n",
+                                 type.name(),
+                                 counters.getTransactionCount(type),
+                                 counters.getTransactionVolumeCents(type) / 100.0);
+            }
+        }
+        
+        RulesEngine rules = adminService().getRulesEngine();
+        System.out.println("\nVelocity rules: " + rules.getRules().size() + " active, " +
+                          rules.getFlaggedCount() + " flagged, " + rules.getBlockedCount() + " blocked");
+        List<String> alerts = rules.getRecentAlerts();
+        for (int i = 0; i < Math.min(10, alerts.size()); i++) {
+            System.out.println("  " + alerts.get(i));
+        }
+        
+        for (EventRing subscription : EventBus.getInstance().getSubscriptions()) {
+            System.out.println("Event subscriber: " + subscription);
+        }
     }
 
     private static void searchUsers() throws SQLException {
@@ -469,7 +954,7 @@ public class BankEaseApplication {
         String criteria = getStringInput("Search criteria: ").toLowerCase();
         String value = getStringInput("Search value: ");
         
-        List<User> users = adminService.searchUsers(criteria, value);
+        List<User> users = adminService().searchUsers(criteria, value);
         
         if (users.isEmpty()) {
             System.out.println("No users found.");
@@ -496,7 +981,7 @@ public class BankEaseApplication {
         String criteria = getStringInput("Search criteria: ").toLowerCase();
         String value = getStringInput("Search value: ");
         
-        List<BankAccount> accounts = adminService.searchAccounts(criteria, value);
+        List<BankAccount> accounts = adminService().searchAccounts(criteria, value);
         
         if (accounts.isEmpty()) {
             System.out.println("No accounts found.");
@@ -527,16 +1012,16 @@ public class BankEaseApplication {
         System.out.println("5. By Account Number");
         
         int choice = getIntInput("Enter your choice: ");
-        List<Transaction> transactions = null;
+        ConsolePager.PageSource<CompactTransaction> source;
         
         switch (choice) {
             case 1:
                 String type = getStringInput("Transaction Type: ");
-                transactions = adminService.getTransactionsByType(type);
+                source = (beforeId, limit) -> adminService().getTransactionsByTypePageCompact(type, beforeId, limit);
                 break;
             case 2:
                 String status = getStringInput("Transaction Status: ");
-                transactions = adminService.getTransactionsByStatus(status);
+                source = (beforeId, limit) -> adminService().getTransactionsByStatusPageCompact(status, beforeId, limit);
                 break;
             case 3:
                 System.out.println("Enter start date (YYYY-MM-DD): ");
@@ -545,49 +1030,294 @@ public class BankEaseApplication {
                 String endDateStr = getStringInput("End Date: ");
                 LocalDateTime startDate = LocalDateTime.parse(startDateStr + "T00:00:00");
                 LocalDateTime endDate = LocalDateTime.parse(endDateStr + "T23:59:59");
-                transactions = adminService.getTransactionsByDateRange(startDate, endDate);
+                source = (beforeId, limit) ->
+                        adminService().getTransactionsByDateRangePageCompact(startDate, endDate, beforeId, limit);
                 break;
             case 4:
                 int userId = getIntInput("User ID: ");
-                transactions = adminService.getTransactionsByUserId(userId);
+                source = (beforeId, limit) -> adminService().getTransactionsByUserIdPageCompact(userId, beforeId, limit);
                 break;
             case 5:
                 String accountNumber = getStringInput("Account Number: ");
-                transactions = adminService.getTransactionsByAccount(accountNumber);
+                source = (beforeId, limit) ->
+                        adminService().getTransactionsByAccountPageCompact(accountNumber, beforeId, limit);
                 break;
             default:
                 System.out.println("Invalid choice.");
                 return;
         }
         
-        if (transactions == null || transactions.isEmpty()) {
+        showTransactionPages("Filtered Transactions", source);
+    }
+
+    private static void viewTransactionVolumeSummary() throws SQLException {
+        System.out.println("\n=== Transaction Volume Summary ===");
+        System.out.println("Enter start date (YYYY-MM-DD): ");
+        String startDateStr = getStringInput("Start Date: ");
+        System.out.println("Enter end date (YYYY-MM-DD): ");
+        String endDateStr = getStringInput("End Date: ");
+        LocalDateTime startDate = LocalDateTime.parse(startDateStr + "T00:00:00");
+        LocalDateTime endDate = LocalDateTime.parse(endDateStr + "T23:59:59");
+        
+        TransactionBlock block = adminService().getTransactionsBlockByDateRange(startDate, endDate);
+        
+        if (block.isEmpty()) {
             System.out.println("No transactions found.");
             return;
         }
         
-        System.out.println("\n=== Filtered Transactions ===");
-        System.out.printf("%-8s %-15s %-8s %-12s %-15s %-20s%n", 
-                         "ID", "Type", "Account ID", "Amount", "Status", "Timestamp");
+        int[] counts = block.countByType();
+        long[] sums = block.sumAmountCentsByType();
+        
+        System.out.printf("%-15s %-10s %-15s%n", "Type", "Count", "Volume");
+        System.out.println("------------------------------------------------------------");
+        for (TransactionType type : TransactionType.values()) {
+            System.out.printf("%-15s %-10d $%-14.2f%n",
+                             type.name(),
+                             counts[type.getCode()],
+                             sums[type.getCode()] / 100.0);
+        }
         System.out.println("------------------------------------------------------------");
+        System.out.printf("%-15s %-10d $%-14.2f%n", "TOTAL", block.size(), block.sumAmountCents() / 100.0);
+    }
+
+    private static void viewPeriodicVolumeReport() throws SQLException {
+        System.out.println("\n=== Periodic Volume Report ===");
+        String periodStr = getStringInput("Period (DAILY/WEEKLY/MONTHLY): ").toUpperCase();
+        ReportPeriod period = ReportPeriod.valueOf(periodStr);
+        LocalDate startDate = LocalDate.parse(getStringInput("Start Date (YYYY-MM-DD): "));
+        LocalDate endDate = LocalDate.parse(getStringInput("End Date (YYYY-MM-DD): "));
         
-        for (Transaction transaction : transactions) {
-            System.out.printf("%-8d %-15s %-8d $%-11.2f %-15s %-20s%n",
-                             transaction.getTransactionId(),
-                             transaction.getTransactionType(),
-                             transaction.getAccountId(),
-                             transaction.getAmount(),
-                             transaction.getStatus(),
-                             transaction.getFormattedTimestamp());
+        VolumeReport report = adminService().getVolumeReport(startDate, endDate, period);
+        
+        System.out.printf("%-12s %-8s %-14s %-14s %-14s %-14s %-14s%n",
+                         "Period", "Count", "Deposits", "Withdrawals", "Savings", "Checking", "Fixed Dep.");
+        System.out.println("------------------------------------------------------------");
+        for (Map.Entry<LocalDate, VolumeBucket> entry : report.getBuckets().entrySet()) {
+            VolumeBucket bucket = entry.getValue();
+            System.out.printf("%-12s %-8d $%-13.2f $%-13.2f $%-13.2f $%-13.2f $%-13.2f%n",
+                             entry.getKey(),
+                             bucket.getTotalCount(),
+                             bucket.getVolumeCents(TransactionType.DEPOSIT) / 100.0,
+                             bucket.getVolumeCents(TransactionType.WITHDRAWAL) / 100.0,
+                             bucket.getVolumeCents(AccountType.SAVINGS) / 100.0,
+                             bucket.getVolumeCents(AccountType.CHECKING) / 100.0,
+                             bucket.getVolumeCents(AccountType.FIXED_DEPOSIT) / 100.0);
+        }
+        
+        VolumeBucket totals = report.getTotals();
+        System.out.println("------------------------------------------------------------");
+        System.out.printf("Total: %d transactions, $%.2f volume%n", totals.getTotalCount(), totals.getTotalVolume());
+        System.out.println("Top users by volume: " + totals.getTopUsers(5));
+        System.out.println("Generated in " + report.getElapsedMillis() + " ms");
+    }
+
+    private static void viewTransactionAnalytics() {
+        System.out.println("\n=== Transaction Analytics ===");
+        int days = getIntInput("Number of days (including today): ");
+        int k = getIntInput("Number of top accounts: ");
+        
+        long started = System.currentTimeMillis();
+        List<AccountVolume> top = adminService().getTopAccountsByTransferVolume(k, days);
+        long distinct = adminService().getDistinctActiveAccounts(days);
+        long elapsed = System.currentTimeMillis() - started;
+        
+        System.out.println("Distinct active accounts: ~" + distinct);
+        System.out.printf("%-12s %-15s%n", "Account ID", "Transfer Volume");
+        System.out.println("------------------------------------------------------------");
+        for (AccountVolume volume : top) {
+            System.out.printf("%-12d $%-14.2f%n", volume.getAccountId(), volume.getVolume());
+        }
+        System.out.println("------------------------------------------------------------");
+        System.out.println("Volumes are estimates that may over-count; answered in " + elapsed + " ms");
+    }
+
+    private static void viewAmountPercentiles() {
+        System.out.println("\n=== Transaction Amount Percentiles ===");
+        LocalDate startDate = LocalDate.parse(getStringInput("Start Date (YYYY-MM-DD): "));
+        LocalDate endDate = LocalDate.parse(getStringInput("End Date (YYYY-MM-DD): "));
+        
+        List<AmountSummary> summaries = adminService().getDailyAmountSummaries(startDate, endDate);
+        if (summaries.isEmpty()) {
+            System.out.println("No transactions found.");
+            return;
+        }
+        
+        System.out.printf("%-12s %-15s %-8s %-12s %-12s %-12s%n", "Date", "Account Type", "Count", "p50", "p90", "p99");
+        System.out.println("------------------------------------------------------------");
+        for (AmountSummary summary : summaries) {
+            printAmountSummary(summary.getStartDate().toString(), summary);
+        }
+        System.out.println("------------------------------------------------------------");
+        for (AccountType accountType : AccountType.values()) {
+            AmountSummary total = adminService().getAmountSummary(startDate, endDate, accountType);
+            if (total.getCount() > 0) {
+                printAmountSummary("ALL", total);
+            }
+        }
+    }
+
+    private static void printAmountSummary(String label, AmountSummary summary) {
+        System.out.printf("%-12s %-15s %-8d $%-11.2f $%-11.2f $%-11.2f%n",
+                         label,
+                         summary.getAccountType(),
+                         summary.getCount(),
+                         summary.getP50(),
+                         summary.getP90(),
+                         summary.getP99());
+    }
+
+    private static void viewLatencyReport() throws IOException {
+        LatencyRecorder recorder = LatencyRecorder.getInstance();
+        if (!recorder.isEnabled()) {
+            System.out.println("Latency recording is disabled (metrics.latency.enabled=false).");
+            return;
+        }
+        
+        List<OperationLatency> latencies = recorder.getLatencies();
+        System.out.println("\n=== Latency Report (since " +
+                          LocalDateTime.ofInstant(Instant.ofEpochMilli(recorder.getSinceMillis()), ZoneId.systemDefault())
+                                       .format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")) + ") ===");
+        if (latencies.isEmpty()) {
+            System.out.println("No operations recorded yet.");
+        } else {
+            System.out.printf("%-40s %-10s %-10s %-12s %-10s %-10s %-10s %-10s%n",
+                             "Operation", "Phase", "Count", "Total ms", "p50 us", "p99 us", "p99.9 us", "Max us");
+            System.out.println("------------------------------------------------------------------------------------------------------------------");
+            for (int i = 0; i < Math.min(25, latencies.size()); i++) {
+                OperationLatency latency = latencies.get(i);
+                System.out.printf("%-40s %-10s %-10d %-12.1f %-10.1f %-10.1f %-10.1f %-10.1f%n",
+                                 latency.getOperation(),
+                                 latency.getPhase(),
+                                 latency.getCount(),
+                                 latency.getTotalNanos() / 1_000_000.0,
+                                 latency.getP50Nanos() / 1000.0,
+                                 latency.getP99Nanos() / 1000.0,
+                                 latency.getP999Nanos() / 1000.0,
+                                 latency.getMaxNanos() / 1000.0);
+            }
+            if (latencies.size() > 25) {
+                System.out.println("... " + (latencies.size() - 25) + " more rows in the CSV export");
+            }
+        }
+        
+        System.out.println("\n1. Export to CSV");
+        System.out.println("2. Reset");
+        System.out.println("3. Back");
+        int choice = getIntInput("Enter your choice: ");
+        switch (choice) {
+            case 1:
+                System.out.println("Latencies written to " +
+                                  recorder.writeCsv(Paths.get(DatabaseConfig.getProperty("metrics.latency.dir", "data/metrics"))));
+                break;
+            case 2:
+                recorder.reset();
+                System.out.println("Latency histograms reset.");
+                break;
+            default:
+                break;
+        }
+    }
+
+    private static void runBatchJobs() throws SQLException, IOException {
+        System.out.println("\n=== Batch Jobs ===");
+        System.out.println("1. Balance Reconciliation");
+        System.out.println("2. Interest Accrual");
+        System.out.println("3. Monthly Statements");
+        
+        int choice = getIntInput("Enter your choice: ");
+        switch (choice) {
+            case 1:
+                runReconciliation();
+                break;
+            case 2:
+                runInterestAccrual();
+                break;
+            case 3:
+                generateMonthlyStatements();
+                break;
+            default:
+                System.out.println("Invalid choice.");
         }
     }
 
+    private static void runReconciliation() throws SQLException, IOException {
+        System.out.println("Reconciling account balances against the transaction journal...");
+        ReconciliationReport report = adminService().runReconciliation();
+        
+        System.out.println("\n=== Reconciliation Report ===");
+        System.out.println("Accounts Checked: " + report.getAccountsChecked());
+        System.out.println("Partitions: " + report.getPartitions() + 
+                          " (" + report.getFailedPartitions().size() + " failed)");
+        System.out.printf("Net Difference: $%.2f%n", report.getNetDifference());
+        System.out.println("Discrepancies: " + report.getDiscrepancies().size());
+        System.out.println("Elapsed: " + report.getElapsedMillis() + " ms");
+        for (String failure : report.getFailedPartitions()) {
+            System.out.println("Failed partition " + failure);
+        }
+        
+        if (!report.getDiscrepancies().isEmpty()) {
+            System.out.printf("%-12s %-15s %-15s %-15s %-15s%n", "Account ID", "Account Number", "Balance", "Journal", "Difference");
+            System.out.println("------------------------------------------------------------");
+            List<Discrepancy> discrepancies = report.getDiscrepancies();
+            for (int i = 0; i < Math.min(20, discrepancies.size()); i++) {
+                Discrepancy discrepancy = discrepancies.get(i);
+                System.out.printf("%-12d %-15s $%-14.2f $%-14.2f $%-14.2f%n",
+                                 discrepancy.getAccountId(),
+                                 discrepancy.getAccountNumber(),
+                                 MoneyUtils.fromCents(discrepancy.getBalanceCents()),
+                                 MoneyUtils.fromCents(discrepancy.getJournalCents()),
+                                 discrepancy.getDifference());
+            }
+        }
+        System.out.println("Report written to " + adminService().getLastReconciliationReportFile());
+    }
+
+    private static void runInterestAccrual() throws SQLException {
+        String dateStr = getStringInput("Run Date (YYYY-MM-DD, blank for today): ");
+        LocalDate runDate = dateStr.isEmpty() ? LocalDate.now() : LocalDate.parse(dateStr);
+        
+        InterestRunResult result = adminService().runInterestAccrual(runDate);
+        if (result.isAlreadyCompleted()) {
+            System.out.println("Interest for " + runDate + " has already been applied.");
+            return;
+        }
+        
+        System.out.println("\n=== Interest Accrual " + runDate + " ===");
+        if (result.getResumedAfterAccountId() > 0) {
+            System.out.println("Resumed after account ID " + result.getResumedAfterAccountId());
+        }
+        System.out.println("Chunks: " + result.getChunks());
+        System.out.println("Accounts Posted: " + result.getAccountsPosted());
+        System.out.println("Fixed Deposits Matured: " + result.getMaturities());
+        System.out.printf("Interest Credited: $%.2f%n", result.getCredited());
+        System.out.printf("Interest Accrued: $%.2f%n", result.getAccrued());
+        System.out.println("Elapsed: " + result.getElapsedMillis() + " ms");
+    }
+
+    private static void generateMonthlyStatements() throws SQLException, IOException {
+        String monthStr = getStringInput("Month (YYYY-MM, blank for last month): ");
+        YearMonth month = monthStr.isEmpty() ? YearMonth.now().minusMonths(1) : YearMonth.parse(monthStr);
+        
+        System.out.println("Generating statements for " + month + "...");
+        StatementRunResult result = adminService().generateMonthlyStatements(month);
+        
+        System.out.println("\n=== Monthly Statements " + month + " ===");
+        System.out.println("Statements Written: " + result.getStatementsWritten());
+        System.out.println("Already Present (skipped): " + result.getStatementsSkipped());
+        System.out.println("Accounts: " + result.getAccounts());
+        System.out.println("Transactions: " + result.getTransactions());
+        System.out.printf("Output: %.1f KB in %s%n", result.getBytesWritten() / 1024.0, result.getDirectory());
+        System.out.printf("Elapsed: %d ms (%.1f statements/s, %.1f transactions/s)%n",
+                         result.getElapsedMillis(), result.getStatementsPerSecond(), result.getTransactionsPerSecond());
+    }
+
     private static void initializeDefaultAdmin() {
         try {
             // Check if any admin exists
-            List<Admin> admins = adminService.getAllAdmins();
-            if (admins.isEmpty()) {
+            if (!adminService().hasAdmins()) {
                 // Create default admin only if no admins exist
-                Admin defaultAdmin = adminService.createAdmin("admin", "admin123", 
+                Admin defaultAdmin = adminService().createAdmin("admin", "admin123", 
                                                            "System Administrator", "admin@bankease.com", "SUPER_ADMIN");
                 System.out.println("Default admin created: admin/admin123");
             } else {
@@ -603,14 +1333,14 @@ public class BankEaseApplication {
 
     private static String getStringInput(String prompt) {
         System.out.print(prompt);
-        return scanner.nextLine().trim();
+        return scanner().nextLine().trim();
     }
 
     private static int getIntInput(String prompt) {
         while (true) {
             try {
                 System.out.print(prompt);
-                return Integer.parseInt(scanner.nextLine().trim());
+                return Integer.parseInt(scanner().nextLine().trim());
             } catch (NumberFormatException e) {
                 System.out.println("Please enter a valid number.");
             }
@@ -621,7 +1351,7 @@ public class BankEaseApplication {
         while (true) {
             try {
                 System.out.print(prompt);
-                return Double.parseDouble(scanner.nextLine().trim());
+                return Double.parseDouble(scanner().nextLine().trim());
             } catch (NumberFormatException e) {
                 System.out.println("Please enter a valid number.");
             }
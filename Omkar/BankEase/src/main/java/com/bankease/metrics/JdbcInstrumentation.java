@@ -0,0 +1,309 @@
+package com.bankease.metrics;
+
+import com.bankease.jfr.StatementEvent;
+import com.bankease.model.SlowQuery;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Wraps JDBC connections so every DAO statement is timed without changing the DAOs.
+ * <p>
+ * Each statement is attributed to the DAO method that prepared it (see
+ * LatencyRecorder.operationForStatement). For that operation the wrapper records
+ * connection acquisition (once per connection, against its first statement), each
+ * execute call, the time from executeQuery returning until the statement is closed
+ * (reading and mapping the rows), and commit or rollback. Statements at or above the
+ * slow-query threshold are also handed to the SlowQueryLog, with the shapes of their
+ * bound parameters and the number of rows read or affected, and emitted as
+ * StatementEvents while a Flight Recorder recording has them enabled.
+ */
+public final class JdbcInstrumentation {
+
+    private JdbcInstrumentation() {
+    }
+
+    /**
+     * Wrap a connection
+     * @param connection connection to instrument
+     * @param connectNanos time it took to obtain the connection
+     * @param recorder recorder to report to
+     * @param slowQueryLog log for statements over the slow-query threshold
+     * @return instrumented connection
+     */
+    public static Connection wrap(Connection connection, long connectNanos, LatencyRecorder recorder,
+                                  SlowQueryLog slowQueryLog) {
+        return (Connection) Proxy.newProxyInstance(JdbcInstrumentation.class.getClassLoader(),
+                new Class<?>[] {Connection.class},
+                new ConnectionHandler(connection, connectNanos, recorder, slowQueryLog));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static final class ConnectionHandler implements InvocationHandler {
+        private final Connection connection;
+        private final LatencyRecorder recorder;
+        private final SlowQueryLog slowQueryLog;
+        private long connectNanos;
+        private LatencyRecorder.Operation owner;
+
+        private ConnectionHandler(Connection connection, long connectNanos, LatencyRecorder recorder,
+                                  SlowQueryLog slowQueryLog) {
+            this.connection = connection;
+            this.connectNanos = connectNanos;
+            this.recorder = recorder;
+            this.slowQueryLog = slowQueryLog;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            switch (name) {
+                case "prepareStatement":
+                case "prepareCall": {
+                    Statement statement = (Statement) JdbcInstrumentation.invoke(connection, method, args);
+                    String sql = (String) args[0];
+                    LatencyRecorder.Operation operation = recorder.operationForStatement(sql);
+                    attribute(operation);
+                    Class<?> type = statement instanceof CallableStatement ? CallableStatement.class
+                                                                           : PreparedStatement.class;
+                    return wrapStatement(statement, type, sql, operation);
+                }
+                case "createStatement":
+                    return wrapStatement((Statement) JdbcInstrumentation.invoke(connection, method, args),
+                                         Statement.class, null, null);
+                case "commit":
+                case "rollback": {
+                    long started = System.nanoTime();
+                    Object result = JdbcInstrumentation.invoke(connection, method, args);
+                    if (owner != null) {
+                        owner.record(LatencyRecorder.Phase.COMMIT, System.nanoTime() - started);
+                    }
+                    return result;
+                }
+                default:
+                    return JdbcInstrumentation.invoke(connection, method, args);
+            }
+        }
+
+        /**
+         * Charge the connection acquisition to the first operation using the connection
+         */
+        private void attribute(LatencyRecorder.Operation operation) {
+            if (owner == null) {
+                owner = operation;
+                operation.record(LatencyRecorder.Phase.CONNECT, connectNanos);
+                connectNanos = 0;
+            }
+        }
+
+        private Object wrapStatement(Statement statement, Class<?> type, String sql,
+                                     LatencyRecorder.Operation operation) {
+            return Proxy.newProxyInstance(JdbcInstrumentation.class.getClassLoader(), new Class<?>[] {type},
+                                          new StatementHandler(statement, sql, operation, this));
+        }
+    }
+
+    private static final class StatementHandler implements InvocationHandler {
+        private final Statement statement;
+        private final ConnectionHandler connection;
+        private LatencyRecorder.Operation operation;
+        private String sql;
+        private long executeNanos;
+        private long resultStartedNanos;
+        private long rows;
+        private int batchSize;
+        private StatementEvent event;
+        // Bound parameter shapes, and values for EXPLAIN, kept only while the slow-query log or JFR needs them
+        private final List<String> shapes;
+        private final List<Object> values;
+
+        private StatementHandler(Statement statement, String sql, LatencyRecorder.Operation operation,
+                                 ConnectionHandler connection) {
+            this.statement = statement;
+            this.sql = sql;
+            this.operation = operation;
+            this.connection = connection;
+            this.shapes = connection.slowQueryLog.isEnabled() || StatementEvent.isRecorded() ? new ArrayList<>() : null;
+            this.values = connection.slowQueryLog.isExplainEnabled() ? new ArrayList<>() : null;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("execute")) {
+                return execute(method, args);
+            }
+            if (shapes != null && name.startsWith("set") && args != null && args.length >= 2
+                    && args[0] instanceof Integer) {
+                bind(name, (Integer) args[0], args[1]);
+            } else if ("clearParameters".equals(name) && shapes != null) {
+                shapes.clear();
+                if (values != null) {
+                    values.clear();
+                }
+            } else if ("addBatch".equals(name)) {
+                batchSize++;
+            } else if ("close".equals(name)) {
+                finishResult();
+            }
+            return JdbcInstrumentation.invoke(statement, method, args);
+        }
+
+        private Object execute(Method method, Object[] args) throws Throwable {
+            if (args != null && args.length > 0 && args[0] instanceof String) {
+                // Plain statement: the SQL arrives with the execute call
+                sql = (String) args[0];
+                operation = connection.recorder.operationForStatement(sql);
+                connection.attribute(operation);
+            } else if (operation == null) {
+                operation = connection.recorder.operation("unknown");
+                connection.attribute(operation);
+            }
+            finishResult();
+            if (StatementEvent.isRecorded()) {
+                event = new StatementEvent();
+                event.begin();
+            }
+            long started = System.nanoTime();
+            Object result = JdbcInstrumentation.invoke(statement, method, args);
+            long finished = System.nanoTime();
+            executeNanos = finished - started;
+            operation.record(LatencyRecorder.Phase.EXECUTE, executeNanos);
+            if (result instanceof ResultSet) {
+                resultStartedNanos = finished;
+                rows = 0;
+                return shapes != null ? countRows((ResultSet) result) : result;
+            }
+            finish(executeNanos, rowCount(result));
+            batchSize = 0;
+            return result;
+        }
+
+        /**
+         * End the result reading phase of the last query, if one is open
+         */
+        private void finishResult() {
+            if (resultStartedNanos != 0) {
+                long resultNanos = System.nanoTime() - resultStartedNanos;
+                operation.record(LatencyRecorder.Phase.RESULT, resultNanos);
+                resultStartedNanos = 0;
+                finish(executeNanos + resultNanos, rows);
+            }
+        }
+
+        /**
+         * Report a finished execution to the slow-query log and Flight Recorder
+         */
+        private void finish(long nanos, long rowCount) {
+            if (event != null) {
+                event.complete(operation.getName(), sql, describeParameters(), rowCount);
+                event = null;
+            }
+            SlowQueryLog log = connection.slowQueryLog;
+            if (!log.isEnabled() || nanos < log.getThresholdNanos() || sql == null) {
+                return;
+            }
+            Object[] explainValues = null;
+            if (log.claimExplain(sql)) {
+                explainValues = values != null ? values.toArray() : new Object[0];
+            }
+            log.record(new SlowQuery(LocalDateTime.now(), operation.getName(), sql, describeParameters(),
+                                     rowCount, nanos), explainValues);
+        }
+
+        private void bind(String setter, int index, Object value) {
+            String shape;
+            if ("setNull".equals(setter) || value == null) {
+                shape = "NULL";
+                value = null;
+            } else if (value instanceof String) {
+                shape = "String(" + ((String) value).length() + ")";
+            } else if ("setObject".equals(setter)) {
+                shape = value.getClass().getSimpleName();
+            } else {
+                shape = setter.substring(3);
+            }
+            set(shapes, index - 1, shape);
+            if (values != null) {
+                set(values, index - 1, value);
+            }
+        }
+
+        private static <T> void set(List<T> list, int position, T item) {
+            while (list.size() <= position) {
+                list.add(null);
+            }
+            list.set(position, item);
+        }
+
+        /**
+         * Summarize the bound parameters as their shapes, with runs collapsed: [String(12), Int x3]
+         */
+        private String describeParameters() {
+            StringBuilder summary = new StringBuilder();
+            if (batchSize > 0) {
+                summary.append("batch of ").append(batchSize).append(", last ");
+            }
+            summary.append('[');
+            List<String> bound = shapes != null ? shapes : List.of();
+            for (int i = 0; i < bound.size(); ) {
+                String shape = bound.get(i) != null ? bound.get(i) : "?";
+                int run = 1;
+                while (i + run < bound.size() && shape.equals(bound.get(i + run))) {
+                    run++;
+                }
+                if (i > 0) {
+                    summary.append(", ");
+                }
+                summary.append(shape);
+                if (run > 1) {
+                    summary.append(" x").append(run);
+                }
+                i += run;
+            }
+            return summary.append(']').toString();
+        }
+
+        private static long rowCount(Object result) {
+            if (result instanceof Number) {
+                return ((Number) result).longValue();
+            }
+            if (result instanceof int[]) {
+                return Arrays.stream((int[]) result).filter(count -> count > 0).asLongStream().sum();
+            }
+            if (result instanceof long[]) {
+                return Arrays.stream((long[]) result).filter(count -> count > 0).sum();
+            }
+            return -1;
+        }
+
+        private ResultSet countRows(ResultSet resultSet) {
+            return (ResultSet) Proxy.newProxyInstance(JdbcInstrumentation.class.getClassLoader(),
+                    new Class<?>[] {ResultSet.class}, (proxy, method, args) -> {
+                        Object result = JdbcInstrumentation.invoke(resultSet, method, args);
+                        if (Boolean.TRUE.equals(result) && "next".equals(method.getName())) {
+                            rows++;
+                        }
+                        return result;
+                    });
+        }
+    }
+}
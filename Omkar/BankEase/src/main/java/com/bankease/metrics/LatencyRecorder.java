@@ -0,0 +1,265 @@
+package com.bankease.metrics;
+
+import com.bankease.model.OperationLatency;
+import com.bankease.utils.DatabaseConfig;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Per-operation latency histograms for the DAOs and services, split by phase.
+ * <p>
+ * DAO methods are measured by the JDBC instrumentation (see JdbcInstrumentation), which
+ * attributes each statement to the DAO method that prepared it and records connection
+ * acquisition, statement execution, result reading and mapping, and commit separately.
+ * Service methods record their total time, and lock waits, through operation handles they
+ * look up once. A sample costs two clock reads and a few atomic increments; recording can
+ * be turned off with metrics.latency.enabled=false.
+ */
+public class LatencyRecorder {
+    /**
+     * Where the time of an operation went
+     */
+    public enum Phase {
+        TOTAL, CONNECT, EXECUTE, RESULT, COMMIT, LOCK_WAIT
+    }
+
+    private static final int MAX_CACHED_STATEMENTS = 4096;
+    private static final LatencyRecorder INSTANCE = new LatencyRecorder(
+            Boolean.parseBoolean(DatabaseConfig.getProperty("metrics.latency.enabled", "true")));
+
+    private final boolean enabled;
+    private final Map<String, Operation> operations = new ConcurrentHashMap<>();
+    private final Map<String, Operation> statements = new ConcurrentHashMap<>();
+    private volatile long sinceMillis = System.currentTimeMillis();
+
+    public LatencyRecorder(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Get the process-wide recorder
+     * @return LatencyRecorder instance
+     */
+    public static LatencyRecorder getInstance() {
+        return INSTANCE;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Get the handle of a named operation, creating it on first use
+     * @param name operation name, e.g. BankingService.transfer
+     * @return Operation
+     */
+    public Operation operation(String name) {
+        return operations.computeIfAbsent(name, Operation::new);
+    }
+
+    /**
+     * Get the operation a SQL statement belongs to: the DAO method that first prepared it.
+     * The caller is found by walking the stack once per statement shape, so IN lists of
+     * any length share one cache entry.
+     * @param sql statement text
+     * @return Operation
+     */
+    public Operation operationForStatement(String sql) {
+        Operation operation = statements.get(sql);
+        if (operation != null) {
+            return operation;
+        }
+        String shape = shapeOf(sql);
+        operation = statements.get(shape);
+        if (operation == null) {
+            operation = operation(callerName());
+            if (statements.size() < MAX_CACHED_STATEMENTS) {
+                statements.putIfAbsent(shape, operation);
+            }
+        }
+        return operation;
+    }
+
+    /**
+     * Collapse every parenthesised list of two or more placeholders, such as IN (?, ?, ?),
+     * to (?...), so statements built for different list sizes have the same shape
+     * @param sql statement text
+     * @return statement shape, the text itself if it has no such list
+     */
+    static String shapeOf(String sql) {
+        StringBuilder shape = null;
+        int copied = 0;
+        for (int open = sql.indexOf('('); open >= 0; open = sql.indexOf('(', open + 1)) {
+            int placeholders = 0;
+            int i = open + 1;
+            while (true) {
+                i = skipWhitespace(sql, i);
+                if (i >= sql.length() || sql.charAt(i) != '?') {
+                    break;
+                }
+                placeholders++;
+                i = skipWhitespace(sql, i + 1);
+                if (i >= sql.length() || sql.charAt(i) != ',') {
+                    break;
+                }
+                i++;
+            }
+            if (placeholders >= 2 && i < sql.length() && sql.charAt(i) == ')') {
+                if (shape == null) {
+                    shape = new StringBuilder(sql.length());
+                }
+                shape.append(sql, copied, open).append("(?...)");
+                copied = i + 1;
+                open = i;
+            }
+        }
+        return shape == null ? sql : shape.append(sql, copied, sql.length()).toString();
+    }
+
+    int getCachedStatementCount() {
+        return statements.size();
+    }
+
+    private static int skipWhitespace(String sql, int i) {
+        while (i < sql.length() && Character.isWhitespace(sql.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private static String callerName() {
+        return StackWalker.getInstance().walk(frames -> frames
+                .filter(frame -> frame.getClassName().startsWith("com.bankease.")
+                        && !frame.getClassName().startsWith("com.bankease.metrics.")
+                        && !frame.getClassName().equals(DatabaseConfig.class.getName()))
+                .findFirst()
+                .map(frame -> {
+                    String className = frame.getClassName();
+                    return className.substring(className.lastIndexOf('.') + 1) + "." + frame.getMethodName();
+                })
+                .orElse("unknown"));
+    }
+
+    /**
+     * Get the recorded latencies, slowest operations (by total time) first
+     * @return one row per operation and phase with samples
+     */
+    public List<OperationLatency> getLatencies() {
+        List<OperationLatency> rows = new ArrayList<>();
+        for (Operation operation : operations.values()) {
+            for (Phase phase : Phase.values()) {
+                LatencyHistogram histogram = operation.phases.get(phase.ordinal());
+                if (histogram != null && histogram.getCount() > 0) {
+                    rows.add(new OperationLatency(operation.name, phase.name(), histogram.getCount(),
+                                                  histogram.getTotal(), histogram.getPercentile(50),
+                                                  histogram.getPercentile(95), histogram.getPercentile(99),
+                                                  histogram.getPercentile(99.9), histogram.getMax()));
+                }
+            }
+        }
+        rows.sort(Comparator.comparingLong(OperationLatency::getTotalNanos).reversed());
+        return rows;
+    }
+
+    /**
+     * Clear every histogram
+     */
+    public void reset() {
+        for (Operation operation : operations.values()) {
+            for (int i = 0; i < operation.phases.length(); i++) {
+                LatencyHistogram histogram = operation.phases.get(i);
+                if (histogram != null) {
+                    histogram.reset();
+                }
+            }
+        }
+        sinceMillis = System.currentTimeMillis();
+    }
+
+    /**
+     * Get the time recording started or was last reset
+     * @return epoch milliseconds
+     */
+    public long getSinceMillis() {
+        return sinceMillis;
+    }
+
+    /**
+     * Write the current latencies as CSV, one row per operation and phase, times in microseconds
+     * @param directory directory to write latency-yyyyMMdd-HHmmss.csv to
+     * @return path of the written file
+     * @throws IOException if the file cannot be written
+     */
+    public Path writeCsv(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        Path file = directory.resolve("latency-" +
+                LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".csv");
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("operation,phase,count,total_us,mean_us,p50_us,p95_us,p99_us,p999_us,max_us");
+            writer.newLine();
+            for (OperationLatency row : getLatencies()) {
+                writer.write(String.format("%s,%s,%d,%.1f,%.2f,%.2f,%.2f,%.2f,%.2f,%.2f", row.getOperation(),
+                        row.getPhase(), row.getCount(), row.getTotalNanos() / 1000.0, row.getMeanNanos() / 1000.0,
+                        row.getP50Nanos() / 1000.0, row.getP95Nanos() / 1000.0, row.getP99Nanos() / 1000.0,
+                        row.getP999Nanos() / 1000.0, row.getMaxNanos() / 1000.0));
+                writer.newLine();
+            }
+        }
+        return file;
+    }
+
+    /**
+     * Latency histograms of one operation, one per phase, created on first use
+     */
+    public final class Operation {
+        private final String name;
+        private final AtomicReferenceArray<LatencyHistogram> phases =
+                new AtomicReferenceArray<>(Phase.values().length);
+
+        private Operation(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Record one sample
+         * @param phase phase the time was spent in
+         * @param nanos elapsed nanoseconds
+         */
+        public void record(Phase phase, long nanos) {
+            if (!enabled) {
+                return;
+            }
+            LatencyHistogram histogram = phases.get(phase.ordinal());
+            if (histogram == null) {
+                phases.compareAndSet(phase.ordinal(), null, new LatencyHistogram());
+                histogram = phases.get(phase.ordinal());
+            }
+            histogram.record(nanos);
+        }
+
+        /**
+         * Get the histogram of a phase
+         * @param phase phase
+         * @return histogram, or null if nothing was recorded for the phase
+         */
+        public LatencyHistogram getHistogram(Phase phase) {
+            return phases.get(phase.ordinal());
+        }
+    }
+}
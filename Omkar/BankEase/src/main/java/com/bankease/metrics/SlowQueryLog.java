@@ -0,0 +1,315 @@
+package com.bankease.metrics;
+
+import com.bankease.model.SlowQuery;
+import com.bankease.utils.DatabaseConfig;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Log of DAO statements slower than metrics.slowQuery.thresholdMillis. Off unless a
+ * threshold is configured.
+ * <p>
+ * The JDBC instrumentation hands slow statements over through a bounded queue; a single
+ * background thread writes them to slow-queries.log and rotates the file by size, so a
+ * query thread never waits on the disk. When the queue is full entries are dropped and
+ * counted instead. With metrics.slowQuery.explain=true the writer also runs EXPLAIN, on
+ * its own connection, the first time each SELECT shows up. Only the shapes of bound
+ * parameters are logged, never their values.
+ */
+public class SlowQueryLog {
+    private static final String FILE_NAME = "slow-queries.log";
+    private static final int MAX_EXPLAINED_STATEMENTS = 4096;
+    private static final long WRITER_POLL_MILLIS = 100;
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS");
+    private static final SlowQueryLog INSTANCE = new SlowQueryLog(
+            DatabaseConfig.getIntProperty("metrics.slowQuery.thresholdMillis", -1),
+            Boolean.parseBoolean(DatabaseConfig.getProperty("metrics.slowQuery.explain", "false")),
+            Paths.get(DatabaseConfig.getProperty("metrics.slowQuery.dir", "data/logs")),
+            DatabaseConfig.getIntProperty("metrics.slowQuery.maxFileKb", 10240) * 1024L,
+            DatabaseConfig.getIntProperty("metrics.slowQuery.maxFiles", 5),
+            DatabaseConfig.getIntProperty("metrics.slowQuery.queueSize", 1024));
+
+    private final long thresholdNanos;
+    private final boolean explain;
+    private final Path directory;
+    private final long maxFileBytes;
+    private final int maxFiles;
+    private final BlockingQueue<Entry> queue;
+    private final Set<String> explained = ConcurrentHashMap.newKeySet();
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile Thread writer;
+    private volatile boolean stopping;
+
+    // Only touched by the writer thread, and by stop() once the writer has finished
+    private BufferedWriter out;
+    private long fileBytes;
+
+    /**
+     * @param thresholdMillis statements taking at least this long are logged; negative disables the log
+     * @param explain whether to capture the plan of each slow SELECT once
+     * @param directory directory of slow-queries.log and its rotated copies
+     * @param maxFileBytes size at which the file is rotated
+     * @param maxFiles number of rotated files kept
+     * @param queueSize entries that may wait for the writer before new ones are dropped
+     */
+    public SlowQueryLog(int thresholdMillis, boolean explain, Path directory, long maxFileBytes, int maxFiles,
+                        int queueSize) {
+        this.thresholdNanos = thresholdMillis < 0 ? -1 : thresholdMillis * 1_000_000L;
+        this.explain = explain;
+        this.directory = directory;
+        this.maxFileBytes = Math.max(1024, maxFileBytes);
+        this.maxFiles = Math.max(1, maxFiles);
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, queueSize));
+    }
+
+    /**
+     * Get the process-wide slow-query log
+     * @return SlowQueryLog instance
+     */
+    public static SlowQueryLog getInstance() {
+        return INSTANCE;
+    }
+
+    public boolean isEnabled() {
+        return thresholdNanos >= 0;
+    }
+
+    public long getThresholdNanos() {
+        return thresholdNanos;
+    }
+
+    public boolean isExplainEnabled() {
+        return explain && isEnabled();
+    }
+
+    /**
+     * Check whether a statement's plan should be captured, claiming it so this is true only once
+     * per statement shape (IN lists of any length count as one)
+     * @param sql statement text
+     * @return true if the caller should pass the bound values along with the entry
+     */
+    public boolean claimExplain(String sql) {
+        return isExplainEnabled() && sql.trim().regionMatches(true, 0, "SELECT", 0, 6)
+                && explained.size() < MAX_EXPLAINED_STATEMENTS && explained.add(LatencyRecorder.shapeOf(sql));
+    }
+
+    /**
+     * Queue a slow statement for writing. Never blocks; the entry is dropped if the queue is full.
+     * @param query slow statement
+     * @param explainValues bound values to run EXPLAIN with, or null to skip the plan
+     */
+    public void record(SlowQuery query, Object[] explainValues) {
+        if (stopping) {
+            dropped.incrementAndGet();
+            return;
+        }
+        if (writer == null) {
+            startWriter();
+        }
+        if (!queue.offer(new Entry(query, explainValues))) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    /**
+     * Get the number of entries dropped because the writer fell behind and not yet reported in the file
+     * @return dropped entries
+     */
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    public Path getFile() {
+        return directory.resolve(FILE_NAME);
+    }
+
+    /**
+     * Write everything queued so far and stop the writer thread. Also runs at shutdown
+     * once the writer has started.
+     * @throws InterruptedException if interrupted while waiting for the writer
+     */
+    public synchronized void stop() throws InterruptedException {
+        stopping = true;
+        // Not interrupted: an interrupt during a write would close the file channel
+        if (writer != null) {
+            writer.join();
+        }
+        // Entries offered while the writer was finishing
+        drain();
+    }
+
+    private synchronized void startWriter() {
+        if (writer == null && !stopping) {
+            Thread thread = new Thread(this::writeEntries, "slow-query-log");
+            thread.setDaemon(true);
+            thread.start();
+            writer = thread;
+            Runtime.getRuntime().addShutdownHook(new Thread(this::stopQuietly, "slow-query-log-shutdown"));
+        }
+    }
+
+    private void stopQuietly() {
+        try {
+            stop();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void writeEntries() {
+        while (!stopping) {
+            Entry entry;
+            try {
+                entry = queue.poll(WRITER_POLL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                break;
+            }
+            if (entry != null) {
+                write(entry);
+                if (queue.isEmpty()) {
+                    flush();
+                }
+            }
+        }
+        drain();
+    }
+
+    private void drain() {
+        Entry entry;
+        while ((entry = queue.poll()) != null) {
+            write(entry);
+        }
+        flush();
+        try {
+            if (out != null) {
+                out.close();
+                out = null;
+            }
+        } catch (IOException e) {
+            System.err.println("Slow-query log close failed: " + e.getMessage());
+        }
+    }
+
+    private void write(Entry entry) {
+        SlowQuery query = entry.query;
+        List<String> lines = new ArrayList<>();
+        long droppedSinceLast = dropped.getAndSet(0);
+        if (droppedSinceLast > 0) {
+            lines.add(query.getExecutedAt().format(TIMESTAMP) + " " + droppedSinceLast +
+                      " slow queries dropped, the log could not keep up");
+        }
+        lines.add(String.format("%s %.1fms rows=%d caller=%s params=%s sql=%s",
+                                query.getExecutedAt().format(TIMESTAMP), query.getElapsedMillis(), query.getRows(),
+                                query.getCaller(), query.getParameters(), query.getSql().replaceAll("\\s+", " ").trim()));
+        if (entry.explainValues != null) {
+            for (String plan : explain(query.getSql(), entry.explainValues)) {
+                lines.add("    plan: " + plan);
+            }
+        }
+        try {
+            if (out == null || fileBytes >= maxFileBytes) {
+                openFile();
+            }
+            for (String line : lines) {
+                out.write(line);
+                out.newLine();
+                fileBytes += line.length() + 1;
+            }
+        } catch (IOException e) {
+            System.err.println("Slow-query log write failed: " + e.getMessage());
+        }
+    }
+
+    private void flush() {
+        try {
+            if (out != null) {
+                out.flush();
+            }
+        } catch (IOException e) {
+            System.err.println("Slow-query log flush failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Open the log file, first rotating it if it has reached the size limit:
+     * slow-queries.log becomes .1, .1 becomes .2 and so on, dropping the oldest
+     */
+    private void openFile() throws IOException {
+        if (out != null) {
+            out.close();
+            out = null;
+        }
+        Files.createDirectories(directory);
+        Path file = getFile();
+        if (Files.exists(file) && Files.size(file) >= maxFileBytes) {
+            for (int i = maxFiles - 1; i >= 1; i--) {
+                Path older = directory.resolve(FILE_NAME + "." + i);
+                if (Files.exists(older)) {
+                    Files.move(older, directory.resolve(FILE_NAME + "." + (i + 1)), StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+            Files.move(file, directory.resolve(FILE_NAME + ".1"), StandardCopyOption.REPLACE_EXISTING);
+        }
+        out = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        fileBytes = Files.size(file);
+    }
+
+    private static List<String> explain(String sql, Object[] values) {
+        List<String> lines = new ArrayList<>();
+        try (Connection conn = DatabaseConfig.getUninstrumentedConnection();
+             PreparedStatement pstmt = conn.prepareStatement("EXPLAIN " + sql)) {
+            for (int i = 0; i < values.length; i++) {
+                pstmt.setObject(i + 1, values[i]);
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                ResultSetMetaData meta = rs.getMetaData();
+                List<String> columns = new ArrayList<>();
+                for (int i = 1; i <= meta.getColumnCount(); i++) {
+                    columns.add(meta.getColumnLabel(i));
+                }
+                lines.add(String.join(" | ", columns));
+                while (rs.next()) {
+                    List<String> row = new ArrayList<>();
+                    for (int i = 1; i <= meta.getColumnCount(); i++) {
+                        row.add(String.valueOf(rs.getObject(i)).replaceAll("\\s+", " "));
+                    }
+                    lines.add(String.join(" | ", row));
+                }
+            }
+        } catch (SQLException e) {
+            lines.add("unavailable: " + e.getMessage());
+        }
+        return lines;
+    }
+
+    private static final class Entry {
+        private final SlowQuery query;
+        private final Object[] explainValues;
+
+        private Entry(SlowQuery query, Object[] explainValues) {
+            this.query = query;
+            this.explainValues = explainValues;
+        }
+    }
+}
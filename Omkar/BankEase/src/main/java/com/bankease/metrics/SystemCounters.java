@@ -0,0 +1,283 @@
+package com.bankease.metrics;
+
+import com.bankease.model.SystemStatistics;
+import com.bankease.model.TransactionType;
+import com.bankease.utils.MoneyUtils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live, in-process system counters kept up to date by the DAOs and services on every
+ * successful mutation. Counters are striped adders, so concurrent updates from many
+ * threads do not contend, and reads are O(1) in the number of rows.
+ * Counters are seeded from the database at startup and periodically reconciled
+ * against it (see CounterReconciler) to correct any drift.
+ * <p>
+ * Reconciliation captures the counters with {@link #read()} before querying the database
+ * and adds to each counter the difference between its database total and the captured
+ * value, so updates made while the totals are being read are kept rather than erased.
+ * Counters are updated after the commit, so a write that commits before the totals are
+ * read but updates its counter after the capture is counted twice. That drift is bounded
+ * by the writes in flight during one read and is corrected by the next reconciliation.
+ * Every mutation event also advances a mutation epoch, which lets the caller retry a
+ * read during which writes happened.
+ */
+public class SystemCounters {
+    private static final int TYPE_COUNT = TransactionType.values().length;
+    private static final SystemCounters INSTANCE = new SystemCounters();
+
+    private final LongAdder users = new LongAdder();
+    private final LongAdder accounts = new LongAdder();
+    private final LongAdder transactions = new LongAdder();
+    private final LongAdder balanceCents = new LongAdder();
+    private final LongAdder[] typeCounts = new LongAdder[TYPE_COUNT];
+    private final LongAdder[] typeVolumeCents = new LongAdder[TYPE_COUNT];
+    private final LongAdder[] reconciled;
+    private final LongAdder mutations = new LongAdder();
+    private volatile long generation;
+    private volatile boolean seeded;
+    private volatile long lastReconciledMillis;
+
+    public SystemCounters() {
+        for (int i = 0; i < TYPE_COUNT; i++) {
+            typeCounts[i] = new LongAdder();
+            typeVolumeCents[i] = new LongAdder();
+        }
+        // Order shared with Reading.values and the expected totals in reconcile
+        reconciled = new LongAdder[4 + 2 * TYPE_COUNT];
+        reconciled[0] = users;
+        reconciled[1] = accounts;
+        reconciled[2] = transactions;
+        reconciled[3] = balanceCents;
+        System.arraycopy(typeCounts, 0, reconciled, 4, TYPE_COUNT);
+        System.arraycopy(typeVolumeCents, 0, reconciled, 4 + TYPE_COUNT, TYPE_COUNT);
+    }
+
+    /**
+     * Get the process-wide counters
+     * @return SystemCounters instance
+     */
+    public static SystemCounters getInstance() {
+        return INSTANCE;
+    }
+
+    // Mutation events
+    public void userCreated() {
+        users.increment();
+        mutations.increment();
+    }
+
+    public void userDeleted() {
+        users.decrement();
+        mutations.increment();
+    }
+
+    public void accountCreated() {
+        accounts.increment();
+        mutations.increment();
+    }
+
+    public void accountDeleted() {
+        accounts.decrement();
+        mutations.increment();
+    }
+
+    /**
+     * Record a journal row
+     * @param type transaction type
+     * @param amountCents amount in cents
+     */
+    public void transactionRecorded(TransactionType type, long amountCents) {
+        transactions.increment();
+        if (type != null) {
+            typeCounts[type.getCode()].increment();
+            typeVolumeCents[type.getCode()].add(amountCents);
+        }
+        mutations.increment();
+    }
+
+    /**
+     * Record a change of the total active balance
+     * @param deltaCents signed change in cents
+     */
+    public void balanceChanged(long deltaCents) {
+        balanceCents.add(deltaCents);
+        mutations.increment();
+    }
+
+    // Seeding and reconciliation
+    /**
+     * Number of mutation events so far
+     * @return current mutation epoch
+     */
+    public long getMutationEpoch() {
+        return mutations.sum();
+    }
+
+    /**
+     * Capture the counters; call before querying the database totals that are passed
+     * to {@link #reconcile}
+     * @return the counter values and mutation epoch now
+     */
+    public Reading read() {
+        long epoch = getMutationEpoch();
+        long[] values = new long[reconciled.length];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = reconciled[i].sum();
+        }
+        return new Reading(generation, epoch, values);
+    }
+
+    /**
+     * Reconcile the counters against authoritative database totals.
+     * Each counter is moved by the difference between its database total and the value
+     * captured in the reading, so updates recorded after the reading are kept; the first
+     * call seeds the counters. A reading taken before the last reset is discarded.
+     * @param reading counters captured before the database totals were queried
+     * @param snapshot database totals
+     * @param dbTypeCounts row count per TransactionType code
+     * @param dbTypeVolumeCents volume in cents per TransactionType code
+     * @return total absolute drift that was corrected, summed over all counters,
+     *         or -1 if the counters were reset since the reading
+     */
+    public synchronized long reconcile(Reading reading, SystemStatistics snapshot, long[] dbTypeCounts,
+                                       long[] dbTypeVolumeCents) {
+        if (reading.generation != generation) {
+            return -1;
+        }
+        long[] expected = new long[reconciled.length];
+        expected[0] = snapshot.getTotalUsers();
+        expected[1] = snapshot.getTotalAccounts();
+        expected[2] = snapshot.getTotalTransactions();
+        expected[3] = MoneyUtils.toCents(snapshot.getTotalBalance());
+        System.arraycopy(dbTypeCounts, 0, expected, 4, TYPE_COUNT);
+        System.arraycopy(dbTypeVolumeCents, 0, expected, 4 + TYPE_COUNT, TYPE_COUNT);
+        long drift = 0;
+        for (int i = 0; i < expected.length; i++) {
+            long delta = expected[i] - reading.values[i];
+            if (delta != 0) {
+                reconciled[i].add(delta);
+                drift += Math.abs(delta);
+            }
+        }
+        lastReconciledMillis = System.currentTimeMillis();
+        boolean firstSeed = !seeded;
+        seeded = true;
+        return firstSeed ? 0 : drift;
+    }
+
+    /**
+     * Zero every counter and mark them unseeded, for example after switching to another
+     * database; reads fall back to the database until the next reconciliation
+     */
+    public synchronized void reset() {
+        users.reset();
+        accounts.reset();
+        transactions.reset();
+        balanceCents.reset();
+        for (int i = 0; i < TYPE_COUNT; i++) {
+            typeCounts[i].reset();
+            typeVolumeCents[i].reset();
+        }
+        seeded = false;
+        lastReconciledMillis = 0;
+        generation++;
+        mutations.increment();
+    }
+
+    // Reads
+    public boolean isSeeded() {
+        return seeded;
+    }
+
+    public long getLastReconciledMillis() {
+        return lastReconciledMillis;
+    }
+
+    public long getTotalUsers() {
+        return users.sum();
+    }
+
+    public long getTotalAccounts() {
+        return accounts.sum();
+    }
+
+    public long getTotalTransactions() {
+        return transactions.sum();
+    }
+
+    public long getTotalBalanceCents() {
+        return balanceCents.sum();
+    }
+
+    public long getTransactionCount(TransactionType type) {
+        return typeCounts[type.getCode()].sum();
+    }
+
+    public long getTransactionVolumeCents(TransactionType type) {
+        return typeVolumeCents[type.getCode()].sum();
+    }
+
+    /**
+     * Current totals as a statistics snapshot
+     * @return SystemStatistics computed now from the live counters
+     */
+    public SystemStatistics toStatistics() {
+        return new SystemStatistics(getTotalUsers(), getTotalAccounts(), getTotalTransactions(),
+                                    MoneyUtils.fromCents(getTotalBalanceCents()), System.currentTimeMillis());
+    }
+
+    /**
+     * All counters by metric name, for monitoring
+     * @return ordered map of metric name to value
+     */
+    public Map<String, Long> getMetrics() {
+        Map<String, Long> metrics = new LinkedHashMap<>();
+        metrics.put("bankease_users_total", getTotalUsers());
+        metrics.put("bankease_accounts_total", getTotalAccounts());
+        metrics.put("bankease_transactions_total", getTotalTransactions());
+        metrics.put("bankease_balance_cents", getTotalBalanceCents());
+        for (TransactionType type : TransactionType.values()) {
+            String name = type.name().toLowerCase();
+            metrics.put("bankease_transactions_" + name + "_count", getTransactionCount(type));
+            metrics.put("bankease_transactions_" + name + "_volume_cents", getTransactionVolumeCents(type));
+        }
+        return metrics;
+    }
+
+    /**
+     * Counters in a line-per-metric text format ("name value"), as read by common scrapers
+     * @return metrics text
+     */
+    public String formatMetrics() {
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<String, Long> entry : getMetrics().entrySet()) {
+            sb.append(entry.getKey()).append(' ').append(entry.getValue()).append('\n');
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Counter values captured by {@link #read()}
+     */
+    public static final class Reading {
+        private final long generation;
+        private final long epoch;
+        private final long[] values;
+
+        private Reading(long generation, long epoch, long[] values) {
+            this.generation = generation;
+            this.epoch = epoch;
+            this.values = values;
+        }
+
+        /**
+         * @return mutation epoch when the counters were captured
+         */
+        public long getEpoch() {
+            return epoch;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.bankease.model;
+
+import com.bankease.utils.MoneyUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One account's section of a statement: opening balance, transactions and closing balance
+ */
+public class AccountStatement {
+    private final int accountId;
+    private final String accountNumber;
+    private final AccountType accountType;
+    private final long openingCents;
+    private final long closingCents;
+    private final List<Transaction> transactions = new ArrayList<>();
+
+    public AccountStatement(int accountId, String accountNumber, AccountType accountType,
+                            long openingCents, long closingCents) {
+        this.accountId = accountId;
+        this.accountNumber = accountNumber;
+        this.accountType = accountType;
+        this.openingCents = openingCents;
+        this.closingCents = closingCents;
+    }
+
+    // Getters
+    public int getAccountId() {
+        return accountId;
+    }
+
+    public String getAccountNumber() {
+        return accountNumber;
+    }
+
+    public AccountType getAccountType() {
+        return accountType;
+    }
+
+    public long getOpeningCents() {
+        return openingCents;
+    }
+
+    public double getOpeningBalance() {
+        return MoneyUtils.fromCents(openingCents);
+    }
+
+    public long getClosingCents() {
+        return closingCents;
+    }
+
+    public double getClosingBalance() {
+        return MoneyUtils.fromCents(closingCents);
+    }
+
+    /**
+     * @return completed transactions in the period, oldest first
+     */
+    public List<Transaction> getTransactions() {
+        return transactions;
+    }
+}
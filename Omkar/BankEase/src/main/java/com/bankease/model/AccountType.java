@@ -0,0 +1,70 @@
+package com.bankease.model;
+
+/**
+ * Account types stored in accounts.account_type, each with a compact byte code
+ */
+public enum AccountType {
+    SAVINGS((byte) 0),
+    CHECKING((byte) 1),
+    FIXED_DEPOSIT((byte) 2);
+
+    private static final AccountType[] BY_CODE = values();
+
+    private final byte code;
+
+    AccountType(byte code) {
+        this.code = code;
+    }
+
+    public byte getCode() {
+        return code;
+    }
+
+    /**
+     * Look up an account type by its byte code
+     * @param code byte code
+     * @return matching AccountType
+     * @throws IllegalArgumentException if code is unknown
+     */
+    public static AccountType fromCode(byte code) {
+        if (code < 0 || code >= BY_CODE.length) {
+            throw new IllegalArgumentException("Invalid account type code: " + code);
+        }
+        return BY_CODE[code];
+    }
+
+    /**
+     * Look up an account type by its database name
+     * @param name account type name, e.g. SAVINGS
+     * @return matching AccountType, or null if name is null
+     * @throws IllegalArgumentException if name is unknown
+     */
+    public static AccountType fromName(String name) {
+        AccountType type = lookup(name);
+        if (type == null && name != null) {
+            throw new IllegalArgumentException("Invalid account type: " + name);
+        }
+        return type;
+    }
+
+    /**
+     * Look up an account type by its database name without rejecting unknown names
+     * @param name account type name, e.g. SAVINGS
+     * @return matching AccountType, or null if name is null or unknown
+     */
+    public static AccountType lookup(String name) {
+        if (name == null) {
+            return null;
+        }
+        switch (name) {
+            case "SAVINGS":
+                return SAVINGS;
+            case "CHECKING":
+                return CHECKING;
+            case "FIXED_DEPOSIT":
+                return FIXED_DEPOSIT;
+            default:
+                return null;
+        }
+    }
+}
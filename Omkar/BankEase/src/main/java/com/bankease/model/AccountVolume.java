@@ -0,0 +1,36 @@
+package com.bankease.model;
+
+import com.bankease.utils.MoneyUtils;
+
+/**
+ * Volume attributed to one account, as returned by heavy-hitter queries
+ */
+public class AccountVolume {
+    private final int accountId;
+    private final long volumeCents;
+
+    public AccountVolume(int accountId, long volumeCents) {
+        this.accountId = accountId;
+        this.volumeCents = volumeCents;
+    }
+
+    public int getAccountId() {
+        return accountId;
+    }
+
+    public long getVolumeCents() {
+        return volumeCents;
+    }
+
+    public double getVolume() {
+        return MoneyUtils.fromCents(volumeCents);
+    }
+
+    @Override
+    public String toString() {
+        return "AccountVolume{" +
+                "accountId=" + accountId +
+                ", volumeCents=" + volumeCents +
+                '}';
+    }
+}
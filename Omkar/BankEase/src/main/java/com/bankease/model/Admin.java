@@ -129,6 +129,10 @@ public class Admin {
         return isSuperAdmin() || isAdmin();
     }
 
+    public boolean canViewAllAccounts() {
+        return isSuperAdmin() || isAdmin();
+    }
+
     public boolean canManageUsers() {
         return isSuperAdmin();
     }
@@ -0,0 +1,95 @@
+package com.bankease.model;
+
+import com.bankease.utils.MoneyUtils;
+
+import java.time.LocalDate;
+
+/**
+ * Estimated distribution of transaction amounts for one account type over a range of days
+ */
+public class AmountSummary {
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+    private final AccountType accountType;
+    private final long count;
+    private final long minCents;
+    private final long p50Cents;
+    private final long p90Cents;
+    private final long p99Cents;
+    private final long maxCents;
+
+    public AmountSummary(LocalDate startDate, LocalDate endDate, AccountType accountType, long count,
+                         long minCents, long p50Cents, long p90Cents, long p99Cents, long maxCents) {
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.accountType = accountType;
+        this.count = count;
+        this.minCents = minCents;
+        this.p50Cents = p50Cents;
+        this.p90Cents = p90Cents;
+        this.p99Cents = p99Cents;
+        this.maxCents = maxCents;
+    }
+
+    // Getters
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public AccountType getAccountType() {
+        return accountType;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getMinCents() {
+        return minCents;
+    }
+
+    public long getP50Cents() {
+        return p50Cents;
+    }
+
+    public long getP90Cents() {
+        return p90Cents;
+    }
+
+    public long getP99Cents() {
+        return p99Cents;
+    }
+
+    public long getMaxCents() {
+        return maxCents;
+    }
+
+    public double getP50() {
+        return MoneyUtils.fromCents(p50Cents);
+    }
+
+    public double getP90() {
+        return MoneyUtils.fromCents(p90Cents);
+    }
+
+    public double getP99() {
+        return MoneyUtils.fromCents(p99Cents);
+    }
+
+    @Override
+    public String toString() {
+        return "AmountSummary{" +
+                "startDate=" + startDate +
+                ", endDate=" + endDate +
+                ", accountType=" + accountType +
+                ", count=" + count +
+                ", p50Cents=" + p50Cents +
+                ", p90Cents=" + p90Cents +
+                ", p99Cents=" + p99Cents +
+                '}';
+    }
+}
@@ -1,20 +1,23 @@
 package com.bankease.model;
 
+import com.bankease.utils.TimeUtils;
+
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
 /**
- * BankAccount model class representing a bank account
+ * BankAccount model class representing a bank account.
+ * The account type is held as a shared enum constant and the creation date as epoch milliseconds.
  */
 public class BankAccount {
     private int accountId;
     private String accountNumber;
     private int userId;
-    private String accountType; // SAVINGS, CHECKING, FIXED_DEPOSIT
+    private AccountType accountType;
     private double balance;
-    private LocalDateTime creationDate;
+    private long creationDateMillis;
     private boolean isActive;
     private boolean isFrozen;
     private List<Transaction> transactions;
@@ -22,12 +25,19 @@ public class BankAccount {
     // Constructors
     public BankAccount() {
         this.transactions = new ArrayList<>();
-        this.creationDate = LocalDateTime.now();
+        this.creationDateMillis = System.currentTimeMillis();
         this.isActive = true;
         this.isFrozen = false;
     }
 
+    /**
+     * Create an account from an account type name; an unknown name leaves the type unset
+     */
     public BankAccount(String accountNumber, int userId, String accountType, double initialBalance) {
+        this(accountNumber, userId, AccountType.lookup(accountType), initialBalance);
+    }
+
+    public BankAccount(String accountNumber, int userId, AccountType accountType, double initialBalance) {
         this();
         this.accountNumber = accountNumber;
         this.userId = userId;
@@ -61,10 +71,21 @@ public class BankAccount {
     }
 
     public String getAccountType() {
-        return accountType;
+        return accountType != null ? accountType.name() : null;
     }
 
+    /**
+     * Set the account type by name; an unknown name leaves the type unset
+     */
     public void setAccountType(String accountType) {
+        this.accountType = AccountType.lookup(accountType);
+    }
+
+    public AccountType getType() {
+        return accountType;
+    }
+
+    public void setType(AccountType accountType) {
         this.accountType = accountType;
     }
 
@@ -77,11 +98,19 @@ public class BankAccount {
     }
 
     public LocalDateTime getCreationDate() {
-        return creationDate;
+        return TimeUtils.fromEpochMillis(creationDateMillis);
     }
 
     public void setCreationDate(LocalDateTime creationDate) {
-        this.creationDate = creationDate;
+        this.creationDateMillis = TimeUtils.toEpochMillis(creationDate);
+    }
+
+    public long getCreationDateMillis() {
+        return creationDateMillis;
+    }
+
+    public void setCreationDateMillis(long creationDateMillis) {
+        this.creationDateMillis = creationDateMillis;
     }
 
     public boolean isActive() {
@@ -116,43 +145,47 @@ public class BankAccount {
         transactions.add(transaction);
     }
 
+    /**
+     * Get the transactions of the named type; an unknown name matches none
+     */
     public List<Transaction> getTransactionsByType(String type) {
+        TransactionType transactionType = TransactionType.lookup(type);
+        if (transactionType == null) {
+            return new ArrayList<>();
+        }
         return transactions.stream()
-                .filter(transaction -> transaction.getTransactionType().equals(type))
+                .filter(transaction -> transaction.getType() == transactionType)
                 .collect(Collectors.toList());
     }
 
     public List<Transaction> getTransactionsByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
+        long startMillis = TimeUtils.toEpochMillis(startDate);
+        long endMillis = TimeUtils.toEpochMillis(endDate);
         return transactions.stream()
-                .filter(transaction -> !transaction.getTimestamp().isBefore(startDate) && 
-                                    !transaction.getTimestamp().isAfter(endDate))
+                .filter(transaction -> transaction.getTimestampMillis() >= startMillis &&
+                                    transaction.getTimestampMillis() <= endMillis)
                 .collect(Collectors.toList());
     }
 
     public double getTotalDeposits() {
-        return transactions.stream()
-                .filter(transaction -> "DEPOSIT".equals(transaction.getTransactionType()))
-                .mapToDouble(Transaction::getAmount)
-                .sum();
+        return getTotalByType(TransactionType.DEPOSIT);
     }
 
     public double getTotalWithdrawals() {
-        return transactions.stream()
-                .filter(transaction -> "WITHDRAWAL".equals(transaction.getTransactionType()))
-                .mapToDouble(Transaction::getAmount)
-                .sum();
+        return getTotalByType(TransactionType.WITHDRAWAL);
     }
 
     public double getTotalTransfersIn() {
-        return transactions.stream()
-                .filter(transaction -> "TRANSFER_IN".equals(transaction.getTransactionType()))
-                .mapToDouble(Transaction::getAmount)
-                .sum();
+        return getTotalByType(TransactionType.TRANSFER_IN);
     }
 
     public double getTotalTransfersOut() {
+        return getTotalByType(TransactionType.TRANSFER_OUT);
+    }
+
+    private double getTotalByType(TransactionType type) {
         return transactions.stream()
-                .filter(transaction -> "TRANSFER_OUT".equals(transaction.getTransactionType()))
+                .filter(transaction -> transaction.getType() == type)
                 .mapToDouble(Transaction::getAmount)
                 .sum();
     }
@@ -165,7 +198,7 @@ public class BankAccount {
                 ", userId=" + userId +
                 ", accountType='" + accountType + '\'' +
                 ", balance=" + balance +
-                ", creationDate=" + creationDate +
+                ", creationDate=" + getCreationDate() +
                 ", isActive=" + isActive +
                 ", isFrozen=" + isFrozen +
                 ", transactionsCount=" + (transactions != null ? transactions.size() : 0) +
@@ -0,0 +1,50 @@
+package com.bankease.model;
+
+/**
+ * Outcome of a bulk account update
+ */
+public class BulkUpdateResult {
+    private final int matched;
+    private final int updated;
+    private final int chunks;
+    private final long elapsedMillis;
+
+    public BulkUpdateResult(int matched, int updated, int chunks, long elapsedMillis) {
+        this.matched = matched;
+        this.updated = updated;
+        this.chunks = chunks;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    /**
+     * @return accounts that matched the criteria and needed the update
+     */
+    public int getMatched() {
+        return matched;
+    }
+
+    /**
+     * @return accounts actually updated
+     */
+    public int getUpdated() {
+        return updated;
+    }
+
+    public int getChunks() {
+        return chunks;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "BulkUpdateResult{" +
+                "matched=" + matched +
+                ", updated=" + updated +
+                ", chunks=" + chunks +
+                ", elapsedMillis=" + elapsedMillis +
+                '}';
+    }
+}
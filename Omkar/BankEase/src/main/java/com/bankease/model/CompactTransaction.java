@@ -0,0 +1,104 @@
+package com.bankease.model;
+
+import com.bankease.utils.MoneyUtils;
+import com.bankease.utils.TimeUtils;
+
+/**
+ * Compact, immutable transaction row used for bulk listings.
+ * Holds only primitives: the amount in cents, the timestamp as epoch milliseconds and
+ * the type and status as byte codes. Descriptions and counterpart account numbers are
+ * not carried; load the full Transaction when they are needed.
+ */
+public final class CompactTransaction {
+    private final int transactionId;
+    private final int accountId;
+    private final long amountCents;
+    private final long timestampMillis;
+    private final byte typeCode;
+    private final byte statusCode;
+
+    public CompactTransaction(int transactionId, int accountId, long amountCents, long timestampMillis,
+                              byte typeCode, byte statusCode) {
+        this.transactionId = transactionId;
+        this.accountId = accountId;
+        this.amountCents = amountCents;
+        this.timestampMillis = timestampMillis;
+        this.typeCode = typeCode;
+        this.statusCode = statusCode;
+    }
+
+    // Getters
+    public int getTransactionId() {
+        return transactionId;
+    }
+
+    public int getAccountId() {
+        return accountId;
+    }
+
+    public long getAmountCents() {
+        return amountCents;
+    }
+
+    public double getAmount() {
+        return MoneyUtils.fromCents(amountCents);
+    }
+
+    public long getTimestampMillis() {
+        return timestampMillis;
+    }
+
+    public byte getTypeCode() {
+        return typeCode;
+    }
+
+    public byte getStatusCode() {
+        return statusCode;
+    }
+
+    public TransactionType getType() {
+        return TransactionType.fromCode(typeCode);
+    }
+
+    public TransactionStatus getTransactionStatus() {
+        return TransactionStatus.fromCode(statusCode);
+    }
+
+    public String getTransactionType() {
+        return getType().name();
+    }
+
+    public String getStatus() {
+        return getTransactionStatus().name();
+    }
+
+    public String getFormattedTimestamp() {
+        return TimeUtils.fromEpochMillis(timestampMillis)
+                .format(java.time.format.DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
+    }
+
+    @Override
+    public String toString() {
+        return "CompactTransaction{" +
+                "transactionId=" + transactionId +
+                ", transactionType=" + getType() +
+                ", accountId=" + accountId +
+                ", amountCents=" + amountCents +
+                ", timestampMillis=" + timestampMillis +
+                ", status=" + getTransactionStatus() +
+                '}';
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+        CompactTransaction that = (CompactTransaction) obj;
+        return transactionId == that.transactionId;
+    }
+
+    @Override
+    public int hashCode() {
+        return Integer.hashCode(transactionId);
+    }
+}
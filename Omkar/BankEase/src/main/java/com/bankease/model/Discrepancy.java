@@ -0,0 +1,72 @@
+package com.bankease.model;
+
+import com.bankease.utils.MoneyUtils;
+
+/**
+ * An account whose stored balance differs from the balance implied by its journal
+ */
+public class Discrepancy {
+    private final int accountId;
+    private final String accountNumber;
+    private final long balanceCents;
+    private final long journalCents;
+    private final boolean confirmed;
+
+    /**
+     * @param accountId account ID
+     * @param accountNumber account number
+     * @param balanceCents stored balance in cents
+     * @param journalCents journal sum in cents
+     * @param confirmed true if the difference was still present when re-checked
+     */
+    public Discrepancy(int accountId, String accountNumber, long balanceCents, long journalCents, boolean confirmed) {
+        this.accountId = accountId;
+        this.accountNumber = accountNumber;
+        this.balanceCents = balanceCents;
+        this.journalCents = journalCents;
+        this.confirmed = confirmed;
+    }
+
+    // Getters
+    public int getAccountId() {
+        return accountId;
+    }
+
+    public String getAccountNumber() {
+        return accountNumber;
+    }
+
+    public long getBalanceCents() {
+        return balanceCents;
+    }
+
+    public long getJournalCents() {
+        return journalCents;
+    }
+
+    /**
+     * @return stored balance minus journal sum, in cents
+     */
+    public long getDifferenceCents() {
+        return balanceCents - journalCents;
+    }
+
+    public double getDifference() {
+        return MoneyUtils.fromCents(getDifferenceCents());
+    }
+
+    public boolean isConfirmed() {
+        return confirmed;
+    }
+
+    @Override
+    public String toString() {
+        return "Discrepancy{" +
+                "accountId=" + accountId +
+                ", accountNumber='" + accountNumber + '\'' +
+                ", balanceCents=" + balanceCents +
+                ", journalCents=" + journalCents +
+                ", confirmed=" + confirmed +
+                '}';
+    }
+}
@@ -0,0 +1,115 @@
+package com.bankease.model;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Selects the accounts affected by a bulk freeze or unfreeze.
+ * Every criterion that is set must match; unset criteria are ignored.
+ */
+public class FreezeCriteria {
+    private List<Integer> userIds;
+    private List<String> accountNumbers;
+    private AccountType accountType;
+    private LocalDateTime createdFrom;
+    private LocalDateTime createdTo;
+
+    // Constructors
+    public FreezeCriteria() {
+    }
+
+    public static FreezeCriteria forUsers(List<Integer> userIds) {
+        FreezeCriteria criteria = new FreezeCriteria();
+        criteria.setUserIds(userIds);
+        return criteria;
+    }
+
+    public static FreezeCriteria forAccountNumbers(List<String> accountNumbers) {
+        FreezeCriteria criteria = new FreezeCriteria();
+        criteria.setAccountNumbers(accountNumbers);
+        return criteria;
+    }
+
+    public static FreezeCriteria forAccountType(AccountType accountType) {
+        FreezeCriteria criteria = new FreezeCriteria();
+        criteria.setAccountType(accountType);
+        return criteria;
+    }
+
+    public static FreezeCriteria forCreationRange(LocalDateTime createdFrom, LocalDateTime createdTo) {
+        FreezeCriteria criteria = new FreezeCriteria();
+        criteria.setCreatedFrom(createdFrom);
+        criteria.setCreatedTo(createdTo);
+        return criteria;
+    }
+
+    /**
+     * Check whether no criterion is set, which would select every account
+     * @return true if no criterion is set
+     */
+    public boolean isEmpty() {
+        return (userIds == null || userIds.isEmpty())
+                && (accountNumbers == null || accountNumbers.isEmpty())
+                && accountType == null
+                && createdFrom == null
+                && createdTo == null;
+    }
+
+    // Getters and Setters
+    public List<Integer> getUserIds() {
+        return userIds;
+    }
+
+    public void setUserIds(List<Integer> userIds) {
+        this.userIds = userIds;
+    }
+
+    public List<String> getAccountNumbers() {
+        return accountNumbers;
+    }
+
+    public void setAccountNumbers(List<String> accountNumbers) {
+        this.accountNumbers = accountNumbers;
+    }
+
+    public AccountType getAccountType() {
+        return accountType;
+    }
+
+    public void setAccountType(AccountType accountType) {
+        this.accountType = accountType;
+    }
+
+    public LocalDateTime getCreatedFrom() {
+        return createdFrom;
+    }
+
+    /**
+     * @param createdFrom earliest creation date (inclusive)
+     */
+    public void setCreatedFrom(LocalDateTime createdFrom) {
+        this.createdFrom = createdFrom;
+    }
+
+    public LocalDateTime getCreatedTo() {
+        return createdTo;
+    }
+
+    /**
+     * @param createdTo latest creation date (exclusive)
+     */
+    public void setCreatedTo(LocalDateTime createdTo) {
+        this.createdTo = createdTo;
+    }
+
+    @Override
+    public String toString() {
+        return "FreezeCriteria{" +
+                "userIds=" + (userIds == null ? null : userIds.size() + " ids") +
+                ", accountNumbers=" + (accountNumbers == null ? null : accountNumbers.size() + " numbers") +
+                ", accountType=" + accountType +
+                ", createdFrom=" + createdFrom +
+                ", createdTo=" + createdTo +
+                '}';
+    }
+}
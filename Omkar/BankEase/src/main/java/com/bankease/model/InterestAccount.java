@@ -0,0 +1,70 @@
+package com.bankease.model;
+
+import java.time.LocalDate;
+
+/**
+ * Interest-bearing account as read by the interest accrual job
+ */
+public class InterestAccount {
+    private final int accountId;
+    private final int userId;
+    private final String accountNumber;
+    private final AccountType accountType;
+    private final long balanceCents;
+    private final long accruedInterestCents;
+    private final LocalDate maturityDate;
+
+    public InterestAccount(int accountId, String accountNumber, AccountType accountType,
+                           long balanceCents, long accruedInterestCents, LocalDate maturityDate) {
+        this(accountId, 0, accountNumber, accountType, balanceCents, accruedInterestCents, maturityDate);
+    }
+
+    public InterestAccount(int accountId, int userId, String accountNumber, AccountType accountType,
+                           long balanceCents, long accruedInterestCents, LocalDate maturityDate) {
+        this.accountId = accountId;
+        this.userId = userId;
+        this.accountNumber = accountNumber;
+        this.accountType = accountType;
+        this.balanceCents = balanceCents;
+        this.accruedInterestCents = accruedInterestCents;
+        this.maturityDate = maturityDate;
+    }
+
+    // Getters
+    public int getAccountId() {
+        return accountId;
+    }
+
+    /**
+     * @return owning user ID, or 0 if not known
+     */
+    public int getUserId() {
+        return userId;
+    }
+
+    public String getAccountNumber() {
+        return accountNumber;
+    }
+
+    public AccountType getAccountType() {
+        return accountType;
+    }
+
+    public long getBalanceCents() {
+        return balanceCents;
+    }
+
+    /**
+     * @return interest accrued on a fixed deposit but not yet paid into the balance
+     */
+    public long getAccruedInterestCents() {
+        return accruedInterestCents;
+    }
+
+    /**
+     * @return fixed deposit maturity date, or null for an open-ended deposit
+     */
+    public LocalDate getMaturityDate() {
+        return maturityDate;
+    }
+}
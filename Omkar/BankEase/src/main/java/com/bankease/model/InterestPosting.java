@@ -0,0 +1,72 @@
+package com.bankease.model;
+
+/**
+ * Interest to apply to one account for one run date
+ */
+public class InterestPosting {
+    private final int accountId;
+    private final String accountNumber;
+    private final long creditCents;
+    private final long accruedDeltaCents;
+    private final boolean maturity;
+    private Transaction journal;
+
+    /**
+     * @param accountId account ID
+     * @param accountNumber account number
+     * @param creditCents amount paid into the balance
+     * @param accruedDeltaCents change to the accrued (unpaid) interest
+     * @param maturity true if this posting pays out a matured fixed deposit
+     */
+    public InterestPosting(int accountId, String accountNumber, long creditCents, long accruedDeltaCents,
+                           boolean maturity) {
+        this.accountId = accountId;
+        this.accountNumber = accountNumber;
+        this.creditCents = creditCents;
+        this.accruedDeltaCents = accruedDeltaCents;
+        this.maturity = maturity;
+    }
+
+    // Getters
+    public int getAccountId() {
+        return accountId;
+    }
+
+    public String getAccountNumber() {
+        return accountNumber;
+    }
+
+    public long getCreditCents() {
+        return creditCents;
+    }
+
+    public long getAccruedDeltaCents() {
+        return accruedDeltaCents;
+    }
+
+    public boolean isMaturity() {
+        return maturity;
+    }
+
+    /**
+     * @return journal row written when the posting was applied, or null if it credited nothing
+     *         or has not been applied
+     */
+    public Transaction getJournal() {
+        return journal;
+    }
+
+    public void setJournal(Transaction journal) {
+        this.journal = journal;
+    }
+
+    @Override
+    public String toString() {
+        return "InterestPosting{" +
+                "accountId=" + accountId +
+                ", creditCents=" + creditCents +
+                ", accruedDeltaCents=" + accruedDeltaCents +
+                ", maturity=" + maturity +
+                '}';
+    }
+}
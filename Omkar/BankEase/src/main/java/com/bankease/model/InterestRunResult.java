@@ -0,0 +1,103 @@
+package com.bankease.model;
+
+import com.bankease.utils.MoneyUtils;
+
+import java.time.LocalDate;
+
+/**
+ * Outcome of an interest accrual run
+ */
+public class InterestRunResult {
+    private final LocalDate runDate;
+    private final boolean alreadyCompleted;
+    private final int resumedAfterAccountId;
+    private final int chunks;
+    private final int accountsPosted;
+    private final int maturities;
+    private final long creditedCents;
+    private final long accruedCents;
+    private final long elapsedMillis;
+
+    public InterestRunResult(LocalDate runDate, boolean alreadyCompleted, int resumedAfterAccountId, int chunks,
+                             int accountsPosted, int maturities, long creditedCents, long accruedCents,
+                             long elapsedMillis) {
+        this.runDate = runDate;
+        this.alreadyCompleted = alreadyCompleted;
+        this.resumedAfterAccountId = resumedAfterAccountId;
+        this.chunks = chunks;
+        this.accountsPosted = accountsPosted;
+        this.maturities = maturities;
+        this.creditedCents = creditedCents;
+        this.accruedCents = accruedCents;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    // Getters
+    public LocalDate getRunDate() {
+        return runDate;
+    }
+
+    /**
+     * @return true if the run date had already been completed and nothing was done
+     */
+    public boolean isAlreadyCompleted() {
+        return alreadyCompleted;
+    }
+
+    /**
+     * @return account ID the run resumed after, 0 for a fresh run
+     */
+    public int getResumedAfterAccountId() {
+        return resumedAfterAccountId;
+    }
+
+    public int getChunks() {
+        return chunks;
+    }
+
+    public int getAccountsPosted() {
+        return accountsPosted;
+    }
+
+    public int getMaturities() {
+        return maturities;
+    }
+
+    public long getCreditedCents() {
+        return creditedCents;
+    }
+
+    public double getCredited() {
+        return MoneyUtils.fromCents(creditedCents);
+    }
+
+    /**
+     * @return net change to accrued fixed deposit interest (negative when payouts exceed accruals)
+     */
+    public long getAccruedCents() {
+        return accruedCents;
+    }
+
+    public double getAccrued() {
+        return MoneyUtils.fromCents(accruedCents);
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "InterestRunResult{" +
+                "runDate=" + runDate +
+                ", alreadyCompleted=" + alreadyCompleted +
+                ", resumedAfterAccountId=" + resumedAfterAccountId +
+                ", chunks=" + chunks +
+                ", accountsPosted=" + accountsPosted +
+                ", maturities=" + maturities +
+                ", creditedCents=" + creditedCents +
+                ", accruedCents=" + accruedCents +
+                ", elapsedMillis=" + elapsedMillis +
+                '}';
+    }
+}
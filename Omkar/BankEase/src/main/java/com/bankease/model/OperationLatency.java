@@ -0,0 +1,76 @@
+package com.bankease.model;
+
+/**
+ * Latency distribution of one DAO or service operation in one phase
+ */
+public class OperationLatency {
+    private final String operation;
+    private final String phase;
+    private final long count;
+    private final long totalNanos;
+    private final long p50Nanos;
+    private final long p95Nanos;
+    private final long p99Nanos;
+    private final long p999Nanos;
+    private final long maxNanos;
+
+    public OperationLatency(String operation, String phase, long count, long totalNanos, long p50Nanos,
+                            long p95Nanos, long p99Nanos, long p999Nanos, long maxNanos) {
+        this.operation = operation;
+        this.phase = phase;
+        this.count = count;
+        this.totalNanos = totalNanos;
+        this.p50Nanos = p50Nanos;
+        this.p95Nanos = p95Nanos;
+        this.p99Nanos = p99Nanos;
+        this.p999Nanos = p999Nanos;
+        this.maxNanos = maxNanos;
+    }
+
+    // Getters
+    public String getOperation() {
+        return operation;
+    }
+
+    public String getPhase() {
+        return phase;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    public double getMeanNanos() {
+        return count > 0 ? (double) totalNanos / count : 0;
+    }
+
+    public long getP50Nanos() {
+        return p50Nanos;
+    }
+
+    public long getP95Nanos() {
+        return p95Nanos;
+    }
+
+    public long getP99Nanos() {
+        return p99Nanos;
+    }
+
+    public long getP999Nanos() {
+        return p999Nanos;
+    }
+
+    public long getMaxNanos() {
+        return maxNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("OperationLatency{%s %s, count=%d, p50=%dns, p99=%dns, max=%dns}",
+                           operation, phase, count, p50Nanos, p99Nanos, maxNanos);
+    }
+}
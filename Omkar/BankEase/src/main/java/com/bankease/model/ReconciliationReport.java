@@ -0,0 +1,93 @@
+package com.bankease.model;
+
+import com.bankease.utils.MoneyUtils;
+
+import java.util.List;
+
+/**
+ * Result of a balance reconciliation run
+ */
+public class ReconciliationReport {
+    private final long startedAtMillis;
+    private final long elapsedMillis;
+    private final long accountsChecked;
+    private final int partitions;
+    private final List<String> failedPartitions;
+    private final List<Discrepancy> discrepancies;
+    private final long totalBalanceCents;
+    private final long totalJournalCents;
+
+    public ReconciliationReport(long startedAtMillis, long elapsedMillis, long accountsChecked, int partitions,
+                                List<String> failedPartitions, List<Discrepancy> discrepancies,
+                                long totalBalanceCents, long totalJournalCents) {
+        this.startedAtMillis = startedAtMillis;
+        this.elapsedMillis = elapsedMillis;
+        this.accountsChecked = accountsChecked;
+        this.partitions = partitions;
+        this.failedPartitions = List.copyOf(failedPartitions);
+        this.discrepancies = List.copyOf(discrepancies);
+        this.totalBalanceCents = totalBalanceCents;
+        this.totalJournalCents = totalJournalCents;
+    }
+
+    // Getters
+    public long getStartedAtMillis() {
+        return startedAtMillis;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public long getAccountsChecked() {
+        return accountsChecked;
+    }
+
+    public int getPartitions() {
+        return partitions;
+    }
+
+    /**
+     * @return ID ranges that could not be checked, with the error
+     */
+    public List<String> getFailedPartitions() {
+        return failedPartitions;
+    }
+
+    /**
+     * @return discrepancies, largest absolute difference first
+     */
+    public List<Discrepancy> getDiscrepancies() {
+        return discrepancies;
+    }
+
+    public long getTotalBalanceCents() {
+        return totalBalanceCents;
+    }
+
+    public long getTotalJournalCents() {
+        return totalJournalCents;
+    }
+
+    public double getNetDifference() {
+        return MoneyUtils.fromCents(totalBalanceCents - totalJournalCents);
+    }
+
+    /**
+     * @return true if every partition was checked and no discrepancy was found
+     */
+    public boolean isClean() {
+        return failedPartitions.isEmpty() && discrepancies.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "ReconciliationReport{" +
+                "accountsChecked=" + accountsChecked +
+                ", partitions=" + partitions +
+                ", failedPartitions=" + failedPartitions.size() +
+                ", discrepancies=" + discrepancies.size() +
+                ", elapsedMillis=" + elapsedMillis +
+                '}';
+    }
+}
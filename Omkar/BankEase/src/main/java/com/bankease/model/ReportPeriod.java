@@ -0,0 +1,30 @@
+package com.bankease.model;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Bucket size for periodic reports
+ */
+public enum ReportPeriod {
+    DAILY,
+    WEEKLY,
+    MONTHLY;
+
+    /**
+     * First day of the bucket containing a date (weeks start on Monday)
+     * @param date date
+     * @return bucket start date
+     */
+    public LocalDate bucketStart(LocalDate date) {
+        switch (this) {
+            case WEEKLY:
+                return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTHLY:
+                return date.withDayOfMonth(1);
+            default:
+                return date;
+        }
+    }
+}
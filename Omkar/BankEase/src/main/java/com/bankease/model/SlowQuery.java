@@ -0,0 +1,72 @@
+package com.bankease.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * One statement that took longer than the slow-query threshold
+ */
+public class SlowQuery {
+    private final LocalDateTime executedAt;
+    private final String caller;
+    private final String sql;
+    private final String parameters;
+    private final long rows;
+    private final long elapsedNanos;
+
+    public SlowQuery(LocalDateTime executedAt, String caller, String sql, String parameters, long rows,
+                     long elapsedNanos) {
+        this.executedAt = executedAt;
+        this.caller = caller;
+        this.sql = sql;
+        this.parameters = parameters;
+        this.rows = rows;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    // Getters
+    public LocalDateTime getExecutedAt() {
+        return executedAt;
+    }
+
+    /**
+     * Get the DAO method that ran the statement
+     * @return caller as SimpleClassName.method
+     */
+    public String getCaller() {
+        return caller;
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    /**
+     * Get the shapes of the bound parameters, e.g. [String(12), Int x3, NULL]; values are not kept
+     * @return parameter summary
+     */
+    public String getParameters() {
+        return parameters;
+    }
+
+    /**
+     * Get the rows read or affected
+     * @return row count, or -1 if the driver did not report one
+     */
+    public long getRows() {
+        return rows;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public double getElapsedMillis() {
+        return elapsedNanos / 1_000_000.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("SlowQuery{caller='%s', elapsedMillis=%.1f, rows=%d, parameters=%s}",
+                           caller, getElapsedMillis(), rows, parameters);
+    }
+}
@@ -0,0 +1,175 @@
+package com.bankease.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * StandingOrder model class representing a recurring transfer
+ */
+public class StandingOrder {
+    private int orderId;
+    private int userId;
+    private String fromAccountNumber;
+    private String toAccountNumber;
+    private double amount;
+    private String description;
+    private StandingOrderFrequency frequency;
+    private LocalDateTime startAt;
+    private LocalDateTime nextRunAt;
+    private int runCount;
+    private boolean isActive;
+    private int failureCount;
+    private String lastStatus;
+
+    // Constructors
+    public StandingOrder() {
+        this.isActive = true;
+    }
+
+    public StandingOrder(int userId, String fromAccountNumber, String toAccountNumber, double amount,
+                         String description, StandingOrderFrequency frequency, LocalDateTime startAt) {
+        this();
+        this.userId = userId;
+        this.fromAccountNumber = fromAccountNumber;
+        this.toAccountNumber = toAccountNumber;
+        this.amount = amount;
+        this.description = description;
+        this.frequency = frequency;
+        this.startAt = startAt;
+        this.nextRunAt = startAt;
+    }
+
+    /**
+     * Run count after the next run is claimed. Runs that fell due while nothing claimed
+     * them, such as during downtime, are skipped instead of being made back to back.
+     * @param now current time
+     * @return number of periods from the first run to the first run after now
+     */
+    public int getFollowingRunCount(LocalDateTime now) {
+        int following = runCount + 1;
+        while (!frequency.occurrence(startAt, following).isAfter(now)) {
+            following++;
+        }
+        return following;
+    }
+
+    // Getters and Setters
+    public int getOrderId() {
+        return orderId;
+    }
+
+    public void setOrderId(int orderId) {
+        this.orderId = orderId;
+    }
+
+    public int getUserId() {
+        return userId;
+    }
+
+    public void setUserId(int userId) {
+        this.userId = userId;
+    }
+
+    public String getFromAccountNumber() {
+        return fromAccountNumber;
+    }
+
+    public void setFromAccountNumber(String fromAccountNumber) {
+        this.fromAccountNumber = fromAccountNumber;
+    }
+
+    public String getToAccountNumber() {
+        return toAccountNumber;
+    }
+
+    public void setToAccountNumber(String toAccountNumber) {
+        this.toAccountNumber = toAccountNumber;
+    }
+
+    public double getAmount() {
+        return amount;
+    }
+
+    public void setAmount(double amount) {
+        this.amount = amount;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public StandingOrderFrequency getFrequency() {
+        return frequency;
+    }
+
+    public void setFrequency(StandingOrderFrequency frequency) {
+        this.frequency = frequency;
+    }
+
+    public LocalDateTime getStartAt() {
+        return startAt;
+    }
+
+    public void setStartAt(LocalDateTime startAt) {
+        this.startAt = startAt;
+    }
+
+    public LocalDateTime getNextRunAt() {
+        return nextRunAt;
+    }
+
+    public void setNextRunAt(LocalDateTime nextRunAt) {
+        this.nextRunAt = nextRunAt;
+    }
+
+    /**
+     * @return number of periods from the first run to the next one, including skipped runs
+     */
+    public int getRunCount() {
+        return runCount;
+    }
+
+    public void setRunCount(int runCount) {
+        this.runCount = runCount;
+    }
+
+    public boolean isActive() {
+        return isActive;
+    }
+
+    public void setActive(boolean active) {
+        isActive = active;
+    }
+
+    public int getFailureCount() {
+        return failureCount;
+    }
+
+    public void setFailureCount(int failureCount) {
+        this.failureCount = failureCount;
+    }
+
+    public String getLastStatus() {
+        return lastStatus;
+    }
+
+    public void setLastStatus(String lastStatus) {
+        this.lastStatus = lastStatus;
+    }
+
+    @Override
+    public String toString() {
+        return "StandingOrder{" +
+                "orderId=" + orderId +
+                ", fromAccountNumber='" + fromAccountNumber + '\'' +
+                ", toAccountNumber='" + toAccountNumber + '\'' +
+                ", amount=" + amount +
+                ", frequency=" + frequency +
+                ", nextRunAt=" + nextRunAt +
+                ", isActive=" + isActive +
+                '}';
+    }
+}
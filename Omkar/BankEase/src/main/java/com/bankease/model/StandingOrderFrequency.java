@@ -0,0 +1,31 @@
+package com.bankease.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * How often a standing order repeats
+ */
+public enum StandingOrderFrequency {
+    DAILY,
+    WEEKLY,
+    MONTHLY;
+
+    /**
+     * Time of the n-th run after the first. Monthly runs are derived from the first run,
+     * so an order starting on the 31st runs on the last day of shorter months and returns
+     * to the 31st afterwards.
+     * @param startAt time of the first run
+     * @param n number of periods after the first run
+     * @return run time
+     */
+    public LocalDateTime occurrence(LocalDateTime startAt, int n) {
+        switch (this) {
+            case WEEKLY:
+                return startAt.plusWeeks(n);
+            case MONTHLY:
+                return startAt.plusMonths(n);
+            default:
+                return startAt.plusDays(n);
+        }
+    }
+}
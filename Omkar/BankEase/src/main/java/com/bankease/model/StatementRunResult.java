@@ -0,0 +1,90 @@
+package com.bankease.model;
+
+import java.nio.file.Path;
+import java.time.YearMonth;
+
+/**
+ * Outcome and throughput of a statement generation run
+ */
+public class StatementRunResult {
+    private final YearMonth month;
+    private final Path directory;
+    private final int statementsWritten;
+    private final int statementsSkipped;
+    private final long accounts;
+    private final long transactions;
+    private final long bytesWritten;
+    private final long elapsedMillis;
+
+    public StatementRunResult(YearMonth month, Path directory, int statementsWritten, int statementsSkipped,
+                              long accounts, long transactions, long bytesWritten, long elapsedMillis) {
+        this.month = month;
+        this.directory = directory;
+        this.statementsWritten = statementsWritten;
+        this.statementsSkipped = statementsSkipped;
+        this.accounts = accounts;
+        this.transactions = transactions;
+        this.bytesWritten = bytesWritten;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    // Getters
+    public YearMonth getMonth() {
+        return month;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    public int getStatementsWritten() {
+        return statementsWritten;
+    }
+
+    /**
+     * @return statements already present from an earlier run and left untouched
+     */
+    public int getStatementsSkipped() {
+        return statementsSkipped;
+    }
+
+    public long getAccounts() {
+        return accounts;
+    }
+
+    public long getTransactions() {
+        return transactions;
+    }
+
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public double getStatementsPerSecond() {
+        return perSecond(statementsWritten);
+    }
+
+    public double getTransactionsPerSecond() {
+        return perSecond(transactions);
+    }
+
+    private double perSecond(long count) {
+        return elapsedMillis > 0 ? count * 1000.0 / elapsedMillis : count;
+    }
+
+    @Override
+    public String toString() {
+        return "StatementRunResult{" +
+                "month=" + month +
+                ", statementsWritten=" + statementsWritten +
+                ", statementsSkipped=" + statementsSkipped +
+                ", transactions=" + transactions +
+                ", bytesWritten=" + bytesWritten +
+                ", elapsedMillis=" + elapsedMillis +
+                '}';
+    }
+}
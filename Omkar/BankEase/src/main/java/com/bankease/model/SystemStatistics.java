@@ -0,0 +1,86 @@
+package com.bankease.model;
+
+import com.bankease.utils.TimeUtils;
+
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Point-in-time snapshot of system-wide statistics for the admin dashboard
+ */
+public class SystemStatistics {
+    private final long totalUsers;
+    private final long totalAccounts;
+    private final long totalTransactions;
+    private final double totalBalance;
+    private final long computedAtMillis;
+
+    public SystemStatistics(long totalUsers, long totalAccounts, long totalTransactions,
+                            double totalBalance, long computedAtMillis) {
+        this.totalUsers = totalUsers;
+        this.totalAccounts = totalAccounts;
+        this.totalTransactions = totalTransactions;
+        this.totalBalance = totalBalance;
+        this.computedAtMillis = computedAtMillis;
+    }
+
+    // Getters
+    public long getTotalUsers() {
+        return totalUsers;
+    }
+
+    public long getTotalAccounts() {
+        return totalAccounts;
+    }
+
+    public long getTotalTransactions() {
+        return totalTransactions;
+    }
+
+    public double getTotalBalance() {
+        return totalBalance;
+    }
+
+    public long getComputedAtMillis() {
+        return computedAtMillis;
+    }
+
+    // Business methods
+    /**
+     * Age of this snapshot
+     * @return milliseconds since the snapshot was computed
+     */
+    public long getAgeMillis() {
+        return Math.max(0, System.currentTimeMillis() - computedAtMillis);
+    }
+
+    public String getFormattedComputedAt() {
+        return TimeUtils.fromEpochMillis(computedAtMillis).format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
+    }
+
+    /**
+     * Human readable staleness, e.g. "as of 2025-08-12 07:13:05, 12s ago"
+     * @return staleness description
+     */
+    public String getStalenessDescription() {
+        return "as of " + getFormattedComputedAt() + ", " + (getAgeMillis() / 1000) + "s ago";
+    }
+
+    /**
+     * Statistics in the legacy array layout
+     * @return array with [totalUsers, totalAccounts, totalTransactions, totalBalance]
+     */
+    public double[] toArray() {
+        return new double[]{totalUsers, totalAccounts, totalTransactions, totalBalance};
+    }
+
+    @Override
+    public String toString() {
+        return "SystemStatistics{" +
+                "totalUsers=" + totalUsers +
+                ", totalAccounts=" + totalAccounts +
+                ", totalTransactions=" + totalTransactions +
+                ", totalBalance=" + totalBalance +
+                ", computedAt=" + getFormattedComputedAt() +
+                '}';
+    }
+}
@@ -1,28 +1,39 @@
 package com.bankease.model;
 
+import com.bankease.utils.TimeUtils;
+
 import java.time.LocalDateTime;
 
 /**
- * Transaction model class representing a bank transaction
+ * Transaction model class representing a bank transaction.
+ * Type and status are held as shared enum constants and the timestamp as epoch
+ * milliseconds, so a mapped row carries no per-row String or LocalDateTime for them.
  */
 public class Transaction {
     private int transactionId;
-    private String transactionType; // DEPOSIT, WITHDRAWAL, TRANSFER_IN, TRANSFER_OUT
+    private TransactionType transactionType;
     private int accountId;
     private String fromAccountNumber;
     private String toAccountNumber;
     private double amount;
     private String description;
-    private LocalDateTime timestamp;
-    private String status; // PENDING, COMPLETED, FAILED, CANCELLED
+    private long timestampMillis;
+    private TransactionStatus status;
 
     // Constructors
     public Transaction() {
-        this.timestamp = LocalDateTime.now();
-        this.status = "PENDING";
+        this.timestampMillis = System.currentTimeMillis();
+        this.status = TransactionStatus.PENDING;
     }
 
+    /**
+     * Create a transaction from a type name; an unknown name leaves the type unset
+     */
     public Transaction(String transactionType, int accountId, double amount, String description) {
+        this(TransactionType.lookup(transactionType), accountId, amount, description);
+    }
+
+    public Transaction(TransactionType transactionType, int accountId, double amount, String description) {
         this();
         this.transactionType = transactionType;
         this.accountId = accountId;
@@ -30,10 +41,13 @@ public class Transaction {
         this.description = description;
     }
 
+    /**
+     * Create a transfer transaction from a type name; an unknown name leaves the type unset
+     */
     public Transaction(String transactionType, String fromAccountNumber, String toAccountNumber, 
                      double amount, String description) {
         this();
-        this.transactionType = transactionType;
+        this.transactionType = TransactionType.lookup(transactionType);
         this.fromAccountNumber = fromAccountNumber;
         this.toAccountNumber = toAccountNumber;
         this.amount = amount;
@@ -50,10 +64,21 @@ public class Transaction {
     }
 
     public String getTransactionType() {
-        return transactionType;
+        return transactionType != null ? transactionType.name() : null;
     }
 
+    /**
+     * Set the transaction type by name; an unknown name leaves the type unset
+     */
     public void setTransactionType(String transactionType) {
+        this.transactionType = TransactionType.lookup(transactionType);
+    }
+
+    public TransactionType getType() {
+        return transactionType;
+    }
+
+    public void setType(TransactionType transactionType) {
         this.transactionType = transactionType;
     }
 
@@ -98,44 +123,60 @@ public class Transaction {
     }
 
     public LocalDateTime getTimestamp() {
-        return timestamp;
+        return TimeUtils.fromEpochMillis(timestampMillis);
     }
 
     public void setTimestamp(LocalDateTime timestamp) {
-        this.timestamp = timestamp;
+        this.timestampMillis = TimeUtils.toEpochMillis(timestamp);
+    }
+
+    public long getTimestampMillis() {
+        return timestampMillis;
+    }
+
+    public void setTimestampMillis(long timestampMillis) {
+        this.timestampMillis = timestampMillis;
     }
 
     public String getStatus() {
-        return status;
+        return status != null ? status.name() : null;
     }
 
     public void setStatus(String status) {
+        this.status = TransactionStatus.fromName(status);
+    }
+
+    public TransactionStatus getTransactionStatus() {
+        return status;
+    }
+
+    public void setTransactionStatus(TransactionStatus status) {
         this.status = status;
     }
 
     // Business methods
     public boolean isCompleted() {
-        return "COMPLETED".equals(status);
+        return status == TransactionStatus.COMPLETED;
     }
 
     public boolean isFailed() {
-        return "FAILED".equals(status);
+        return status == TransactionStatus.FAILED;
     }
 
     public boolean isPending() {
-        return "PENDING".equals(status);
+        return status == TransactionStatus.PENDING;
     }
 
     public boolean isTransfer() {
-        return "TRANSFER_IN".equals(transactionType) || "TRANSFER_OUT".equals(transactionType);
+        return transactionType == TransactionType.TRANSFER_IN || transactionType == TransactionType.TRANSFER_OUT;
     }
 
     public boolean isDeposit() {
-        return "DEPOSIT".equals(transactionType);
+        return transactionType == TransactionType.DEPOSIT;
     }
 
     public boolean isWithdrawal() {
-        return "WITHDRAWAL".equals(transactionType);
+        return transactionType == TransactionType.WITHDRAWAL;
     }
 
     public String getFormattedAmount() {
@@ -143,7 +184,7 @@ public class Transaction {
     }
 
     public String getFormattedTimestamp() {
-        return timestamp.format(java.time.format.DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
+        return getTimestamp().format(java.time.format.DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
     }
 
     @Override
@@ -156,7 +197,7 @@ public class Transaction {
                 ", toAccountNumber='" + toAccountNumber + '\'' +
                 ", amount=" + amount +
                 ", description='" + description + '\'' +
-                ", timestamp=" + timestamp +
+                ", timestamp=" + getTimestamp() +
                 ", status='" + status + '\'' +
                 '}';
     }
@@ -0,0 +1,221 @@
+package com.bankease.model;
+
+import java.util.Arrays;
+
+/**
+ * Columnar (struct-of-arrays) block of transactions for bulk analytics.
+ * Each column is a primitive array indexed by row, so aggregates run as tight loops
+ * over contiguous memory instead of walking a list of Transaction objects.
+ * Not thread-safe; a block is filled by one reader and then queried.
+ */
+public class TransactionBlock {
+    private static final int DEFAULT_CAPACITY = 1024;
+    private static final int TYPE_COUNT = TransactionType.values().length;
+
+    private long[] transactionIds;
+    private int[] accountIds;
+    private long[] amountCents;
+    private long[] timestamps;
+    private byte[] types;
+    private byte[] statuses;
+    private int size;
+
+    // Constructors
+    public TransactionBlock() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public TransactionBlock(int initialCapacity) {
+        int capacity = Math.max(initialCapacity, 16);
+        this.transactionIds = new long[capacity];
+        this.accountIds = new int[capacity];
+        this.amountCents = new long[capacity];
+        this.timestamps = new long[capacity];
+        this.types = new byte[capacity];
+        this.statuses = new byte[capacity];
+    }
+
+    /**
+     * Append a row to the block
+     * @param transactionId transaction ID
+     * @param accountId account ID
+     * @param cents amount in cents
+     * @param timestampMillis timestamp as epoch milliseconds
+     * @param typeCode transaction type code
+     * @param statusCode transaction status code
+     */
+    public void add(long transactionId, int accountId, long cents, long timestampMillis,
+                    byte typeCode, byte statusCode) {
+        if (size == transactionIds.length) {
+            grow();
+        }
+        transactionIds[size] = transactionId;
+        accountIds[size] = accountId;
+        amountCents[size] = cents;
+        timestamps[size] = timestampMillis;
+        types[size] = typeCode;
+        statuses[size] = statusCode;
+        size++;
+    }
+
+    /**
+     * Append all rows of another block
+     * @param other block to append
+     */
+    public void addAll(TransactionBlock other) {
+        ensureCapacity(size + other.size);
+        System.arraycopy(other.transactionIds, 0, transactionIds, size, other.size);
+        System.arraycopy(other.accountIds, 0, accountIds, size, other.size);
+        System.arraycopy(other.amountCents, 0, amountCents, size, other.size);
+        System.arraycopy(other.timestamps, 0, timestamps, size, other.size);
+        System.arraycopy(other.types, 0, types, size, other.size);
+        System.arraycopy(other.statuses, 0, statuses, size, other.size);
+        size += other.size;
+    }
+
+    private void grow() {
+        ensureCapacity(transactionIds.length * 2);
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= transactionIds.length) {
+            return;
+        }
+        transactionIds = Arrays.copyOf(transactionIds, capacity);
+        accountIds = Arrays.copyOf(accountIds, capacity);
+        amountCents = Arrays.copyOf(amountCents, capacity);
+        timestamps = Arrays.copyOf(timestamps, capacity);
+        types = Arrays.copyOf(types, capacity);
+        statuses = Arrays.copyOf(statuses, capacity);
+    }
+
+    // Row accessors
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public long getTransactionId(int row) {
+        return transactionIds[checkRow(row)];
+    }
+
+    public int getAccountId(int row) {
+        return accountIds[checkRow(row)];
+    }
+
+    public long getAmountCents(int row) {
+        return amountCents[checkRow(row)];
+    }
+
+    public long getTimestampMillis(int row) {
+        return timestamps[checkRow(row)];
+    }
+
+    public TransactionType getType(int row) {
+        return TransactionType.fromCode(types[checkRow(row)]);
+    }
+
+    public TransactionStatus getStatus(int row) {
+        return TransactionStatus.fromCode(statuses[checkRow(row)]);
+    }
+
+    private int checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row " + row + " out of bounds for size " + size);
+        }
+        return row;
+    }
+
+    // Aggregates
+    /**
+     * Sum of all amounts
+     * @return total amount in cents
+     */
+    public long sumAmountCents() {
+        long[] amounts = amountCents;
+        long sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += amounts[i];
+        }
+        return sum;
+    }
+
+    /**
+     * Sum of amounts for one transaction type
+     * @param type transaction type
+     * @return total amount in cents
+     */
+    public long sumAmountCents(TransactionType type) {
+        long[] amounts = amountCents;
+        byte[] typeCodes = types;
+        byte code = type.getCode();
+        long sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += typeCodes[i] == code ? amounts[i] : 0L;
+        }
+        return sum;
+    }
+
+    /**
+     * Sum of amounts grouped by transaction type
+     * @return array indexed by TransactionType code with the total amount in cents
+     */
+    public long[] sumAmountCentsByType() {
+        long[] sums = new long[TYPE_COUNT];
+        for (TransactionType type : TransactionType.values()) {
+            sums[type.getCode()] = sumAmountCents(type);
+        }
+        return sums;
+    }
+
+    /**
+     * Count rows grouped by transaction type
+     * @return array indexed by TransactionType code with the row count
+     */
+    public int[] countByType() {
+        int[] counts = new int[TYPE_COUNT];
+        byte[] typeCodes = types;
+        for (int i = 0; i < size; i++) {
+            counts[typeCodes[i]]++;
+        }
+        return counts;
+    }
+
+    /**
+     * Count, minimum and maximum amount of rows in a time window
+     * @param fromMillis window start as epoch milliseconds (inclusive)
+     * @param toMillis window end as epoch milliseconds (exclusive)
+     * @return array with [count, minAmountCents, maxAmountCents]; min and max are 0 when count is 0
+     */
+    public long[] minMaxAmountCentsInWindow(long fromMillis, long toMillis) {
+        long[] amounts = amountCents;
+        long[] times = timestamps;
+        long count = 0;
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        for (int i = 0; i < size; i++) {
+            long t = times[i];
+            if (t >= fromMillis && t < toMillis) {
+                long amount = amounts[i];
+                min = Math.min(min, amount);
+                max = Math.max(max, amount);
+                count++;
+            }
+        }
+        if (count == 0) {
+            return new long[]{0, 0, 0};
+        }
+        return new long[]{count, min, max};
+    }
+
+    @Override
+    public String toString() {
+        return "TransactionBlock{" +
+                "size=" + size +
+                ", capacity=" + transactionIds.length +
+                '}';
+    }
+}
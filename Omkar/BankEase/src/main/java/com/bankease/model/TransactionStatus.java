@@ -0,0 +1,60 @@
+package com.bankease.model;
+
+/**
+ * Transaction statuses stored in transactions.status, each with a compact byte code
+ */
+public enum TransactionStatus {
+    PENDING((byte) 0),
+    COMPLETED((byte) 1),
+    FAILED((byte) 2),
+    CANCELLED((byte) 3);
+
+    private static final TransactionStatus[] BY_CODE = values();
+
+    private final byte code;
+
+    TransactionStatus(byte code) {
+        this.code = code;
+    }
+
+    public byte getCode() {
+        return code;
+    }
+
+    /**
+     * Look up a status by its byte code
+     * @param code byte code
+     * @return matching TransactionStatus
+     * @throws IllegalArgumentException if code is unknown
+     */
+    public static TransactionStatus fromCode(byte code) {
+        if (code < 0 || code >= BY_CODE.length) {
+            throw new IllegalArgumentException("Invalid transaction status code: " + code);
+        }
+        return BY_CODE[code];
+    }
+
+    /**
+     * Look up a status by its database name
+     * @param name status name, e.g. COMPLETED
+     * @return matching TransactionStatus, or null if name is null
+     * @throws IllegalArgumentException if name is unknown
+     */
+    public static TransactionStatus fromName(String name) {
+        if (name == null) {
+            return null;
+        }
+        switch (name) {
+            case "PENDING":
+                return PENDING;
+            case "COMPLETED":
+                return COMPLETED;
+            case "FAILED":
+                return FAILED;
+            case "CANCELLED":
+                return CANCELLED;
+            default:
+                throw new IllegalArgumentException("Invalid transaction status: " + name);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.bankease.model;
+
+/**
+ * Transaction types stored in transactions.transaction_type, each with a compact byte code
+ */
+public enum TransactionType {
+    DEPOSIT((byte) 0),
+    WITHDRAWAL((byte) 1),
+    TRANSFER_IN((byte) 2),
+    TRANSFER_OUT((byte) 3);
+
+    private static final TransactionType[] BY_CODE = values();
+
+    private final byte code;
+
+    TransactionType(byte code) {
+        this.code = code;
+    }
+
+    public byte getCode() {
+        return code;
+    }
+
+    /**
+     * Look up a type by its byte code
+     * @param code byte code
+     * @return matching TransactionType
+     * @throws IllegalArgumentException if code is unknown
+     */
+    public static TransactionType fromCode(byte code) {
+        if (code < 0 || code >= BY_CODE.length) {
+            throw new IllegalArgumentException("Invalid transaction type code: " + code);
+        }
+        return BY_CODE[code];
+    }
+
+    /**
+     * Look up a type by its database name
+     * @param name type name, e.g. DEPOSIT
+     * @return matching TransactionType, or null if name is null
+     * @throws IllegalArgumentException if name is unknown
+     */
+    public static TransactionType fromName(String name) {
+        TransactionType type = lookup(name);
+        if (type == null && name != null) {
+            throw new IllegalArgumentException("Invalid transaction type: " + name);
+        }
+        return type;
+    }
+
+    /**
+     * Look up a type by its database name without rejecting unknown names
+     * @param name type name, e.g. DEPOSIT
+     * @return matching TransactionType, or null if name is null or unknown
+     */
+    public static TransactionType lookup(String name) {
+        if (name == null) {
+            return null;
+        }
+        switch (name) {
+            case "DEPOSIT":
+                return DEPOSIT;
+            case "WITHDRAWAL":
+                return WITHDRAWAL;
+            case "TRANSFER_IN":
+                return TRANSFER_IN;
+            case "TRANSFER_OUT":
+                return TRANSFER_OUT;
+            default:
+                return null;
+        }
+    }
+}
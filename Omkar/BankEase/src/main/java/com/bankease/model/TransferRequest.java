@@ -0,0 +1,44 @@
+package com.bankease.model;
+
+/**
+ * One transfer in a batch of transfers
+ */
+public class TransferRequest {
+    private final String fromAccountNumber;
+    private final String toAccountNumber;
+    private final double amount;
+    private final String description;
+
+    public TransferRequest(String fromAccountNumber, String toAccountNumber, double amount, String description) {
+        this.fromAccountNumber = fromAccountNumber;
+        this.toAccountNumber = toAccountNumber;
+        this.amount = amount;
+        this.description = description;
+    }
+
+    // Getters
+    public String getFromAccountNumber() {
+        return fromAccountNumber;
+    }
+
+    public String getToAccountNumber() {
+        return toAccountNumber;
+    }
+
+    public double getAmount() {
+        return amount;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    @Override
+    public String toString() {
+        return "TransferRequest{" +
+                "fromAccountNumber='" + fromAccountNumber + '\'' +
+                ", toAccountNumber='" + toAccountNumber + '\'' +
+                ", amount=" + amount +
+                '}';
+    }
+}
@@ -0,0 +1,84 @@
+package com.bankease.model;
+
+import com.bankease.utils.MoneyUtils;
+
+import java.util.List;
+
+/**
+ * Outcome of one transfer in a batch
+ */
+public class TransferResult {
+    private final TransferRequest request;
+    private final List<Transaction> transactions;
+    private final String error;
+    private final long fromBalanceCents;
+    private final long toBalanceCents;
+
+    private TransferResult(TransferRequest request, List<Transaction> transactions, String error,
+                           long fromBalanceCents, long toBalanceCents) {
+        this.request = request;
+        this.transactions = transactions;
+        this.error = error;
+        this.fromBalanceCents = fromBalanceCents;
+        this.toBalanceCents = toBalanceCents;
+    }
+
+    /**
+     * @param request transfer request
+     * @param withdrawal saved TRANSFER_OUT transaction
+     * @param deposit saved TRANSFER_IN transaction
+     * @param fromBalanceCents source balance right after this transfer
+     * @param toBalanceCents destination balance right after this transfer
+     * @return successful result
+     */
+    public static TransferResult completed(TransferRequest request, Transaction withdrawal, Transaction deposit,
+                                           long fromBalanceCents, long toBalanceCents) {
+        return new TransferResult(request, List.of(withdrawal, deposit), null, fromBalanceCents, toBalanceCents);
+    }
+
+    /**
+     * @param request transfer request
+     * @param error reason the transfer was not made
+     * @return failed result
+     */
+    public static TransferResult failed(TransferRequest request, String error) {
+        return new TransferResult(request, List.of(), error, 0, 0);
+    }
+
+    // Getters
+    public TransferRequest getRequest() {
+        return request;
+    }
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+
+    /**
+     * @return withdrawal and deposit transactions, empty if the transfer failed
+     */
+    public List<Transaction> getTransactions() {
+        return transactions;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public double getFromBalance() {
+        return MoneyUtils.fromCents(fromBalanceCents);
+    }
+
+    public double getToBalance() {
+        return MoneyUtils.fromCents(toBalanceCents);
+    }
+
+    @Override
+    public String toString() {
+        return "TransferResult{" +
+                "request=" + request +
+                ", success=" + isSuccess() +
+                (error != null ? ", error='" + error + '\'' : "") +
+                '}';
+    }
+}
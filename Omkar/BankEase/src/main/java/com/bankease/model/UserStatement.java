@@ -0,0 +1,55 @@
+package com.bankease.model;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Monthly statement for one user covering all of their accounts
+ */
+public class UserStatement {
+    private final int userId;
+    private final String username;
+    private final String fullName;
+    private final YearMonth month;
+    private final List<AccountStatement> accounts = new ArrayList<>();
+
+    public UserStatement(int userId, String username, String fullName, YearMonth month) {
+        this.userId = userId;
+        this.username = username;
+        this.fullName = fullName;
+        this.month = month;
+    }
+
+    // Getters
+    public int getUserId() {
+        return userId;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getFullName() {
+        return fullName;
+    }
+
+    public YearMonth getMonth() {
+        return month;
+    }
+
+    public List<AccountStatement> getAccounts() {
+        return accounts;
+    }
+
+    /**
+     * @return number of transactions across all accounts
+     */
+    public int getTransactionCount() {
+        int count = 0;
+        for (AccountStatement account : accounts) {
+            count += account.getTransactions().size();
+        }
+        return count;
+    }
+}
@@ -0,0 +1,101 @@
+package com.bankease.model;
+
+import com.bankease.utils.MoneyUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Transaction volume for one report bucket, broken down by transaction type,
+ * account type and user. Amounts are held in cents.
+ */
+public class VolumeBucket {
+    private final long[] countByTransactionType = new long[TransactionType.values().length];
+    private final long[] centsByTransactionType = new long[TransactionType.values().length];
+    private final long[] centsByAccountType = new long[AccountType.values().length];
+    private final Map<Integer, Long> centsByUser = new HashMap<>();
+
+    /**
+     * Add an aggregated row
+     * @param transactionType transaction type code
+     * @param accountType account type code
+     * @param userId user ID
+     * @param count number of transactions
+     * @param cents volume in cents
+     */
+    public void add(byte transactionType, byte accountType, int userId, long count, long cents) {
+        countByTransactionType[transactionType] += count;
+        centsByTransactionType[transactionType] += cents;
+        centsByAccountType[accountType] += cents;
+        centsByUser.merge(userId, cents, Long::sum);
+    }
+
+    /**
+     * Merge another bucket into this one
+     * @param other bucket to merge
+     */
+    public void merge(VolumeBucket other) {
+        for (int i = 0; i < countByTransactionType.length; i++) {
+            countByTransactionType[i] += other.countByTransactionType[i];
+            centsByTransactionType[i] += other.centsByTransactionType[i];
+        }
+        for (int i = 0; i < centsByAccountType.length; i++) {
+            centsByAccountType[i] += other.centsByAccountType[i];
+        }
+        other.centsByUser.forEach((userId, cents) -> centsByUser.merge(userId, cents, Long::sum));
+    }
+
+    // Getters
+    public long getCount(TransactionType type) {
+        return countByTransactionType[type.getCode()];
+    }
+
+    public long getVolumeCents(TransactionType type) {
+        return centsByTransactionType[type.getCode()];
+    }
+
+    public long getVolumeCents(AccountType type) {
+        return centsByAccountType[type.getCode()];
+    }
+
+    public Map<Integer, Long> getVolumeCentsByUser() {
+        return centsByUser;
+    }
+
+    public long getTotalCount() {
+        long total = 0;
+        for (long count : countByTransactionType) {
+            total += count;
+        }
+        return total;
+    }
+
+    public long getTotalVolumeCents() {
+        long total = 0;
+        for (long cents : centsByTransactionType) {
+            total += cents;
+        }
+        return total;
+    }
+
+    public double getTotalVolume() {
+        return MoneyUtils.fromCents(getTotalVolumeCents());
+    }
+
+    /**
+     * Users with the highest volume in this bucket
+     * @param limit maximum number of users
+     * @return user IDs ordered by descending volume
+     */
+    public List<Integer> getTopUsers(int limit) {
+        List<Map.Entry<Integer, Long>> entries = new ArrayList<>(centsByUser.entrySet());
+        entries.sort(Map.Entry.<Integer, Long>comparingByValue().reversed());
+        List<Integer> top = new ArrayList<>();
+        for (int i = 0; i < entries.size() && i < limit; i++) {
+            top.add(entries.get(i).getKey());
+        }
+        return top;
+    }
+}
@@ -0,0 +1,92 @@
+package com.bankease.model;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Periodic transaction volume report: one VolumeBucket per day, week or month
+ */
+public class VolumeReport {
+    private final ReportPeriod period;
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+    private final TreeMap<LocalDate, VolumeBucket> buckets = new TreeMap<>();
+    private long elapsedMillis;
+
+    public VolumeReport(ReportPeriod period, LocalDate startDate, LocalDate endDate) {
+        this.period = period;
+        this.startDate = startDate;
+        this.endDate = endDate;
+    }
+
+    /**
+     * Get the bucket for a date, creating it if needed
+     * @param date any date inside the bucket
+     * @return VolumeBucket
+     */
+    public VolumeBucket bucketFor(LocalDate date) {
+        return buckets.computeIfAbsent(period.bucketStart(date), key -> new VolumeBucket());
+    }
+
+    /**
+     * Merge a partial report into this one
+     * @param other partial report over the same period type
+     */
+    public void merge(VolumeReport other) {
+        other.buckets.forEach((start, bucket) -> {
+            VolumeBucket existing = buckets.get(start);
+            if (existing == null) {
+                buckets.put(start, bucket);
+            } else {
+                existing.merge(bucket);
+            }
+        });
+    }
+
+    /**
+     * Totals over all buckets
+     * @return merged VolumeBucket
+     */
+    public VolumeBucket getTotals() {
+        VolumeBucket totals = new VolumeBucket();
+        buckets.values().forEach(totals::merge);
+        return totals;
+    }
+
+    // Getters
+    public ReportPeriod getPeriod() {
+        return period;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public Map<LocalDate, VolumeBucket> getBuckets() {
+        return buckets;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "VolumeReport{" +
+                "period=" + period +
+                ", startDate=" + startDate +
+                ", endDate=" + endDate +
+                ", buckets=" + buckets.size() +
+                ", elapsedMillis=" + elapsedMillis +
+                '}';
+    }
+}
@@ -0,0 +1,47 @@
+package com.bankease.rules;
+
+/**
+ * Outcome of evaluating the velocity rules for one transaction
+ */
+public class RuleDecision {
+    public static final RuleDecision ALLOW = new RuleDecision(null);
+
+    private final VelocityRule rule;
+
+    RuleDecision(VelocityRule rule) {
+        this.rule = rule;
+    }
+
+    /**
+     * @return true if no rule was exceeded
+     */
+    public boolean isAllowed() {
+        return rule == null;
+    }
+
+    /**
+     * @return true if the transaction must not be committed
+     */
+    public boolean isBlocked() {
+        return rule != null && rule.getAction() == VelocityRule.Action.BLOCK;
+    }
+
+    /**
+     * @return true if the transaction may proceed but was flagged for review
+     */
+    public boolean isFlagged() {
+        return rule != null && rule.getAction() == VelocityRule.Action.FLAG;
+    }
+
+    /**
+     * @return the most severe rule exceeded, or null if allowed
+     */
+    public VelocityRule getRule() {
+        return rule;
+    }
+
+    @Override
+    public String toString() {
+        return rule == null ? "ALLOW" : rule.toString();
+    }
+}
@@ -0,0 +1,216 @@
+package com.bankease.rules;
+
+import com.bankease.utils.DatabaseConfig;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process velocity rules evaluated on every deposit, withdrawal and transfer.
+ * <p>
+ * BankingService calls {@link #evaluate} before changing any balance, and
+ * {@link #release} if the transaction is then not committed. Evaluation adds the
+ * transaction to the per-account and per-user SlidingWindowTables first and then reads
+ * the windows back, so of two concurrent operations on the same account the later one
+ * always sees both: a BLOCK threshold can never be passed by racing it. Under such a
+ * race both may be refused, never both allowed. Evaluation reads a few dozen atomic
+ * longs and takes no locks, so it adds microseconds to each operation.
+ * <p>
+ * Rules come from rules.velocity.1, rules.velocity.2, ... and the table sizes from
+ * rules.accountSlots and rules.userSlots.
+ */
+public class RulesEngine {
+    private static final int RECENT_ALERTS = 100;
+    private static final RulesEngine INSTANCE = new RulesEngine(
+            loadRules(),
+            DatabaseConfig.getIntProperty("rules.accountSlots", 65536),
+            DatabaseConfig.getIntProperty("rules.userSlots", 32768));
+
+    private final VelocityRule[] rules;
+    private final boolean hasAccountRules;
+    private final boolean hasUserRules;
+    private final SlidingWindowTable accountWindows;
+    private final SlidingWindowTable userWindows;
+    private final AtomicLong flagged = new AtomicLong();
+    private final AtomicLong blocked = new AtomicLong();
+    private final String[] recentAlerts = new String[RECENT_ALERTS];
+    private int nextAlert;
+
+    public RulesEngine(List<VelocityRule> rules, int accountSlots, int userSlots) {
+        this.rules = rules.toArray(new VelocityRule[0]);
+        this.hasAccountRules = rules.stream().anyMatch(rule -> rule.getScope() == VelocityRule.Scope.ACCOUNT);
+        this.hasUserRules = rules.stream().anyMatch(rule -> rule.getScope() == VelocityRule.Scope.USER);
+        this.accountWindows = new SlidingWindowTable(accountSlots);
+        this.userWindows = new SlidingWindowTable(userSlots);
+    }
+
+    /**
+     * Get the shared rules engine
+     * @return RulesEngine instance
+     */
+    public static RulesEngine getInstance() {
+        return INSTANCE;
+    }
+
+    private static List<VelocityRule> loadRules() {
+        List<VelocityRule> rules = new ArrayList<>();
+        for (int i = 1; ; i++) {
+            String definition = DatabaseConfig.getProperty("rules.velocity." + i, null);
+            if (definition == null) {
+                return rules;
+            }
+            try {
+                rules.add(VelocityRule.parse(definition));
+            } catch (IllegalArgumentException e) {
+                System.err.println("Ignoring rules.velocity." + i + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Evaluate the rules for a prospective transaction and reserve it in the windows.
+     * A blocked transaction is taken out again before returning; an allowed one stays
+     * counted and must be given back with {@link #release} if it is not committed.
+     * Flagged transactions are counted and kept in the recent alerts.
+     * @param accountId account the transaction is posted to
+     * @param userId owner of the account
+     * @param cents transaction amount in cents
+     * @param nowMillis current time as epoch milliseconds; pass the same value to release
+     * @return the decision for the most severe rule exceeded
+     */
+    public RuleDecision evaluate(int accountId, int userId, long cents, long nowMillis) {
+        if (rules.length == 0) {
+            return RuleDecision.ALLOW;
+        }
+        record(accountId, userId, cents, nowMillis);
+        int windows = VelocityWindow.values().length;
+        long[] accountCounts = new long[windows];
+        long[] accountSums = new long[windows];
+        long[] userCounts = new long[windows];
+        long[] userSums = new long[windows];
+        if (hasAccountRules) {
+            accountWindows.read(accountId, nowMillis, accountCounts, accountSums);
+        }
+        if (hasUserRules) {
+            userWindows.read(userId, nowMillis, userCounts, userSums);
+        }
+        // The rules compare the history plus the prospective transaction, which is already in it
+        for (int w = 0; w < windows; w++) {
+            accountCounts[w]--;
+            accountSums[w] -= cents;
+            userCounts[w]--;
+            userSums[w] -= cents;
+        }
+        
+        VelocityRule worst = null;
+        for (VelocityRule rule : rules) {
+            boolean exceeded = rule.getScope() == VelocityRule.Scope.ACCOUNT
+                    ? rule.isExceeded(accountCounts, accountSums, cents)
+                    : rule.isExceeded(userCounts, userSums, cents);
+            if (exceeded && (worst == null || rule.getAction().compareTo(worst.getAction()) > 0)) {
+                worst = rule;
+            }
+        }
+        if (worst == null) {
+            return RuleDecision.ALLOW;
+        }
+        
+        RuleDecision decision = new RuleDecision(worst);
+        if (decision.isBlocked()) {
+            release(accountId, userId, cents, nowMillis);
+        }
+        (decision.isBlocked() ? blocked : flagged).incrementAndGet();
+        addAlert(LocalDateTime.now() + " account " + accountId + " user " + userId +
+                 " amount " + cents / 100.0 + ": " + worst);
+        return decision;
+    }
+
+    /**
+     * Add a committed transaction that was not evaluated to the account and user windows
+     * @param accountId account the transaction was posted to
+     * @param userId owner of the account
+     * @param cents transaction amount in cents
+     * @param nowMillis transaction time as epoch milliseconds
+     */
+    public void record(int accountId, int userId, long cents, long nowMillis) {
+        if (hasAccountRules) {
+            accountWindows.record(accountId, cents, nowMillis);
+        }
+        if (hasUserRules) {
+            userWindows.record(userId, cents, nowMillis);
+        }
+    }
+
+    /**
+     * Give back a transaction reserved by {@link #evaluate} that was not committed
+     * @param accountId account the transaction was evaluated for
+     * @param userId owner of the account
+     * @param cents transaction amount in cents
+     * @param reservedAtMillis time passed to evaluate
+     */
+    public void release(int accountId, int userId, long cents, long reservedAtMillis) {
+        if (hasAccountRules) {
+            accountWindows.release(accountId, cents, reservedAtMillis);
+        }
+        if (hasUserRules) {
+            userWindows.release(userId, cents, reservedAtMillis);
+        }
+    }
+
+    /**
+     * Forget all window history, decision counts and alerts, for example after switching
+     * to another database whose account and user IDs start over
+     */
+    public synchronized void reset() {
+        accountWindows.clear();
+        userWindows.clear();
+        flagged.set(0);
+        blocked.set(0);
+        Arrays.fill(recentAlerts, null);
+        nextAlert = 0;
+    }
+
+    public List<VelocityRule> getRules() {
+        return List.of(rules);
+    }
+
+    public long getFlaggedCount() {
+        return flagged.get();
+    }
+
+    public long getBlockedCount() {
+        return blocked.get();
+    }
+
+    /**
+     * Slots reused for another key, losing their window history
+     * @return account and user table evictions
+     */
+    public long getEvictions() {
+        return accountWindows.getEvictions() + userWindows.getEvictions();
+    }
+
+    /**
+     * Most recent flagged and blocked transactions, newest first
+     * @return alert descriptions
+     */
+    public synchronized List<String> getRecentAlerts() {
+        List<String> alerts = new ArrayList<>(RECENT_ALERTS);
+        for (int i = 1; i <= RECENT_ALERTS; i++) {
+            String alert = recentAlerts[(nextAlert - i + RECENT_ALERTS) % RECENT_ALERTS];
+            if (alert == null) {
+                break;
+            }
+            alerts.add(alert);
+        }
+        return alerts;
+    }
+
+    private synchronized void addAlert(String alert) {
+        recentAlerts[nextAlert] = alert;
+        nextAlert = (nextAlert + 1) % RECENT_ALERTS;
+    }
+}
@@ -0,0 +1,257 @@
+package com.bankease.rules;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size, lock-free table of per-key sliding-window counts and sums.
+ * <p>
+ * Every key maps to one of two candidate slots. A slot holds, for each VelocityWindow,
+ * a ring of buckets stored in primitive atomic arrays; each bucket packs its epoch
+ * (bucket number) with the value, so stale buckets are recognised and reset by CAS
+ * without locks. Memory is fixed by the slot count rather than by the number of keys:
+ * when both candidate slots are owned by other keys, the least recently used one is
+ * evicted and its history lost, which is counted in {@link #getEvictions()}.
+ */
+public class SlidingWindowTable {
+    private static final VelocityWindow[] WINDOWS = VelocityWindow.values();
+    private static final int[] WINDOW_OFFSETS = new int[WINDOWS.length];
+    private static final int BUCKETS_PER_SLOT;
+    private static final int VALUE_BITS = 40;
+    private static final long VALUE_MASK = (1L << VALUE_BITS) - 1;
+    private static final long EPOCH_MASK = (1L << (64 - VALUE_BITS)) - 1;
+
+    static {
+        int offset = 0;
+        for (int i = 0; i < WINDOWS.length; i++) {
+            WINDOW_OFFSETS[i] = offset;
+            offset += WINDOWS[i].getBuckets();
+        }
+        BUCKETS_PER_SLOT = offset;
+    }
+
+    private final int mask;
+    // Per slot: owning key + 1 in the high half, last touched minute in the low half; 0 = empty
+    private final AtomicLongArray tags;
+    private final AtomicLongArray counts;
+    private final AtomicLongArray sums;
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * @param slots number of slots, rounded up to a power of two
+     */
+    public SlidingWindowTable(int slots) {
+        int size = slots <= 1 ? 2 : Integer.highestOneBit(slots - 1) << 1;
+        this.mask = size - 1;
+        this.tags = new AtomicLongArray(size);
+        this.counts = new AtomicLongArray(size * BUCKETS_PER_SLOT);
+        this.sums = new AtomicLongArray(size * BUCKETS_PER_SLOT);
+    }
+
+    /**
+     * Add one event to every window of a key
+     * @param key account or user ID
+     * @param cents event amount in cents
+     * @param nowMillis event time as epoch milliseconds
+     */
+    public void record(int key, long cents, long nowMillis) {
+        int slot = claim(key, nowMillis);
+        int base = slot * BUCKETS_PER_SLOT;
+        for (int w = 0; w < WINDOWS.length; w++) {
+            VelocityWindow window = WINDOWS[w];
+            long epoch = nowMillis / window.getBucketMillis();
+            int index = base + WINDOW_OFFSETS[w] + (int) (epoch % window.getBuckets());
+            addToBucket(counts, index, epoch, 1);
+            addToBucket(sums, index, epoch, cents);
+        }
+    }
+
+    /**
+     * Take back an event added by {@link #record}. Buckets that have since moved on to a
+     * later turn of the ring, and keys that have been evicted, no longer hold the event
+     * and are left alone.
+     * @param key account or user ID
+     * @param cents event amount in cents
+     * @param timeMillis time the event was recorded at
+     */
+    public void release(int key, long cents, long timeMillis) {
+        int slot = find(key);
+        if (slot < 0) {
+            return;
+        }
+        int base = slot * BUCKETS_PER_SLOT;
+        for (int w = 0; w < WINDOWS.length; w++) {
+            VelocityWindow window = WINDOWS[w];
+            long epoch = timeMillis / window.getBucketMillis();
+            int index = base + WINDOW_OFFSETS[w] + (int) (epoch % window.getBuckets());
+            removeFromBucket(counts, index, epoch, 1);
+            removeFromBucket(sums, index, epoch, cents);
+        }
+    }
+
+    /**
+     * Read the count and sum of every window of a key
+     * @param key account or user ID
+     * @param nowMillis current time as epoch milliseconds
+     * @param countsOut receives the count per window, indexed by VelocityWindow ordinal
+     * @param sumsOut receives the sum in cents per window, indexed by VelocityWindow ordinal
+     */
+    public void read(int key, long nowMillis, long[] countsOut, long[] sumsOut) {
+        int slot = find(key);
+        for (int w = 0; w < WINDOWS.length; w++) {
+            countsOut[w] = 0;
+            sumsOut[w] = 0;
+        }
+        if (slot < 0) {
+            return;
+        }
+        int base = slot * BUCKETS_PER_SLOT;
+        for (int w = 0; w < WINDOWS.length; w++) {
+            VelocityWindow window = WINDOWS[w];
+            long current = nowMillis / window.getBucketMillis();
+            int offset = base + WINDOW_OFFSETS[w];
+            for (int b = 0; b < window.getBuckets(); b++) {
+                long count = counts.get(offset + b);
+                if (isLive(count, current, window.getBuckets())) {
+                    countsOut[w] += count & VALUE_MASK;
+                }
+                long sum = sums.get(offset + b);
+                if (isLive(sum, current, window.getBuckets())) {
+                    sumsOut[w] += sum & VALUE_MASK;
+                }
+            }
+        }
+    }
+
+    /**
+     * Number of keys whose history was dropped to make room for another key
+     * @return eviction count
+     */
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    /**
+     * Empty every slot and reset the eviction count
+     */
+    public void clear() {
+        for (int i = 0; i < tags.length(); i++) {
+            tags.set(i, 0);
+        }
+        for (int i = 0; i < counts.length(); i++) {
+            counts.set(i, 0);
+            sums.set(i, 0);
+        }
+        evictions.set(0);
+    }
+
+    public int getSlots() {
+        return mask + 1;
+    }
+
+    private static boolean isLive(long bucket, long currentEpoch, int buckets) {
+        if (bucket == 0) {
+            return false;
+        }
+        long age = (currentEpoch - (bucket >>> VALUE_BITS)) & EPOCH_MASK;
+        return age < buckets;
+    }
+
+    private static void addToBucket(AtomicLongArray array, int index, long epoch, long delta) {
+        long tag = (epoch & EPOCH_MASK) << VALUE_BITS;
+        while (true) {
+            long current = array.get(index);
+            long updated;
+            if ((current & ~VALUE_MASK) == tag) {
+                updated = tag | Math.min(VALUE_MASK, (current & VALUE_MASK) + delta);
+            } else {
+                // The bucket belongs to an older turn of the ring; start it over
+                updated = tag | Math.min(VALUE_MASK, delta);
+            }
+            if (array.compareAndSet(index, current, updated)) {
+                return;
+            }
+        }
+    }
+
+    private static void removeFromBucket(AtomicLongArray array, int index, long epoch, long delta) {
+        long tag = (epoch & EPOCH_MASK) << VALUE_BITS;
+        while (true) {
+            long current = array.get(index);
+            if (current == 0 || (current & ~VALUE_MASK) != tag) {
+                return;
+            }
+            long updated = tag | Math.max(0, (current & VALUE_MASK) - delta);
+            if (array.compareAndSet(index, current, updated)) {
+                return;
+            }
+        }
+    }
+
+    private int find(int key) {
+        long hash = mix(key);
+        int first = (int) hash & mask;
+        if (ownerOf(tags.get(first)) == key + 1L) {
+            return first;
+        }
+        int second = (int) (hash >>> 32) & mask;
+        if (ownerOf(tags.get(second)) == key + 1L) {
+            return second;
+        }
+        return -1;
+    }
+
+    private int claim(int key, long nowMillis) {
+        long owner = key + 1L;
+        long minute = (nowMillis / 60_000L) & 0xFFFFFFFFL;
+        long claimed = (owner << 32) | minute;
+        long hash = mix(key);
+        int first = (int) hash & mask;
+        int second = (int) (hash >>> 32) & mask;
+        while (true) {
+            long firstTag = tags.get(first);
+            long secondTag = tags.get(second);
+            if (ownerOf(firstTag) == owner) {
+                touch(first, firstTag, claimed);
+                return first;
+            }
+            if (ownerOf(secondTag) == owner) {
+                touch(second, secondTag, claimed);
+                return second;
+            }
+            // Prefer an empty slot, otherwise evict the one touched least recently
+            boolean useFirst = firstTag == 0
+                    || (secondTag != 0 && (firstTag & 0xFFFFFFFFL) <= (secondTag & 0xFFFFFFFFL));
+            int victim = useFirst ? first : second;
+            long victimTag = useFirst ? firstTag : secondTag;
+            if (tags.compareAndSet(victim, victimTag, claimed)) {
+                if (victimTag != 0) {
+                    evictions.incrementAndGet();
+                    int base = victim * BUCKETS_PER_SLOT;
+                    for (int i = 0; i < BUCKETS_PER_SLOT; i++) {
+                        counts.set(base + i, 0);
+                        sums.set(base + i, 0);
+                    }
+                }
+                return victim;
+            }
+        }
+    }
+
+    private void touch(int slot, long current, long claimed) {
+        if (current != claimed) {
+            // Best effort: losing this race only makes the slot look slightly older
+            tags.compareAndSet(slot, current, claimed);
+        }
+    }
+
+    private static long ownerOf(long tag) {
+        return tag >>> 32;
+    }
+
+    private static long mix(int key) {
+        long z = key * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 32)) * 0xD6E8FEB86659FD93L;
+        return z ^ (z >>> 32);
+    }
+}
@@ -0,0 +1,118 @@
+package com.bankease.rules;
+
+import com.bankease.utils.MoneyUtils;
+
+/**
+ * Threshold on the count or sum of transactions in a sliding window.
+ * Rules are configured as "SCOPE WINDOW METRIC THRESHOLD ACTION", for example
+ * "ACCOUNT 1m COUNT 10 BLOCK" or "USER 24h SUM 50000 FLAG" (SUM thresholds in dollars).
+ */
+public class VelocityRule {
+
+    /**
+     * Whose windows the rule looks at
+     */
+    public enum Scope {
+        ACCOUNT,
+        USER
+    }
+
+    /**
+     * Which window aggregate the rule compares
+     */
+    public enum Metric {
+        COUNT,
+        SUM
+    }
+
+    /**
+     * What happens when the threshold is exceeded; later constants are more severe
+     */
+    public enum Action {
+        FLAG,
+        BLOCK
+    }
+
+    private final Scope scope;
+    private final VelocityWindow window;
+    private final Metric metric;
+    private final long threshold;
+    private final Action action;
+
+    /**
+     * @param scope account or user windows
+     * @param window window length
+     * @param metric count or sum
+     * @param threshold largest allowed count, or sum in cents
+     * @param action action when the threshold is exceeded
+     */
+    public VelocityRule(Scope scope, VelocityWindow window, Metric metric, long threshold, Action action) {
+        this.scope = scope;
+        this.window = window;
+        this.metric = metric;
+        this.threshold = threshold;
+        this.action = action;
+    }
+
+    /**
+     * Parse a rule definition
+     * @param definition e.g. "ACCOUNT 1h SUM 10000 BLOCK"
+     * @return VelocityRule
+     * @throws IllegalArgumentException if the definition is malformed
+     */
+    public static VelocityRule parse(String definition) {
+        String[] parts = definition.trim().split("\\s+");
+        if (parts.length != 5) {
+            throw new IllegalArgumentException("Invalid velocity rule: " + definition);
+        }
+        Scope scope = Scope.valueOf(parts[0].toUpperCase());
+        VelocityWindow window = VelocityWindow.fromLabel(parts[1]);
+        Metric metric = Metric.valueOf(parts[2].toUpperCase());
+        long threshold = metric == Metric.SUM
+                ? MoneyUtils.toCents(Double.parseDouble(parts[3]))
+                : Long.parseLong(parts[3]);
+        Action action = Action.valueOf(parts[4].toUpperCase());
+        return new VelocityRule(scope, window, metric, threshold, action);
+    }
+
+    /**
+     * Check whether a prospective transaction would exceed the threshold
+     * @param counts current count per window of the rule's scope
+     * @param sums current sum in cents per window of the rule's scope
+     * @param cents amount of the prospective transaction in cents
+     * @return true if the threshold would be exceeded
+     */
+    public boolean isExceeded(long[] counts, long[] sums, long cents) {
+        int w = window.ordinal();
+        long value = metric == Metric.COUNT ? counts[w] + 1 : sums[w] + cents;
+        return value > threshold;
+    }
+
+    // Getters
+    public Scope getScope() {
+        return scope;
+    }
+
+    public VelocityWindow getWindow() {
+        return window;
+    }
+
+    public Metric getMetric() {
+        return metric;
+    }
+
+    public long getThreshold() {
+        return threshold;
+    }
+
+    public Action getAction() {
+        return action;
+    }
+
+    @Override
+    public String toString() {
+        return scope + " " + window.getLabel() + " " + metric + " > " +
+                (metric == Metric.SUM ? "$" + MoneyUtils.fromCents(threshold) : String.valueOf(threshold)) +
+                " -> " + action;
+    }
+}
@@ -0,0 +1,53 @@
+package com.bankease.rules;
+
+/**
+ * Sliding windows tracked per account and per user.
+ * Each window is a ring of fixed-width buckets, so a window query covers between
+ * (buckets - 1) / buckets and all of the window length.
+ */
+public enum VelocityWindow {
+    ONE_MINUTE("1m", 60_000L, 4),
+    ONE_HOUR("1h", 3_600_000L, 6),
+    ONE_DAY("24h", 86_400_000L, 8);
+
+    private final String label;
+    private final long lengthMillis;
+    private final int buckets;
+
+    VelocityWindow(String label, long lengthMillis, int buckets) {
+        this.label = label;
+        this.lengthMillis = lengthMillis;
+        this.buckets = buckets;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public long getLengthMillis() {
+        return lengthMillis;
+    }
+
+    public int getBuckets() {
+        return buckets;
+    }
+
+    public long getBucketMillis() {
+        return lengthMillis / buckets;
+    }
+
+    /**
+     * Look up a window by its label
+     * @param label window label, e.g. 1h
+     * @return matching VelocityWindow
+     * @throws IllegalArgumentException if label is unknown
+     */
+    public static VelocityWindow fromLabel(String label) {
+        for (VelocityWindow window : values()) {
+            if (window.label.equalsIgnoreCase(label)) {
+                return window;
+            }
+        }
+        throw new IllegalArgumentException("Invalid velocity window: " + label);
+    }
+}
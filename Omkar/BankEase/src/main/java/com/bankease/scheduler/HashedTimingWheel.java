@@ -0,0 +1,179 @@
+package com.bankease.scheduler;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Hashed timing wheel that fires tasks at their deadlines with O(1) scheduling.
+ * <p>
+ * The wheel has wheelSize buckets, each covering tickMillis. A task is placed in the bucket
+ * of its deadline tick together with the number of full rotations still to wait, so far
+ * deadlines cost nothing until their final rotation. A single daemon thread advances one
+ * bucket per tick and hands every task that expired in that tick to the expiry handler as
+ * one list, which lets tasks sharing a deadline be processed together. The handler runs
+ * on the wheel thread and should hand work off quickly. Deadlines are accurate to one tick.
+ * @param <T> task type
+ */
+public class HashedTimingWheel<T> {
+    private final String name;
+    private final long tickMillis;
+    private final int mask;
+    private final Queue<Entry<T>>[] buckets;
+    private final Queue<Entry<T>> incoming = new ConcurrentLinkedQueue<>();
+    private final Consumer<List<T>> expiryHandler;
+    private final AtomicInteger pending = new AtomicInteger();
+    private volatile boolean running;
+    private Thread thread;
+    private long startMillis;
+
+    private static final class Entry<T> {
+        final T task;
+        final long deadlineMillis;
+        long remainingRounds;
+
+        Entry(T task, long deadlineMillis) {
+            this.task = task;
+            this.deadlineMillis = deadlineMillis;
+        }
+    }
+
+    /**
+     * @param name thread name
+     * @param tickMillis duration of one bucket
+     * @param wheelSize number of buckets, rounded up to a power of two
+     * @param expiryHandler receives the tasks that expired in a tick
+     */
+    @SuppressWarnings("unchecked")
+    public HashedTimingWheel(String name, long tickMillis, int wheelSize, Consumer<List<T>> expiryHandler) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("Tick duration must be positive");
+        }
+        int size = Integer.highestOneBit(Math.max(1, wheelSize - 1)) << 1;
+        this.name = name;
+        this.tickMillis = tickMillis;
+        this.mask = size - 1;
+        this.buckets = new Queue[size];
+        for (int i = 0; i < size; i++) {
+            buckets[i] = new ArrayDeque<>();
+        }
+        this.expiryHandler = expiryHandler;
+    }
+
+    /**
+     * Start the wheel thread
+     */
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        startMillis = System.currentTimeMillis();
+        thread = new Thread(this::runWheel, name);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stop the wheel thread; tasks not yet fired are discarded, so a later start() begins
+     * with an empty wheel rather than firing old entries against the new start time
+     */
+    public synchronized void stop() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+            // The buckets belong to the wheel thread; wait for it unless stopped from a handler
+            if (thread != Thread.currentThread()) {
+                try {
+                    thread.join();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            thread = null;
+        }
+        for (Queue<Entry<T>> bucket : buckets) {
+            bucket.clear();
+        }
+        incoming.clear();
+        pending.set(0);
+    }
+
+    /**
+     * Schedule a task; a deadline in the past fires on the next tick
+     * @param task task
+     * @param deadlineMillis epoch millis at which the task is due
+     */
+    public void schedule(T task, long deadlineMillis) {
+        pending.incrementAndGet();
+        incoming.add(new Entry<>(task, deadlineMillis));
+    }
+
+    /**
+     * @return tasks scheduled and not yet fired
+     */
+    public int getPending() {
+        return pending.get();
+    }
+
+    public int getWheelSize() {
+        return mask + 1;
+    }
+
+    private void runWheel() {
+        long tick = 0;
+        while (running) {
+            long sleepMillis = startMillis + (tick + 1) * tickMillis - System.currentTimeMillis();
+            if (sleepMillis > 0) {
+                try {
+                    Thread.sleep(sleepMillis);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+            
+            transferIncoming(tick);
+            List<T> expired = expire(buckets[(int) (tick & mask)]);
+            if (!expired.isEmpty()) {
+                pending.addAndGet(-expired.size());
+                try {
+                    expiryHandler.accept(expired);
+                } catch (RuntimeException e) {
+                    System.err.println(name + ": expiry handler failed: " + e.getMessage());
+                }
+            }
+            tick++;
+        }
+    }
+
+    private void transferIncoming(long currentTick) {
+        Entry<T> entry;
+        while ((entry = incoming.poll()) != null) {
+            long deadlineTick = Math.max(0, entry.deadlineMillis - startMillis) / tickMillis;
+            entry.remainingRounds = (deadlineTick - currentTick) / buckets.length;
+            // Deadlines already passed go into the current bucket
+            long targetTick = Math.max(deadlineTick, currentTick);
+            buckets[(int) (targetTick & mask)].add(entry);
+        }
+    }
+
+    private List<T> expire(Queue<Entry<T>> bucket) {
+        List<T> expired = new ArrayList<>();
+        Iterator<Entry<T>> iterator = bucket.iterator();
+        while (iterator.hasNext()) {
+            Entry<T> entry = iterator.next();
+            if (entry.remainingRounds <= 0) {
+                iterator.remove();
+                expired.add(entry.task);
+            } else {
+                entry.remainingRounds--;
+            }
+        }
+        return expired;
+    }
+}
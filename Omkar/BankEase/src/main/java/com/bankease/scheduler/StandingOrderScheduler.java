@@ -0,0 +1,248 @@
+package com.bankease.scheduler;
+
+import com.bankease.dao.StandingOrderDAO;
+import com.bankease.model.StandingOrder;
+import com.bankease.model.TransferRequest;
+import com.bankease.model.TransferResult;
+import com.bankease.service.BankingService;
+import com.bankease.utils.DatabaseConfig;
+import com.bankease.utils.TimeUtils;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Executes standing orders when they come due.
+ * <p>
+ * Orders due within standingOrders.horizonMinutes are loaded from the database every half
+ * horizon and placed on a hashed timing wheel. Orders that expire in the same tick, such as
+ * everything due at midnight on the 1st, are split into batches of standingOrders.batchSize
+ * and run in parallel on standingOrders.threads workers, each batch through
+ * BankingService.transferBatch. Each run is claimed in the database before it is executed,
+ * so a run is made at most once, and runs missed while the scheduler was not running are
+ * skipped after one catch-up run; an order is deactivated after standingOrders.maxFailures
+ * consecutive failed runs.
+ */
+public class StandingOrderScheduler {
+    private final StandingOrderDAO standingOrderDAO;
+    private final BankingService bankingService;
+    private final HashedTimingWheel<StandingOrder> wheel;
+    private final Map<Integer, LocalDateTime> scheduled = new ConcurrentHashMap<>();
+    private final long horizonMinutes;
+    private final int batchSize;
+    private final int threads;
+    private final int maxFailures;
+    private final AtomicLong runsCompleted = new AtomicLong();
+    private final AtomicLong runsFailed = new AtomicLong();
+    private ExecutorService workers;
+    private ScheduledExecutorService loader;
+
+    public StandingOrderScheduler(BankingService bankingService) {
+        this(new StandingOrderDAO(), bankingService,
+             DatabaseConfig.getIntProperty("standingOrders.tickMillis", 1000),
+             DatabaseConfig.getIntProperty("standingOrders.wheelSize", 512),
+             DatabaseConfig.getIntProperty("standingOrders.horizonMinutes", 60),
+             DatabaseConfig.getIntProperty("standingOrders.batchSize", 200),
+             DatabaseConfig.getIntProperty("standingOrders.threads", 4),
+             DatabaseConfig.getIntProperty("standingOrders.maxFailures", 3));
+    }
+
+    public StandingOrderScheduler(StandingOrderDAO standingOrderDAO, BankingService bankingService, long tickMillis,
+                                  int wheelSize, long horizonMinutes, int batchSize, int threads, int maxFailures) {
+        this.standingOrderDAO = standingOrderDAO;
+        this.bankingService = bankingService;
+        this.wheel = new HashedTimingWheel<>("standing-order-wheel", tickMillis, wheelSize, this::dispatch);
+        this.horizonMinutes = Math.max(2, horizonMinutes);
+        this.batchSize = Math.max(1, batchSize);
+        this.threads = Math.max(1, threads);
+        this.maxFailures = Math.max(1, maxFailures);
+    }
+
+    /**
+     * Start the wheel and the periodic loading of due orders
+     */
+    public synchronized void start() {
+        if (loader != null) {
+            return;
+        }
+        AtomicInteger threadNumber = new AtomicInteger();
+        workers = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "standing-order-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        loader = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "standing-order-loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        wheel.start();
+        loader.scheduleWithFixedDelay(this::loadQuietly, 0, horizonMinutes / 2, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Stop scheduling; batches already running are interrupted
+     */
+    public synchronized void stop() {
+        if (loader != null) {
+            loader.shutdownNow();
+            workers.shutdownNow();
+            wheel.stop();
+            scheduled.clear();
+            loader = null;
+            workers = null;
+        }
+    }
+
+    /**
+     * Place every active order due within the horizon on the wheel
+     * @return number of orders newly scheduled
+     * @throws SQLException if database operation fails
+     */
+    public int loadDue() throws SQLException {
+        int added = 0;
+        for (StandingOrder order : standingOrderDAO.findDueBefore(LocalDateTime.now().plusMinutes(horizonMinutes))) {
+            if (schedule(order)) {
+                added++;
+            }
+        }
+        return added;
+    }
+
+    /**
+     * Schedule a newly created order if it is due within the horizon
+     * @param order standing order
+     */
+    public void orderCreated(StandingOrder order) {
+        if (loader != null && !order.getNextRunAt().isAfter(LocalDateTime.now().plusMinutes(horizonMinutes))) {
+            schedule(order);
+        }
+    }
+
+    /**
+     * Execute one batch of due orders
+     * @param due orders as loaded from the database
+     * @return number of transfers made
+     * @throws SQLException if database operation fails
+     */
+    public int execute(List<StandingOrder> due) throws SQLException {
+        List<StandingOrder> claimed = standingOrderDAO.claimRuns(due, LocalDateTime.now());
+        if (claimed.isEmpty()) {
+            return 0;
+        }
+        
+        List<TransferRequest> requests = new ArrayList<>(claimed.size());
+        for (StandingOrder order : claimed) {
+            requests.add(new TransferRequest(order.getFromAccountNumber(), order.getToAccountNumber(),
+                                             order.getAmount(), describe(order)));
+        }
+        
+        int completed = 0;
+        try {
+            List<TransferResult> results = bankingService.transferBatch(requests);
+            for (int i = 0; i < claimed.size(); i++) {
+                TransferResult result = results.get(i);
+                if (result.isSuccess()) {
+                    completed++;
+                }
+                recordOutcome(claimed.get(i), result.isSuccess() ? "COMPLETED" : result.getError());
+            }
+        } catch (SQLException e) {
+            for (StandingOrder order : claimed) {
+                recordOutcome(order, "Error: " + e.getMessage());
+            }
+        }
+        standingOrderDAO.recordResults(claimed);
+        
+        runsCompleted.addAndGet(completed);
+        runsFailed.addAndGet(claimed.size() - completed);
+        
+        LocalDateTime horizon = LocalDateTime.now().plusMinutes(horizonMinutes);
+        for (StandingOrder order : claimed) {
+            if (order.isActive() && !order.getNextRunAt().isAfter(horizon)) {
+                schedule(order);
+            }
+        }
+        return completed;
+    }
+
+    public long getRunsCompleted() {
+        return runsCompleted.get();
+    }
+
+    public long getRunsFailed() {
+        return runsFailed.get();
+    }
+
+    /**
+     * @return orders waiting on the wheel
+     */
+    public int getPending() {
+        return wheel.getPending();
+    }
+
+    private boolean schedule(StandingOrder order) {
+        LocalDateTime previous = scheduled.put(order.getOrderId(), order.getNextRunAt());
+        if (order.getNextRunAt().equals(previous)) {
+            return false;
+        }
+        wheel.schedule(order, TimeUtils.toEpochMillis(order.getNextRunAt()));
+        return true;
+    }
+
+    private void dispatch(List<StandingOrder> due) {
+        List<StandingOrder> current = new ArrayList<>(due.size());
+        for (StandingOrder order : due) {
+            // Skip entries superseded by a later reschedule of the same order
+            if (order.getNextRunAt().equals(scheduled.get(order.getOrderId()))) {
+                scheduled.remove(order.getOrderId());
+                current.add(order);
+            }
+        }
+        
+        ExecutorService pool = workers;
+        for (int start = 0; pool != null && start < current.size(); start += batchSize) {
+            List<StandingOrder> batch = current.subList(start, Math.min(current.size(), start + batchSize));
+            pool.execute(() -> {
+                try {
+                    execute(batch);
+                } catch (SQLException e) {
+                    System.err.println("Standing order batch failed: " + e.getMessage());
+                }
+            });
+        }
+    }
+
+    private void recordOutcome(StandingOrder order, String status) {
+        boolean success = "COMPLETED".equals(status);
+        order.setLastStatus(status.length() > 255 ? status.substring(0, 255) : status);
+        order.setFailureCount(success ? 0 : order.getFailureCount() + 1);
+        if (order.getFailureCount() >= maxFailures) {
+            order.setActive(false);
+        }
+    }
+
+    private static String describe(StandingOrder order) {
+        String description = order.getDescription();
+        return (description == null || description.isEmpty() ? "Standing order" : description) +
+               " #" + order.getOrderId();
+    }
+
+    private void loadQuietly() {
+        try {
+            loadDue();
+        } catch (SQLException e) {
+            System.err.println("Loading standing orders failed: " + e.getMessage());
+        }
+    }
+}
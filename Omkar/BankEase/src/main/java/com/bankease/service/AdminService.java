@@ -1,16 +1,44 @@
 package com.bankease.service;
 
+import com.bankease.analytics.TransactionSketches;
+import com.bankease.batch.InterestAccrualJob;
+import com.bankease.batch.ReconciliationJob;
+import com.bankease.batch.StatementJob;
 import com.bankease.dao.AdminDAO;
 import com.bankease.dao.BankAccountDAO;
+import com.bankease.dao.BulkProgressListener;
 import com.bankease.dao.TransactionDAO;
 import com.bankease.dao.UserDAO;
+import com.bankease.events.EventBus;
+import com.bankease.jfr.LoginEvent;
+import com.bankease.metrics.SystemCounters;
+import com.bankease.model.AccountType;
+import com.bankease.model.AccountVolume;
 import com.bankease.model.Admin;
+import com.bankease.model.AmountSummary;
 import com.bankease.model.BankAccount;
+import com.bankease.model.BulkUpdateResult;
+import com.bankease.model.CompactTransaction;
+import com.bankease.model.FreezeCriteria;
+import com.bankease.model.InterestRunResult;
+import com.bankease.model.ReconciliationReport;
+import com.bankease.model.ReportPeriod;
+import com.bankease.model.StatementRunResult;
+import com.bankease.model.SystemStatistics;
 import com.bankease.model.Transaction;
+import com.bankease.model.TransactionBlock;
 import com.bankease.model.User;
+import com.bankease.model.VolumeReport;
+import com.bankease.rules.RulesEngine;
+import com.bankease.utils.DatabaseConfig;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.sql.SQLException;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,12 +50,15 @@ public class AdminService {
     private final UserDAO userDAO;
     private final BankAccountDAO accountDAO;
     private final TransactionDAO transactionDAO;
+    private final ReportingService reportingService;
+    private volatile Path lastReconciliationReportFile;
 
     public AdminService() {
         this.adminDAO = new AdminDAO();
         this.userDAO = new UserDAO();
         this.accountDAO = new BankAccountDAO();
         this.transactionDAO = new TransactionDAO();
+        this.reportingService = new ReportingService();
     }
 
     /**
@@ -38,19 +69,27 @@ public class AdminService {
      * @throws SQLException if database operation fails
      */
     public Optional<Admin> loginAdmin(String username, String password) throws SQLException {
-        Optional<Admin> adminOpt = adminDAO.findByUsername(username);
-        
-        if (adminOpt.isPresent()) {
-            Admin admin = adminOpt.get();
-            if (admin.getPassword().equals(password) && admin.isActive()) {
-                // Update last login
-                admin.updateLastLogin();
-                adminDAO.updateLastLogin(admin.getAdminId(), admin.getLastLogin());
-                return Optional.of(admin);
+        LoginEvent event = new LoginEvent();
+        event.begin();
+        int adminId = 0;
+        try {
+            Optional<Admin> adminOpt = adminDAO.findByUsername(username);
+            
+            if (adminOpt.isPresent()) {
+                Admin admin = adminOpt.get();
+                if (admin.getPassword().equals(password) && admin.isActive()) {
+                    // Update last login
+                    admin.updateLastLogin();
+                    adminDAO.updateLastLogin(admin.getAdminId(), admin.getLastLogin());
+                    adminId = admin.getAdminId();
+                    return Optional.of(admin);
+                }
             }
+            
+            return Optional.empty();
+        } finally {
+            event.complete(username, true, adminId);
         }
-        
-        return Optional.empty();
     }
 
     /**
@@ -89,6 +128,17 @@ public class AdminService {
         return userDAO.findAll();
     }
 
+    /**
+     * Get one page of users in ID order
+     * @param afterId last user ID of the previous page; 0 for the first page
+     * @param limit maximum number of users
+     * @return List of users
+     * @throws SQLException if database operation fails
+     */
+    public List<User> getUsersPage(int afterId, int limit) throws SQLException {
+        return userDAO.findPage(afterId, limit);
+    }
+
     /**
      * Get all accounts
      * @return List of all accounts
@@ -98,6 +148,17 @@ public class AdminService {
         return accountDAO.findAll();
     }
 
+    /**
+     * Get one page of accounts in ID order
+     * @param afterId last account ID of the previous page; 0 for the first page
+     * @param limit maximum number of accounts
+     * @return List of accounts
+     * @throws SQLException if database operation fails
+     */
+    public List<BankAccount> getAccountsPage(int afterId, int limit) throws SQLException {
+        return accountDAO.findPage(afterId, limit);
+    }
+
     /**
      * Get all transactions
      * @return List of all transactions
@@ -107,6 +168,17 @@ public class AdminService {
         return transactionDAO.findAll();
     }
 
+    /**
+     * Get one page of transactions as compact rows, newest first
+     * @param beforeId last transaction ID of the previous page; Integer.MAX_VALUE for the first page
+     * @param limit maximum number of transactions
+     * @return List of transactions
+     * @throws SQLException if database operation fails
+     */
+    public List<CompactTransaction> getTransactionsPageCompact(int beforeId, int limit) throws SQLException {
+        return transactionDAO.findPageCompact(beforeId, limit);
+    }
+
     /**
      * Update account frozen status
      * @param accountNumber account number
@@ -115,21 +187,96 @@ public class AdminService {
      * @throws SQLException if database operation fails
      */
     public boolean updateAccountFrozenStatus(String accountNumber, boolean isFrozen) throws SQLException {
-        return accountDAO.updateFrozenStatusByAccountNumber(accountNumber, isFrozen);
+        boolean updated = accountDAO.updateFrozenStatusByAccountNumber(accountNumber, isFrozen);
+        if (updated) {
+            EventBus.getInstance().publishAccountFrozen(0, accountNumber, isFrozen);
+        }
+        return updated;
     }
 
     /**
-     * Get system statistics
+     * Count the accounts a bulk freeze or unfreeze would change, for confirmation before
+     * running it
+     * @param criteria selection criteria; at least one criterion must be set
+     * @param isFrozen freeze status
+     * @return number of matching accounts not already in that state
+     * @throws SQLException if database operation fails
+     */
+    public int countAccountsForFrozenUpdate(FreezeCriteria criteria, boolean isFrozen) throws SQLException {
+        if (criteria == null || criteria.isEmpty()) {
+            throw new IllegalArgumentException("At least one freeze criterion is required");
+        }
+        return accountDAO.findAccountIdsForFrozenUpdate(criteria, isFrozen).length;
+    }
+
+    /**
+     * Freeze or unfreeze every account matching the criteria.
+     * Matching accounts are resolved once, then updated with chunked set-based updates of
+     * bulk.chunkSize accounts, each committed on its own; accounts already in the target
+     * state are skipped. An ACCOUNT_FROZEN event carrying the new status is published for
+     * each account that actually changed.
+     * @param criteria selection criteria; at least one criterion must be set
+     * @param isFrozen freeze status
+     * @param listener progress listener, or null
+     * @return BulkUpdateResult with matched and updated counts
+     * @throws SQLException if database operation fails
+     */
+    public BulkUpdateResult bulkUpdateFrozenStatus(FreezeCriteria criteria, boolean isFrozen,
+                                                   BulkProgressListener listener) throws SQLException {
+        if (criteria == null || criteria.isEmpty()) {
+            throw new IllegalArgumentException("At least one freeze criterion is required");
+        }
+        
+        long started = System.currentTimeMillis();
+        int chunkSize = Math.max(1, DatabaseConfig.getIntProperty("bulk.chunkSize", 500));
+        int[] accountIds = accountDAO.findAccountIdsForFrozenUpdate(criteria, isFrozen);
+        int[] changed = accountDAO.updateFrozenStatusByIds(accountIds, isFrozen, chunkSize, listener);
+        EventBus bus = EventBus.getInstance();
+        for (int accountId : changed) {
+            bus.publishAccountFrozen(accountId, null, isFrozen);
+        }
+        int chunks = (accountIds.length + chunkSize - 1) / chunkSize;
+        return new BulkUpdateResult(accountIds.length, changed.length, chunks, System.currentTimeMillis() - started);
+    }
+
+    /**
+     * Get system statistics from the shared dashboard snapshot
      * @return array with [totalUsers, totalAccounts, totalTransactions, totalBalance]
      * @throws SQLException if database operation fails
      */
     public double[] getSystemStatistics() throws SQLException {
-        int totalUsers = userDAO.getTotalUsers();
-        int totalAccounts = accountDAO.getTotalAccounts();
-        int totalTransactions = transactionDAO.getTotalTransactions();
-        double totalBalance = accountDAO.getTotalBalance();
-        
-        return new double[]{totalUsers, totalAccounts, totalTransactions, totalBalance};
+        return getDashboardStatistics().toArray();
+    }
+
+    /**
+     * Get the dashboard statistics.
+     * Served in O(1) from the live counters once they are seeded, otherwise from the
+     * shared snapshot cache.
+     * @return SystemStatistics snapshot
+     * @throws SQLException if database operation fails
+     */
+    public SystemStatistics getDashboardStatistics() throws SQLException {
+        SystemCounters counters = SystemCounters.getInstance();
+        if (counters.isSeeded()) {
+            return counters.toStatistics();
+        }
+        return DashboardCache.getInstance().getStatistics();
+    }
+
+    /**
+     * Get the live system counters, also used as the monitoring metrics source
+     * @return SystemCounters instance
+     */
+    public SystemCounters getSystemCounters() {
+        return SystemCounters.getInstance();
+    }
+
+    /**
+     * Get the velocity rules engine, for its rules, counters and recent alerts
+     * @return RulesEngine instance
+     */
+    public RulesEngine getRulesEngine() {
+        return RulesEngine.getInstance();
     }
 
     /**
@@ -229,6 +376,212 @@ public class AdminService {
         return transactionDAO.findByAccountNumber(accountNumber);
     }
 
+    /**
+     * Get one page of transactions of a type as compact rows, newest first
+     * @param type transaction type
+     * @param beforeId last transaction ID of the previous page; Integer.MAX_VALUE for the first page
+     * @param limit maximum number of transactions
+     * @return List of transactions
+     * @throws SQLException if database operation fails
+     */
+    public List<CompactTransaction> getTransactionsByTypePageCompact(String type, int beforeId, int limit)
+            throws SQLException {
+        return transactionDAO.findByTypePageCompact(type, beforeId, limit);
+    }
+
+    /**
+     * Get one page of transactions with a status as compact rows, newest first
+     * @param status transaction status
+     * @param beforeId last transaction ID of the previous page; Integer.MAX_VALUE for the first page
+     * @param limit maximum number of transactions
+     * @return List of transactions
+     * @throws SQLException if database operation fails
+     */
+    public List<CompactTransaction> getTransactionsByStatusPageCompact(String status, int beforeId, int limit)
+            throws SQLException {
+        return transactionDAO.findByStatusPageCompact(status, beforeId, limit);
+    }
+
+    /**
+     * Get one page of transactions in a date range as compact rows, newest first by timestamp
+     * @param startDate start date
+     * @param endDate end date
+     * @param beforeId last transaction ID of the previous page; Integer.MAX_VALUE for the first page
+     * @param limit maximum number of transactions
+     * @return List of transactions
+     * @throws SQLException if database operation fails
+     */
+    public List<CompactTransaction> getTransactionsByDateRangePageCompact(LocalDateTime startDate,
+                                                                          LocalDateTime endDate,
+                                                                          int beforeId, int limit)
+            throws SQLException {
+        return transactionDAO.findByDateRangePageCompact(startDate, endDate, beforeId, limit);
+    }
+
+    /**
+     * Get one page of a user's transactions as compact rows, newest first
+     * @param userId user ID
+     * @param beforeId last transaction ID of the previous page; Integer.MAX_VALUE for the first page
+     * @param limit maximum number of transactions
+     * @return List of transactions
+     * @throws SQLException if database operation fails
+     */
+    public List<CompactTransaction> getTransactionsByUserIdPageCompact(int userId, int beforeId, int limit)
+            throws SQLException {
+        return transactionDAO.findByUserIdPageCompact(userId, beforeId, limit);
+    }
+
+    /**
+     * Get one page of an account's transactions as compact rows, newest first
+     * @param accountNumber account number
+     * @param beforeId last transaction ID of the previous page; Integer.MAX_VALUE for the first page
+     * @param limit maximum number of transactions
+     * @return List of transactions
+     * @throws SQLException if database operation fails
+     */
+    public List<CompactTransaction> getTransactionsByAccountPageCompact(String accountNumber, int beforeId,
+                                                                        int limit) throws SQLException {
+        return transactionDAO.findByAccountNumberPageCompact(accountNumber, beforeId, limit);
+    }
+
+    /**
+     * Get all transactions as a columnar block for aggregate reporting
+     * @return TransactionBlock with all transactions
+     * @throws SQLException if database operation fails
+     */
+    public TransactionBlock getAllTransactionsBlock() throws SQLException {
+        return transactionDAO.findAllBlock();
+    }
+
+    /**
+     * Get transactions by type as a columnar block
+     * @param type transaction type
+     * @return TransactionBlock with matching transactions
+     * @throws SQLException if database operation fails
+     */
+    public TransactionBlock getTransactionsBlockByType(String type) throws SQLException {
+        return transactionDAO.findByTypeBlock(type);
+    }
+
+    /**
+     * Get transactions by date range as a columnar block
+     * @param startDate start date
+     * @param endDate end date
+     * @return TransactionBlock with matching transactions
+     * @throws SQLException if database operation fails
+     */
+    public TransactionBlock getTransactionsBlockByDateRange(LocalDateTime startDate, LocalDateTime endDate)
+            throws SQLException {
+        return transactionDAO.findByDateRangeBlock(startDate, endDate);
+    }
+
+    /**
+     * Generate a daily, weekly or monthly volume report
+     * @param startDate first day (inclusive)
+     * @param endDate last day (inclusive)
+     * @param period bucket size
+     * @return VolumeReport by transaction type, account type and user
+     * @throws SQLException if database operation fails
+     */
+    public VolumeReport getVolumeReport(LocalDate startDate, LocalDate endDate, ReportPeriod period)
+            throws SQLException {
+        return reportingService.generateVolumeReport(startDate, endDate, period);
+    }
+
+    /**
+     * Load the streaming transaction analytics and rebuild any missing days from the journal
+     * @throws SQLException if rebuilding fails
+     * @throws IOException if persisted sketches cannot be read
+     */
+    public void startTransactionAnalytics() throws SQLException, IOException {
+        TransactionSketches.getInstance().start(transactionDAO);
+    }
+
+    /**
+     * Get the accounts with the highest outgoing transfer volume, answered from sketches
+     * @param k number of accounts
+     * @param days number of days including today
+     * @return accounts with estimated volume, highest first
+     */
+    public List<AccountVolume> getTopAccountsByTransferVolume(int k, int days) {
+        return TransactionSketches.getInstance().getTopAccountsByTransferVolume(k, days);
+    }
+
+    /**
+     * Get the estimated number of distinct accounts that transacted, answered from sketches
+     * @param days number of days including today
+     * @return distinct account estimate
+     */
+    public long getDistinctActiveAccounts(int days) {
+        return TransactionSketches.getInstance().getDistinctActiveAccounts(days);
+    }
+
+    /**
+     * Get estimated p50/p90/p99 transaction amounts for one account type, answered from sketches
+     * @param startDate first day (inclusive)
+     * @param endDate last day (inclusive)
+     * @param accountType account type
+     * @return AmountSummary over the whole range
+     */
+    public AmountSummary getAmountSummary(LocalDate startDate, LocalDate endDate, AccountType accountType) {
+        return TransactionSketches.getInstance().getAmountSummary(startDate, endDate, accountType);
+    }
+
+    /**
+     * Get estimated p50/p90/p99 transaction amounts per day and account type, answered from sketches
+     * @param startDate first day (inclusive)
+     * @param endDate last day (inclusive)
+     * @return List of summaries by day
+     */
+    public List<AmountSummary> getDailyAmountSummaries(LocalDate startDate, LocalDate endDate) {
+        return TransactionSketches.getInstance().getDailyAmountSummaries(startDate, endDate);
+    }
+
+    /**
+     * Check every account balance against its transaction journal and write a CSV report
+     * @return ReconciliationReport with the discrepancies found
+     * @throws SQLException if the reconciliation cannot run
+     * @throws IOException if the report cannot be written
+     */
+    public ReconciliationReport runReconciliation() throws SQLException, IOException {
+        ReconciliationJob job = new ReconciliationJob();
+        ReconciliationReport report = job.run();
+        lastReconciliationReportFile = job.writeReport(report, 
+                Paths.get(DatabaseConfig.getProperty("reconcile.reportDir", "data/reports")));
+        return report;
+    }
+
+    /**
+     * Accrue interest and pay out matured fixed deposits for a date.
+     * Running again for the same date resumes an incomplete run and never credits twice.
+     * @param runDate date interest is accrued for
+     * @return InterestRunResult
+     * @throws SQLException if the run fails; committed chunks stay applied
+     */
+    public InterestRunResult runInterestAccrual(LocalDate runDate) throws SQLException {
+        return new InterestAccrualJob().run(runDate);
+    }
+
+    /**
+     * Generate monthly statements for every user. Running again for the same month
+     * only writes the statements that are still missing.
+     * @param month statement month
+     * @return StatementRunResult with throughput figures
+     * @throws SQLException if statements cannot be read
+     * @throws IOException if statements cannot be written
+     */
+    public StatementRunResult generateMonthlyStatements(YearMonth month) throws SQLException, IOException {
+        return new StatementJob().run(month);
+    }
+
+    /**
+     * Get the report file written by the last reconciliation run
+     * @return report path, or null if no reconciliation has run
+     */
+    public Path getLastReconciliationReportFile() {
+        return lastReconciliationReportFile;
+    }
+
     /**
      * Update admin
      * @param admin Admin object to update
@@ -269,6 +622,15 @@ public class AdminService {
         return adminDAO.findByRole(role);
     }
 
+    /**
+     * Check whether at least one admin exists, without loading any
+     * @return true if an admin exists
+     * @throws SQLException if database operation fails
+     */
+    public boolean hasAdmins() throws SQLException {
+        return adminDAO.anyExists();
+    }
+
     /**
      * Get all admins
      * @return List of all admins
@@ -1,19 +1,46 @@
 package com.bankease.service;
 
 import com.bankease.dao.BankAccountDAO;
+import com.bankease.dao.StandingOrderDAO;
 import com.bankease.dao.TransactionDAO;
+import com.bankease.dao.TransferDAO;
 import com.bankease.dao.UserDAO;
+import com.bankease.events.EventBus;
 import com.bankease.exceptions.AccountFrozenException;
 import com.bankease.exceptions.InsufficientFundsException;
 import com.bankease.exceptions.InvalidAccountException;
+import com.bankease.exceptions.TransactionBlockedException;
+import com.bankease.jfr.DepositEvent;
+import com.bankease.jfr.LockWaitEvent;
+import com.bankease.jfr.LoginEvent;
+import com.bankease.jfr.TransferEvent;
+import com.bankease.jfr.WithdrawalEvent;
+import com.bankease.metrics.LatencyRecorder;
+import com.bankease.metrics.SystemCounters;
+import com.bankease.model.AccountType;
 import com.bankease.model.BankAccount;
+import com.bankease.model.CompactTransaction;
+import com.bankease.model.StandingOrder;
+import com.bankease.model.StandingOrderFrequency;
 import com.bankease.model.Transaction;
+import com.bankease.model.TransactionStatus;
+import com.bankease.model.TransactionType;
+import com.bankease.model.TransferRequest;
+import com.bankease.model.TransferResult;
 import com.bankease.model.User;
+import com.bankease.rules.RuleDecision;
+import com.bankease.rules.RulesEngine;
+import com.bankease.utils.MoneyUtils;
 
 import java.sql.SQLException;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 
@@ -21,15 +48,34 @@ import java.util.stream.Collectors;
  * Service class for banking operations
  */
 public class BankingService {
+    private static final LatencyRecorder.Operation DEPOSIT_LATENCY =
+            LatencyRecorder.getInstance().operation("BankingService.deposit");
+    private static final LatencyRecorder.Operation WITHDRAW_LATENCY =
+            LatencyRecorder.getInstance().operation("BankingService.withdraw");
+    private static final LatencyRecorder.Operation TRANSFER_LATENCY =
+            LatencyRecorder.getInstance().operation("BankingService.transfer");
+    private static final LatencyRecorder.Operation TRANSFER_BATCH_LATENCY =
+            LatencyRecorder.getInstance().operation("BankingService.transferBatch");
+
     private final UserDAO userDAO;
     private final BankAccountDAO accountDAO;
     private final TransactionDAO transactionDAO;
+    private final TransferDAO transferDAO;
+    private final StandingOrderDAO standingOrderDAO;
+    private final RulesEngine rulesEngine;
     private final ReentrantLock transferLock = new ReentrantLock();
 
     public BankingService() {
+        this(RulesEngine.getInstance());
+    }
+
+    public BankingService(RulesEngine rulesEngine) {
+        this.rulesEngine = rulesEngine;
         this.userDAO = new UserDAO();
         this.accountDAO = new BankAccountDAO();
         this.transactionDAO = new TransactionDAO();
+        this.transferDAO = new TransferDAO();
+        this.standingOrderDAO = new StandingOrderDAO();
     }
 
     /**
@@ -67,19 +113,27 @@ public class BankingService {
      * @throws SQLException if database operation fails
      */
     public Optional<User> loginUser(String username, String password) throws SQLException {
-        Optional<User> userOpt = userDAO.findByUsername(username);
-        
-        if (userOpt.isPresent()) {
-            User user = userOpt.get();
-            if (user.getPassword().equals(password) && user.isActive()) {
-                // Load user's accounts
-                List<BankAccount> accounts = accountDAO.findByUserId(user.getUserId());
-                user.setAccounts(accounts);
-                return Optional.of(user);
+        LoginEvent event = new LoginEvent();
+        event.begin();
+        int userId = 0;
+        try {
+            Optional<User> userOpt = userDAO.findByUsername(username);
+            
+            if (userOpt.isPresent()) {
+                User user = userOpt.get();
+                if (user.getPassword().equals(password) && user.isActive()) {
+                    // Load user's accounts
+                    List<BankAccount> accounts = accountDAO.findByUserId(user.getUserId());
+                    user.setAccounts(accounts);
+                    userId = user.getUserId();
+                    return Optional.of(user);
+                }
             }
+            
+            return Optional.empty();
+        } finally {
+            event.complete(username, false, userId);
         }
-        
-        return Optional.empty();
     }
 
     /**
@@ -89,19 +143,25 @@ public class BankingService {
      * @param initialBalance initial balance
      * @return BankAccount object
      * @throws SQLException if database operation fails
+     * @throws IllegalArgumentException if accountType is not a known account type
      */
     public BankAccount createAccount(int userId, String accountType, double initialBalance) throws SQLException {
+        AccountType type = AccountType.fromName(accountType);
+        
         // Generate unique account number
         String accountNumber = generateAccountNumber();
         
-        BankAccount account = new BankAccount(accountNumber, userId, accountType, initialBalance);
+        BankAccount account = new BankAccount(accountNumber, userId, type, initialBalance);
         account = accountDAO.createAccount(account);
+        EventBus.getInstance().publishAccountCreated(account);
         
         // Create initial deposit transaction if balance > 0
         if (initialBalance > 0) {
-            Transaction transaction = new Transaction("DEPOSIT", account.getAccountId(), initialBalance, "Initial deposit");
-            transaction.setStatus("COMPLETED");
-            transactionDAO.createTransaction(transaction);
+            Transaction transaction = new Transaction(TransactionType.DEPOSIT, account.getAccountId(), initialBalance, "Initial deposit");
+            transaction.setTransactionStatus(TransactionStatus.COMPLETED);
+            recordCommitted(transactionDAO.createTransaction(transaction), account);
+            rulesEngine.record(account.getAccountId(), userId, 
+                    MoneyUtils.toCents(initialBalance), transaction.getTimestampMillis());
         }
         
         return account;
@@ -116,9 +176,25 @@ public class BankingService {
      * @throws SQLException if database operation fails
      * @throws InvalidAccountException if account not found
      * @throws AccountFrozenException if account is frozen
+     * @throws TransactionBlockedException if a velocity rule blocks the transaction
      */
     public Transaction deposit(String accountNumber, double amount, String description) 
             throws SQLException, InvalidAccountException, AccountFrozenException {
+        long started = System.nanoTime();
+        DepositEvent event = new DepositEvent();
+        event.begin();
+        Transaction transaction = null;
+        try {
+            transaction = applyDeposit(accountNumber, amount, description);
+            return transaction;
+        } finally {
+            DEPOSIT_LATENCY.record(LatencyRecorder.Phase.TOTAL, System.nanoTime() - started);
+            event.complete(accountNumber, amount, transaction);
+        }
+    }
+
+    private Transaction applyDeposit(String accountNumber, double amount, String description) 
+            throws SQLException, InvalidAccountException, AccountFrozenException {
         
         if (amount <= 0) {
             throw new IllegalArgumentException("Deposit amount must be positive");
@@ -139,15 +215,26 @@ public class BankingService {
             throw new InvalidAccountException("Account is inactive: " + accountNumber);
         }
         
-        // Update balance
-        double newBalance = account.getBalance() + amount;
-        accountDAO.updateBalance(account.getAccountId(), newBalance);
-        account.setBalance(newBalance);
-        
-        // Create transaction
-        Transaction transaction = new Transaction("DEPOSIT", account.getAccountId(), amount, description);
-        transaction.setStatus("COMPLETED");
-        return transactionDAO.createTransaction(transaction);
+        long reservedAt = enforceRules(account, amount);
+        boolean committed = false;
+        try {
+            Transaction transaction = new Transaction(TransactionType.DEPOSIT, account.getAccountId(), amount, description);
+            transaction.setTransactionStatus(TransactionStatus.COMPLETED);
+            
+            // Update balance in place and journal it in one transaction; the balance read above may already be stale
+            if (!accountDAO.creditBalance(account.getAccountId(), amount, transaction)) {
+                throw new InvalidAccountException("Account not found: " + accountNumber);
+            }
+            committed = true;
+            account.setBalance(account.getBalance() + amount);
+            SystemCounters.getInstance().balanceChanged(MoneyUtils.toCents(amount));
+            EventBus.getInstance().publishBalanceChanged(account, MoneyUtils.toCents(amount));
+            return recordCommitted(transaction, account);
+        } finally {
+            if (!committed) {
+                releaseRules(account, amount, reservedAt);
+            }
+        }
     }
 
     /**
@@ -160,9 +247,25 @@ public class BankingService {
      * @throws InvalidAccountException if account not found
      * @throws AccountFrozenException if account is frozen
      * @throws InsufficientFundsException if insufficient funds
+     * @throws TransactionBlockedException if a velocity rule blocks the transaction
      */
     public Transaction withdraw(String accountNumber, double amount, String description) 
             throws SQLException, InvalidAccountException, AccountFrozenException, InsufficientFundsException {
+        long started = System.nanoTime();
+        WithdrawalEvent event = new WithdrawalEvent();
+        event.begin();
+        Transaction transaction = null;
+        try {
+            transaction = applyWithdrawal(accountNumber, amount, description);
+            return transaction;
+        } finally {
+            WITHDRAW_LATENCY.record(LatencyRecorder.Phase.TOTAL, System.nanoTime() - started);
+            event.complete(accountNumber, amount, transaction);
+        }
+    }
+
+    private Transaction applyWithdrawal(String accountNumber, double amount, String description) 
+            throws SQLException, InvalidAccountException, AccountFrozenException, InsufficientFundsException {
         
         if (amount <= 0) {
             throw new IllegalArgumentException("Withdrawal amount must be positive");
@@ -188,15 +291,27 @@ public class BankingService {
                                                ", Required: $" + amount);
         }
         
-        // Update balance
-        double newBalance = account.getBalance() - amount;
-        accountDAO.updateBalance(account.getAccountId(), newBalance);
-        account.setBalance(newBalance);
-        
-        // Create transaction
-        Transaction transaction = new Transaction("WITHDRAWAL", account.getAccountId(), amount, description);
-        transaction.setStatus("COMPLETED");
-        return transactionDAO.createTransaction(transaction);
+        long reservedAt = enforceRules(account, amount);
+        boolean committed = false;
+        try {
+            Transaction transaction = new Transaction(TransactionType.WITHDRAWAL, account.getAccountId(), amount, description);
+            transaction.setTransactionStatus(TransactionStatus.COMPLETED);
+            
+            // Update balance in place and journal it in one transaction; the check above may be
+            // stale, the conditional debit is not
+            if (!accountDAO.debitBalance(account.getAccountId(), amount, transaction)) {
+                throw new InsufficientFundsException("Insufficient funds. Required: $" + amount);
+            }
+            committed = true;
+            account.setBalance(account.getBalance() - amount);
+            SystemCounters.getInstance().balanceChanged(-MoneyUtils.toCents(amount));
+            EventBus.getInstance().publishBalanceChanged(account, -MoneyUtils.toCents(amount));
+            return recordCommitted(transaction, account);
+        } finally {
+            if (!committed) {
+                releaseRules(account, amount, reservedAt);
+            }
+        }
     }
 
     /**
@@ -210,9 +325,26 @@ public class BankingService {
      * @throws InvalidAccountException if account not found
      * @throws AccountFrozenException if account is frozen
      * @throws InsufficientFundsException if insufficient funds
+     * @throws TransactionBlockedException if a velocity rule blocks the transaction
      */
     public List<Transaction> transfer(String fromAccountNumber, String toAccountNumber, double amount, String description) 
             throws SQLException, InvalidAccountException, AccountFrozenException, InsufficientFundsException {
+        long started = System.nanoTime();
+        TransferEvent event = new TransferEvent();
+        event.begin();
+        List<Transaction> transactions = null;
+        try {
+            transactions = applyTransfer(fromAccountNumber, toAccountNumber, amount, description);
+            return transactions;
+        } finally {
+            TRANSFER_LATENCY.record(LatencyRecorder.Phase.TOTAL, System.nanoTime() - started);
+            event.complete(fromAccountNumber, toAccountNumber, amount, transactions);
+        }
+    }
+
+    private List<Transaction> applyTransfer(String fromAccountNumber, String toAccountNumber, double amount,
+                                            String description) 
+            throws SQLException, InvalidAccountException, AccountFrozenException, InsufficientFundsException {
         
         if (amount <= 0) {
             throw new IllegalArgumentException("Transfer amount must be positive");
@@ -223,7 +355,12 @@ public class BankingService {
         }
         
         // Use lock to ensure thread safety for transfers
+        long lockRequested = System.nanoTime();
+        LockWaitEvent lockWait = new LockWaitEvent();
+        lockWait.begin();
         transferLock.lock();
+        TRANSFER_LATENCY.record(LatencyRecorder.Phase.LOCK_WAIT, System.nanoTime() - lockRequested);
+        lockWait.complete("BankingService.transferLock", fromAccountNumber);
         try {
             // Get source account
             Optional<BankAccount> fromAccountOpt = accountDAO.findByAccountNumber(fromAccountNumber);
@@ -262,27 +399,39 @@ public class BankingService {
                                                    fromAccount.getBalance() + ", Required: $" + amount);
             }
             
-            // Update balances
-            double fromNewBalance = fromAccount.getBalance() - amount;
-            double toNewBalance = toAccount.getBalance() + amount;
-            
-            accountDAO.updateBalance(fromAccount.getAccountId(), fromNewBalance);
-            accountDAO.updateBalance(toAccount.getAccountId(), toNewBalance);
-            
             // Create transactions
-            Transaction withdrawalTransaction = new Transaction("TRANSFER_OUT", fromAccount.getAccountId(), 
+            Transaction withdrawalTransaction = new Transaction(TransactionType.TRANSFER_OUT, fromAccount.getAccountId(), 
                                                              amount, description + " (Transfer to " + toAccountNumber + ")");
-            withdrawalTransaction.setStatus("COMPLETED");
+            withdrawalTransaction.setTransactionStatus(TransactionStatus.COMPLETED);
             withdrawalTransaction.setToAccountNumber(toAccountNumber);
             
-            Transaction depositTransaction = new Transaction("TRANSFER_IN", toAccount.getAccountId(), 
+            Transaction depositTransaction = new Transaction(TransactionType.TRANSFER_IN, toAccount.getAccountId(), 
                                                           amount, description + " (Transfer from " + fromAccountNumber + ")");
-            depositTransaction.setStatus("COMPLETED");
+            depositTransaction.setTransactionStatus(TransactionStatus.COMPLETED);
             depositTransaction.setFromAccountNumber(fromAccountNumber);
             
-            // Save transactions
-            withdrawalTransaction = transactionDAO.createTransaction(withdrawalTransaction);
-            depositTransaction = transactionDAO.createTransaction(depositTransaction);
+            long reservedAt = enforceRules(fromAccount, amount);
+            boolean committed = false;
+            try {
+                // Update balances and save the transactions in one database transaction; deposits and
+                // withdrawals do not take transferLock, so the balances read above may already be stale
+                if (!accountDAO.moveBalance(fromAccount.getAccountId(), toAccount.getAccountId(), amount,
+                                            withdrawalTransaction, depositTransaction)) {
+                    throw new InsufficientFundsException("Insufficient funds in source account. Required: $" + amount);
+                }
+                committed = true;
+            } finally {
+                if (!committed) {
+                    releaseRules(fromAccount, amount, reservedAt);
+                }
+            }
+            fromAccount.setBalance(fromAccount.getBalance() - amount);
+            toAccount.setBalance(toAccount.getBalance() + amount);
+            EventBus.getInstance().publishBalanceChanged(fromAccount, -MoneyUtils.toCents(amount));
+            EventBus.getInstance().publishBalanceChanged(toAccount, MoneyUtils.toCents(amount));
+            // Both accounts are active, so the total balance counter is unchanged
+            recordCommitted(withdrawalTransaction, fromAccount);
+            recordCommitted(depositTransaction, toAccount);
             
             return List.of(withdrawalTransaction, depositTransaction);
             
@@ -291,6 +440,144 @@ public class BankingService {
         }
     }
 
+    /**
+     * Make many transfers at once. All accounts are loaded with one query, each transfer is
+     * validated like transfer(), and the valid ones are applied in a single database
+     * transaction that locks the involved rows. A transfer that fails validation, is blocked
+     * by a velocity rule or lacks funds is reported in its result without affecting the rest.
+     * @param requests transfers to make
+     * @return results in request order
+     * @throws SQLException if database operation fails; no transfer in the batch is applied
+     */
+    public List<TransferResult> transferBatch(List<TransferRequest> requests) throws SQLException {
+        long started = System.nanoTime();
+        try {
+            return applyTransferBatch(requests);
+        } finally {
+            TRANSFER_BATCH_LATENCY.record(LatencyRecorder.Phase.TOTAL, System.nanoTime() - started);
+        }
+    }
+
+    private List<TransferResult> applyTransferBatch(List<TransferRequest> requests) throws SQLException {
+        Set<String> accountNumbers = new HashSet<>();
+        for (TransferRequest request : requests) {
+            accountNumbers.add(request.getFromAccountNumber());
+            accountNumbers.add(request.getToAccountNumber());
+        }
+        Map<String, BankAccount> accounts = accountDAO.findByAccountNumbers(accountNumbers);
+        
+        TransferResult[] results = new TransferResult[requests.size()];
+        List<TransferRequest> valid = new ArrayList<>(requests.size());
+        List<Integer> validIndexes = new ArrayList<>(requests.size());
+        // Each request is reserved in the velocity windows as it is evaluated, so later
+        // requests in the batch see the earlier ones
+        long reservedAt = System.currentTimeMillis();
+        for (int i = 0; i < requests.size(); i++) {
+            TransferRequest request = requests.get(i);
+            String error = validateTransfer(request, accounts);
+            if (error == null) {
+                try {
+                    enforceRules(accounts.get(request.getFromAccountNumber()), request.getAmount(), reservedAt);
+                } catch (TransactionBlockedException e) {
+                    error = e.getMessage();
+                }
+            }
+            if (error != null) {
+                results[i] = TransferResult.failed(request, error);
+            } else {
+                valid.add(request);
+                validIndexes.add(i);
+            }
+        }
+        
+        List<TransferResult> applied;
+        try {
+            applied = transferDAO.applyTransfers(valid, accounts);
+        } catch (SQLException | RuntimeException e) {
+            for (TransferRequest request : valid) {
+                releaseRules(accounts.get(request.getFromAccountNumber()), request.getAmount(), reservedAt);
+            }
+            throw e;
+        }
+        for (int i = 0; i < applied.size(); i++) {
+            TransferResult result = applied.get(i);
+            results[validIndexes.get(i)] = result;
+            if (result.isSuccess()) {
+                publishTransfer(result, accounts);
+            } else {
+                releaseRules(accounts.get(result.getRequest().getFromAccountNumber()), 
+                             result.getRequest().getAmount(), reservedAt);
+            }
+        }
+        
+        return List.of(results);
+    }
+
+    /**
+     * Create a standing order from one of the user's accounts
+     * @param userId user ID
+     * @param fromAccountNumber source account number, owned by the user
+     * @param toAccountNumber destination account number
+     * @param amount amount per run
+     * @param description transaction description
+     * @param frequency how often the order runs
+     * @param startAt time of the first run, no earlier than the current minute
+     * @return StandingOrder with generated ID
+     * @throws SQLException if database operation fails
+     * @throws InvalidAccountException if an account is not found or not owned by the user
+     */
+    public StandingOrder createStandingOrder(int userId, String fromAccountNumber, String toAccountNumber, double amount,
+                                             String description, StandingOrderFrequency frequency, LocalDateTime startAt)
+            throws SQLException, InvalidAccountException {
+        
+        if (amount <= 0) {
+            throw new IllegalArgumentException("Standing order amount must be positive");
+        }
+        
+        if (fromAccountNumber.equals(toAccountNumber)) {
+            throw new IllegalArgumentException("Cannot transfer to the same account");
+        }
+        
+        // Start times are entered to the minute, so the current minute still counts as now
+        if (startAt.isBefore(LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES))) {
+            throw new IllegalArgumentException("First run must not be in the past");
+        }
+        
+        Optional<BankAccount> fromAccountOpt = accountDAO.findByAccountNumber(fromAccountNumber);
+        if (fromAccountOpt.isEmpty() || fromAccountOpt.get().getUserId() != userId) {
+            throw new InvalidAccountException("Source account not found: " + fromAccountNumber);
+        }
+        
+        if (accountDAO.findByAccountNumber(toAccountNumber).isEmpty()) {
+            throw new InvalidAccountException("Destination account not found: " + toAccountNumber);
+        }
+        
+        StandingOrder order = new StandingOrder(userId, fromAccountNumber, toAccountNumber, amount, 
+                                                description, frequency, startAt);
+        return standingOrderDAO.createOrder(order);
+    }
+
+    /**
+     * Get all standing orders for a user
+     * @param userId user ID
+     * @return List of standing orders
+     * @throws SQLException if database operation fails
+     */
+    public List<StandingOrder> getStandingOrders(int userId) throws SQLException {
+        return standingOrderDAO.findByUserId(userId);
+    }
+
+    /**
+     * Cancel one of the user's standing orders
+     * @param userId user ID
+     * @param orderId order ID
+     * @return true if an active order was cancelled
+     * @throws SQLException if database operation fails
+     */
+    public boolean cancelStandingOrder(int userId, int orderId) throws SQLException {
+        return standingOrderDAO.cancelOrder(orderId, userId);
+    }
+
     /**
      * Get account balance
      * @param accountNumber account number
@@ -333,6 +620,31 @@ public class BankingService {
         return transactionDAO.findByUserId(userId);
     }
 
+    /**
+     * Get one page of an account's transactions as compact rows, newest first
+     * @param accountNumber account number
+     * @param beforeId last transaction ID of the previous page; Integer.MAX_VALUE for the first page
+     * @param limit maximum number of transactions
+     * @return List of transactions
+     * @throws SQLException if database operation fails
+     */
+    public List<CompactTransaction> getTransactionHistoryPage(String accountNumber, int beforeId, int limit)
+            throws SQLException {
+        return transactionDAO.findByAccountNumberPageCompact(accountNumber, beforeId, limit);
+    }
+
+    /**
+     * Get one page of a user's transactions as compact rows, newest first
+     * @param userId user ID
+     * @param beforeId last transaction ID of the previous page; Integer.MAX_VALUE for the first page
+     * @param limit maximum number of transactions
+     * @return List of transactions
+     * @throws SQLException if database operation fails
+     */
+    public List<CompactTransaction> getUserTransactionsPage(int userId, int beforeId, int limit) throws SQLException {
+        return transactionDAO.findByUserIdPageCompact(userId, beforeId, limit);
+    }
+
     /**
      * Get all accounts for a user
      * @param userId user ID
@@ -359,7 +671,12 @@ public class BankingService {
             throw new InvalidAccountException("Account not found: " + accountNumber);
         }
         
-        return accountDAO.updateFrozenStatus(accountOpt.get().getAccountId(), isFrozen);
+        BankAccount account = accountOpt.get();
+        boolean updated = accountDAO.updateFrozenStatus(account.getAccountId(), isFrozen);
+        if (updated) {
+            EventBus.getInstance().publishAccountFrozen(account.getAccountId(), accountNumber, isFrozen);
+        }
+        return updated;
     }
 
     /**
@@ -378,11 +695,104 @@ public class BankingService {
         return transactionDAO.getTransactionStatistics(accountOpt.get().getAccountId());
     }
 
+    /**
+     * Validate a batched transfer against the accounts loaded for the batch
+     * @return error message, or null if the transfer may proceed
+     */
+    private static String validateTransfer(TransferRequest request, Map<String, BankAccount> accounts) {
+        if (request.getAmount() <= 0) {
+            return "Transfer amount must be positive";
+        }
+        if (request.getFromAccountNumber().equals(request.getToAccountNumber())) {
+            return "Cannot transfer to the same account";
+        }
+        
+        BankAccount fromAccount = accounts.get(request.getFromAccountNumber());
+        BankAccount toAccount = accounts.get(request.getToAccountNumber());
+        if (fromAccount == null) {
+            return "Source account not found: " + request.getFromAccountNumber();
+        }
+        if (toAccount == null) {
+            return "Destination account not found: " + request.getToAccountNumber();
+        }
+        if (fromAccount.isFrozen()) {
+            return "Source account is frozen: " + request.getFromAccountNumber();
+        }
+        if (toAccount.isFrozen()) {
+            return "Destination account is frozen: " + request.getToAccountNumber();
+        }
+        if (!fromAccount.isActive()) {
+            return "Source account is inactive: " + request.getFromAccountNumber();
+        }
+        if (!toAccount.isActive()) {
+            return "Destination account is inactive: " + request.getToAccountNumber();
+        }
+        return null;
+    }
+
+    /**
+     * Publish the balance changes and transactions of a committed batched transfer
+     */
+    private void publishTransfer(TransferResult result, Map<String, BankAccount> accounts) {
+        TransferRequest request = result.getRequest();
+        BankAccount fromAccount = accounts.get(request.getFromAccountNumber());
+        BankAccount toAccount = accounts.get(request.getToAccountNumber());
+        long cents = MoneyUtils.toCents(request.getAmount());
+        
+        fromAccount.setBalance(result.getFromBalance());
+        toAccount.setBalance(result.getToBalance());
+        EventBus.getInstance().publishBalanceChanged(fromAccount, -cents);
+        EventBus.getInstance().publishBalanceChanged(toAccount, cents);
+        recordCommitted(result.getTransactions().get(0), fromAccount);
+        recordCommitted(result.getTransactions().get(1), toAccount);
+    }
+
+    /**
+     * Evaluate the velocity rules before any balance changes, reserving the operation in
+     * the velocity windows. Velocity is tracked on the initiating side only.
+     * @param account account the operation is initiated on
+     * @param amount operation amount
+     * @return reservation time, to be passed to releaseRules if the operation is not committed
+     * @throws TransactionBlockedException if a blocking rule is exceeded
+     */
+    private long enforceRules(BankAccount account, double amount) {
+        long now = System.currentTimeMillis();
+        enforceRules(account, amount, now);
+        return now;
+    }
+
+    private void enforceRules(BankAccount account, double amount, long nowMillis) {
+        RuleDecision decision = rulesEngine.evaluate(account.getAccountId(), account.getUserId(),
+                MoneyUtils.toCents(amount), nowMillis);
+        if (decision.isBlocked()) {
+            throw new TransactionBlockedException("Transaction blocked by rule: " + decision.getRule());
+        }
+    }
+
+    /**
+     * Give back the velocity reservation of an operation that was not committed
+     */
+    private void releaseRules(BankAccount account, double amount, long reservedAt) {
+        rulesEngine.release(account.getAccountId(), account.getUserId(), 
+                MoneyUtils.toCents(amount), reservedAt);
+    }
+
+    /**
+     * Publish a committed transaction
+     * @param transaction saved transaction
+     * @param account account the transaction was posted to
+     * @return the same transaction
+     */
+    private Transaction recordCommitted(Transaction transaction, BankAccount account) {
+        EventBus.getInstance().publishTransactionCommitted(transaction, account);
+        return transaction;
+    }
+
     /**
      * Generate unique account number
      * @return unique account number
      */
-    private String generateAccountNumber() {
+    String generateAccountNumber() {
         // Simple implementation - in production, use a more sophisticated approach
         long timestamp = System.currentTimeMillis();
         int random = (int) (Math.random() * 10000);
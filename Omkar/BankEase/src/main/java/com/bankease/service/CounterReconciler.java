@@ -0,0 +1,96 @@
+package com.bankease.service;
+
+import com.bankease.dao.StatisticsDAO;
+import com.bankease.metrics.SystemCounters;
+import com.bankease.model.SystemStatistics;
+import com.bankease.model.TransactionType;
+import com.bankease.utils.DatabaseConfig;
+
+import java.sql.SQLException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Seeds the live SystemCounters from the database and periodically reconciles them.
+ * Reconciliation corrects drift from writes that bypass the application, such as the
+ * balance-update trigger or manual SQL.
+ */
+public class CounterReconciler {
+    private static final int ATTEMPTS = 3;
+
+    private final StatisticsDAO statisticsDAO;
+    private final SystemCounters counters;
+    private ScheduledExecutorService scheduler;
+
+    public CounterReconciler() {
+        this(new StatisticsDAO(), SystemCounters.getInstance());
+    }
+
+    public CounterReconciler(StatisticsDAO statisticsDAO, SystemCounters counters) {
+        this.statisticsDAO = statisticsDAO;
+        this.counters = counters;
+    }
+
+    /**
+     * Reconcile the counters against the database once. The totals are read again if
+     * the counters changed while they were being queried, since a write committed inside
+     * the read would then be counted twice; after the last attempt they are applied
+     * anyway and that drift is corrected by the next round.
+     * @return total absolute drift corrected (0 on the seeding run), or -1 if the
+     *         counters were reset while the totals were read
+     * @throws SQLException if database operation fails
+     */
+    public long reconcile() throws SQLException {
+        for (int attempt = 1; ; attempt++) {
+            SystemCounters.Reading reading = counters.read();
+            long[] typeCounts = new long[TransactionType.values().length];
+            long[] typeVolumeCents = new long[typeCounts.length];
+            SystemStatistics snapshot = statisticsDAO.getTotals(typeCounts, typeVolumeCents);
+            if (counters.getMutationEpoch() == reading.getEpoch() || attempt == ATTEMPTS) {
+                return counters.reconcile(reading, snapshot, typeCounts, typeVolumeCents);
+            }
+        }
+    }
+
+    /**
+     * Seed the counters and schedule periodic reconciliation every counters.reconcileSeconds
+     * @throws SQLException if the initial seeding fails
+     */
+    public synchronized void start() throws SQLException {
+        reconcile();
+        if (scheduler != null) {
+            return;
+        }
+        int periodSeconds = Math.max(1, DatabaseConfig.getIntProperty("counters.reconcileSeconds", 300));
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "counter-reconciler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::reconcileQuietly, periodSeconds, periodSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Stop periodic reconciliation
+     */
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    private void reconcileQuietly() {
+        try {
+            long drift = reconcile();
+            if (drift < 0) {
+                System.err.println("Counter reconciliation skipped: counters were reset");
+            } else if (drift != 0) {
+                System.err.println("Counter reconciliation corrected drift of " + drift);
+            }
+        } catch (SQLException e) {
+            System.err.println("Counter reconciliation failed: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.bankease.service;
+
+import com.bankease.dao.StatisticsDAO;
+import com.bankease.events.BankEvent;
+import com.bankease.events.EventBus;
+import com.bankease.events.EventRing;
+import com.bankease.events.EventType;
+import com.bankease.model.SystemStatistics;
+import com.bankease.utils.DatabaseConfig;
+
+import java.sql.SQLException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Shared, background-refreshed cache of the admin dashboard statistics.
+ * One snapshot is computed per TTL period and served to every admin; readers only
+ * compute it themselves when the cached snapshot is missing or older than the TTL,
+ * and concurrent readers in that case wait for a single computation.
+ * <p>
+ * A new account drops the snapshot at once, since the account count is the figure
+ * admins check after opening one; balances and transaction counts move with every
+ * operation and are only bounded by the TTL.
+ */
+public class DashboardCache {
+    private static final DashboardCache INSTANCE =
+            new DashboardCache(new StatisticsDAO(), DatabaseConfig.getIntProperty("dashboard.ttlSeconds", 30));
+
+    private final StatisticsDAO statisticsDAO;
+    private final long ttlMillis;
+    private final Object refreshLock = new Object();
+    private final AtomicLong invalidations = new AtomicLong();
+    private volatile SystemStatistics current;
+    private ScheduledExecutorService refresher;
+    private EventRing subscription;
+
+    public DashboardCache(StatisticsDAO statisticsDAO, int ttlSeconds) {
+        this.statisticsDAO = statisticsDAO;
+        this.ttlMillis = TimeUnit.SECONDS.toMillis(Math.max(1, ttlSeconds));
+    }
+
+    /**
+     * Get the shared dashboard cache
+     * @return DashboardCache instance
+     */
+    public static DashboardCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Get the current dashboard snapshot, computing it only if the cached one has expired
+     * @return SystemStatistics snapshot no older than the TTL
+     * @throws SQLException if the snapshot has to be computed and the query fails
+     */
+    public SystemStatistics getStatistics() throws SQLException {
+        SystemStatistics snapshot = current;
+        if (snapshot != null && snapshot.getAgeMillis() <= ttlMillis) {
+            return snapshot;
+        }
+        
+        synchronized (refreshLock) {
+            snapshot = current;
+            if (snapshot == null || snapshot.getAgeMillis() > ttlMillis) {
+                long generation = invalidations.get();
+                snapshot = statisticsDAO.getSnapshot();
+                install(snapshot, generation);
+            }
+            startBackgroundRefresh();
+            return snapshot;
+        }
+    }
+
+    /**
+     * Drop the cached snapshot so the next read recomputes it
+     */
+    public void invalidate() {
+        invalidations.incrementAndGet();
+        current = null;
+    }
+
+    /**
+     * Stop the background refresh thread and the event subscription
+     */
+    public void shutdown() {
+        synchronized (refreshLock) {
+            if (refresher != null) {
+                refresher.shutdownNow();
+                refresher = null;
+            }
+            if (subscription != null) {
+                EventBus.getInstance().unsubscribe(subscription);
+                subscription = null;
+            }
+        }
+    }
+
+    public long getTtlMillis() {
+        return ttlMillis;
+    }
+
+    private void startBackgroundRefresh() {
+        if (refresher != null) {
+            return;
+        }
+        refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "dashboard-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Refresh a little before expiry so readers normally never hit the database
+        long period = Math.max(500, ttlMillis * 3 / 4);
+        refresher.scheduleWithFixedDelay(this::refreshQuietly, period, period, TimeUnit.MILLISECONDS);
+        subscription = EventBus.getInstance().subscribe("dashboard", this::onEvent);
+    }
+
+    private void onEvent(BankEvent event, long sequence, boolean endOfBatch) {
+        if (event.getType() == EventType.ACCOUNT_CREATED) {
+            invalidate();
+        }
+    }
+
+    /**
+     * Install a snapshot unless the cache was invalidated after its query started,
+     * in which case it may predate the change and the next read recomputes it
+     */
+    private void install(SystemStatistics snapshot, long generation) {
+        current = snapshot;
+        // Re-check after the write so an invalidation racing with it cannot be lost
+        if (invalidations.get() != generation) {
+            current = null;
+        }
+    }
+
+    private void refreshQuietly() {
+        try {
+            long generation = invalidations.get();
+            SystemStatistics snapshot = statisticsDAO.getSnapshot();
+            synchronized (refreshLock) {
+                install(snapshot, generation);
+            }
+        } catch (SQLException e) {
+            // Keep serving the previous snapshot; its age makes the staleness visible
+            System.err.println("Dashboard refresh failed: " + e.getMessage());
+        }
+    }
+}
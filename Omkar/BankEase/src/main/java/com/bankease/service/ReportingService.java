@@ -0,0 +1,133 @@
+package com.bankease.service;
+
+import com.bankease.dao.TransactionDAO;
+import com.bankease.model.ReportPeriod;
+import com.bankease.model.VolumeReport;
+import com.bankease.utils.DatabaseConfig;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Service class for periodic volume reports over the transaction ledger.
+ * A date range is split into one-day chunks; each chunk is aggregated by the database
+ * over its own connection, in parallel on a dedicated fork-join pool, and the partial
+ * reports are merged on the way back up the task tree.
+ */
+public class ReportingService {
+    private final TransactionDAO transactionDAO;
+    private final int parallelism;
+    private ForkJoinPool pool;
+
+    public ReportingService() {
+        this(new TransactionDAO(),
+             DatabaseConfig.getIntProperty("report.parallelism", Runtime.getRuntime().availableProcessors()));
+    }
+
+    public ReportingService(TransactionDAO transactionDAO, int parallelism) {
+        this.transactionDAO = transactionDAO;
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    /**
+     * Generate a volume report by transaction type, account type and user
+     * @param startDate first day of the report (inclusive)
+     * @param endDate last day of the report (inclusive)
+     * @param period bucket size
+     * @return VolumeReport with one bucket per period
+     * @throws SQLException if any chunk query fails
+     */
+    public VolumeReport generateVolumeReport(LocalDate startDate, LocalDate endDate, ReportPeriod period)
+            throws SQLException {
+        if (endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("End date must not be before start date");
+        }
+        
+        long started = System.currentTimeMillis();
+        int days = (int) ChronoUnit.DAYS.between(startDate, endDate) + 1;
+        VolumeReport report = new VolumeReport(period, startDate, endDate);
+        try {
+            report.merge(getPool().invoke(new ChunkTask(startDate, days, period)));
+        } catch (ChunkFailedException e) {
+            throw e.getSqlException();
+        }
+        report.setElapsedMillis(System.currentTimeMillis() - started);
+        return report;
+    }
+
+    /**
+     * Stop the worker pool
+     */
+    public synchronized void shutdown() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Get the worker pool, creating it on the first report
+     */
+    private synchronized ForkJoinPool getPool() {
+        if (pool == null) {
+            pool = new ForkJoinPool(parallelism);
+        }
+        return pool;
+    }
+
+    /**
+     * Fork-join task over a run of consecutive days
+     */
+    private class ChunkTask extends RecursiveTask<VolumeReport> {
+        private final LocalDate firstDay;
+        private final int days;
+        private final ReportPeriod period;
+
+        ChunkTask(LocalDate firstDay, int days, ReportPeriod period) {
+            this.firstDay = firstDay;
+            this.days = days;
+            this.period = period;
+        }
+
+        @Override
+        protected VolumeReport compute() {
+            if (days == 1) {
+                return aggregateDay();
+            }
+            int half = days / 2;
+            ChunkTask left = new ChunkTask(firstDay, half, period);
+            ChunkTask right = new ChunkTask(firstDay.plusDays(half), days - half, period);
+            left.fork();
+            VolumeReport result = right.compute();
+            result.merge(left.join());
+            return result;
+        }
+
+        private VolumeReport aggregateDay() {
+            VolumeReport partial = new VolumeReport(period, firstDay, firstDay);
+            try {
+                // A day never spans two buckets, so the whole chunk lands in one bucket
+                transactionDAO.aggregateVolume(firstDay.atStartOfDay(), firstDay.plusDays(1).atStartOfDay(),
+                                               partial.bucketFor(firstDay));
+            } catch (SQLException e) {
+                throw new ChunkFailedException(e);
+            }
+            return partial;
+        }
+    }
+
+    /**
+     * Carries a chunk's SQLException out of the fork-join pool
+     */
+    private static class ChunkFailedException extends RuntimeException {
+        ChunkFailedException(SQLException cause) {
+            super(cause);
+        }
+
+        SQLException getSqlException() {
+            return (SQLException) getCause();
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.bankease.utils;
+
+import java.io.PrintWriter;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Interactive page-by-page listing for the console menus.
+ * <p>
+ * Rows are fetched one page at a time through an ID cursor (keyset pagination): each
+ * page asks for the rows after the last ID shown, so only the current page is held in
+ * memory and the first screen is printed as soon as its rows arrive, however large the
+ * table. A page is rendered into the buffered writer and flushed once, instead of one
+ * console write per row. Going back re-reads the page from the cursor it started at;
+ * only those start IDs are kept.
+ *
+ * @param <T> row type
+ */
+public class ConsolePager<T> {
+
+    /**
+     * Fetches the rows that follow a cursor
+     */
+    @FunctionalInterface
+    public interface PageSource<T> {
+
+        /**
+         * Fetch one page
+         * @param cursor ID the page continues from, exclusive
+         * @param limit maximum number of rows
+         * @return rows in listing order
+         * @throws SQLException if database operation fails
+         */
+        List<T> fetch(int cursor, int limit) throws SQLException;
+    }
+
+    private final PageSource<T> source;
+    private final ToIntFunction<T> idOf;
+    private final boolean descending;
+    private final int pageSize;
+    private final Function<String, String> input;
+    private final PrintWriter out;
+
+    /**
+     * @param source page query
+     * @param idOf ID a row is keyed on
+     * @param descending true if rows are listed by ID from highest to lowest
+     * @param pageSize rows per page
+     * @param input reads a command after printing the given prompt
+     * @param out buffered console output, flushed after every page
+     */
+    public ConsolePager(PageSource<T> source, ToIntFunction<T> idOf, boolean descending, int pageSize,
+                        Function<String, String> input, PrintWriter out) {
+        this.source = source;
+        this.idOf = idOf;
+        this.descending = descending;
+        this.pageSize = Math.max(1, pageSize);
+        this.input = input;
+        this.out = out;
+    }
+
+    /**
+     * Show the listing until the user quits or there is nothing more to page through
+     * @param title listing title
+     * @param columns column header line
+     * @param renderer writes one row, including its line break
+     * @param emptyMessage printed instead of the listing when there are no rows at all
+     * @throws SQLException if database operation fails
+     */
+    public void show(String title, String columns, BiConsumer<PrintWriter, T> renderer, String emptyMessage)
+            throws SQLException {
+        Deque<Integer> previousStarts = new ArrayDeque<>();
+        int start = descending ? Integer.MAX_VALUE : 0;
+        List<T> rows = null;
+        boolean hasNext = false;
+        boolean reload = true;
+
+        while (true) {
+            if (reload) {
+                rows = source.fetch(start, pageSize + 1);
+                hasNext = rows.size() > pageSize;
+                if (hasNext) {
+                    rows = rows.subList(0, pageSize);
+                }
+                if (rows.isEmpty() && previousStarts.isEmpty()) {
+                    out.println(emptyMessage);
+                    out.flush();
+                    return;
+                }
+                render(title, columns, renderer, rows, hasNext, !previousStarts.isEmpty());
+                if (!hasNext && previousStarts.isEmpty()) {
+                    return;
+                }
+            }
+            reload = false;
+
+            String command = input.apply("Page command: ").trim().toLowerCase();
+            if (command.isEmpty() || command.startsWith("n")) {
+                if (hasNext) {
+                    previousStarts.push(start);
+                    start = idOf.applyAsInt(rows.get(rows.size() - 1));
+                    reload = true;
+                } else {
+                    out.println("Already on the last page.");
+                }
+            } else if (command.startsWith("p")) {
+                if (!previousStarts.isEmpty()) {
+                    start = previousStarts.pop();
+                    reload = true;
+                } else {
+                    out.println("Already on the first page.");
+                }
+            } else if (command.startsWith("j")) {
+                String target = command.replaceFirst("^j[a-z]*", "").trim();
+                if (target.isEmpty()) {
+                    target = input.apply("Jump to ID: ").trim();
+                }
+                try {
+                    long id = Long.parseLong(target);
+                    previousStarts.push(start);
+                    // The cursor is exclusive, so start one past the target to include it
+                    start = descending ? (int) Math.min(id + 1, Integer.MAX_VALUE) : (int) Math.max(id - 1, 0);
+                    reload = true;
+                } catch (NumberFormatException e) {
+                    out.println("Please enter a valid ID.");
+                }
+            } else if (command.startsWith("q")) {
+                out.flush();
+                return;
+            } else {
+                out.println("Unknown command. Use n, p, j <id> or q.");
+            }
+            out.flush();
+        }
+    }
+
+    private void render(String title, String columns, BiConsumer<PrintWriter, T> renderer, List<T> rows,
+                        boolean hasNext, boolean hasPrevious) {
+        out.println();
+        out.println("=== " + title + " ===");
+        out.println(columns);
+        out.println("------------------------------------------------------------");
+        for (T row : rows) {
+            renderer.accept(out, row);
+        }
+        if (rows.isEmpty()) {
+            out.println("No rows from here on.");
+        } else {
+            out.printf("IDs %d-%d  ", idOf.applyAsInt(rows.get(0)), idOf.applyAsInt(rows.get(rows.size() - 1)));
+        }
+        if (hasNext || hasPrevious) {
+            out.print(hasNext ? "[n]ext " : "");
+            out.print(hasPrevious ? "[p]rev " : "");
+            out.print("[j]ump <id> [q]uit");
+        }
+        out.println();
+        out.flush();
+    }
+}
@@ -1,26 +1,71 @@
 package com.bankease.utils;
 
+import com.bankease.jfr.StatementEvent;
+import com.bankease.metrics.JdbcInstrumentation;
+import com.bankease.metrics.LatencyRecorder;
+import com.bankease.metrics.SlowQueryLog;
+
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.nio.file.Paths;
 import java.sql.Connection;
 import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.Properties;
 
 /**
- * Database configuration utility class
+ * Database configuration utility class.
+ * <p>
+ * The configuration file is read on first use rather than when the class is loaded,
+ * so code that only references the class does not pay for it; {@link #preload()}
+ * starts reading it, and loading the JDBC driver, in the background.
  */
 public class DatabaseConfig {
     private static final String CONFIG_FILE = "config/database.properties";
     private static final String DEFAULT_CONFIG_FILE = "config/database.properties";
+    private static final String SCHEMA_FILE = "database/schema.sql";
+    private static final String EMBEDDED_URL_PREFIX = "jdbc:h2:mem:";
+    
+    private static volatile String url;
+    private static volatile String username;
+    private static volatile String password;
+    private static volatile String driver;
+    private static volatile Properties properties = new Properties();
+    private static volatile boolean loaded;
     
-    private static String url;
-    private static String username;
-    private static String password;
-    private static String driver;
+    /**
+     * Start loading the configuration and the JDBC driver on a background thread, so it
+     * overlaps with the caller's own startup work. Callers needing the configuration
+     * before it is done wait for it.
+     */
+    public static void preload() {
+        if (loaded) {
+            return;
+        }
+        Thread thread = new Thread(() -> {
+            ensureLoaded();
+            try {
+                Class.forName(driver);
+            } catch (ClassNotFoundException e) {
+                // Reported by the first connection attempt
+            }
+        }, "config-preload");
+        thread.setDaemon(true);
+        thread.start();
+    }
     
-    static {
-        loadDatabaseConfig();
+    private static void ensureLoaded() {
+        if (!loaded) {
+            synchronized (DatabaseConfig.class) {
+                if (!loaded) {
+                    loadDatabaseConfig();
+                    loaded = true;
+                }
+            }
+        }
     }
     
     /**
@@ -40,10 +85,16 @@ public class DatabaseConfig {
                 return;
             }
             
-            url = props.getProperty("db.url");
-            username = props.getProperty("db.username");
-            password = props.getProperty("db.password");
-            driver = props.getProperty("db.driver", "com.mysql.cj.jdbc.Driver");
+            properties = props;
+            url = lookup("db.url", null);
+            username = lookup("db.username", null);
+            password = lookup("db.password", "");
+            driver = lookup("db.driver", "com.mysql.cj.jdbc.Driver");
+            
+            String embedded = lookup("db.embedded", "");
+            if (!embedded.isEmpty()) {
+                selectEmbeddedDatabase(embedded);
+            }
             
         } catch (Exception e) {
             System.err.println("Error loading database configuration: " + e.getMessage());
@@ -55,10 +106,63 @@ public class DatabaseConfig {
      * Set default database configuration
      */
     private static void setDefaultConfig() {
-        url = "jdbc:mysql://localhost:3306/bankease?useSSL=false&serverTimezone=UTC";
-        username = "root";
-        password = "password";
-        driver = "com.mysql.cj.jdbc.Driver";
+        url = lookup("db.url", "jdbc:mysql://localhost:3306/bankease?useSSL=false&serverTimezone=UTC");
+        username = lookup("db.username", "root");
+        password = lookup("db.password", "password");
+        driver = lookup("db.driver", "com.mysql.cj.jdbc.Driver");
+    }
+    
+    /**
+     * Point all connections at an in-memory H2 database in MySQL mode, creating the schema
+     * from database/schema.sql the first time a name is used. Each name is a separate
+     * database, so tests can use a fresh name to start from empty tables. Needs the H2
+     * driver on the classpath; also selected at startup with db.embedded=&lt;name&gt;.
+     * @param name database name; a name not yet used in this JVM gives an empty database
+     * @throws SQLException if the database cannot be created or the schema fails to load
+     */
+    public static synchronized void useEmbeddedDatabase(String name) throws SQLException {
+        ensureLoaded();
+        selectEmbeddedDatabase(name);
+    }
+    
+    private static void selectEmbeddedDatabase(String name) throws SQLException {
+        url = EMBEDDED_URL_PREFIX + name + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+        username = "sa";
+        password = "";
+        driver = "org.h2.Driver";
+        
+        try (Connection conn = openConnection();
+             ResultSet tables = conn.getMetaData().getTables(null, conn.getSchema(), "users", null)) {
+            if (!tables.next()) {
+                SchemaLoader.load(conn, Paths.get(SCHEMA_FILE));
+            }
+        } catch (IOException e) {
+            throw new SQLException("Cannot read " + SCHEMA_FILE + ": " + e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Drop the embedded database selected by useEmbeddedDatabase, freeing its memory.
+     * Does nothing when connected to any other database.
+     * @throws SQLException if the database cannot be shut down
+     */
+    public static synchronized void dropEmbeddedDatabase() throws SQLException {
+        if (!isEmbedded()) {
+            return;
+        }
+        try (Connection conn = getUninstrumentedConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.execute("SHUTDOWN");
+        }
+    }
+    
+    /**
+     * Check whether connections go to an in-memory embedded database
+     * @return true if the URL is an H2 in-memory URL
+     */
+    public static boolean isEmbedded() {
+        ensureLoaded();
+        return url != null && url.startsWith(EMBEDDED_URL_PREFIX);
     }
     
     /**
@@ -67,6 +171,28 @@ public class DatabaseConfig {
      * @throws SQLException if connection fails
      */
     public static Connection getConnection() throws SQLException {
+        long started = System.nanoTime();
+        Connection conn = getUninstrumentedConnection();
+        LatencyRecorder recorder = LatencyRecorder.getInstance();
+        SlowQueryLog slowQueryLog = SlowQueryLog.getInstance();
+        if (!recorder.isEnabled() && !slowQueryLog.isEnabled() && !StatementEvent.isRecorded()) {
+            return conn;
+        }
+        return JdbcInstrumentation.wrap(conn, System.nanoTime() - started, recorder, slowQueryLog);
+    }
+    
+    /**
+     * Get a database connection whose statements are neither timed nor logged as slow,
+     * for the metrics code itself
+     * @return Connection object
+     * @throws SQLException if connection fails
+     */
+    public static Connection getUninstrumentedConnection() throws SQLException {
+        ensureLoaded();
+        return openConnection();
+    }
+    
+    private static Connection openConnection() throws SQLException {
         try {
             Class.forName(driver);
             return DriverManager.getConnection(url, username, password);
@@ -75,6 +201,38 @@ public class DatabaseConfig {
         }
     }
     
+    /**
+     * Prepare a forward-only, read-only statement whose results are streamed row by row
+     * instead of being loaded into memory. MySQL Connector/J only streams with a fetch
+     * size of Integer.MIN_VALUE; other drivers get a regular fetch size. While a MySQL
+     * streaming result is open, its connection cannot run other statements.
+     * @param conn connection
+     * @param sql SQL query
+     * @return PreparedStatement configured for streaming
+     * @throws SQLException if the statement cannot be prepared
+     */
+    public static PreparedStatement prepareStreamingStatement(Connection conn, String sql) throws SQLException {
+        PreparedStatement pstmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        String connectionUrl = conn.getMetaData().getURL();
+        pstmt.setFetchSize(connectionUrl != null && connectionUrl.startsWith("jdbc:mysql") ? Integer.MIN_VALUE : 1000);
+        return pstmt;
+    }
+    
+    /**
+     * Mark the connection as one whose balance changes the application journals itself.
+     * The after_account_balance_update trigger writes a journal row for every balance
+     * change made elsewhere (manual SQL, the UpdateAccountBalance procedure) and skips
+     * sessions that carry this mark, so each change is journaled exactly once. Call it
+     * inside the transaction that updates the balance and inserts the journal rows.
+     * @param conn connection about to update balances
+     * @throws SQLException if the session variable cannot be set
+     */
+    public static void markApplicationJournaled(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("SET @bankease_journaled = 1");
+        }
+    }
+    
     /**
      * Test database connection
      * @return true if connection successful, false otherwise
@@ -93,6 +251,7 @@ public class DatabaseConfig {
      * @return database URL
      */
     public static String getUrl() {
+        ensureLoaded();
         return url;
     }
     
@@ -101,6 +260,7 @@ public class DatabaseConfig {
      * @return database username
      */
     public static String getUsername() {
+        ensureLoaded();
         return username;
     }
     
@@ -109,6 +269,7 @@ public class DatabaseConfig {
      * @return database password
      */
     public static String getPassword() {
+        ensureLoaded();
         return password;
     }
     
@@ -117,6 +278,45 @@ public class DatabaseConfig {
      * @return database driver
      */
     public static String getDriver() {
+        ensureLoaded();
         return driver;
     }
+    
+    /**
+     * Get a configuration property, letting a system property of the same name override the file
+     * @param key property key
+     * @param defaultValue value to use if the property is not set
+     * @return property value
+     */
+    public static String getProperty(String key, String defaultValue) {
+        ensureLoaded();
+        return lookup(key, defaultValue);
+    }
+    
+    private static String lookup(String key, String defaultValue) {
+        String value = System.getProperty(key);
+        if (value == null) {
+            value = properties.getProperty(key);
+        }
+        return value != null ? value.trim() : defaultValue;
+    }
+    
+    /**
+     * Get an integer configuration property
+     * @param key property key
+     * @param defaultValue value to use if the property is not set or invalid
+     * @return property value
+     */
+    public static int getIntProperty(String key, int defaultValue) {
+        String value = getProperty(key, null);
+        if (value == null || value.isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            System.err.println("Invalid value for " + key + ": " + value + ", using " + defaultValue);
+            return defaultValue;
+        }
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,131 @@
+package com.bankease.utils;
+
+import org.h2.api.Trigger;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * H2 translations of the triggers in database/schema.sql, so the embedded database used by
+ * the tests behaves like MySQL. SchemaLoader replaces each CREATE TRIGGER block of the
+ * script with a CREATE TRIGGER ... CALL of the class registered here under the same name.
+ * <p>
+ * H2 is only needed at runtime when an embedded database is used; these classes are loaded
+ * by H2 itself and never by the application.
+ */
+public final class EmbeddedTriggers {
+    private static final Map<String, Class<? extends Trigger>> TRIGGERS = new HashMap<>();
+
+    static {
+        TRIGGERS.put("after_account_balance_update", AfterAccountBalanceUpdate.class);
+        TRIGGERS.put("before_transaction_insert", BeforeTransactionInsert.class);
+    }
+
+    private EmbeddedTriggers() {
+    }
+
+    /**
+     * Find the H2 translation of a schema trigger
+     * @param triggerName trigger name in schema.sql
+     * @return trigger class name, or null if the trigger has no translation
+     */
+    public static String classFor(String triggerName) {
+        Class<? extends Trigger> trigger = TRIGGERS.get(triggerName.toLowerCase());
+        return trigger != null ? trigger.getName() : null;
+    }
+
+    /**
+     * Position of a column in the rows H2 passes to a trigger
+     */
+    private static int columnIndex(Connection conn, String schemaName, String tableName, String column)
+            throws SQLException {
+        try (ResultSet rs = conn.getMetaData().getColumns(null, schemaName, tableName, column)) {
+            if (!rs.next()) {
+                throw new SQLException("Column " + tableName + "." + column + " not found");
+            }
+            return rs.getInt("ORDINAL_POSITION") - 1;
+        }
+    }
+
+    /**
+     * Journals every balance change as a DEPOSIT or WITHDRAWAL of the difference, unless
+     * the session is marked with @bankease_journaled (see DatabaseConfig.markApplicationJournaled)
+     */
+    public static class AfterAccountBalanceUpdate implements Trigger {
+        private int accountIdColumn;
+        private int balanceColumn;
+
+        @Override
+        public void init(Connection conn, String schemaName, String triggerName, String tableName,
+                         boolean before, int type) throws SQLException {
+            accountIdColumn = columnIndex(conn, schemaName, tableName, "account_id");
+            balanceColumn = columnIndex(conn, schemaName, tableName, "balance");
+        }
+
+        @Override
+        public void fire(Connection conn, Object[] oldRow, Object[] newRow) throws SQLException {
+            BigDecimal oldBalance = (BigDecimal) oldRow[balanceColumn];
+            BigDecimal newBalance = (BigDecimal) newRow[balanceColumn];
+            if (oldBalance == null || newBalance == null || oldBalance.compareTo(newBalance) == 0
+                    || isApplicationJournaled(conn)) {
+                return;
+            }
+
+            String sql = "INSERT INTO transactions (transaction_type, account_id, amount, description, status) " +
+                        "VALUES (?, ?, ?, ?, 'COMPLETED')";
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setString(1, newBalance.compareTo(oldBalance) > 0 ? "DEPOSIT" : "WITHDRAWAL");
+                pstmt.setObject(2, newRow[accountIdColumn]);
+                pstmt.setBigDecimal(3, newBalance.subtract(oldBalance).abs());
+                pstmt.setString(4, "Balance update: " + oldBalance.toPlainString() + " -> " + newBalance.toPlainString());
+                pstmt.executeUpdate();
+            }
+        }
+
+        private static boolean isApplicationJournaled(Connection conn) throws SQLException {
+            try (Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT @bankease_journaled")) {
+                return rs.next() && rs.getObject(1) != null;
+            }
+        }
+    }
+
+    /**
+     * Rejects journal rows for frozen or inactive accounts with SQLSTATE 45000
+     */
+    public static class BeforeTransactionInsert implements Trigger {
+        private int accountIdColumn;
+
+        @Override
+        public void init(Connection conn, String schemaName, String triggerName, String tableName,
+                         boolean before, int type) throws SQLException {
+            accountIdColumn = columnIndex(conn, schemaName, tableName, "account_id");
+        }
+
+        @Override
+        public void fire(Connection conn, Object[] oldRow, Object[] newRow) throws SQLException {
+            String sql = "SELECT is_frozen, is_active FROM accounts WHERE account_id = ?";
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setObject(1, newRow[accountIdColumn]);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    if (!rs.next()) {
+                        return;
+                    }
+                    if (rs.getBoolean("is_frozen")) {
+                        throw new SQLException("Account is frozen", "45000");
+                    }
+                    boolean active = rs.getBoolean("is_active");
+                    if (!rs.wasNull() && !active) {
+                        throw new SQLException("Account is inactive", "45000");
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.bankease.utils;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Utility methods for converting between decimal amounts and whole cents
+ */
+public final class MoneyUtils {
+
+    private MoneyUtils() {
+    }
+
+    /**
+     * Convert a decimal amount to cents, rounding half up
+     * @param amount decimal amount
+     * @return amount in cents
+     */
+    public static long toCents(double amount) {
+        return Math.round(amount * 100.0);
+    }
+
+    /**
+     * Convert an exact decimal amount, such as a DECIMAL column, to cents, rounding half up
+     * @param amount decimal amount, or null for zero
+     * @return amount in cents
+     */
+    public static long toCents(BigDecimal amount) {
+        if (amount == null) {
+            return 0;
+        }
+        return amount.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    /**
+     * Convert cents to a decimal amount
+     * @param cents amount in cents
+     * @return decimal amount
+     */
+    public static double fromCents(long cents) {
+        return cents / 100.0;
+    }
+
+    /**
+     * Convert cents to an exact decimal amount for DECIMAL columns
+     * @param cents amount in cents
+     * @return decimal amount with scale 2
+     */
+    public static BigDecimal toBigDecimal(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+}
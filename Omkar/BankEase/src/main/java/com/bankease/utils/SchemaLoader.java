@@ -0,0 +1,127 @@
+package com.bankease.utils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Loads database/schema.sql into an embedded database such as H2 in MySQL mode.
+ * <p>
+ * The script is written for the mysql client, so a few parts are adapted: CREATE DATABASE
+ * and USE are skipped, and inline index names are dropped because they are only unique per
+ * table in MySQL but per schema elsewhere. Triggers change what the application sees (the
+ * balance trigger journals changes, the insert trigger rejects journal rows for frozen
+ * accounts), so each CREATE TRIGGER block is replaced by its Java translation from
+ * EmbeddedTriggers; a trigger without one fails the load rather than being dropped. Stored
+ * procedures are skipped, since the application never calls them.
+ */
+public final class SchemaLoader {
+    private static final Pattern INLINE_INDEX_NAME = Pattern.compile("(?m)^(\\s*)INDEX \\w+ \\(");
+    private static final Pattern TRIGGER_HEADER = Pattern.compile(
+            "^\\s*CREATE\\s+TRIGGER\\s+(\\w+)\\s+(BEFORE|AFTER)\\s+(INSERT|UPDATE|DELETE)\\s+ON\\s+(\\w+)\\s+FOR\\s+EACH\\s+ROW\\b",
+            Pattern.CASE_INSENSITIVE);
+
+    private SchemaLoader() {
+    }
+
+    /**
+     * Run the schema script on a connection
+     * @param conn connection to an empty database
+     * @param schemaFile path of schema.sql
+     * @return number of statements executed
+     * @throws IOException if the script cannot be read
+     * @throws SQLException if a statement fails or a trigger has no embedded translation
+     */
+    public static int load(Connection conn, Path schemaFile) throws IOException, SQLException {
+        int executed = 0;
+        List<String> statements;
+        try {
+            statements = statements(Files.readAllLines(schemaFile, StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new SQLException(e.getMessage(), e);
+        }
+        try (Statement stmt = conn.createStatement()) {
+            for (String sql : statements) {
+                stmt.execute(sql);
+                executed++;
+            }
+        }
+        return executed;
+    }
+
+    /**
+     * Split a mysql client script into the statements an embedded database can run
+     * @param lines script lines
+     * @return statements, without trailing semicolons
+     * @throws IllegalArgumentException if a trigger has no embedded translation
+     */
+    static List<String> statements(List<String> lines) {
+        List<String> statements = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        StringBuilder block = new StringBuilder();
+        boolean inDelimiterBlock = false;
+        for (String line : lines) {
+            String trimmed = line.trim();
+            if (trimmed.toUpperCase().startsWith("DELIMITER")) {
+                inDelimiterBlock = !trimmed.endsWith(";");
+                if (!inDelimiterBlock) {
+                    addTrigger(statements, block.toString());
+                    block.setLength(0);
+                }
+                continue;
+            }
+            if (inDelimiterBlock) {
+                block.append(line).append('\n');
+                continue;
+            }
+            if (trimmed.startsWith("--") || trimmed.isEmpty()) {
+                continue;
+            }
+            current.append(line).append('\n');
+            if (trimmed.endsWith(";")) {
+                addStatement(statements, current.toString());
+                current.setLength(0);
+            }
+        }
+        addStatement(statements, current.toString());
+        return statements;
+    }
+
+    /**
+     * Translate a DELIMITER block that creates a trigger; other blocks are procedures and skipped
+     */
+    private static void addTrigger(List<String> statements, String block) {
+        Matcher header = TRIGGER_HEADER.matcher(block);
+        if (!header.find()) {
+            return;
+        }
+        String name = header.group(1);
+        String triggerClass = EmbeddedTriggers.classFor(name);
+        if (triggerClass == null) {
+            throw new IllegalArgumentException("Trigger " + name + " has no translation in EmbeddedTriggers");
+        }
+        statements.add("CREATE TRIGGER " + name + " " + header.group(2).toUpperCase() + " " + 
+                       header.group(3).toUpperCase() + " ON " + header.group(4) + " FOR EACH ROW CALL '" + 
+                       triggerClass + "'");
+    }
+
+    private static void addStatement(List<String> statements, String text) {
+        String sql = text.trim();
+        if (sql.endsWith(";")) {
+            sql = sql.substring(0, sql.length() - 1).trim();
+        }
+        String upper = sql.toUpperCase();
+        if (sql.isEmpty() || upper.startsWith("CREATE DATABASE") || upper.startsWith("USE ")) {
+            return;
+        }
+        statements.add(INLINE_INDEX_NAME.matcher(sql).replaceAll("$1INDEX ("));
+    }
+}
@@ -0,0 +1,33 @@
+package com.bankease.utils;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Utility methods for converting between LocalDateTime and epoch milliseconds.
+ * Uses the system default zone, matching java.sql.Timestamp.valueOf.
+ */
+public final class TimeUtils {
+
+    private TimeUtils() {
+    }
+
+    /**
+     * Convert a LocalDateTime to epoch milliseconds
+     * @param dateTime date time
+     * @return epoch milliseconds
+     */
+    public static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /**
+     * Convert epoch milliseconds to a LocalDateTime
+     * @param epochMillis epoch milliseconds
+     * @return date time
+     */
+    public static LocalDateTime fromEpochMillis(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+}
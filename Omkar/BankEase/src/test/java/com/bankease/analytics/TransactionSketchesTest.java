@@ -0,0 +1,221 @@
+package com.bankease.analytics;
+
+import com.bankease.dao.JournalRowHandler;
+import com.bankease.dao.TransactionDAO;
+import com.bankease.events.EventBus;
+import com.bankease.events.EventRing;
+import com.bankease.model.AccountType;
+import com.bankease.model.AccountVolume;
+import com.bankease.model.AmountSummary;
+import com.bankease.model.BankAccount;
+import com.bankease.model.Transaction;
+import com.bankease.model.TransactionType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test class for the streaming transaction sketches
+ */
+@DisplayName("Transaction Sketches Tests")
+public class TransactionSketchesTest {
+    
+    @TempDir
+    Path sketchDir;
+    
+    @Test
+    @DisplayName("Count-Min estimates should never under-count")
+    void testCountMinNeverUnderCounts() {
+        CountMinSketch sketch = new CountMinSketch(4, 1024);
+        for (int key = 0; key < 5000; key++) {
+            sketch.add(key, key % 7 + 1);
+        }
+        for (int key = 0; key < 5000; key++) {
+            long estimate = sketch.estimate(key);
+            assertTrue(estimate >= key % 7 + 1);
+            assertTrue(estimate <= key % 7 + 1 + sketch.getErrorBound());
+        }
+    }
+    
+    @Test
+    @DisplayName("Top-K tracker should find the heavy hitters among many small keys")
+    void testTopKFindsHeavyHitters() {
+        TopKTracker tracker = new TopKTracker(10, 4, 8192);
+        for (int round = 0; round < 20; round++) {
+            for (int key = 1000; key < 3000; key++) {
+                tracker.add(key, 1);
+            }
+            tracker.add(1, 5000);
+            tracker.add(2, 3000);
+        }
+        
+        List<AccountVolume> top = tracker.getTop();
+        assertEquals(1, top.get(0).getAccountId());
+        assertEquals(2, top.get(1).getAccountId());
+        assertTrue(top.get(0).getVolumeCents() >= 100000);
+    }
+    
+    @Test
+    @DisplayName("HyperLogLog should estimate distinct keys within a few standard errors")
+    void testHyperLogLogEstimate() {
+        HyperLogLog hll = new HyperLogLog(14);
+        HyperLogLog other = new HyperLogLog(14);
+        for (int key = 0; key < 60000; key++) {
+            hll.add(key);
+            other.add(key + 30000);
+        }
+        hll.merge(other);
+        
+        double error = Math.abs(hll.estimate() - 90000) / 90000.0;
+        assertTrue(error < 4 * hll.getStandardError(), "relative error " + error);
+    }
+    
+    @Test
+    @DisplayName("Should answer window queries and survive a persist and reload")
+    void testPersistAndReload() throws Exception {
+        TransactionSketches sketches = new TransactionSketches(sketchDir, 50, 30);
+        long now = System.currentTimeMillis();
+        long twoDaysAgo = now - 2 * 24 * 60 * 60 * 1000L;
+        sketches.record(1, AccountType.CHECKING, TransactionType.TRANSFER_OUT, 90000, now);
+        sketches.record(2, AccountType.SAVINGS, TransactionType.TRANSFER_OUT, 50000, twoDaysAgo);
+        sketches.record(3, AccountType.SAVINGS, TransactionType.DEPOSIT, 70000, now);
+        
+        assertEquals(2, sketches.getDistinctActiveAccounts(1));
+        assertEquals(1, sketches.getTopAccountsByTransferVolume(10, 1).size());
+        
+        sketches.persist();
+        TransactionSketches reloaded = new TransactionSketches(sketchDir, 50, 30);
+        reloaded.load();
+        
+        List<AccountVolume> top = reloaded.getTopAccountsByTransferVolume(10, 7);
+        assertEquals(2, top.size());
+        assertEquals(1, top.get(0).getAccountId());
+        assertEquals(90000, top.get(0).getVolumeCents());
+        assertEquals(3, reloaded.getDistinctActiveAccounts(7));
+        
+        LocalDate today = LocalDate.now();
+        AmountSummary savings = reloaded.getAmountSummary(today.minusDays(6), today, AccountType.SAVINGS);
+        assertEquals(2, savings.getCount());
+        assertEquals(70000, savings.getMaxCents());
+        assertEquals(2, reloaded.getDailyAmountSummaries(today, today).size());
+    }
+    
+    @Test
+    @DisplayName("Should only rewrite days recorded into since the last persist")
+    void testPersistWritesDirtyDaysOnly() throws Exception {
+        TransactionSketches sketches = new TransactionSketches(sketchDir, 50, 30);
+        long now = System.currentTimeMillis();
+        long yesterday = now - 24 * 60 * 60 * 1000L;
+        sketches.record(1, AccountType.CHECKING, TransactionType.DEPOSIT, 1000, yesterday);
+        sketches.record(2, AccountType.CHECKING, TransactionType.DEPOSIT, 2000, now);
+        sketches.persist();
+        
+        Path closedDay = sketchDir.resolve(LocalDate.now().minusDays(1) + ".sketch");
+        Path today = sketchDir.resolve(LocalDate.now() + ".sketch");
+        assertTrue(Files.exists(closedDay));
+        Files.delete(closedDay);
+        Files.delete(today);
+        
+        sketches.persist();
+        assertFalse(Files.exists(today), "nothing was recorded, so nothing should be written");
+        
+        sketches.record(3, AccountType.CHECKING, TransactionType.DEPOSIT, 3000, now);
+        sketches.persist();
+        assertTrue(Files.exists(today));
+        assertFalse(Files.exists(closedDay), "a closed day should not be rewritten");
+    }
+    
+    @Test
+    @DisplayName("Should count transactions committed during a rebuild once and not rebuild empty days again")
+    void testRebuildWhileSubscribed() throws Exception {
+        LocalDate today = LocalDate.now();
+        List<LocalDate> rebuilt = new ArrayList<>();
+        TransactionDAO journal = new TransactionDAO() {
+            @Override
+            public void replayCompleted(LocalDateTime from, LocalDateTime to, JournalRowHandler handler) {
+                rebuilt.add(from.toLocalDate());
+                if (from.toLocalDate().equals(today)) {
+                    handler.accept(1, 1, AccountType.CHECKING, TransactionType.DEPOSIT, 1000);
+                    // Committed while the day is being rebuilt: the first one is already in the journal read
+                    publishCommitted(1, 1);
+                    publishCommitted(2, 2);
+                    awaitSubscriber();
+                }
+            }
+        };
+        TransactionSketches sketches = new TransactionSketches(sketchDir, 50, 5);
+        try {
+            sketches.start(journal);
+            publishCommitted(3, 3);
+            awaitSubscriber();
+        } finally {
+            sketches.stop();
+        }
+
+        assertEquals(5, rebuilt.size());
+        assertEquals(3, sketches.getDistinctActiveAccounts(1));
+        assertEquals(3, sketches.getAmountSummary(today, today, AccountType.CHECKING).getCount());
+        assertTrue(Files.exists(sketchDir.resolve(today.minusDays(4) + ".sketch")), "empty day should be marked");
+
+        rebuilt.clear();
+        TransactionSketches restarted = new TransactionSketches(sketchDir, 50, 5);
+        try {
+            restarted.start(journal);
+        } finally {
+            restarted.stop();
+        }
+        assertTrue(rebuilt.isEmpty(), "nothing should be rebuilt again, rebuilt " + rebuilt);
+        assertEquals(3, restarted.getDistinctActiveAccounts(5));
+    }
+
+    private static void publishCommitted(int transactionId, int accountId) {
+        Transaction transaction = new Transaction(TransactionType.DEPOSIT, accountId, 10, "Live");
+        transaction.setTransactionId(transactionId);
+        BankAccount account = new BankAccount("ACC" + accountId, 1, AccountType.CHECKING, 10);
+        account.setAccountId(accountId);
+        EventBus.getInstance().publishTransactionCommitted(transaction, account);
+    }
+
+    private static void awaitSubscriber() {
+        for (EventRing ring : EventBus.getInstance().getSubscriptions()) {
+            while (ring.getBacklog() > 0) {
+                Thread.yield();
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("T-digest quantiles should be close to the exact quantiles and survive merging")
+    void testTDigestQuantiles() {
+        Random random = new Random(42);
+        double[] values = new double[100000];
+        TDigest first = new TDigest(100);
+        TDigest second = new TDigest(100);
+        for (int i = 0; i < values.length; i++) {
+            // Skewed like transaction amounts: many small, few large
+            values[i] = Math.exp(random.nextGaussian() * 1.5 + 8);
+            (i % 2 == 0 ? first : second).add(values[i]);
+        }
+        first.merge(second);
+        Arrays.sort(values);
+        
+        assertEquals(values.length, first.getCount());
+        for (double q : new double[] {0.5, 0.9, 0.99, 0.999}) {
+            // Compare the rank of the estimate with the requested quantile
+            int rank = Arrays.binarySearch(values, first.quantile(q));
+            double actual = (rank >= 0 ? rank : -rank - 1) / (double) values.length;
+            assertTrue(Math.abs(actual - q) < 0.001 + q * (1 - q) * 0.02, "q=" + q + " actual rank " + actual);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.bankease.api;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test class for API routing, sessions, limits and error mapping
+ */
+@DisplayName("ApiServer Tests")
+public class ApiServerTest {
+    private final HttpClient client = HttpClient.newHttpClient();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private ApiServer server;
+    
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new ApiServer(new InetSocketAddress("127.0.0.1", 0), 4, false, 4, 1000, 256, 0,
+                               new SessionStore(60_000, 100));
+        server.route("GET", "/api/ping", ApiServer.Access.PUBLIC, request -> Map.of("pong", true));
+        server.route("POST", "/api/echo/{name}", ApiServer.Access.PUBLIC, request ->
+                Map.of("name", request.pathParam("name"), "amount", request.getAmount("amount")));
+        server.route("POST", "/api/login", ApiServer.Access.PUBLIC, request ->
+                Map.of("token", server.getSessions().createUserSession(42).getToken()));
+        server.route("GET", "/api/me", ApiServer.Access.USER, request -> Map.of("userId", request.getUserId()));
+        server.route("GET", "/api/admin/only", ApiServer.Access.ADMIN, request -> Map.of());
+        server.route("POST", "/api/jobs", ApiServer.Access.PUBLIC, request -> {
+            JobRunner.Job job = server.getJobs().submit("wait", "wait", () -> {
+                release.await(10, TimeUnit.SECONDS);
+                return Map.of("done", true);
+            });
+            return ApiResponse.accepted(Map.of("jobId", job.getId()), "/api/jobs/" + job.getId());
+        });
+        server.route("GET", "/api/broken", ApiServer.Access.PUBLIC, request -> {
+            throw new java.sql.SQLException("secret SQL detail");
+        });
+        server.start();
+    }
+    
+    @AfterEach
+    void tearDown() {
+        server.stop();
+    }
+    
+    @Test
+    @DisplayName("Should route requests with path parameters and JSON bodies")
+    void testRouting() throws Exception {
+        assertEquals(200, get("/api/ping", null).statusCode());
+        
+        HttpResponse<String> echo = post("/api/echo/alice", "{\"amount\": 12.5}", null);
+        assertEquals(200, echo.statusCode());
+        Map<?, ?> body = (Map<?, ?>) Json.parse(echo.body());
+        assertEquals("alice", body.get("name"));
+        assertEquals("12.5", body.get("amount").toString());
+        
+        assertEquals(404, get("/api/missing", null).statusCode());
+        assertEquals(405, post("/api/ping", "", null).statusCode());
+        assertEquals(400, post("/api/echo/alice", "{\"amount\": \"ten\"}", null).statusCode());
+        assertEquals(400, post("/api/echo/alice", "not json", null).statusCode());
+    }
+    
+    @Test
+    @DisplayName("Should require a session of the right kind")
+    void testSessions() throws Exception {
+        assertEquals(401, get("/api/me", null).statusCode());
+        assertEquals(401, get("/api/me", "made-up-token").statusCode());
+        
+        String token = (String) ((Map<?, ?>) Json.parse(post("/api/login", "", null).body())).get("token");
+        HttpResponse<String> me = get("/api/me", token);
+        assertEquals(200, me.statusCode());
+        assertEquals("{\"userId\":42}", me.body());
+        assertEquals(403, get("/api/admin/only", token).statusCode());
+    }
+    
+    @Test
+    @DisplayName("Should reject oversized bodies and hide internal errors")
+    void testLimitsAndErrors() throws Exception {
+        HttpResponse<String> tooLarge = post("/api/echo/alice", "{\"amount\": 1, \"pad\": \"" + "x".repeat(300) + "\"}", null);
+        assertEquals(413, tooLarge.statusCode());
+        
+        HttpResponse<String> broken = get("/api/broken", null);
+        assertEquals(500, broken.statusCode());
+        assertFalse(broken.body().contains("secret"));
+    }
+    
+    @Test
+    @DisplayName("Should answer 202 for background jobs and not start duplicates")
+    void testAcceptedJobs() throws Exception {
+        HttpResponse<String> first = post("/api/jobs", "", null);
+        assertEquals(202, first.statusCode());
+        assertEquals("/api/jobs/1", first.headers().firstValue("Location").orElse(null));
+        assertEquals("{\"jobId\":1}", first.body());
+        // Still running, so the same job comes back
+        assertEquals("{\"jobId\":1}", post("/api/jobs", "", null).body());
+        assertFalse(server.getJobs().get(1).isFinished());
+        
+        release.countDown();
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!server.getJobs().get(1).isFinished() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(JobRunner.State.SUCCEEDED, server.getJobs().get(1).getState());
+        assertEquals(Map.of("done", true), server.getJobs().get(1).getResult());
+        assertEquals("{\"jobId\":2}", post("/api/jobs", "", null).body());
+    }
+    
+    private HttpResponse<String> get(String path, String token) throws Exception {
+        return send(HttpRequest.newBuilder(uri(path)).GET(), token);
+    }
+    
+    private HttpResponse<String> post(String path, String body, String token) throws Exception {
+        return send(HttpRequest.newBuilder(uri(path)).POST(HttpRequest.BodyPublishers.ofString(body)), token);
+    }
+    
+    private HttpResponse<String> send(HttpRequest.Builder builder, String token) throws Exception {
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return client.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+    }
+    
+    private URI uri(String path) {
+        return URI.create("http://127.0.0.1:" + server.getPort() + path);
+    }
+}
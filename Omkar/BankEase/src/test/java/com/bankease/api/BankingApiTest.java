@@ -0,0 +1,195 @@
+package com.bankease.api;
+
+import com.bankease.model.User;
+import com.bankease.service.AdminService;
+import com.bankease.service.BankingService;
+import com.bankease.utils.DatabaseConfig;
+import com.bankease.utils.EmbeddedDatabaseExtension;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test class for the paged listings and background jobs of BankingApi
+ */
+@DisplayName("BankingApi Tests")
+@ExtendWith(EmbeddedDatabaseExtension.class)
+public class BankingApiTest {
+    private static final int ACCOUNTS = 5;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    @TempDir
+    Path reportDir;
+    private ApiServer server;
+    private String userToken;
+    private String adminToken;
+    
+    @BeforeEach
+    void setUp() throws Exception {
+        System.setProperty("reconcile.reportDir", reportDir.toString());
+        BankingService bankingService = new BankingService();
+        server = new ApiServer(new InetSocketAddress("127.0.0.1", 0), 4, false, 4, 1000, 4096, 0,
+                               new SessionStore(60_000, 100), new JobRunner(1, 10));
+        new BankingApi(bankingService, new AdminService(), null, 2, 3).register(server);
+        server.start();
+        
+        User user = bankingService.registerUser("pager", "secret", "pager@bankease.test", "Pager", "");
+        for (int i = 0; i < ACCOUNTS; i++) {
+            bankingService.createAccount(user.getUserId(), "SAVINGS", 100 + i);
+        }
+        userToken = token(post("/api/sessions", "{\"username\":\"pager\",\"password\":\"secret\"}", null));
+        adminToken = token(post("/api/admin/sessions", "{\"username\":\"admin\",\"password\":\"admin123\"}", null));
+    }
+    
+    @AfterEach
+    void tearDown() {
+        server.stop();
+        System.clearProperty("reconcile.reportDir");
+    }
+    
+    @Test
+    @DisplayName("Should page listings through the after cursor and cap the page size")
+    void testPagedListings() throws Exception {
+        List<Object> accountIds = collect("/api/admin/accounts", "accountId", adminToken);
+        assertEquals(List.of(1, 2, 3, 4, 5), toInts(accountIds));
+        
+        // One opening deposit per account, newest first
+        assertEquals(List.of(5, 4, 3, 2, 1), toInts(collect("/api/admin/transactions", "transactionId", adminToken)));
+        assertEquals(List.of(5, 4, 3, 2, 1), toInts(collect("/api/transactions", "transactionId", userToken)));
+        
+        Map<?, ?> capped = json(get("/api/admin/transactions?limit=100", adminToken));
+        assertEquals(3, ((List<?>) capped.get("items")).size());
+        assertEquals("3", capped.get("next").toString());
+        
+        Map<?, ?> last = json(get("/api/admin/transactions?after=2", adminToken));
+        assertEquals(1, ((List<?>) last.get("items")).size());
+        assertNull(last.get("next"));
+        
+        assertEquals(400, get("/api/admin/accounts?limit=0", adminToken).statusCode());
+        assertEquals(400, get("/api/admin/accounts?after=abc", adminToken).statusCode());
+    }
+    
+    @Test
+    @DisplayName("Should run batch jobs in the background behind a status resource")
+    void testBackgroundJobs() throws Exception {
+        HttpResponse<String> submitted = post("/api/admin/jobs/reconciliation", "", adminToken);
+        assertEquals(202, submitted.statusCode());
+        String location = submitted.headers().firstValue("Location").orElseThrow();
+        assertEquals("/api/admin/jobs/" + json(submitted).get("jobId"), location);
+        
+        Map<?, ?> job = awaitJob(location);
+        assertEquals("SUCCEEDED", job.get("state"), () -> "job did not succeed: " + job.get("error"));
+        Map<?, ?> result = (Map<?, ?>) job.get("result");
+        assertEquals("5", result.get("accountsChecked").toString());
+        assertEquals(Boolean.TRUE, result.get("clean"));
+        
+        assertEquals(404, get("/api/admin/jobs/999", adminToken).statusCode());
+        assertEquals(400, post("/api/admin/jobs/interest", "{\"date\":\"yesterday\"}", adminToken).statusCode());
+        assertEquals(403, post("/api/admin/jobs/reconciliation", "", userToken).statusCode());
+    }
+    
+    @Test
+    @DisplayName("Should keep account listings, statistics and latency from support admins")
+    void testAdminPermissions() throws Exception {
+        try (Connection conn = DatabaseConfig.getConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.execute("INSERT INTO admins (username, password, full_name, email, role) " +
+                         "VALUES ('helpdesk', 'help123', 'Help Desk', 'help@bankease.test', 'SUPPORT')");
+        }
+        String supportToken = token(post("/api/admin/sessions",
+                                         "{\"username\":\"helpdesk\",\"password\":\"help123\"}", null));
+        
+        for (String path : List.of("/api/admin/users", "/api/admin/accounts", "/api/admin/transactions",
+                                   "/api/admin/statistics", "/api/admin/latency")) {
+            assertEquals(403, get(path, supportToken).statusCode(), path);
+            assertEquals(200, get(path, adminToken).statusCode(), path);
+        }
+    }
+    
+    /**
+     * Poll a job's status resource until it has finished
+     */
+    private Map<?, ?> awaitJob(String location) throws Exception {
+        long deadline = System.currentTimeMillis() + 10_000;
+        Map<?, ?> job = json(get(location, adminToken));
+        while (!"SUCCEEDED".equals(job.get("state")) && !"FAILED".equals(job.get("state"))
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            job = json(get(location, adminToken));
+        }
+        return job;
+    }
+    
+    /**
+     * Follow the next cursors from the first page to the last and collect one field of every row
+     */
+    private List<Object> collect(String path, String field, String token) throws Exception {
+        List<Object> values = new ArrayList<>();
+        String url = path;
+        while (true) {
+            Map<?, ?> page = json(get(url, token));
+            List<?> items = (List<?>) page.get("items");
+            assertTrue(items.size() <= 2, "page larger than the default page size");
+            for (Object item : items) {
+                values.add(((Map<?, ?>) item).get(field));
+            }
+            if (page.get("next") == null) {
+                return values;
+            }
+            url = path + "?after=" + page.get("next");
+        }
+    }
+    
+    private static List<Integer> toInts(List<Object> values) {
+        List<Integer> ints = new ArrayList<>();
+        for (Object value : values) {
+            ints.add(Integer.parseInt(value.toString()));
+        }
+        return ints;
+    }
+    
+    private static String token(HttpResponse<String> response) {
+        assertEquals(200, response.statusCode(), response.body());
+        return (String) json(response).get("token");
+    }
+    
+    private static Map<?, ?> json(HttpResponse<String> response) {
+        return (Map<?, ?>) Json.parse(response.body());
+    }
+    
+    private HttpResponse<String> get(String path, String token) throws Exception {
+        return send(HttpRequest.newBuilder(uri(path)).GET(), token);
+    }
+    
+    private HttpResponse<String> post(String path, String body, String token) throws Exception {
+        return send(HttpRequest.newBuilder(uri(path)).POST(HttpRequest.BodyPublishers.ofString(body)), token);
+    }
+    
+    private HttpResponse<String> send(HttpRequest.Builder builder, String token) throws Exception {
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return client.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+    }
+    
+    private URI uri(String path) {
+        return URI.create("http://127.0.0.1:" + server.getPort() + path);
+    }
+}
@@ -0,0 +1,54 @@
+package com.bankease.api;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test class for the background jobs behind the API
+ */
+@DisplayName("JobRunner Tests")
+public class JobRunnerTest {
+    private final JobRunner jobs = new JobRunner(1, 10);
+
+    @AfterEach
+    void tearDown() {
+        jobs.stop(1);
+    }
+
+    @Test
+    @DisplayName("Should mark a job that throws an Error as failed and free its key")
+    void testErrorFailsJob() throws Exception {
+        JobRunner.Job job = jobs.submit("reconciliation", "reconciliation", () -> {
+            throw new OutOfMemoryError("Java heap space");
+        });
+        awaitFinished(job);
+
+        assertEquals(JobRunner.State.FAILED, job.getState());
+        assertEquals("Internal error", job.getError());
+        assertNotNull(job.getFinishedAt());
+
+        // The pool replaces the thread the Error ended, and the key takes new jobs
+        CountDownLatch ran = new CountDownLatch(1);
+        JobRunner.Job next = jobs.submit("reconciliation", "reconciliation", () -> {
+            ran.countDown();
+            return "done";
+        });
+        assertNotEquals(job.getId(), next.getId());
+        assertTrue(ran.await(5, TimeUnit.SECONDS));
+        awaitFinished(next);
+        assertEquals(JobRunner.State.SUCCEEDED, next.getState());
+    }
+
+    private static void awaitFinished(JobRunner.Job job) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!job.isFinished() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.bankease.api;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test class for the API JSON reader and writer
+ */
+@DisplayName("Json Tests")
+public class JsonTest {
+    
+    @Test
+    @DisplayName("Should parse objects, arrays, escapes and literals")
+    void testParse() {
+        Object parsed = Json.parse(" {\"name\":\"A \\\"q\\\" \\u00e9\\n\",\"amount\":-12.50,\"tags\":[1,true,null],\"ok\":false} ");
+        
+        assertTrue(parsed instanceof Map);
+        Map<?, ?> map = (Map<?, ?>) parsed;
+        assertEquals("A \"q\" é\n", map.get("name"));
+        assertEquals(new BigDecimal("-12.50"), map.get("amount"));
+        assertEquals(List.of(new BigDecimal("1"), true), ((List<?>) map.get("tags")).subList(0, 2));
+        assertNull(((List<?>) map.get("tags")).get(2));
+        assertEquals(Boolean.FALSE, map.get("ok"));
+    }
+    
+    @Test
+    @DisplayName("Should reject malformed documents")
+    void testRejectsMalformed() {
+        assertThrows(IllegalArgumentException.class, () -> Json.parse("{\"a\":1"));
+        assertThrows(IllegalArgumentException.class, () -> Json.parse("{\"a\":1} x"));
+        assertThrows(IllegalArgumentException.class, () -> Json.parse("{a:1}"));
+        assertThrows(IllegalArgumentException.class, () -> Json.parse("\"open"));
+        assertThrows(IllegalArgumentException.class, () -> Json.parse("[".repeat(100) + "]".repeat(100)));
+    }
+    
+    @Test
+    @DisplayName("Should write values that parse back to the same content")
+    void testWriteRoundTrip() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("text", "line\tone\u0001\"");
+        map.put("balance", 1500.5);
+        map.put("count", 3);
+        map.put("date", LocalDate.of(2024, 3, 1));
+        map.put("items", List.of("a", "b"));
+        map.put("none", null);
+        
+        String json = Json.write(map);
+        
+        assertEquals("{\"text\":\"line\\tone\\u0001\\\"\",\"balance\":1500.5,\"count\":3,\"date\":\"2024-03-01\","
+                     + "\"items\":[\"a\",\"b\"],\"none\":null}", json);
+        Map<?, ?> parsed = (Map<?, ?>) Json.parse(json);
+        assertEquals("line\tone\u0001\"", parsed.get("text"));
+        assertEquals(new BigDecimal("1500.5"), parsed.get("balance"));
+        assertThrows(IllegalArgumentException.class, () -> Json.write(new Object()));
+    }
+}
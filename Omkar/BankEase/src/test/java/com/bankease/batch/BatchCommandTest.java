@@ -0,0 +1,45 @@
+package com.bankease.batch;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test class for batch command script parsing
+ */
+@DisplayName("BatchCommand Tests")
+public class BatchCommandTest {
+    
+    @Test
+    @DisplayName("Should parse commands with quoted arguments and bindings")
+    void testParse() {
+        BatchCommand register = BatchCommand.parse("register alice secret alice@example.com \"Alice Smith\"", 1);
+        assertEquals(BatchCommand.Type.REGISTER, register.getType());
+        assertEquals(List.of("alice", "secret", "alice@example.com", "Alice Smith"), register.getArgs());
+        assertNull(register.arg(4));
+        
+        BatchCommand open = BatchCommand.parse("  OPEN $alice SAVINGS 500.00 AS main", 2);
+        assertEquals("main", open.arg(4));
+        assertEquals(2, open.getLineNumber());
+        
+        BatchCommand transfer = BatchCommand.parse("TRANSFER $main ACC1 50 \"Rent, \"\"March\"\"\"", 3);
+        assertEquals("Rent, March", transfer.arg(3));
+        
+        assertNull(BatchCommand.parse("   ", 4));
+        assertNull(BatchCommand.parse("# setup \"unbalanced", 5));
+        assertEquals(BatchCommand.Type.SYNC, BatchCommand.parse("SYNC", 6).getType());
+    }
+    
+    @Test
+    @DisplayName("Should reject unknown commands and wrong argument counts")
+    void testRejectsMalformed() {
+        assertThrows(IllegalArgumentException.class, () -> BatchCommand.parse("PAY alice 10", 1));
+        assertThrows(IllegalArgumentException.class, () -> BatchCommand.parse("DEPOSIT ACC1", 1));
+        assertThrows(IllegalArgumentException.class, () -> BatchCommand.parse("OPEN 1 SAVINGS 10 main", 1));
+        assertThrows(IllegalArgumentException.class, () -> BatchCommand.parse("OPEN 1 SAVINGS 10 INTO main", 1));
+        assertThrows(IllegalArgumentException.class, () -> BatchCommand.parse("FREEZE \"ACC1", 1));
+    }
+}
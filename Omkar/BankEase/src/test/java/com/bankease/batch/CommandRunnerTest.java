@@ -0,0 +1,239 @@
+package com.bankease.batch;
+
+import com.bankease.model.Transaction;
+import com.bankease.service.BankingService;
+import com.bankease.utils.EmbeddedDatabaseExtension;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test class for running batch command scripts
+ */
+@DisplayName("CommandRunner Tests")
+@ExtendWith(EmbeddedDatabaseExtension.class)
+public class CommandRunnerTest {
+    private static final Pattern LINE_NUMBER = Pattern.compile("^\\[line (\\d+)\\] ");
+
+    private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    private final PrintStream out = new PrintStream(output, true, StandardCharsets.UTF_8);
+
+    @Test
+    @DisplayName("Should run a script in order on one thread and count failures by type")
+    void testSequential() throws Exception {
+        String script = "register alice secret alice@bankease.test \"Alice Smith\"\n" +
+                        "# comment lines and blank lines are skipped\n" +
+                        "\n" +
+                        "OPEN $alice SAVINGS 100 AS main\n" +
+                        "DEPOSIT $main 25.50\n" +
+                        "WITHDRAW $main 500\n" +
+                        "PAY $main 10\n" +
+                        "BALANCE $main\n";
+        CommandRunSummary summary = run(new BankingService(), 1, script);
+
+        List<String> lines = lines();
+        assertEquals(List.of(1, 4, 5, 6, 7, 8), lineNumbers(lines));
+        assertTrue(lines.get(3).contains("FAILED WITHDRAW"), lines.get(3));
+        assertTrue(lines.get(4).contains("FAILED PAY"), lines.get(4));
+        assertTrue(lines.get(5).contains("OK BALANCE") && lines.get(5).contains("$125.50"), lines.get(5));
+        assertEquals(6, summary.getCommands());
+        assertEquals(2, summary.getFailed());
+        assertEquals(1, summary.getByType().get(BatchCommand.Type.WITHDRAW).getFailed());
+    }
+
+    @Test
+    @DisplayName("Should run commands concurrently on several threads")
+    void testParallelExecution() throws Exception {
+        // Each deposit waits until all four are running at once, so a serial run would time out
+        CyclicBarrier together = new CyclicBarrier(4);
+        BankingService service = new StubBankingService() {
+            @Override
+            public Transaction deposit(String accountNumber, double amount, String description) {
+                try {
+                    together.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException | BrokenBarrierException | TimeoutException e) {
+                    throw new IllegalStateException("deposits did not overlap", e);
+                }
+                return super.deposit(accountNumber, amount, description);
+            }
+        };
+        CommandRunSummary summary = run(service, 4, script(4, "DEPOSIT ACC1 1"));
+
+        assertEquals(0, summary.getFailed(), output::toString);
+        assertEquals(4, summary.getCommands());
+        assertEquals(4, summary.getThreads());
+    }
+
+    @Test
+    @DisplayName("Should print results in script order whatever order they complete in")
+    void testOrderedOutput() throws Exception {
+        // Earlier commands take longer, so they finish last
+        BankingService service = new StubBankingService() {
+            @Override
+            public Transaction deposit(String accountNumber, double amount, String description) {
+                sleep((long) amount);
+                return super.deposit(accountNumber, amount, description);
+            }
+        };
+        StringBuilder script = new StringBuilder();
+        for (int i = 0; i < 40; i++) {
+            script.append("DEPOSIT ACC1 ").append(40 - i).append('\n');
+            if (i == 19) {
+                script.append("SYNC\n");
+            }
+        }
+        run(service, 8, script.toString());
+
+        List<Integer> expected = new ArrayList<>();
+        for (int line = 1; line <= 41; line++) {
+            if (line != 21) {
+                expected.add(line);
+            }
+        }
+        assertEquals(expected, lineNumbers(lines()));
+    }
+
+    @Test
+    @DisplayName("Should let SYNC wait for every earlier command, so bindings and balances are visible after it")
+    void testSyncBarrier() throws Exception {
+        String script = "REGISTER bob secret bob@bankease.test \"Bob Jones\"\n" +
+                        "SYNC\n" +
+                        "OPEN $bob CHECKING 0 AS spending\n" +
+                        "OPEN $bob SAVINGS 0 AS savings\n" +
+                        "SYNC\n" +
+                        script(50, "DEPOSIT $spending 2") +
+                        script(50, "DEPOSIT $savings 3") +
+                        "SYNC\n" +
+                        "BALANCE $spending\n" +
+                        "BALANCE $savings\n";
+        CommandRunSummary summary = run(new BankingService(), 4, script);
+
+        assertEquals(0, summary.getFailed(), output::toString);
+        List<String> lines = lines();
+        assertTrue(lines.get(lines.size() - 2).contains("-> $100.00"), lines.get(lines.size() - 2));
+        assertTrue(lines.get(lines.size() - 1).contains("-> $150.00"), lines.get(lines.size() - 1));
+    }
+
+    @Test
+    @DisplayName("Should stop reading the script while threads * 64 commands are in flight")
+    void testInFlightBound() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        BankingService service = new StubBankingService() {
+            @Override
+            public Transaction deposit(String accountNumber, double amount, String description) {
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.deposit(accountNumber, amount, description);
+            }
+        };
+        AtomicInteger linesRead = new AtomicInteger();
+        BufferedReader reader = new BufferedReader(new StringReader(script(1000, "DEPOSIT ACC1 1"))) {
+            @Override
+            public String readLine() throws IOException {
+                String line = super.readLine();
+                if (line != null) {
+                    linesRead.incrementAndGet();
+                }
+                return line;
+            }
+        };
+        CommandRunner runner = new CommandRunner(service, 2, out);
+        CommandRunSummary[] summary = new CommandRunSummary[1];
+        Thread thread = new Thread(() -> {
+            try {
+                summary[0] = runner.run(reader);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        thread.start();
+
+        // 128 queued, plus the one that found the queue full
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (linesRead.get() < 129 && System.currentTimeMillis() < deadline) {
+            sleep(5);
+        }
+        sleep(200);
+        assertEquals(129, linesRead.get());
+        assertEquals("", output.toString(), "nothing can be printed before the first command completes");
+
+        release.countDown();
+        thread.join(10_000);
+        assertEquals(1000, linesRead.get());
+        assertEquals(1000, summary[0].getCommands());
+        assertEquals(0, summary[0].getFailed());
+        assertEquals(1000, lines().size());
+    }
+
+    private CommandRunSummary run(BankingService service, int threads, String script) throws IOException {
+        return new CommandRunner(service, threads, out).run(new BufferedReader(new StringReader(script)));
+    }
+
+    private List<String> lines() {
+        List<String> lines = new ArrayList<>();
+        for (String line : output.toString(StandardCharsets.UTF_8).split("\\R")) {
+            if (!line.isEmpty()) {
+                lines.add(line);
+            }
+        }
+        return lines;
+    }
+
+    private static List<Integer> lineNumbers(List<String> lines) {
+        List<Integer> numbers = new ArrayList<>();
+        for (String line : lines) {
+            Matcher matcher = LINE_NUMBER.matcher(line);
+            assertTrue(matcher.find(), line);
+            numbers.add(Integer.parseInt(matcher.group(1)));
+        }
+        return numbers;
+    }
+
+    private static String script(int times, String command) {
+        return (command + "\n").repeat(times);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Deposits that succeed without touching the database
+     */
+    private static class StubBankingService extends BankingService {
+        private final AtomicInteger transactionIds = new AtomicInteger();
+
+        @Override
+        public Transaction deposit(String accountNumber, double amount, String description) {
+            Transaction transaction = new Transaction("DEPOSIT", 1, amount, description);
+            transaction.setTransactionId(transactionIds.incrementAndGet());
+            return transaction;
+        }
+    }
+}
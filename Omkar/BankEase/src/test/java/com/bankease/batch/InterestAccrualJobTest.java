@@ -0,0 +1,191 @@
+package com.bankease.batch;
+
+import com.bankease.dao.InterestDAO;
+import com.bankease.events.EventBus;
+import com.bankease.events.EventType;
+import com.bankease.metrics.SystemCounters;
+import com.bankease.model.AccountType;
+import com.bankease.model.InterestAccount;
+import com.bankease.model.InterestPosting;
+import com.bankease.model.InterestRunResult;
+import com.bankease.model.User;
+import com.bankease.service.BankingService;
+import com.bankease.utils.EmbeddedDatabaseExtension;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test class for interest calculation and the restartable accrual job, run against an
+ * in-memory DAO and, for counters and events, against the embedded database
+ */
+@DisplayName("InterestAccrualJob Tests")
+@ExtendWith(EmbeddedDatabaseExtension.class)
+public class InterestAccrualJobTest {
+    
+    private static final LocalDate RUN_DATE = LocalDate.of(2026, 3, 31);
+    
+    /**
+     * In-memory stand-in for the interest tables that can fail once when applying a given chunk
+     */
+    private static class FakeInterestDAO extends InterestDAO {
+        private final List<InterestAccount> accounts = new ArrayList<>();
+        private final Map<Integer, Long> credited = new HashMap<>();
+        private final Set<Integer> posted = new HashSet<>();
+        private int checkpoint;
+        private boolean completed;
+        private int failAtAccountId = -1;
+
+        @Override
+        public int startRun(LocalDate runDate) {
+            return completed ? -1 : checkpoint;
+        }
+
+        @Override
+        public List<InterestAccount> findInterestBearingAccounts(int afterAccountId, int limit) {
+            List<InterestAccount> chunk = new ArrayList<>();
+            for (InterestAccount account : accounts) {
+                if (account.getAccountId() > afterAccountId && chunk.size() < limit) {
+                    chunk.add(account);
+                }
+            }
+            return chunk;
+        }
+
+        @Override
+        public List<InterestPosting> applyChunk(LocalDate runDate, List<InterestPosting> postings, int lastAccountId)
+                throws SQLException {
+            if (checkpoint >= lastAccountId) {
+                return null;
+            }
+            if (lastAccountId == failAtAccountId) {
+                failAtAccountId = -1;
+                throw new SQLException("Connection reset");
+            }
+            List<InterestPosting> applied = new ArrayList<>();
+            for (InterestPosting posting : postings) {
+                if (posted.add(posting.getAccountId())) {
+                    credited.merge(posting.getAccountId(), posting.getCreditCents(), Long::sum);
+                    applied.add(posting);
+                }
+            }
+            checkpoint = lastAccountId;
+            return applied;
+        }
+
+        @Override
+        public void completeRun(LocalDate runDate) {
+            completed = true;
+        }
+    }
+    
+    private static InterestCalculator calculator() {
+        return new InterestCalculator(new BigDecimal("0.0365"), new BigDecimal("0.073"), 365);
+    }
+    
+    @Test
+    @DisplayName("Should credit savings daily and accrue fixed deposits until maturity")
+    void testCalculator() {
+        InterestCalculator calculator = calculator();
+        
+        InterestPosting savings = calculator.calculate(
+                new InterestAccount(1, "S1", AccountType.SAVINGS, 1_000_000, 0, null), RUN_DATE);
+        assertEquals(100, savings.getCreditCents());
+        assertEquals(0, savings.getAccruedDeltaCents());
+        
+        InterestPosting accruing = calculator.calculate(
+                new InterestAccount(2, "F1", AccountType.FIXED_DEPOSIT, 1_000_000, 500, RUN_DATE.plusDays(1)), RUN_DATE);
+        assertEquals(0, accruing.getCreditCents());
+        assertEquals(200, accruing.getAccruedDeltaCents());
+        
+        InterestPosting maturity = calculator.calculate(
+                new InterestAccount(3, "F2", AccountType.FIXED_DEPOSIT, 1_000_000, 500, RUN_DATE), RUN_DATE);
+        assertTrue(maturity.isMaturity());
+        assertEquals(500, maturity.getCreditCents());
+        assertEquals(-500, maturity.getAccruedDeltaCents());
+        
+        assertNull(calculator.calculate(
+                new InterestAccount(4, "F3", AccountType.FIXED_DEPOSIT, 1_000_000, 0, RUN_DATE.minusDays(1)), RUN_DATE));
+        assertNull(calculator.calculate(
+                new InterestAccount(5, "C1", AccountType.CHECKING, 1_000_000, 0, null), RUN_DATE));
+    }
+    
+    @Test
+    @DisplayName("Should resume after a failed chunk without crediting any account twice")
+    void testResumeNeverCreditsTwice() throws SQLException {
+        FakeInterestDAO dao = new FakeInterestDAO();
+        for (int id = 1; id <= 25; id++) {
+            dao.accounts.add(new InterestAccount(id, "S" + id, AccountType.SAVINGS, 1_000_000, 0, null));
+        }
+        dao.failAtAccountId = 20;
+        InterestAccrualJob job = new InterestAccrualJob(dao, calculator(), 10, 3);
+        
+        assertThrows(SQLException.class, () -> job.run(RUN_DATE));
+        assertEquals(10, dao.checkpoint);
+        assertEquals(10, dao.credited.size());
+        
+        InterestRunResult resumed = job.run(RUN_DATE);
+        assertEquals(10, resumed.getResumedAfterAccountId());
+        assertEquals(15, resumed.getAccountsPosted());
+        assertEquals(25, dao.credited.size());
+        for (long cents : dao.credited.values()) {
+            assertEquals(100, cents);
+        }
+        
+        assertTrue(job.run(RUN_DATE).isAlreadyCompleted());
+        assertEquals(25, dao.credited.size());
+    }
+    
+    @Test
+    @DisplayName("Should count and publish every credit once its chunk has committed")
+    void testCountersAndEvents() throws Exception {
+        BankingService bankingService = new BankingService();
+        User user = bankingService.registerUser("saver", "secret", "saver@bankease.test", "Saver", "");
+        Set<Integer> accountIds = new HashSet<>();
+        for (int i = 0; i < 5; i++) {
+            accountIds.add(bankingService.createAccount(user.getUserId(), "SAVINGS", 10_000).getAccountId());
+        }
+        bankingService.createAccount(user.getUserId(), "CHECKING", 10_000);
+        
+        CountDownLatch committed = new CountDownLatch(5);
+        Map<Integer, Long> creditedByAccount = new ConcurrentHashMap<>();
+        AtomicLong balanceDeltas = new AtomicLong();
+        EventBus.getInstance().subscribe("interest-test", (event, sequence, endOfBatch) -> {
+            if (event.getType() == EventType.TRANSACTION_COMMITTED && event.getUserId() == user.getUserId()) {
+                creditedByAccount.merge(event.getAccountId(), event.getAmountCents(), Long::sum);
+                committed.countDown();
+            } else if (event.getType() == EventType.BALANCE_CHANGED) {
+                balanceDeltas.addAndGet(event.getAmountCents());
+            }
+        });
+        SystemCounters counters = SystemCounters.getInstance();
+        long balanceBefore = counters.getTotalBalanceCents();
+        
+        InterestRunResult result = new InterestAccrualJob(new InterestDAO(), calculator(), 2, 2).run(RUN_DATE);
+        
+        assertEquals(5, result.getAccountsPosted());
+        assertEquals(500, counters.getTotalBalanceCents() - balanceBefore);
+        assertTrue(committed.await(10, TimeUnit.SECONDS));
+        assertEquals(accountIds, creditedByAccount.keySet());
+        for (long cents : creditedByAccount.values()) {
+            assertEquals(100, cents);
+        }
+        assertEquals(500, balanceDeltas.get());
+    }
+}
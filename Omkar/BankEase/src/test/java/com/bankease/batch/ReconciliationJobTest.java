@@ -0,0 +1,178 @@
+package com.bankease.batch;
+
+import com.bankease.dao.BalanceRowHandler;
+import com.bankease.dao.ReconciliationDAO;
+import com.bankease.model.Discrepancy;
+import com.bankease.model.ReconciliationReport;
+import com.bankease.model.User;
+import com.bankease.service.BankingService;
+import com.bankease.utils.DatabaseConfig;
+import com.bankease.utils.EmbeddedDatabaseExtension;
+import com.bankease.utils.MoneyUtils;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test class for the parallel reconciliation job, run against an in-memory DAO and
+ * against ReconciliationDAO on the embedded database
+ */
+@DisplayName("ReconciliationJob Tests")
+@ExtendWith(EmbeddedDatabaseExtension.class)
+public class ReconciliationJobTest {
+    
+    /**
+     * Accounts 1..count with balance 100 cents; account 7 is off by 25 cents, account 13 is off
+     * only on the first read (an in-flight transfer), and partition 41-50 fails.
+     */
+    private static class FakeReconciliationDAO extends ReconciliationDAO {
+        private final int count;
+        private final Set<Integer> seen = ConcurrentHashMap.newKeySet();
+
+        FakeReconciliationDAO(int count) {
+            this.count = count;
+        }
+
+        @Override
+        public int[] getAccountIdRange() {
+            return new int[]{1, count};
+        }
+
+        @Override
+        public void scanBalances(int fromId, int toId, BalanceRowHandler handler) throws SQLException {
+            if (fromId == 41 && toId == 50) {
+                throw new SQLException("Lock wait timeout");
+            }
+            for (int id = fromId; id <= toId; id++) {
+                long journal = 100;
+                if (id == 7) {
+                    journal = 75;
+                } else if (id == 13 && seen.add(id)) {
+                    journal = 60;
+                }
+                handler.accept(id, "ACC" + id, 100, journal);
+            }
+        }
+    }
+    
+    @Test
+    @DisplayName("Should report confirmed discrepancies and failed partitions")
+    void testRun() throws SQLException {
+        ReconciliationJob job = new ReconciliationJob(new FakeReconciliationDAO(95), 3, 10, 100);
+        ReconciliationReport report = job.run();
+        
+        assertEquals(10, report.getPartitions());
+        assertEquals(85, report.getAccountsChecked());
+        assertEquals(1, report.getFailedPartitions().size());
+        assertTrue(report.getFailedPartitions().get(0).startsWith("41-50"));
+        
+        List<Discrepancy> discrepancies = report.getDiscrepancies();
+        assertEquals(1, discrepancies.size());
+        assertEquals(7, discrepancies.get(0).getAccountId());
+        assertEquals(25, discrepancies.get(0).getDifferenceCents());
+        assertTrue(discrepancies.get(0).isConfirmed());
+        assertFalse(report.isClean());
+    }
+    
+    @Test
+    @DisplayName("Should produce an empty report when there are no accounts")
+    void testNoAccounts() throws SQLException {
+        ReconciliationJob job = new ReconciliationJob(new FakeReconciliationDAO(0), 2, 10, 100);
+        ReconciliationReport report = job.run();
+        
+        assertEquals(0, report.getPartitions());
+        assertEquals(0, report.getAccountsChecked());
+        assertTrue(report.isClean());
+    }
+    
+    @Test
+    @DisplayName("Should sum the journal per account, honour partition bounds and include accounts without a journal")
+    void testScanBalancesOnDatabase() throws Exception {
+        BankingService bankingService = new BankingService();
+        User user = bankingService.registerUser("auditor", "secret", "auditor@bankease.test", "Auditor", "");
+        List<String> numbers = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            numbers.add(bankingService.createAccount(user.getUserId(), "CHECKING", 1000).getAccountNumber());
+        }
+        bankingService.deposit(numbers.get(0), 20, "Deposit");
+        bankingService.transfer(numbers.get(0), numbers.get(3), 10, "Transfer");
+        bankingService.withdraw(numbers.get(2), 5, "Withdrawal");
+        execute("INSERT INTO transactions (transaction_type, account_id, amount, description, status) " +
+                "SELECT 'WITHDRAWAL', account_id, 50.00, 'Declined', 'FAILED' FROM accounts WHERE account_number = ?",
+                numbers.get(2));
+        // Off the journal: a balance changed without a journal row, and two accounts that never had one
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            DatabaseConfig.markApplicationJournaled(conn);
+            try (PreparedStatement pstmt = conn.prepareStatement(
+                    "UPDATE accounts SET balance = balance + 3.00 WHERE account_number = ?")) {
+                pstmt.setString(1, numbers.get(1));
+                pstmt.executeUpdate();
+            }
+        }
+        for (String number : new String[]{"ACCEMPTY", "ACCORPHAN"}) {
+            execute("INSERT INTO accounts (account_number, user_id, account_type, balance) VALUES (?, " +
+                    user.getUserId() + ", 'SAVINGS', " + (number.equals("ACCEMPTY") ? "0.00" : "5.00") + ")", number);
+            numbers.add(number);
+        }
+
+        ReconciliationDAO dao = new ReconciliationDAO();
+        int[] range = dao.getAccountIdRange();
+        assertEquals(5, range[1] - range[0]);
+        Map<String, long[]> all = scan(dao, range[0], range[1]);
+        assertEquals(numbers, new ArrayList<>(all.keySet()));
+        assertArrayEquals(new long[]{101_000, 101_000}, all.get(numbers.get(0)));
+        assertArrayEquals(new long[]{100_300, 100_000}, all.get(numbers.get(1)));
+        assertArrayEquals(new long[]{99_500, 99_500}, all.get(numbers.get(2)));
+        assertArrayEquals(new long[]{101_000, 101_000}, all.get(numbers.get(3)));
+        assertArrayEquals(new long[]{0, 0}, all.get("ACCEMPTY"));
+        assertArrayEquals(new long[]{500, 0}, all.get("ACCORPHAN"));
+
+        // Both bounds are inclusive and a partition sees only its own accounts' journal
+        assertEquals(numbers.subList(1, 3), new ArrayList<>(scan(dao, range[0] + 1, range[0] + 2).keySet()));
+        assertArrayEquals(all.get(numbers.get(3)), scan(dao, range[0] + 3, range[0] + 3).get(numbers.get(3)));
+        assertTrue(scan(dao, range[1] + 1, range[1] + 10).isEmpty());
+
+        ReconciliationReport report = new ReconciliationJob(dao, 2, 4, 100).run();
+        assertEquals(2, report.getPartitions());
+        assertEquals(6, report.getAccountsChecked());
+        assertTrue(report.getFailedPartitions().isEmpty());
+        assertEquals(800, report.getTotalBalanceCents() - report.getTotalJournalCents());
+        List<Discrepancy> discrepancies = report.getDiscrepancies();
+        assertEquals(2, discrepancies.size());
+        assertEquals("ACCORPHAN", discrepancies.get(0).getAccountNumber());
+        assertEquals(500, discrepancies.get(0).getDifferenceCents());
+        assertEquals(numbers.get(1), discrepancies.get(1).getAccountNumber());
+        assertEquals(300, discrepancies.get(1).getDifferenceCents());
+        assertTrue(discrepancies.stream().allMatch(Discrepancy::isConfirmed));
+    }
+    
+    /**
+     * Scan an ID range into [balance, journal] by account number, in scan order
+     */
+    private static Map<String, long[]> scan(ReconciliationDAO dao, int fromId, int toId) throws SQLException {
+        Map<String, long[]> rows = new LinkedHashMap<>();
+        dao.scanBalances(fromId, toId, (accountId, accountNumber, balance, journal) ->
+                rows.put(accountNumber, new long[]{balance, journal}));
+        return rows;
+    }
+    
+    private static void execute(String sql, String parameter) throws SQLException {
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setString(1, parameter);
+            pstmt.executeUpdate();
+        }
+    }
+}
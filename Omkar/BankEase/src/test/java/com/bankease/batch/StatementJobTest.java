@@ -0,0 +1,131 @@
+package com.bankease.batch;
+
+import com.bankease.dao.StatementDAO;
+import com.bankease.dao.StatementHandler;
+import com.bankease.model.AccountStatement;
+import com.bankease.model.AccountType;
+import com.bankease.model.StatementRunResult;
+import com.bankease.model.Transaction;
+import com.bankease.model.TransactionType;
+import com.bankease.model.UserStatement;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test class for the monthly statement pipeline, run against an in-memory DAO
+ */
+@DisplayName("StatementJob Tests")
+public class StatementJobTest {
+    
+    private static final YearMonth MONTH = YearMonth.of(2026, 9);
+    
+    @TempDir
+    Path directory;
+    
+    /**
+     * Hands out the given number of users, each with one account holding a deposit and a withdrawal
+     */
+    private static class FakeStatementDAO extends StatementDAO {
+        private final int users;
+        private final int brokenUserId;
+
+        FakeStatementDAO(int users) {
+            this(users, 0);
+        }
+
+        /**
+         * @param brokenUserId user whose statement fails to format
+         */
+        FakeStatementDAO(int users, int brokenUserId) {
+            this.users = users;
+            this.brokenUserId = brokenUserId;
+        }
+
+        @Override
+        public void streamStatements(YearMonth month, StatementHandler handler) {
+            for (int userId = 1; userId <= users; userId++) {
+                UserStatement statement = userId != brokenUserId
+                        ? new UserStatement(userId, "user" + userId, "User, " + userId, month)
+                        : new UserStatement(userId, "user" + userId, "User, " + userId, month) {
+                            @Override
+                            public String getFullName() {
+                                throw new IllegalStateException("user " + getUserId() + " is broken");
+                            }
+                        };
+                AccountStatement account = new AccountStatement(userId, "ACC" + userId, AccountType.SAVINGS, 10_000, 12_500);
+                account.getTransactions().add(transaction(TransactionType.DEPOSIT, 50.00, "Salary, September"));
+                account.getTransactions().add(transaction(TransactionType.WITHDRAWAL, 25.00, "ATM"));
+                statement.getAccounts().add(account);
+                handler.accept(statement);
+            }
+        }
+
+        private static Transaction transaction(TransactionType type, double amount, String description) {
+            Transaction transaction = new Transaction(type, 1, amount, description);
+            transaction.setTimestampMillis(1_790_000_000_000L);
+            return transaction;
+        }
+    }
+    
+    @Test
+    @DisplayName("Should write one CSV statement per user with running balances")
+    void testWritesStatements() throws SQLException, IOException {
+        StatementJob job = new StatementJob(new FakeStatementDAO(50), directory, StatementFormat.CSV, 3);
+        StatementRunResult result = job.run(MONTH);
+        
+        assertEquals(50, result.getStatementsWritten());
+        assertEquals(100, result.getTransactions());
+        
+        List<String> lines = Files.readAllLines(directory.resolve("2026-09").resolve("statement-7.csv"));
+        assertEquals(5, lines.size());
+        assertTrue(lines.get(1).endsWith("OPENING,,100.00,"));
+        assertTrue(lines.get(2).endsWith("DEPOSIT,50.00,150.00,\"Salary, September\""));
+        assertTrue(lines.get(3).endsWith("WITHDRAWAL,-25.00,125.00,ATM"));
+        assertTrue(lines.get(4).endsWith("CLOSING,,125.00,"));
+    }
+    
+    @Test
+    @DisplayName("Should only write missing statements when rerun for the same month")
+    void testResumeSkipsExisting() throws SQLException, IOException {
+        StatementJob job = new StatementJob(new FakeStatementDAO(20), directory, StatementFormat.TEXT, 2);
+        job.run(MONTH);
+        Files.delete(directory.resolve("2026-09").resolve("statement-3.txt"));
+        Files.delete(directory.resolve("2026-09").resolve("statement-17.txt"));
+        
+        StatementRunResult rerun = job.run(MONTH);
+        assertEquals(2, rerun.getStatementsWritten());
+        assertEquals(18, rerun.getStatementsSkipped());
+        String text = Files.readString(directory.resolve("2026-09").resolve("statement-17.txt"));
+        assertTrue(text.contains("Closing Balance: $125.00"));
+    }
+    
+    @Test
+    @DisplayName("Should fail the run for a statement that cannot be formatted, keep the others and leave no temporary files")
+    void testReportsFailedStatement() throws Exception {
+        StatementJob job = new StatementJob(new FakeStatementDAO(30, 11), directory, StatementFormat.TEXT, 3);
+        
+        IOException failure = assertThrows(IOException.class, () -> job.run(MONTH));
+        assertTrue(failure.getMessage().startsWith("1 statements could not be written"), failure.getMessage());
+        assertTrue(failure.getMessage().contains("user 11 is broken"), failure.getMessage());
+        
+        Path month = directory.resolve("2026-09");
+        assertFalse(Files.exists(month.resolve("statement-11.txt")));
+        try (Stream<Path> files = Files.list(month)) {
+            List<String> names = files.map(file -> file.getFileName().toString()).collect(Collectors.toList());
+            assertEquals(29, names.size(), names.toString());
+            assertTrue(names.stream().noneMatch(name -> name.endsWith(".tmp")), names.toString());
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.bankease.dao;
+
+import com.bankease.model.AccountType;
+import com.bankease.model.BankAccount;
+import com.bankease.model.FreezeCriteria;
+import com.bankease.model.User;
+import com.bankease.service.BankingService;
+import com.bankease.utils.EmbeddedDatabaseExtension;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test class for the bulk freeze lookup in BankAccountDAO on the embedded database
+ */
+@DisplayName("BankAccountDAO Tests")
+@ExtendWith(EmbeddedDatabaseExtension.class)
+public class BankAccountDAOTest {
+    private static final int LIST_SIZE = 2500;
+
+    private final BankAccountDAO dao = new BankAccountDAO();
+    private final List<BankAccount> accounts = new ArrayList<>();
+    private final List<Integer> owners = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        BankingService bankingService = new BankingService();
+        for (int u = 0; u < 3; u++) {
+            User user = bankingService.registerUser("owner" + u, "secret", "owner" + u + "@bankease.test",
+                                                    "Owner " + u, "");
+            owners.add(user.getUserId());
+            for (int i = 0; i < 2; i++) {
+                accounts.add(bankingService.createAccount(user.getUserId(), "CHECKING", 100));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should match account numbers and user IDs that both span several lookup slices")
+    void testFrozenUpdateLookupAcrossSlices() throws Exception {
+        // Real values sit at both ends of long lists, so they land in different slices
+        List<String> numbers = new ArrayList<>();
+        for (int i = 0; i < LIST_SIZE; i++) {
+            numbers.add("NOSUCH" + i);
+        }
+        numbers.set(0, accounts.get(0).getAccountNumber());
+        numbers.set(LIST_SIZE - 1, accounts.get(5).getAccountNumber());
+        numbers.set(LIST_SIZE / 2, accounts.get(2).getAccountNumber());
+        List<Integer> userIds = new ArrayList<>();
+        for (int i = 0; i < LIST_SIZE; i++) {
+            userIds.add(-1 - i);
+        }
+        userIds.set(0, owners.get(0));
+        userIds.set(LIST_SIZE - 1, owners.get(2));
+
+        FreezeCriteria criteria = FreezeCriteria.forAccountNumbers(numbers);
+        criteria.setUserIds(userIds);
+        assertArrayEquals(ids(0, 5), dao.findAccountIdsForFrozenUpdate(criteria, true));
+
+        criteria.setUserIds(userIds.subList(LIST_SIZE / 2, LIST_SIZE));
+        assertArrayEquals(ids(5), dao.findAccountIdsForFrozenUpdate(criteria, true));
+
+        assertArrayEquals(ids(0, 1, 4, 5), dao.findAccountIdsForFrozenUpdate(FreezeCriteria.forUsers(userIds), true));
+        assertEquals(0, dao.findAccountIdsForFrozenUpdate(FreezeCriteria.forUsers(userIds), false).length);
+    }
+
+    @Test
+    @DisplayName("Should update and report only the accounts not already in the target state")
+    void testUpdateReportsChangedOnly() throws Exception {
+        dao.updateFrozenStatusByAccountNumber(accounts.get(1).getAccountNumber(), true);
+
+        // IDs looked up before account 1 was frozen by someone else, updated two per chunk
+        int[] changed = dao.updateFrozenStatusByIds(ids(0, 1, 2, 3, 4), true, 2, null);
+
+        assertArrayEquals(ids(0, 2, 3, 4), changed);
+        assertArrayEquals(ids(5), dao.findAccountIdsForFrozenUpdate(FreezeCriteria.forUsers(owners), true));
+    }
+
+    @Test
+    @DisplayName("Should match nothing when a filter list is given but empty")
+    void testEmptyListMatchesNothing() throws Exception {
+        FreezeCriteria criteria = FreezeCriteria.forAccountType(AccountType.CHECKING);
+        assertEquals(accounts.size(), dao.findAccountIdsForFrozenUpdate(criteria, true).length);
+
+        criteria.setUserIds(new ArrayList<>());
+        assertEquals(0, dao.findAccountIdsForFrozenUpdate(criteria, true).length);
+        criteria.setUserIds(null);
+        criteria.setAccountNumbers(new ArrayList<>());
+        assertEquals(0, dao.findAccountIdsForFrozenUpdate(criteria, true).length);
+    }
+
+    private int[] ids(int... indexes) {
+        return Arrays.stream(indexes).map(i -> accounts.get(i).getAccountId()).sorted().toArray();
+    }
+}
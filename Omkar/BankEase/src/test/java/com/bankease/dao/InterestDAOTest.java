@@ -0,0 +1,144 @@
+package com.bankease.dao;
+
+import com.bankease.metrics.SystemCounters;
+import com.bankease.model.InterestAccount;
+import com.bankease.model.InterestPosting;
+import com.bankease.model.TransactionType;
+import com.bankease.model.User;
+import com.bankease.service.BankingService;
+import com.bankease.utils.DatabaseConfig;
+import com.bankease.utils.EmbeddedDatabaseExtension;
+import com.bankease.utils.MoneyUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test class for applying interest chunks with InterestDAO on the embedded database
+ */
+@DisplayName("InterestDAO Tests")
+@ExtendWith(EmbeddedDatabaseExtension.class)
+public class InterestDAOTest {
+    private static final LocalDate RUN_DATE = LocalDate.of(2026, 3, 31);
+    private static final long OPENING_CENTS = 1_000_000;
+    private static final long CREDIT_CENTS = 100;
+
+    private final InterestDAO dao = new InterestDAO();
+    private final List<String> accountNumbers = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        BankingService bankingService = new BankingService();
+        User user = bankingService.registerUser("saver", "secret", "saver@bankease.test", "Saver", "");
+        for (int i = 0; i < 5; i++) {
+            accountNumbers.add(bankingService.createAccount(user.getUserId(), "SAVINGS",
+                                                            MoneyUtils.fromCents(OPENING_CENTS)).getAccountNumber());
+        }
+    }
+
+    @Test
+    @DisplayName("Should apply chunks once, roll back a failed chunk and resume from the checkpoint")
+    void testChunkFailResumeRerun() throws Exception {
+        assertEquals(0, dao.startRun(RUN_DATE));
+        List<InterestAccount> accounts = dao.findInterestBearingAccounts(0, 10);
+        assertEquals(5, accounts.size());
+        assertEquals(accountNumbers.get(0), accounts.get(0).getAccountNumber());
+        assertTrue(accounts.get(0).getUserId() > 0);
+        long journaledBefore = SystemCounters.getInstance().getTransactionCount(TransactionType.DEPOSIT);
+
+        // First chunk: accounts 1-2
+        List<InterestPosting> applied = dao.applyChunk(RUN_DATE, postings(accounts, 0, 2), 2);
+        assertEquals(2, applied.size());
+        assertTrue(applied.get(0).getJournal().getTransactionId() > 0);
+        assertEquals(2, checkpoint());
+
+        // Second chunk fails on its frozen last account and leaves nothing behind
+        setFrozen(accountNumbers.get(3), true);
+        assertThrows(SQLException.class, () -> dao.applyChunk(RUN_DATE, postings(accounts, 2, 4), 4));
+        assertEquals(OPENING_CENTS, balanceCents(accountNumbers.get(2)));
+        assertEquals(2, postingCount());
+        assertEquals(2, checkpoint());
+
+        // Resumed from the checkpoint it succeeds; run again it is skipped
+        assertEquals(2, dao.startRun(RUN_DATE));
+        setFrozen(accountNumbers.get(3), false);
+        assertEquals(2, dao.applyChunk(RUN_DATE, postings(accounts, 2, 4), 4).size());
+        assertNull(dao.applyChunk(RUN_DATE, postings(accounts, 2, 4), 4));
+
+        // A chunk that overlaps postings already made only applies the new ones
+        List<InterestPosting> overlap = dao.applyChunk(RUN_DATE, postings(accounts, 3, 5), 5);
+        assertEquals(1, overlap.size());
+        assertEquals(accounts.get(4).getAccountId(), overlap.get(0).getAccountId());
+
+        dao.completeRun(RUN_DATE);
+        assertEquals(-1, dao.startRun(RUN_DATE));
+        assertEquals(5, postingCount());
+        assertEquals(5, checkpoint());
+        for (String accountNumber : accountNumbers) {
+            assertEquals(OPENING_CENTS + CREDIT_CENTS, balanceCents(accountNumber), accountNumber + " credited once");
+            assertEquals(2, journalRows(accountNumber), accountNumber + " journaled once besides its opening deposit");
+        }
+        assertEquals(5, SystemCounters.getInstance().getTransactionCount(TransactionType.DEPOSIT) - journaledBefore);
+    }
+
+    private static List<InterestPosting> postings(List<InterestAccount> accounts, int from, int to) {
+        List<InterestPosting> postings = new ArrayList<>();
+        for (InterestAccount account : accounts.subList(from, to)) {
+            postings.add(new InterestPosting(account.getAccountId(), account.getAccountNumber(), CREDIT_CENTS, 0, false));
+        }
+        return postings;
+    }
+
+    private static void setFrozen(String accountNumber, boolean frozen) throws SQLException {
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement("UPDATE accounts SET is_frozen = ? WHERE account_number = ?")) {
+            pstmt.setBoolean(1, frozen);
+            pstmt.setString(2, accountNumber);
+            pstmt.executeUpdate();
+        }
+    }
+
+    private static long balanceCents(String accountNumber) throws SQLException {
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement("SELECT balance FROM accounts WHERE account_number = ?")) {
+            pstmt.setString(1, accountNumber);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                rs.next();
+                return MoneyUtils.toCents(rs.getBigDecimal(1));
+            }
+        }
+    }
+
+    private static long journalRows(String accountNumber) throws SQLException {
+        return count("SELECT COUNT(*) FROM transactions t JOIN accounts a ON t.account_id = a.account_id " +
+                     "WHERE a.account_number = '" + accountNumber + "'");
+    }
+
+    private static long postingCount() throws SQLException {
+        return count("SELECT COUNT(*) FROM interest_postings WHERE run_date = DATE '" + RUN_DATE + "'");
+    }
+
+    private static long checkpoint() throws SQLException {
+        return count("SELECT last_account_id FROM interest_runs WHERE run_date = DATE '" + RUN_DATE + "'");
+    }
+
+    private static long count(String sql) throws SQLException {
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql);
+             ResultSet rs = pstmt.executeQuery()) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+}
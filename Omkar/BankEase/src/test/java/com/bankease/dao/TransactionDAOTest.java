@@ -0,0 +1,92 @@
+package com.bankease.dao;
+
+import com.bankease.model.CompactTransaction;
+import com.bankease.model.User;
+import com.bankease.service.BankingService;
+import com.bankease.utils.DatabaseConfig;
+import com.bankease.utils.EmbeddedDatabaseExtension;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test class for the keyset-paged transaction queries in TransactionDAO
+ */
+@DisplayName("TransactionDAO Tests")
+@ExtendWith(EmbeddedDatabaseExtension.class)
+public class TransactionDAOTest {
+    private static final LocalDateTime DAY = LocalDateTime.of(2026, 3, 10, 0, 0);
+
+    @Test
+    @DisplayName("Should page a date range by timestamp and ID, whatever order the IDs were inserted in")
+    void testDateRangePages() throws Exception {
+        BankingService bankingService = new BankingService();
+        User user = bankingService.registerUser("ranger", "secret", "ranger@bankease.test", "Ranger", "");
+        int accountId = bankingService.createAccount(user.getUserId(), "CHECKING", 100).getAccountId();
+
+        // IDs do not follow time: back-dated postings, a tie, and rows either side of the range
+        int late = insert(accountId, DAY.plusDays(2).withHour(9));
+        int middle = insert(accountId, DAY.plusDays(1).withHour(12));
+        int tieLow = insert(accountId, DAY.plusDays(1).withHour(14));
+        int tieHigh = insert(accountId, DAY.plusDays(1).withHour(14));
+        int early = insert(accountId, DAY.withHour(10));
+        int endOfFirstDay = insert(accountId, DAY.withHour(23).withMinute(59).withSecond(59));
+        int afterRange = insert(accountId, DAY.plusDays(3).withHour(1));
+        int beforeRange = insert(accountId, DAY.minusDays(1).withHour(1));
+
+        LocalDateTime from = DAY;
+        LocalDateTime to = DAY.plusDays(2).withHour(23).withMinute(59).withSecond(59);
+        List<Integer> expected = List.of(late, tieHigh, tieLow, middle, endOfFirstDay, early);
+
+        TransactionDAO dao = new TransactionDAO();
+        List<Integer> paged = new ArrayList<>();
+        int cursor = Integer.MAX_VALUE;
+        while (true) {
+            List<CompactTransaction> page = dao.findByDateRangePageCompact(from, to, cursor, 2);
+            if (page.isEmpty()) {
+                break;
+            }
+            page.forEach(transaction -> paged.add(transaction.getTransactionId()));
+            cursor = page.get(page.size() - 1).getTransactionId();
+        }
+        assertEquals(expected, paged);
+
+        // Cursors continue from the cursor row's place in time order
+        assertEquals(List.of(endOfFirstDay, early), ids(dao.findByDateRangePageCompact(from, to, middle, 5)));
+        assertEquals(expected.subList(0, 2), ids(dao.findByDateRangePageCompact(from, to, afterRange, 2)));
+        assertTrue(dao.findByDateRangePageCompact(from, to, beforeRange, 2).isEmpty());
+        assertTrue(dao.findByDateRangePageCompact(from, to, 0, 2).isEmpty());
+    }
+
+    private static List<Integer> ids(List<CompactTransaction> transactions) {
+        List<Integer> ids = new ArrayList<>();
+        transactions.forEach(transaction -> ids.add(transaction.getTransactionId()));
+        return ids;
+    }
+
+    private static int insert(int accountId, LocalDateTime timestamp) throws Exception {
+        String sql = "INSERT INTO transactions (transaction_type, account_id, amount, description, timestamp, status) " +
+                     "VALUES ('DEPOSIT', ?, 1.00, 'Back-dated', ?, 'COMPLETED')";
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            pstmt.setInt(1, accountId);
+            pstmt.setTimestamp(2, Timestamp.valueOf(timestamp));
+            pstmt.executeUpdate();
+            try (ResultSet keys = pstmt.getGeneratedKeys()) {
+                keys.next();
+                return keys.getInt(1);
+            }
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.bankease.dao;
+
+import com.bankease.metrics.SystemCounters;
+import com.bankease.model.BankAccount;
+import com.bankease.model.TransactionType;
+import com.bankease.model.TransferRequest;
+import com.bankease.model.TransferResult;
+import com.bankease.model.User;
+import com.bankease.service.BankingService;
+import com.bankease.utils.DatabaseConfig;
+import com.bankease.utils.EmbeddedDatabaseExtension;
+import com.bankease.utils.MoneyUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test class for applying transfer batches with TransferDAO on the embedded database
+ */
+@DisplayName("TransferDAO Tests")
+@ExtendWith(EmbeddedDatabaseExtension.class)
+public class TransferDAOTest {
+    private static final long OPENING_CENTS = 10_000;
+
+    private final TransferDAO transferDAO = new TransferDAO();
+    private final BankAccountDAO accountDAO = new BankAccountDAO();
+    private final List<String> numbers = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        BankingService bankingService = new BankingService();
+        User user = bankingService.registerUser("payer", "secret", "payer@bankease.test", "Payer", "");
+        for (int i = 0; i < 4; i++) {
+            numbers.add(bankingService.createAccount(user.getUserId(), "CHECKING",
+                                                     MoneyUtils.fromCents(OPENING_CENTS)).getAccountNumber());
+        }
+    }
+
+    @Test
+    @DisplayName("Should apply transfers in request order against the locked balances and journal each leg")
+    void testAppliesInRequestOrder() throws Exception {
+        String a = numbers.get(0);
+        String b = numbers.get(1);
+        String c = numbers.get(2);
+        long journalBefore = SystemCounters.getInstance().getTransactionCount(TransactionType.TRANSFER_OUT);
+        // B only covers its second transfer thanks to the first one
+        List<TransferResult> results = transferDAO.applyTransfers(Arrays.asList(
+                new TransferRequest(a, b, 80, "Rent"),
+                new TransferRequest(b, c, 150, "Forward"),
+                new TransferRequest(c, a, 25.5, "Refund")), accounts());
+
+        assertTrue(results.stream().allMatch(TransferResult::isSuccess), results::toString);
+        assertEquals(4_550, MoneyUtils.toCents(results.get(2).getToBalance()));
+        assertEquals(4_550, balanceCents(a));
+        assertEquals(3_000, balanceCents(b));
+        assertEquals(22_450, balanceCents(c));
+        assertEquals(OPENING_CENTS, balanceCents(numbers.get(3)));
+
+        // One TRANSFER_OUT and one TRANSFER_IN per transfer, linked to the other account, and nothing from the trigger
+        assertEquals(Arrays.asList("DEPOSIT:10000", "TRANSFER_OUT:8000>" + b, "TRANSFER_IN:2550<" + c), journal(a));
+        assertEquals(Arrays.asList("DEPOSIT:10000", "TRANSFER_IN:8000<" + a, "TRANSFER_OUT:15000>" + c), journal(b));
+        assertTrue(results.get(0).getTransactions().stream().allMatch(t -> t.getTransactionId() > 0));
+        assertEquals(3, SystemCounters.getInstance().getTransactionCount(TransactionType.TRANSFER_OUT) - journalBefore);
+    }
+
+    @Test
+    @DisplayName("Should fail a transfer for funds, a frozen or an inactive account and still commit the others")
+    void testFailuresStayIsolated() throws Exception {
+        Map<String, BankAccount> accounts = accounts();
+        // Changed after the accounts were read, as if by a concurrent request
+        accountDAO.updateFrozenStatusByAccountNumber(numbers.get(2), true);
+        accountDAO.updateActiveStatus(accounts.get(numbers.get(3)).getAccountId(), false);
+
+        List<TransferResult> results = transferDAO.applyTransfers(Arrays.asList(
+                new TransferRequest(numbers.get(0), numbers.get(1), 30, "First"),
+                new TransferRequest(numbers.get(1), numbers.get(0), 500, "Too much"),
+                new TransferRequest(numbers.get(0), numbers.get(2), 10, "To frozen"),
+                new TransferRequest(numbers.get(3), numbers.get(1), 10, "From inactive"),
+                new TransferRequest(numbers.get(1), numbers.get(0), 5, "Last")), accounts);
+
+        assertTrue(results.get(0).isSuccess());
+        assertTrue(results.get(1).getError().startsWith("Insufficient funds"), results.get(1).getError());
+        assertEquals("Account is frozen or inactive", results.get(2).getError());
+        assertEquals("Account is frozen or inactive", results.get(3).getError());
+        assertTrue(results.get(4).isSuccess());
+
+        assertEquals(7_500, balanceCents(numbers.get(0)));
+        assertEquals(12_500, balanceCents(numbers.get(1)));
+        assertEquals(OPENING_CENTS, balanceCents(numbers.get(2)));
+        assertEquals(OPENING_CENTS, balanceCents(numbers.get(3)));
+        assertEquals(Arrays.asList("DEPOSIT:10000"), journal(numbers.get(2)));
+        assertEquals(Arrays.asList("DEPOSIT:10000"), journal(numbers.get(3)));
+        assertEquals(3, journal(numbers.get(0)).size());
+    }
+
+    @Test
+    @DisplayName("Should not deadlock when batches lock the same accounts from opposite directions")
+    void testOpposingBatches() throws Exception {
+        Map<String, BankAccount> accounts = accounts();
+        List<TransferRequest> forward = new ArrayList<>();
+        List<TransferRequest> backward = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            forward.add(new TransferRequest(numbers.get(i), numbers.get(i + 1), 1, "Forward"));
+            backward.add(new TransferRequest(numbers.get(3 - i), numbers.get(2 - i), 1, "Backward"));
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> workers = new ArrayList<>();
+        for (List<TransferRequest> batch : Arrays.asList(forward, backward)) {
+            workers.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < 20; i++) {
+                    assertTrue(transferDAO.applyTransfers(batch, accounts).stream().allMatch(TransferResult::isSuccess));
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        try {
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        // Every account sent and received the same amount, and every leg was journaled once
+        for (String number : numbers) {
+            assertEquals(OPENING_CENTS, balanceCents(number), number);
+        }
+        assertEquals(1 + 2 * 20, journal(numbers.get(0)).size());
+        assertEquals(1 + 4 * 20, journal(numbers.get(1)).size());
+    }
+
+    private Map<String, BankAccount> accounts() throws SQLException {
+        return accountDAO.findByAccountNumbers(numbers);
+    }
+
+    private static long balanceCents(String accountNumber) throws SQLException {
+        return MoneyUtils.toCents(new BankAccountDAO().findByAccountNumber(accountNumber).get().getBalance());
+    }
+
+    /**
+     * Journal rows of an account as TYPE:cents, with >to or &lt;from for transfers
+     */
+    private static List<String> journal(String accountNumber) throws SQLException {
+        String sql = "SELECT t.transaction_type, t.amount, t.from_account_number, t.to_account_number " +
+                     "FROM transactions t JOIN accounts a ON t.account_id = a.account_id " +
+                     "WHERE a.account_number = ? ORDER BY t.transaction_id";
+        List<String> rows = new ArrayList<>();
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setString(1, accountNumber);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    String row = rs.getString(1) + ":" + MoneyUtils.toCents(rs.getBigDecimal(2));
+                    if (rs.getString(4) != null) {
+                        row += ">" + rs.getString(4);
+                    } else if (rs.getString(3) != null) {
+                        row += "<" + rs.getString(3);
+                    }
+                    rows.add(row);
+                }
+            }
+        }
+        return rows;
+    }
+}
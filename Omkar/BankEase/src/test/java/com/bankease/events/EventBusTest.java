@@ -0,0 +1,100 @@
+package com.bankease.events;
+
+import com.bankease.model.AccountType;
+import com.bankease.model.BankAccount;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test class for the EventBus
+ */
+@DisplayName("EventBus Tests")
+public class EventBusTest {
+    
+    private final EventBus bus = new EventBus();
+    
+    @AfterEach
+    void tearDown() {
+        bus.shutdown();
+    }
+    
+    @Test
+    @DisplayName("Every subscriber should receive every event from concurrent publishers in sequence order")
+    void testFanOutFromConcurrentPublishers() throws Exception {
+        int publishers = 4;
+        int perPublisher = 20_000;
+        AtomicLong totalCents = new AtomicLong();
+        AtomicLong lastSequence = new AtomicLong(-1);
+        AtomicLong outOfOrder = new AtomicLong();
+        CountDownLatch received = new CountDownLatch(2 * publishers * perPublisher);
+        
+        bus.subscribe("sum", (event, sequence, endOfBatch) -> {
+            if (lastSequence.getAndSet(sequence) != sequence - 1) {
+                outOfOrder.incrementAndGet();
+            }
+            totalCents.addAndGet(event.getAmountCents());
+            received.countDown();
+        }, 1 << 17, WaitStrategy.YIELDING);
+        bus.subscribe("count", (event, sequence, endOfBatch) -> received.countDown(), 1 << 17, WaitStrategy.BLOCKING);
+        
+        Thread[] threads = new Thread[publishers];
+        for (int t = 0; t < publishers; t++) {
+            threads[t] = new Thread(() -> {
+                BankAccount account = new BankAccount("ACC1", 1, AccountType.SAVINGS, 0);
+                for (int i = 0; i < perPublisher; i++) {
+                    bus.publishBalanceChanged(account, 1);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        
+        assertTrue(received.await(10, TimeUnit.SECONDS));
+        assertEquals(publishers * perPublisher, totalCents.get());
+        assertEquals(0, outOfOrder.get());
+        for (EventRing ring : bus.getSubscriptions()) {
+            assertEquals(0, ring.getDropped());
+        }
+    }
+    
+    @Test
+    @DisplayName("A stalled subscriber should drop its own events without blocking publishers or others")
+    void testSlowSubscriberDropsInsteadOfBlocking() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicLong fastReceived = new AtomicLong();
+        EventRing slow = bus.subscribe("slow", (event, sequence, endOfBatch) -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, 16, WaitStrategy.SLEEPING);
+        EventRing fast = bus.subscribe("fast", (event, sequence, endOfBatch) -> fastReceived.incrementAndGet(),
+                1024, WaitStrategy.SLEEPING);
+        
+        long started = System.nanoTime();
+        for (int i = 0; i < 1000; i++) {
+            bus.publishAccountFrozen(i, null, true);
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        
+        assertTrue(elapsedMillis < 1000, "publishing took " + elapsedMillis + " ms");
+        assertTrue(slow.getDropped() >= 1000 - 17);
+        release.countDown();
+        
+        long deadline = System.currentTimeMillis() + 5000;
+        while (fastReceived.get() + fast.getDropped() < 1000 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(1000, fastReceived.get() + fast.getDropped());
+    }
+}
@@ -0,0 +1,94 @@
+package com.bankease.jfr;
+
+import com.bankease.metrics.JdbcInstrumentation;
+import com.bankease.metrics.LatencyRecorder;
+import com.bankease.metrics.SlowQueryLog;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.lang.reflect.Proxy;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test class for the Flight Recorder events and their settings file
+ */
+@DisplayName("Flight Recorder Events Tests")
+public class FlightRecorderEventsTest {
+
+    @Test
+    @DisplayName("Should configure every BankEase event in bankease.jfc")
+    void testSettingsFile() throws Exception {
+        Configuration configuration = Configuration.create(Path.of("config/bankease.jfc"));
+
+        for (String event : List.of("Deposit", "Withdrawal", "Transfer", "Login", "Statement", "LockWait")) {
+            assertEquals("true", configuration.getSettings().get("com.bankease." + event + "#enabled"), event);
+            assertNotNull(configuration.getSettings().get("com.bankease." + event + "#threshold"), event);
+        }
+    }
+
+    @Test
+    @DisplayName("Should record DAO statements and logins while a recording is running")
+    void testRecordsEvents(@TempDir Path directory) throws Exception {
+        Path file = directory.resolve("test.jfr");
+        assertFalse(StatementEvent.isRecorded());
+
+        try (Recording recording = new Recording()) {
+            recording.enable(StatementEvent.class).withThreshold(Duration.ZERO);
+            recording.enable(LoginEvent.class).withThreshold(Duration.ZERO);
+            recording.start();
+            assertTrue(StatementEvent.isRecorded());
+
+            Connection conn = JdbcInstrumentation.wrap(fakeConnection(), 0, new LatencyRecorder(false),
+                                                       new SlowQueryLog(-1, false, directory, 1024, 1, 1));
+            try (PreparedStatement pstmt = conn.prepareStatement("UPDATE accounts SET is_frozen = ? WHERE account_id = ?")) {
+                pstmt.setBoolean(1, true);
+                pstmt.setInt(2, 42);
+                pstmt.executeUpdate();
+            }
+            LoginEvent login = new LoginEvent();
+            login.begin();
+            login.complete("alice", false, 7);
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        List<RecordedEvent> statements = events.stream()
+                .filter(event -> event.getEventType().getName().equals("com.bankease.Statement"))
+                .collect(Collectors.toList());
+        assertEquals(1, statements.size());
+        assertEquals("UPDATE accounts SET is_frozen = ? WHERE account_id = ?", statements.get(0).getString("sql"));
+        assertEquals("[Boolean, Int]", statements.get(0).getString("parameters"));
+        assertEquals(3, statements.get(0).getLong("rows"));
+
+        RecordedEvent login = events.stream()
+                .filter(event -> event.getEventType().getName().equals("com.bankease.Login"))
+                .findFirst().orElseThrow();
+        assertEquals("alice", login.getString("username"));
+        assertEquals(7, login.getInt("id"));
+        assertTrue(login.getBoolean("succeeded"));
+        assertFalse(login.getBoolean("admin"));
+    }
+
+    private static Connection fakeConnection() {
+        PreparedStatement statement = (PreparedStatement) Proxy.newProxyInstance(
+                FlightRecorderEventsTest.class.getClassLoader(), new Class<?>[] {PreparedStatement.class},
+                (proxy, method, args) -> "executeUpdate".equals(method.getName()) ? 3 : null);
+        return (Connection) Proxy.newProxyInstance(FlightRecorderEventsTest.class.getClassLoader(),
+                new Class<?>[] {Connection.class}, (proxy, method, args) ->
+                        "prepareStatement".equals(method.getName()) ? statement : null);
+    }
+}
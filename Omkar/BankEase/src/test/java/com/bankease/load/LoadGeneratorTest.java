@@ -0,0 +1,153 @@
+package com.bankease.load;
+
+import com.bankease.exceptions.InsufficientFundsException;
+import com.bankease.exceptions.InvalidAccountException;
+import com.bankease.exceptions.TransactionBlockedException;
+import com.bankease.model.BankAccount;
+import com.bankease.model.Transaction;
+import com.bankease.model.User;
+import com.bankease.service.BankingService;
+import com.bankease.utils.MoneyUtils;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test class for the load generator, run against an in-memory banking service
+ */
+@DisplayName("LoadGenerator Tests")
+public class LoadGeneratorTest {
+    
+    @Test
+    @DisplayName("Should parse workload mixes")
+    void testParseMix() {
+        Map<LoadGenerator.Operation, Integer> mix = LoadGenerator.parseMix("deposit:3, TRANSFER:7");
+        assertEquals(3, mix.get(LoadGenerator.Operation.DEPOSIT));
+        assertEquals(7, mix.get(LoadGenerator.Operation.TRANSFER));
+        assertFalse(mix.containsKey(LoadGenerator.Operation.BALANCE));
+        
+        assertThrows(IllegalArgumentException.class, () -> LoadGenerator.parseMix("DEPOSIT"));
+        assertThrows(IllegalArgumentException.class, () -> LoadGenerator.parseMix("PAY:1"));
+        assertThrows(IllegalArgumentException.class, () -> LoadGenerator.parseMix("DEPOSIT:0"));
+    }
+    
+    @Test
+    @DisplayName("Should seed accounts, drive every operation and confirm balances are conserved")
+    void testRun() throws Exception {
+        InMemoryBankingService service = new InMemoryBankingService();
+        LoadGenerator generator = new LoadGenerator(service, 5, 2, 4, 300, 50,
+                LoadGenerator.parseMix("DEPOSIT:30,WITHDRAW:20,TRANSFER:30,HISTORY:10,BALANCE:10"));
+        
+        LoadReport report = generator.run();
+        
+        assertEquals(10, report.getAccounts());
+        assertEquals(10, service.balances.size());
+        assertTrue(report.getOperations() > 0);
+        assertEquals(0, report.getErrors());
+        for (LoadGenerator.Operation operation : LoadGenerator.Operation.values()) {
+            LoadReport.OperationStats stats = report.getByOperation().get(operation);
+            assertTrue(stats.getCount() > 0, operation + " was not run");
+            assertEquals(stats.getCount(), stats.getLatency().getCount());
+        }
+        assertTrue(report.isBalanceConserved(), report.getExpectedBalance() + " != " + report.getActualBalance());
+        assertEquals(0, report.getBlocked());
+        assertTrue(report.isMeasurementValid());
+    }
+    
+    @Test
+    @DisplayName("Should count velocity blocks apart and reject the measurement when they dominate")
+    void testBlockedOperations() throws Exception {
+        InMemoryBankingService service = new InMemoryBankingService() {
+            @Override
+            public synchronized Transaction deposit(String accountNumber, double amount, String description) {
+                throw new TransactionBlockedException("Transaction blocked by rule: ACCOUNT 1m COUNT 10 BLOCK");
+            }
+        };
+        LoadGenerator generator = new LoadGenerator(service, 2, 2, 2, 200, 50,
+                LoadGenerator.parseMix("DEPOSIT:80,BALANCE:20"));
+        
+        LoadReport report = generator.run();
+        
+        LoadReport.OperationStats deposits = report.getByOperation().get(LoadGenerator.Operation.DEPOSIT);
+        assertTrue(deposits.getBlocked() > 0);
+        assertEquals(0, deposits.getCount());
+        assertEquals(0, deposits.getLatency().getCount(), "blocked operations stay out of the latency figures");
+        assertEquals(deposits.getBlocked(), report.getBlocked());
+        assertEquals(0, report.getErrors());
+        assertFalse(report.isMeasurementValid());
+        assertTrue(report.isBalanceConserved());
+    }
+    
+    /**
+     * Banking service keeping balances in a map, so the generator can be tested without a database
+     */
+    private static class InMemoryBankingService extends BankingService {
+        private final Map<String, Long> balances = new HashMap<>();
+        private final AtomicInteger ids = new AtomicInteger();
+        
+        @Override
+        public User registerUser(String username, String password, String email, String fullName, String phoneNumber) {
+            User user = new User(username, password, email, fullName, phoneNumber);
+            user.setUserId(ids.incrementAndGet());
+            return user;
+        }
+        
+        @Override
+        public synchronized BankAccount createAccount(int userId, String accountType, double initialBalance) {
+            BankAccount account = new BankAccount("ACC" + ids.incrementAndGet(), userId, accountType, initialBalance);
+            balances.put(account.getAccountNumber(), MoneyUtils.toCents(initialBalance));
+            return account;
+        }
+        
+        @Override
+        public synchronized Transaction deposit(String accountNumber, double amount, String description) {
+            balances.merge(accountNumber, MoneyUtils.toCents(amount), Long::sum);
+            return null;
+        }
+        
+        @Override
+        public synchronized Transaction withdraw(String accountNumber, double amount, String description)
+                throws InsufficientFundsException {
+            take(accountNumber, amount);
+            return null;
+        }
+        
+        @Override
+        public synchronized List<Transaction> transfer(String fromAccountNumber, String toAccountNumber, double amount,
+                                                       String description) throws InsufficientFundsException {
+            take(fromAccountNumber, amount);
+            balances.merge(toAccountNumber, MoneyUtils.toCents(amount), Long::sum);
+            return Collections.emptyList();
+        }
+        
+        @Override
+        public synchronized double getAccountBalance(String accountNumber) throws InvalidAccountException {
+            Long cents = balances.get(accountNumber);
+            if (cents == null) {
+                throw new InvalidAccountException("Account not found: " + accountNumber);
+            }
+            return MoneyUtils.toBigDecimal(cents).doubleValue();
+        }
+        
+        @Override
+        public List<Transaction> getTransactionHistory(String accountNumber) throws SQLException {
+            return Collections.emptyList();
+        }
+        
+        private void take(String accountNumber, double amount) throws InsufficientFundsException {
+            long cents = MoneyUtils.toCents(amount);
+            if (balances.get(accountNumber) < cents) {
+                throw new InsufficientFundsException("Insufficient funds");
+            }
+            balances.merge(accountNumber, -cents, Long::sum);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.bankease.main;
+
+import com.bankease.utils.EmbeddedDatabaseExtension;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test class for the exit codes of the headless batch mode
+ */
+@DisplayName("BankEaseApplication Tests")
+@ExtendWith(EmbeddedDatabaseExtension.class)
+public class BankEaseApplicationTest {
+    
+    @TempDir
+    Path scriptDir;
+    
+    @Test
+    @DisplayName("Should exit with 0 when every command succeeds and 1 when any fails")
+    void testBatchExitCodes() throws Exception {
+        Path clean = script("clean.txt", "REGISTER carol secret carol@bankease.test \"Carol White\"\n" +
+                                         "OPEN $carol CHECKING 50 AS main\n" +
+                                         "DEPOSIT $main 10\n");
+        assertEquals(0, BankEaseApplication.runBatchMode(new String[] {"--batch", clean.toString()}));
+        
+        Path failing = script("failing.txt", "REGISTER dave secret dave@bankease.test \"Dave Black\"\n" +
+                                             "SYNC\n" +
+                                             "OPEN $dave CHECKING 50 AS main\n" +
+                                             "SYNC\n" +
+                                             "WITHDRAW $main 80\n");
+        assertEquals(1, BankEaseApplication.runBatchMode(new String[] {"--batch", failing.toString(), "--threads", "2"}));
+        
+        Path malformed = script("malformed.txt", "DEPOSIT\n");
+        assertEquals(1, BankEaseApplication.runBatchMode(new String[] {"--batch", malformed.toString()}));
+    }
+    
+    @Test
+    @DisplayName("Should exit with 2 on usage errors and unreadable scripts")
+    void testBatchUsageErrors() {
+        assertEquals(2, BankEaseApplication.runBatchMode(new String[] {"--batch"}));
+        assertEquals(2, BankEaseApplication.runBatchMode(new String[] {"--batch", "x.txt", "--threads", "many"}));
+        assertEquals(2, BankEaseApplication.runBatchMode(new String[] {"--batch", "x.txt", "--verbose"}));
+        assertEquals(2, BankEaseApplication.runBatchMode(
+                new String[] {"--batch", scriptDir.resolve("missing.txt").toString()}));
+    }
+    
+    private Path script(String name, String text) throws Exception {
+        return Files.writeString(scriptDir.resolve(name), text);
+    }
+}
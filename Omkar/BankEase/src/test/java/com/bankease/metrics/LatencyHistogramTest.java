@@ -0,0 +1,74 @@
+package com.bankease.metrics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test class for the lock-free latency histogram
+ */
+@DisplayName("LatencyHistogram Tests")
+public class LatencyHistogramTest {
+    
+    @Test
+    @DisplayName("Should map every value to a bucket that contains it")
+    void testBuckets() {
+        long[] values = {0, 1, 31, 32, 33, 63, 64, 1000, 123_456_789, 1L << 40, (1L << 42) - 1};
+        for (long value : values) {
+            int index = LatencyHistogram.indexOf(value);
+            assertTrue(LatencyHistogram.highestValueIn(index) >= value, "upper bound of " + value);
+            assertTrue(index == 0 || LatencyHistogram.highestValueIn(index - 1) < value, "lower bound of " + value);
+        }
+    }
+    
+    @Test
+    @DisplayName("Should report percentiles within the bucket precision")
+    void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long i = 1; i <= 10_000; i++) {
+            histogram.record(i * 1000);
+        }
+        
+        assertEquals(10_000, histogram.getCount());
+        assertEquals(10_000_000, histogram.getMax());
+        assertEquals(5_000_500, histogram.getMean(), 0.001);
+        assertEquals(5_000_000, histogram.getPercentile(50), 5_000_000 * 0.04);
+        assertEquals(9_900_000, histogram.getPercentile(99), 9_900_000 * 0.04);
+        assertEquals(10_000_000, histogram.getPercentile(100));
+        assertEquals(0, new LatencyHistogram().getPercentile(99));
+    }
+    
+    @Test
+    @DisplayName("Should count every sample recorded concurrently and merge histograms")
+    void testConcurrentRecordAndAdd() throws InterruptedException {
+        LatencyHistogram histogram = new LatencyHistogram();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 50_000; i++) {
+                    histogram.record(i);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(400_000, histogram.getCount());
+        
+        LatencyHistogram merged = new LatencyHistogram();
+        merged.record(99_999);
+        merged.add(histogram);
+        assertEquals(400_001, merged.getCount());
+        assertEquals(99_999, merged.getMax());
+        
+        merged.reset();
+        assertEquals(0, merged.getCount());
+        assertEquals(0, merged.getPercentile(50));
+    }
+}
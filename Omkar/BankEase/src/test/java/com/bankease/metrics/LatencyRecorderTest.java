@@ -0,0 +1,150 @@
+package com.bankease.metrics;
+
+import com.bankease.model.OperationLatency;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test class for per-operation latency recording and the JDBC instrumentation
+ */
+@DisplayName("LatencyRecorder Tests")
+public class LatencyRecorderTest {
+
+    @Test
+    @DisplayName("Should report operations and phases slowest first")
+    void testLatencies() {
+        LatencyRecorder recorder = new LatencyRecorder(true);
+        recorder.operation("Fast.call").record(LatencyRecorder.Phase.TOTAL, 1_000);
+        recorder.operation("Slow.call").record(LatencyRecorder.Phase.TOTAL, 5_000_000);
+        recorder.operation("Slow.call").record(LatencyRecorder.Phase.LOCK_WAIT, 2_000);
+
+        List<OperationLatency> latencies = recorder.getLatencies();
+
+        assertEquals(3, latencies.size());
+        assertEquals("Slow.call", latencies.get(0).getOperation());
+        assertEquals("TOTAL", latencies.get(0).getPhase());
+        assertEquals(1, latencies.get(0).getCount());
+        assertEquals(5_000_000, latencies.get(0).getMaxNanos());
+        assertEquals("LOCK_WAIT", latencies.get(1).getPhase());
+        assertEquals("Fast.call", latencies.get(2).getOperation());
+    }
+
+    @Test
+    @DisplayName("Should record nothing when disabled and clear everything on reset")
+    void testDisabledAndReset() {
+        LatencyRecorder disabled = new LatencyRecorder(false);
+        disabled.operation("Any.call").record(LatencyRecorder.Phase.TOTAL, 1_000);
+        assertTrue(disabled.getLatencies().isEmpty());
+
+        LatencyRecorder recorder = new LatencyRecorder(true);
+        recorder.operation("Any.call").record(LatencyRecorder.Phase.TOTAL, 1_000);
+        recorder.reset();
+        assertTrue(recorder.getLatencies().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should write one CSV row per operation and phase")
+    void testCsv(@TempDir Path directory) throws Exception {
+        LatencyRecorder recorder = new LatencyRecorder(true);
+        recorder.operation("BankingService.deposit").record(LatencyRecorder.Phase.TOTAL, 1_500);
+        recorder.operation("BankingService.deposit").record(LatencyRecorder.Phase.TOTAL, 2_500);
+
+        List<String> lines = Files.readAllLines(recorder.writeCsv(directory), StandardCharsets.UTF_8);
+
+        assertEquals(2, lines.size());
+        assertTrue(lines.get(0).startsWith("operation,phase,count,total_us"));
+        assertTrue(lines.get(1).startsWith("BankingService.deposit,TOTAL,2,4.0,2.00,"));
+    }
+
+    @Test
+    @DisplayName("Should give IN lists of any length one statement shape and one operation")
+    void testStatementShapes() {
+        assertEquals("SELECT * FROM accounts WHERE account_id IN (?...) AND is_frozen <> ?",
+                     LatencyRecorder.shapeOf("SELECT * FROM accounts WHERE account_id IN (?, ?,?) AND is_frozen <> ?"));
+        assertEquals("INSERT INTO t (a, b) VALUES (?...), (?...)",
+                     LatencyRecorder.shapeOf("INSERT INTO t (a, b) VALUES (?, ?), ( ? , ? )"));
+        String fixed = "SELECT * FROM accounts WHERE account_id IN (?) OR COALESCE(?, 0) > 0";
+        assertSame(fixed, LatencyRecorder.shapeOf(fixed));
+
+        LatencyRecorder recorder = new LatencyRecorder(true);
+        LatencyRecorder.Operation first = recorder.operationForStatement("SELECT 1 FROM t WHERE id IN (?,?)");
+        for (int size = 3; size < 5000; size++) {
+            String sql = "SELECT 1 FROM t WHERE id IN (?" + ",?".repeat(size - 1) + ")";
+            assertSame(first, recorder.operationForStatement(sql));
+        }
+        assertEquals(1, recorder.getCachedStatementCount());
+    }
+
+    @Test
+    @DisplayName("Should time connect, execute, result reading and commit of instrumented statements")
+    void testJdbcInstrumentation() throws SQLException {
+        LatencyRecorder recorder = new LatencyRecorder(true);
+        String sql = "SELECT * FROM accounts WHERE account_number = ?";
+        Connection conn = JdbcInstrumentation.wrap(fakeConnection(), 3_000, recorder, disabledSlowQueryLog());
+
+        for (int i = 0; i < 2; i++) {
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setString(1, "ACC0000000000001");
+                pstmt.executeQuery();
+            }
+        }
+        conn.commit();
+
+        LatencyRecorder.Operation operation = recorder.operationForStatement(sql);
+        assertEquals(1, operation.getHistogram(LatencyRecorder.Phase.CONNECT).getCount());
+        assertEquals(3_000, operation.getHistogram(LatencyRecorder.Phase.CONNECT).getMax());
+        assertEquals(2, operation.getHistogram(LatencyRecorder.Phase.EXECUTE).getCount());
+        assertEquals(2, operation.getHistogram(LatencyRecorder.Phase.RESULT).getCount());
+        assertEquals(1, operation.getHistogram(LatencyRecorder.Phase.COMMIT).getCount());
+        assertNull(operation.getHistogram(LatencyRecorder.Phase.TOTAL));
+    }
+
+    @Test
+    @DisplayName("Should rethrow driver exceptions unchanged")
+    void testExceptionPassThrough() {
+        Connection conn = JdbcInstrumentation.wrap(fakeConnection(), 0, new LatencyRecorder(true), disabledSlowQueryLog());
+
+        SQLException e = assertThrows(SQLException.class, conn::rollback);
+        assertEquals("rollback failed", e.getMessage());
+    }
+
+    private static SlowQueryLog disabledSlowQueryLog() {
+        return new SlowQueryLog(-1, false, Path.of("unused"), 1024, 1, 1);
+    }
+
+    private static Connection fakeConnection() {
+        return (Connection) Proxy.newProxyInstance(LatencyRecorderTest.class.getClassLoader(),
+                new Class<?>[] {Connection.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "prepareStatement":
+                            return fakeStatement();
+                        case "rollback":
+                            throw new SQLException("rollback failed");
+                        default:
+                            return null;
+                    }
+                });
+    }
+
+    private static PreparedStatement fakeStatement() {
+        return (PreparedStatement) Proxy.newProxyInstance(LatencyRecorderTest.class.getClassLoader(),
+                new Class<?>[] {PreparedStatement.class}, (proxy, method, args) ->
+                        "executeQuery".equals(method.getName())
+                                ? Proxy.newProxyInstance(LatencyRecorderTest.class.getClassLoader(),
+                                                         new Class<?>[] {ResultSet.class}, (rs, m, a) -> null)
+                                : null);
+    }
+}
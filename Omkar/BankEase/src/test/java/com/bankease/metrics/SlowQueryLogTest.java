@@ -0,0 +1,158 @@
+package com.bankease.metrics;
+
+import com.bankease.model.SlowQuery;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test class for the asynchronous slow-query log
+ */
+@DisplayName("SlowQueryLog Tests")
+public class SlowQueryLogTest {
+
+    @Test
+    @DisplayName("Should log parameter shapes and row counts of slow statements, never values")
+    void testLogsSlowStatements(@TempDir Path directory) throws Exception {
+        SlowQueryLog log = new SlowQueryLog(0, false, directory, 1024 * 1024, 2, 100);
+        Connection conn = JdbcInstrumentation.wrap(fakeConnection(3, 2), 0, new LatencyRecorder(false), log);
+
+        try (PreparedStatement pstmt = conn.prepareStatement(
+                "SELECT *\n  FROM transactions WHERE account_id IN (?, ?, ?) AND description LIKE ? AND created_at > ?")) {
+            pstmt.setInt(1, 1);
+            pstmt.setInt(2, 2);
+            pstmt.setInt(3, 3);
+            pstmt.setString(4, "%secret%");
+            pstmt.setTimestamp(5, Timestamp.valueOf(LocalDateTime.now()));
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    rs.getString(1);
+                }
+            }
+        }
+        try (PreparedStatement pstmt = conn.prepareStatement("UPDATE accounts SET balance = ? WHERE account_id = ?")) {
+            pstmt.setNull(1, Types.DECIMAL);
+            pstmt.setInt(2, 7);
+            pstmt.executeUpdate();
+        }
+        log.stop();
+
+        List<String> lines = Files.readAllLines(log.getFile(), StandardCharsets.UTF_8);
+        assertEquals(2, lines.size());
+        assertTrue(lines.get(0).contains("rows=3"));
+        assertTrue(lines.get(0).contains("params=[Int x3, String(8), Timestamp]"));
+        assertTrue(lines.get(0).contains("sql=SELECT * FROM transactions WHERE"));
+        assertFalse(lines.get(0).contains("secret"));
+        assertTrue(lines.get(1).contains("rows=2 "));
+        assertTrue(lines.get(1).contains("params=[NULL, Int]"));
+    }
+
+    @Test
+    @DisplayName("Should ignore statements under the threshold")
+    void testThreshold(@TempDir Path directory) throws Exception {
+        SlowQueryLog log = new SlowQueryLog(60_000, false, directory, 1024 * 1024, 2, 100);
+        Connection conn = JdbcInstrumentation.wrap(fakeConnection(1, 1), 0, new LatencyRecorder(false), log);
+
+        try (PreparedStatement pstmt = conn.prepareStatement("DELETE FROM sessions")) {
+            pstmt.executeUpdate();
+        }
+        log.stop();
+
+        assertFalse(Files.exists(log.getFile()));
+    }
+
+    @Test
+    @DisplayName("Should rotate the file by size and keep the configured number of copies")
+    void testRotation(@TempDir Path directory) throws Exception {
+        SlowQueryLog log = new SlowQueryLog(0, false, directory, 1024, 2, 1000);
+        for (int i = 0; i < 100; i++) {
+            log.record(new SlowQuery(LocalDateTime.now(), "TransactionDAO.findByDateRange",
+                                     "SELECT * FROM transactions WHERE created_at BETWEEN ? AND ?",
+                                     "[Timestamp x2]", i, 2_000_000_000L), null);
+        }
+        log.stop();
+
+        assertTrue(Files.exists(log.getFile()));
+        assertTrue(Files.exists(directory.resolve("slow-queries.log.1")));
+        assertTrue(Files.exists(directory.resolve("slow-queries.log.2")));
+        assertFalse(Files.exists(directory.resolve("slow-queries.log.3")));
+        assertTrue(Files.size(directory.resolve("slow-queries.log.1")) >= 1024);
+        assertEquals(0, log.getDropped());
+    }
+
+    @Test
+    @DisplayName("Should write every queued entry on stop and drop entries recorded after it")
+    void testStopDrainsQueue(@TempDir Path directory) throws Exception {
+        SlowQueryLog log = new SlowQueryLog(0, false, directory, 1024 * 1024, 1, 1000);
+        for (int i = 0; i < 500; i++) {
+            log.record(slowQuery(i), null);
+        }
+        log.stop();
+        log.record(slowQuery(500), null);
+        log.stop();
+
+        assertEquals(500, Files.readAllLines(log.getFile(), StandardCharsets.UTF_8).size());
+        assertEquals(1, log.getDropped());
+    }
+
+    @Test
+    @DisplayName("Should capture the plan of each SELECT only once")
+    void testExplainClaimedOnce() {
+        SlowQueryLog log = new SlowQueryLog(0, true, Path.of("unused"), 1024, 1, 1);
+
+        assertTrue(log.claimExplain("SELECT * FROM accounts"));
+        assertFalse(log.claimExplain("SELECT * FROM accounts"));
+        assertFalse(log.claimExplain("UPDATE accounts SET is_frozen = TRUE"));
+        assertFalse(new SlowQueryLog(0, false, Path.of("unused"), 1024, 1, 1).claimExplain("SELECT 1"));
+    }
+
+    private static SlowQuery slowQuery(int rows) {
+        return new SlowQuery(LocalDateTime.now(), "AuditDAO.findAll", "SELECT * FROM audit_log", "[]", rows,
+                             1_000_000_000L);
+    }
+
+    private static Connection fakeConnection(int rows, int updated) {
+        return (Connection) Proxy.newProxyInstance(SlowQueryLogTest.class.getClassLoader(),
+                new Class<?>[] {Connection.class}, (proxy, method, args) ->
+                        "prepareStatement".equals(method.getName()) ? fakeStatement(rows, updated) : null);
+    }
+
+    private static PreparedStatement fakeStatement(int rows, int updated) {
+        return (PreparedStatement) Proxy.newProxyInstance(SlowQueryLogTest.class.getClassLoader(),
+                new Class<?>[] {PreparedStatement.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "executeQuery":
+                            return fakeResultSet(rows);
+                        case "executeUpdate":
+                            return updated;
+                        default:
+                            return null;
+                    }
+                });
+    }
+
+    private static ResultSet fakeResultSet(int rows) {
+        int[] remaining = {rows};
+        return (ResultSet) Proxy.newProxyInstance(SlowQueryLogTest.class.getClassLoader(),
+                new Class<?>[] {ResultSet.class}, (proxy, method, args) -> {
+                    if ("next".equals(method.getName())) {
+                        return remaining[0]-- > 0;
+                    }
+                    return null;
+                });
+    }
+}
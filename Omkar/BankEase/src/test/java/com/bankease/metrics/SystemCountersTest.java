@@ -0,0 +1,73 @@
+package com.bankease.metrics;
+
+import com.bankease.model.SystemStatistics;
+import com.bankease.model.TransactionType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test class for the live system counters and their reconciliation
+ */
+@DisplayName("SystemCounters Tests")
+public class SystemCountersTest {
+    private static final int TYPES = TransactionType.values().length;
+    
+    @Test
+    @DisplayName("Should seed from the database totals and then correct drift")
+    void testReconcile() {
+        SystemCounters counters = new SystemCounters();
+        counters.userCreated();
+        
+        assertEquals(0, counters.reconcile(counters.read(), snapshot(5, 500), new long[TYPES], new long[TYPES]));
+        assertTrue(counters.isSeeded());
+        assertEquals(5, counters.getTotalUsers());
+        assertEquals(50_000, counters.getTotalBalanceCents());
+        
+        counters.balanceChanged(100);
+        assertEquals(100, counters.reconcile(counters.read(), snapshot(5, 500), new long[TYPES], new long[TYPES]));
+        assertEquals(50_000, counters.getTotalBalanceCents());
+    }
+    
+    @Test
+    @DisplayName("Should keep updates recorded while the totals were read")
+    void testMutationDuringSnapshot() {
+        SystemCounters counters = new SystemCounters();
+        counters.reconcile(counters.read(), snapshot(1, 100), new long[TYPES], new long[TYPES]);
+        
+        SystemCounters.Reading reading = counters.read();
+        SystemStatistics beforeDeposit = snapshot(1, 100);
+        counters.balanceChanged(2_500);
+        
+        assertNotEquals(reading.getEpoch(), counters.getMutationEpoch());
+        assertEquals(0, counters.reconcile(reading, beforeDeposit, new long[TYPES], new long[TYPES]));
+        assertEquals(12_500, counters.getTotalBalanceCents(), "the deposit must not be erased");
+        
+        // Totals read after the deposit committed, the counter updated after the reading: counted twice once
+        reading = counters.read();
+        counters.balanceChanged(1_000);
+        assertEquals(1_000, counters.reconcile(reading, snapshot(1, 135), new long[TYPES], new long[TYPES]));
+        assertEquals(14_500, counters.getTotalBalanceCents());
+        // ... and put right by the next round
+        assertEquals(1_000, counters.reconcile(counters.read(), snapshot(1, 135), new long[TYPES], new long[TYPES]));
+        assertEquals(13_500, counters.getTotalBalanceCents());
+    }
+    
+    @Test
+    @DisplayName("Should discard totals read before a reset")
+    void testReadingBeforeReset() {
+        SystemCounters counters = new SystemCounters();
+        SystemCounters.Reading reading = counters.read();
+        counters.reset();
+        
+        assertEquals(-1, counters.reconcile(reading, snapshot(3, 100), new long[TYPES], new long[TYPES]));
+        assertFalse(counters.isSeeded());
+        assertEquals(0, counters.reconcile(counters.read(), snapshot(3, 100), new long[TYPES], new long[TYPES]));
+        assertEquals(3, counters.getTotalUsers());
+    }
+    
+    private static SystemStatistics snapshot(long users, long balance) {
+        return new SystemStatistics(users, 0, 0, balance, System.currentTimeMillis());
+    }
+}
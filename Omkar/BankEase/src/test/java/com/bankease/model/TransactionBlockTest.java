@@ -0,0 +1,70 @@
+package com.bankease.model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test class for TransactionBlock
+ */
+@DisplayName("TransactionBlock Tests")
+public class TransactionBlockTest {
+    
+    private TransactionBlock block;
+    
+    @BeforeEach
+    void setUp() {
+        block = new TransactionBlock(2);
+        byte completed = TransactionStatus.COMPLETED.getCode();
+        block.add(1, 10, 10000, 1000, TransactionType.DEPOSIT.getCode(), completed);
+        block.add(2, 10, 2500, 2000, TransactionType.WITHDRAWAL.getCode(), completed);
+        block.add(3, 11, 5000, 3000, TransactionType.DEPOSIT.getCode(), completed);
+        block.add(4, 11, 700, 4000, TransactionType.TRANSFER_OUT.getCode(), completed);
+    }
+    
+    @Test
+    @DisplayName("Should grow beyond the initial capacity and keep row values")
+    void testAddAndRead() {
+        assertEquals(4, block.size());
+        assertEquals(3, block.getTransactionId(2));
+        assertEquals(11, block.getAccountId(3));
+        assertEquals(TransactionType.WITHDRAWAL, block.getType(1));
+        assertEquals(TransactionStatus.COMPLETED, block.getStatus(0));
+        assertThrows(IndexOutOfBoundsException.class, () -> block.getAmountCents(4));
+    }
+    
+    @Test
+    @DisplayName("Should sum and count by transaction type")
+    void testAggregatesByType() {
+        assertEquals(18200, block.sumAmountCents());
+        assertEquals(15000, block.sumAmountCents(TransactionType.DEPOSIT));
+        
+        long[] sums = block.sumAmountCentsByType();
+        int[] counts = block.countByType();
+        assertEquals(2500, sums[TransactionType.WITHDRAWAL.getCode()]);
+        assertEquals(0, sums[TransactionType.TRANSFER_IN.getCode()]);
+        assertEquals(2, counts[TransactionType.DEPOSIT.getCode()]);
+        assertEquals(1, counts[TransactionType.TRANSFER_OUT.getCode()]);
+    }
+    
+    @Test
+    @DisplayName("Should find min and max amount in a time window")
+    void testMinMaxInWindow() {
+        assertArrayEquals(new long[]{2, 2500, 5000}, block.minMaxAmountCentsInWindow(2000, 4000));
+        assertArrayEquals(new long[]{0, 0, 0}, block.minMaxAmountCentsInWindow(5000, 6000));
+    }
+    
+    @Test
+    @DisplayName("Should append another block")
+    void testAddAll() {
+        TransactionBlock other = new TransactionBlock();
+        other.add(5, 12, 300, 5000, TransactionType.TRANSFER_IN.getCode(), TransactionStatus.PENDING.getCode());
+        block.addAll(other);
+        
+        assertEquals(5, block.size());
+        assertEquals(18500, block.sumAmountCents());
+        assertEquals(TransactionStatus.PENDING, block.getStatus(4));
+    }
+}
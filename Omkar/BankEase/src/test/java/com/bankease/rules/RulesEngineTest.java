@@ -0,0 +1,138 @@
+package com.bankease.rules;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test class for the velocity rules engine
+ */
+@DisplayName("RulesEngine Tests")
+public class RulesEngineTest {
+    
+    private static final long NOW = 1_700_000_000_000L;
+    
+    @Test
+    @DisplayName("Should block once the per-minute count is exceeded and allow after the window passes")
+    void testCountRuleBlocksAndExpires() {
+        RulesEngine engine = new RulesEngine(List.of(VelocityRule.parse("ACCOUNT 1m COUNT 3 BLOCK")), 1024, 1024);
+        for (int i = 0; i < 3; i++) {
+            assertTrue(engine.evaluate(7, 1, 100, NOW + i).isAllowed());
+        }
+        
+        RuleDecision decision = engine.evaluate(7, 1, 100, NOW + 10);
+        assertTrue(decision.isBlocked());
+        assertEquals(1, engine.getBlockedCount());
+        assertEquals(1, engine.getRecentAlerts().size());
+        assertTrue(engine.evaluate(8, 1, 100, NOW + 10).isAllowed());
+        assertTrue(engine.evaluate(7, 1, 100, NOW + 2 * 60_000L).isAllowed());
+    }
+    
+    @Test
+    @DisplayName("Should give back released reservations and not keep blocked ones")
+    void testRelease() {
+        RulesEngine engine = new RulesEngine(List.of(VelocityRule.parse("ACCOUNT 1m COUNT 2 BLOCK")), 1024, 1024);
+        assertTrue(engine.evaluate(7, 1, 100, NOW).isAllowed());
+        assertTrue(engine.evaluate(7, 1, 100, NOW + 1).isAllowed());
+        assertTrue(engine.evaluate(7, 1, 100, NOW + 2).isBlocked());
+        assertTrue(engine.evaluate(7, 1, 100, NOW + 3).isBlocked(), "blocked attempts must not count");
+        
+        engine.release(7, 1, 100, NOW + 1);
+        assertTrue(engine.evaluate(7, 1, 100, NOW + 4).isAllowed());
+        assertTrue(engine.evaluate(7, 1, 100, NOW + 5).isBlocked());
+    }
+    
+    @Test
+    @DisplayName("Concurrent evaluations on one account should never pass a blocking threshold")
+    void testConcurrentEvaluations() throws Exception {
+        RulesEngine engine = new RulesEngine(List.of(VelocityRule.parse("ACCOUNT 1m COUNT 10 BLOCK")), 1024, 1024);
+        int threads = 8;
+        AtomicInteger allowed = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        List<Future<?>> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            workers.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < 50; i++) {
+                    if (engine.evaluate(7, 1, 100, NOW).isAllowed()) {
+                        allowed.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> worker : workers) {
+            worker.get();
+        }
+        pool.shutdown();
+        
+        assertTrue(allowed.get() <= 10, allowed.get() + " allowed");
+        assertEquals(threads * 50 - allowed.get(), engine.getBlockedCount());
+        // Only the allowed evaluations are left in the window
+        assertEquals(allowed.get() < 10, engine.evaluate(7, 1, 100, NOW).isAllowed());
+    }
+    
+    @Test
+    @DisplayName("Should pick the most severe rule and aggregate per user across accounts")
+    void testUserSumRule() {
+        RulesEngine engine = new RulesEngine(Arrays.asList(
+                VelocityRule.parse("USER 24h SUM 1000 FLAG"),
+                VelocityRule.parse("USER 1h SUM 1500 BLOCK")), 1024, 1024);
+        engine.record(1, 42, 60000, NOW);
+        engine.record(2, 42, 50000, NOW + 1000);
+        
+        assertTrue(engine.evaluate(3, 42, 100, NOW + 2000).isFlagged());
+        assertTrue(engine.evaluate(3, 42, 50000, NOW + 2000).isBlocked());
+        assertTrue(engine.evaluate(3, 43, 50000, NOW + 2000).isAllowed());
+    }
+    
+    @Test
+    @DisplayName("Window table should stay within its slots and evict least recently used keys")
+    void testBoundedTable() {
+        SlidingWindowTable table = new SlidingWindowTable(64);
+        for (int key = 0; key < 1000; key++) {
+            table.record(key, 100, NOW + key * 60_000L);
+        }
+        assertEquals(64, table.getSlots());
+        assertTrue(table.getEvictions() > 0);
+        
+        long[] counts = new long[VelocityWindow.values().length];
+        long[] sums = new long[counts.length];
+        long last = NOW + 999 * 60_000L;
+        table.read(999, last, counts, sums);
+        assertEquals(1, counts[VelocityWindow.ONE_DAY.ordinal()]);
+        assertEquals(100, sums[VelocityWindow.ONE_DAY.ordinal()]);
+    }
+    
+    @Test
+    @DisplayName("Rule evaluation should stay well under 50 microseconds at p99")
+    void testEvaluationLatency() {
+        RulesEngine engine = new RulesEngine(Arrays.asList(
+                VelocityRule.parse("ACCOUNT 1m COUNT 1000000 BLOCK"),
+                VelocityRule.parse("ACCOUNT 24h SUM 1000000 FLAG"),
+                VelocityRule.parse("USER 1h COUNT 1000000 FLAG")), 65536, 32768);
+        long[] samples = new long[50_000];
+        for (int round = 0; round < 2; round++) {
+            for (int i = 0; i < samples.length; i++) {
+                long started = System.nanoTime();
+                engine.evaluate(i, i / 3, 100, NOW + i);
+                samples[i] = System.nanoTime() - started;
+            }
+        }
+        Arrays.sort(samples);
+        long p99 = samples[(int) (samples.length * 0.99)];
+        assertTrue(p99 < 50_000, "p99 " + p99 + " ns");
+    }
+}
@@ -0,0 +1,99 @@
+package com.bankease.scheduler;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test class for the hashed timing wheel
+ */
+@DisplayName("HashedTimingWheel Tests")
+public class HashedTimingWheelTest {
+    
+    @Test
+    @DisplayName("Should fire tasks sharing a deadline together, in deadline order, including past-wheel deadlines")
+    void testFiresInBatches() throws InterruptedException {
+        List<List<Integer>> fired = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch latch = new CountDownLatch(3);
+        HashedTimingWheel<Integer> wheel = new HashedTimingWheel<>("test-wheel", 10, 8, batch -> {
+            fired.add(batch);
+            latch.countDown();
+        });
+        wheel.start();
+        try {
+            long now = System.currentTimeMillis();
+            // 200 ms is more than one rotation of 8 x 10 ms
+            wheel.schedule(3, now + 200);
+            for (int i = 0; i < 5; i++) {
+                wheel.schedule(2, now + 60);
+            }
+            wheel.schedule(1, now - 1000);
+            assertEquals(7, wheel.getPending());
+            
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+            assertEquals(List.of(1), fired.get(0));
+            assertEquals(List.of(2, 2, 2, 2, 2), fired.get(1));
+            assertEquals(List.of(3), fired.get(2));
+            assertEquals(0, wheel.getPending());
+        } finally {
+            wheel.stop();
+        }
+    }
+    
+    @Test
+    @DisplayName("Should not fire a task before its deadline")
+    void testNotEarly() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        long[] firedAt = new long[1];
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>("test-wheel", 20, 4, batch -> {
+            firedAt[0] = System.currentTimeMillis();
+            latch.countDown();
+        });
+        wheel.start();
+        try {
+            long deadline = System.currentTimeMillis() + 150;
+            wheel.schedule("order", deadline);
+            
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+            assertTrue(firedAt[0] >= deadline, "fired " + (deadline - firedAt[0]) + " ms early");
+            assertEquals(8, new HashedTimingWheel<String>("sized", 1, 5, batch -> { }).getWheelSize());
+        } finally {
+            wheel.stop();
+        }
+    }
+    
+    @Test
+    @DisplayName("Should discard unfired tasks on stop so a restarted wheel starts empty")
+    void testStopDiscards() throws InterruptedException {
+        List<String> fired = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch latch = new CountDownLatch(1);
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>("test-wheel", 10, 8, batch -> {
+            fired.addAll(batch);
+            latch.countDown();
+        });
+        wheel.start();
+        try {
+            wheel.schedule("placed", System.currentTimeMillis() + 300);
+            // Let the wheel move the first task into its bucket; the second stays incoming
+            Thread.sleep(50);
+            wheel.stop();
+            wheel.schedule("late", System.currentTimeMillis() + 300);
+            wheel.stop();
+            assertEquals(0, wheel.getPending());
+            
+            wheel.start();
+            wheel.schedule("fresh", System.currentTimeMillis() + 400);
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+            assertEquals(List.of("fresh"), fired);
+        } finally {
+            wheel.stop();
+        }
+    }
+}
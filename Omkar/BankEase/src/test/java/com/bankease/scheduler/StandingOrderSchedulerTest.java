@@ -0,0 +1,47 @@
+package com.bankease.scheduler;
+
+import com.bankease.dao.StandingOrderDAO;
+import com.bankease.model.StandingOrder;
+import com.bankease.model.StandingOrderFrequency;
+import com.bankease.model.User;
+import com.bankease.service.BankingService;
+import com.bankease.utils.EmbeddedDatabaseExtension;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test class for executing standing orders on the embedded database
+ */
+@DisplayName("StandingOrderScheduler Tests")
+@ExtendWith(EmbeddedDatabaseExtension.class)
+public class StandingOrderSchedulerTest {
+
+    @Test
+    @DisplayName("Should make one catch-up run for an order that missed a year of daily runs")
+    void testOneCatchUpRun() throws Exception {
+        BankingService bankingService = new BankingService();
+        StandingOrderDAO dao = new StandingOrderDAO();
+        User user = bankingService.registerUser("sleeper", "secret", "sleeper@bankease.test", "Sleeper", "");
+        String from = bankingService.createAccount(user.getUserId(), "CHECKING", 1000).getAccountNumber();
+        String to = bankingService.createAccount(user.getUserId(), "SAVINGS", 0).getAccountNumber();
+        // As left behind by downtime: the service itself refuses a first run in the past
+        dao.createOrder(new StandingOrder(user.getUserId(), from, to, 10, "Pocket money",
+                                          StandingOrderFrequency.DAILY, LocalDateTime.now().minusYears(1)));
+        StandingOrderScheduler scheduler = new StandingOrderScheduler(dao, bankingService, 1000, 8, 60, 200, 1, 3);
+
+        assertEquals(1, scheduler.execute(dao.findDueBefore(LocalDateTime.now())));
+        assertEquals(0, scheduler.execute(dao.findDueBefore(LocalDateTime.now())));
+
+        assertEquals(990.0, bankingService.getAccountBalance(from));
+        assertEquals(10.0, bankingService.getAccountBalance(to));
+        StandingOrder order = dao.findByUserId(user.getUserId()).get(0);
+        assertEquals("COMPLETED", order.getLastStatus());
+        assertTrue(order.getNextRunAt().isAfter(LocalDateTime.now()));
+        assertEquals(0, scheduler.getPending());
+    }
+}
@@ -0,0 +1,72 @@
+package com.bankease.service;
+
+import com.bankease.dao.BankAccountDAO;
+import com.bankease.events.EventBus;
+import com.bankease.events.EventType;
+import com.bankease.model.BulkUpdateResult;
+import com.bankease.model.FreezeCriteria;
+import com.bankease.model.User;
+import com.bankease.utils.EmbeddedDatabaseExtension;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test class for AdminService on the embedded database
+ */
+@DisplayName("AdminService Tests")
+@ExtendWith(EmbeddedDatabaseExtension.class)
+public class AdminServiceTest {
+
+    @Test
+    @DisplayName("Should publish the new frozen status only for accounts a bulk update changed")
+    void testBulkFreezeEvents() throws Exception {
+        BankingService bankingService = new BankingService();
+        AdminService adminService = new AdminService();
+        User user = bankingService.registerUser("bulkowner", "secret", "bulk@bankease.test", "Bulk Owner", "");
+        List<String> numbers = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            numbers.add(bankingService.createAccount(user.getUserId(), "CHECKING", 100).getAccountNumber());
+        }
+        adminService.updateAccountFrozenStatus(numbers.get(0), true);
+        
+        // [account ID, 1 if frozen], copied because the ring reuses its events
+        List<int[]> events = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch received = new CountDownLatch(7);
+        EventBus.getInstance().subscribe("bulk-test", (event, sequence, endOfBatch) -> {
+            if (event.getType() == EventType.ACCOUNT_FROZEN) {
+                events.add(new int[]{event.getAccountId(), event.isFrozen() ? 1 : 0});
+                received.countDown();
+            }
+        });
+        FreezeCriteria criteria = FreezeCriteria.forUsers(List.of(user.getUserId()));
+        
+        assertEquals(3, adminService.countAccountsForFrozenUpdate(criteria, true));
+        BulkUpdateResult frozen = adminService.bulkUpdateFrozenStatus(criteria, true, null);
+        BulkUpdateResult unfrozen = adminService.bulkUpdateFrozenStatus(criteria, false, null);
+        
+        assertEquals(3, frozen.getUpdated());
+        assertEquals(4, unfrozen.getUpdated());
+        assertTrue(received.await(10, TimeUnit.SECONDS));
+        Set<Integer> frozenIds = new HashSet<>();
+        for (int i = 0; i < 7; i++) {
+            assertEquals(i < 3 ? 1 : 0, events.get(i)[1], "event " + i);
+            if (i < 3) {
+                frozenIds.add(events.get(i)[0]);
+            }
+        }
+        assertEquals(3, frozenIds.size());
+        assertFalse(frozenIds.contains(new BankAccountDAO().findByAccountNumber(numbers.get(0)).get().getAccountId()));
+        assertEquals(0, adminService.countAccountsForFrozenUpdate(criteria, false));
+    }
+}
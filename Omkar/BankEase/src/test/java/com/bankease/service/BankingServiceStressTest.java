@@ -0,0 +1,206 @@
+package com.bankease.service;
+
+import com.bankease.exceptions.InsufficientFundsException;
+import com.bankease.model.User;
+import com.bankease.utils.DatabaseConfig;
+import com.bankease.utils.EmbeddedDatabaseExtension;
+import com.bankease.utils.MoneyUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit stress test class for BankingService: many threads run mixed deposits, withdrawals
+ * and transfers against a few hot accounts, then the balances are checked against the
+ * money that went in and out and against the transaction journal.
+ * <p>
+ * The number of operations per run can be raised with -Dstress.operations=N.
+ */
+@DisplayName("BankingService Stress Tests")
+@ExtendWith(EmbeddedDatabaseExtension.class)
+public class BankingServiceStressTest {
+    private static final int HOT_ACCOUNTS = 4;
+    private static final long OPENING_CENTS = 20_000;
+    private static final int OPERATIONS = Integer.getInteger("stress.operations", 1000);
+    private static final int[] THREAD_COUNTS = {1, 2, 4, 8, 16};
+
+    private BankingService bankingService;
+
+    @BeforeEach
+    void setUp() {
+        bankingService = new BankingService();
+    }
+
+    @Test
+    @DisplayName("Should conserve money and never overdraw under concurrent mixed operations")
+    void testConservationOfMoney() throws Exception {
+        Run run = run(16, OPERATIONS * 2);
+
+        assertTrue(run.failures.isEmpty(), () -> "Unexpected failures: " + run.failures);
+        assertTrue(run.rejected.sum() > 0, "Hot accounts should run dry now and then");
+        assertBalanced(run);
+    }
+
+    @Test
+    @DisplayName("Should stay consistent at 1, 2, 4, 8 and 16 threads and report throughput")
+    void testThroughputByThreadCount() throws Exception {
+        List<String> report = new ArrayList<>();
+        for (int threads : THREAD_COUNTS) {
+            Run run = run(threads, OPERATIONS);
+
+            assertTrue(run.failures.isEmpty(), () -> threads + " threads, unexpected failures: " + run.failures);
+            assertBalanced(run);
+            report.add(String.format("%2d threads: %6.0f ops/s (%d completed, %d rejected)",
+                                     threads, OPERATIONS / (run.elapsedNanos / 1e9),
+                                     run.completed.sum(), run.rejected.sum()));
+        }
+        report.forEach(System.out::println);
+    }
+
+    /**
+     * Open fresh hot accounts and run the operations on a pool of the given size
+     */
+    private Run run(int threads, int operations) throws Exception {
+        String name = "stress" + System.nanoTime();
+        User user = bankingService.registerUser(name, "secret", name + "@bankease.test", "Stress Test", "");
+        Run run = new Run();
+        for (int i = 0; i < HOT_ACCOUNTS; i++) {
+            run.accounts.add(bankingService.createAccount(user.getUserId(), "CHECKING",
+                                                          MoneyUtils.fromCents(OPENING_CENTS)).getAccountNumber());
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int share = operations / threads + (t < operations % threads ? 1 : 0);
+            workers.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < share; i++) {
+                    operate(run);
+                }
+                return null;
+            }));
+        }
+        long started = System.nanoTime();
+        start.countDown();
+        for (Future<?> worker : workers) {
+            worker.get();
+        }
+        run.elapsedNanos = System.nanoTime() - started;
+        pool.shutdown();
+        return run;
+    }
+
+    /**
+     * One random operation on the hot accounts; withdrawals and transfers are large enough
+     * for accounts to run dry, so the insufficient-funds path races as well
+     */
+    private void operate(Run run) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String account = run.accounts.get(random.nextInt(HOT_ACCOUNTS));
+        long cents = 100 + random.nextInt(9_900);
+        try {
+            switch (random.nextInt(3)) {
+                case 0:
+                    bankingService.deposit(account, MoneyUtils.fromCents(cents), "Stress deposit");
+                    run.depositedCents.add(cents);
+                    run.journalRows.increment();
+                    break;
+                case 1:
+                    bankingService.withdraw(account, MoneyUtils.fromCents(cents * 2), "Stress withdrawal");
+                    run.withdrawnCents.add(cents * 2);
+                    run.journalRows.increment();
+                    break;
+                default:
+                    String other = run.accounts.get((run.accounts.indexOf(account) + 1 + random.nextInt(HOT_ACCOUNTS - 1))
+                                                    % HOT_ACCOUNTS);
+                    bankingService.transfer(account, other, MoneyUtils.fromCents(cents * 2), "Stress transfer");
+                    run.journalRows.add(2);
+                    break;
+            }
+            run.completed.increment();
+        } catch (InsufficientFundsException e) {
+            run.rejected.increment();
+        } catch (Exception e) {
+            run.failures.add(e.getClass().getSimpleName() + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Check the total against the money that came in and went out, every balance against
+     * zero and against its journal, and the journal for exactly one row per posting
+     */
+    private void assertBalanced(Run run) throws Exception {
+        assertEquals(HOT_ACCOUNTS + run.journalRows.sum(), journalRows(run.accounts),
+                     "Every opening deposit and completed posting should be journaled exactly once");
+        long totalCents = 0;
+        for (String account : run.accounts) {
+            long balanceCents = MoneyUtils.toCents(bankingService.getAccountBalance(account));
+            assertTrue(balanceCents >= 0, account + " overdrawn: " + balanceCents);
+            assertEquals(journalCents(account), balanceCents, account + " balance does not match its journal");
+            totalCents += balanceCents;
+        }
+        assertEquals(HOT_ACCOUNTS * OPENING_CENTS + run.depositedCents.sum() - run.withdrawnCents.sum(), totalCents,
+                     "Money was created or lost");
+    }
+
+    private static long journalCents(String accountNumber) throws SQLException {
+        String sql = "SELECT SUM(CASE WHEN t.transaction_type IN ('DEPOSIT', 'TRANSFER_IN') THEN t.amount " +
+                     "ELSE -t.amount END) FROM transactions t JOIN accounts a ON t.account_id = a.account_id " +
+                     "WHERE a.account_number = ? AND t.status = 'COMPLETED'";
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setString(1, accountNumber);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                rs.next();
+                return MoneyUtils.toCents(rs.getBigDecimal(1));
+            }
+        }
+    }
+
+    private static long journalRows(List<String> accountNumbers) throws SQLException {
+        String sql = "SELECT COUNT(*) FROM transactions t JOIN accounts a ON t.account_id = a.account_id " +
+                     "WHERE a.account_number IN (" + String.join(",", Collections.nCopies(accountNumbers.size(), "?")) + ")";
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            for (int i = 0; i < accountNumbers.size(); i++) {
+                pstmt.setString(i + 1, accountNumbers.get(i));
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                rs.next();
+                return rs.getLong(1);
+            }
+        }
+    }
+
+    private static final class Run {
+        private final List<String> accounts = new ArrayList<>();
+        private final LongAdder depositedCents = new LongAdder();
+        private final LongAdder withdrawnCents = new LongAdder();
+        private final LongAdder completed = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+        private final LongAdder journalRows = new LongAdder();
+        private final Queue<String> failures = new ConcurrentLinkedQueue<>();
+        private long elapsedNanos;
+    }
+}
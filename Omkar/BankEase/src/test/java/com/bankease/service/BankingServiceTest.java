@@ -3,14 +3,23 @@ package com.bankease.service;
 import com.bankease.exceptions.AccountFrozenException;
 import com.bankease.exceptions.InsufficientFundsException;
 import com.bankease.exceptions.InvalidAccountException;
+import com.bankease.exceptions.TransactionBlockedException;
 import com.bankease.model.BankAccount;
+import com.bankease.model.StandingOrderFrequency;
 import com.bankease.model.Transaction;
+import com.bankease.model.TransferRequest;
+import com.bankease.model.TransferResult;
 import com.bankease.model.User;
+import com.bankease.rules.RulesEngine;
+import com.bankease.rules.VelocityRule;
+import com.bankease.utils.EmbeddedDatabaseExtension;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.extension.ExtendWith;
 
 import java.sql.SQLException;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,6 +29,7 @@ import static org.junit.jupiter.api.Assertions.*;
  * JUnit test class for BankingService
  */
 @DisplayName("BankingService Tests")
+@ExtendWith(EmbeddedDatabaseExtension.class)
 public class BankingServiceTest {
     
     private BankingService bankingService;
@@ -131,6 +141,27 @@ public class BankingServiceTest {
         assertFalse(account.isFrozen());
     }
     
+    @Test
+    @DisplayName("Should reject an unknown account type but keep the model setters lenient")
+    void testUnknownAccountType() throws SQLException {
+        // Given
+        User user = bankingService.registerUser("typeuser", "password123", "type@example.com", 
+                                              "Type User", "1234567890");
+        
+        // When/Then
+        assertThrows(IllegalArgumentException.class, 
+                    () -> bankingService.createAccount(user.getUserId(), "BROKERAGE", 100.0));
+        assertTrue(bankingService.getUserAccounts(user.getUserId()).isEmpty());
+        
+        BankAccount account = new BankAccount("ACC1", user.getUserId(), "BROKERAGE", 0);
+        assertNull(account.getAccountType());
+        account.addTransaction(new Transaction("DEPOSIT", 1, 10.0, "Deposit"));
+        account.addTransaction(new Transaction("INTEREST", 1, 1.0, "Interest"));
+        assertNull(account.getTransactions().get(1).getTransactionType());
+        assertEquals(1, account.getTransactionsByType("DEPOSIT").size());
+        assertTrue(account.getTransactionsByType("INTEREST").isEmpty());
+    }
+    
     @Test
     @DisplayName("Should deposit money successfully")
     void testDeposit() throws SQLException, InvalidAccountException, AccountFrozenException {
@@ -154,6 +185,27 @@ public class BankingServiceTest {
         assertEquals(1500.0, newBalance);
     }
     
+    @Test
+    @DisplayName("Should block operations over a BLOCK velocity rule and not count failed ones")
+    void testVelocityBlock() throws Exception {
+        // Given: at most three operations per minute, the opening deposit being the first
+        BankingService blocking = new BankingService(new RulesEngine(
+                List.of(VelocityRule.parse("ACCOUNT 1m COUNT 3 BLOCK")), 1024, 1024));
+        User user = bankingService.registerUser("velocityuser", "password123", "velocity@example.com", 
+                                              "Velocity User", "1234567890");
+        BankAccount account = blocking.createAccount(user.getUserId(), "SAVINGS", 100.0);
+        
+        // When
+        assertThrows(InsufficientFundsException.class, () -> blocking.withdraw(account.getAccountNumber(), 500.0, "Too much"));
+        blocking.deposit(account.getAccountNumber(), 10.0, "Second");
+        blocking.withdraw(account.getAccountNumber(), 20.0, "Third");
+        
+        // Then
+        assertThrows(TransactionBlockedException.class, () -> blocking.deposit(account.getAccountNumber(), 10.0, "Fourth"));
+        assertEquals(90.0, bankingService.getAccountBalance(account.getAccountNumber()));
+        assertEquals(3, bankingService.getTransactionHistory(account.getAccountNumber()).size());
+    }
+    
     @Test
     @DisplayName("Should withdraw money successfully")
     void testWithdraw() throws SQLException, InvalidAccountException, AccountFrozenException, InsufficientFundsException {
@@ -226,6 +278,53 @@ public class BankingServiceTest {
         assertEquals(800.0, toBalance);
     }
     
+    @Test
+    @DisplayName("Should apply a transfer batch and report the transfers that fail on their own")
+    void testTransferBatch() throws SQLException, InvalidAccountException {
+        // Given
+        User user = bankingService.registerUser("batchuser", "password123", "batch@example.com", 
+                                              "Batch User", "1234567890");
+        BankAccount first = bankingService.createAccount(user.getUserId(), "SAVINGS", 1000.0);
+        BankAccount second = bankingService.createAccount(user.getUserId(), "CHECKING", 100.0);
+        BankAccount frozen = bankingService.createAccount(user.getUserId(), "CHECKING", 100.0);
+        bankingService.updateAccountFrozenStatus(frozen.getAccountNumber(), true);
+        
+        // When
+        List<TransferResult> results = bankingService.transferBatch(List.of(
+                new TransferRequest(first.getAccountNumber(), second.getAccountNumber(), 250.0, "Batch 1"),
+                new TransferRequest(second.getAccountNumber(), first.getAccountNumber(), 1000.0, "Batch 2"),
+                new TransferRequest(first.getAccountNumber(), frozen.getAccountNumber(), 50.0, "Batch 3"),
+                new TransferRequest(second.getAccountNumber(), first.getAccountNumber(), 50.0, "Batch 4")));
+        
+        // Then
+        assertTrue(results.get(0).isSuccess());
+        assertFalse(results.get(1).isSuccess());
+        assertFalse(results.get(2).isSuccess());
+        assertTrue(results.get(3).isSuccess());
+        assertEquals(2, results.get(0).getTransactions().size());
+        assertEquals(800.0, bankingService.getAccountBalance(first.getAccountNumber()));
+        assertEquals(300.0, bankingService.getAccountBalance(second.getAccountNumber()));
+        assertEquals(100.0, bankingService.getAccountBalance(frozen.getAccountNumber()));
+        assertEquals(3, bankingService.getTransactionHistory(second.getAccountNumber()).size());
+    }
+    
+    @Test
+    @DisplayName("Should reject a standing order whose first run is in the past")
+    void testStandingOrderInPast() throws SQLException {
+        // Given
+        User user = bankingService.registerUser("orderuser", "password123", "order@example.com", 
+                                              "Order User", "1234567890");
+        BankAccount from = bankingService.createAccount(user.getUserId(), "SAVINGS", 1000.0);
+        BankAccount to = bankingService.createAccount(user.getUserId(), "CHECKING", 0.0);
+        
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> {
+            bankingService.createStandingOrder(user.getUserId(), from.getAccountNumber(), to.getAccountNumber(), 10.0,
+                                               "Rent", StandingOrderFrequency.DAILY, LocalDateTime.now().minusYears(1));
+        });
+        assertTrue(bankingService.getStandingOrders(user.getUserId()).isEmpty());
+    }
+    
     @Test
     @DisplayName("Should throw exception when transferring to same account")
     void testTransferToSameAccount() throws SQLException {
@@ -0,0 +1,95 @@
+package com.bankease.service;
+
+import com.bankease.dao.StatisticsDAO;
+import com.bankease.model.BankAccount;
+import com.bankease.model.SystemStatistics;
+import com.bankease.model.User;
+import com.bankease.utils.EmbeddedDatabaseExtension;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.sql.SQLException;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test class for DashboardCache on the embedded database
+ */
+@DisplayName("DashboardCache Tests")
+@ExtendWith(EmbeddedDatabaseExtension.class)
+public class DashboardCacheTest {
+
+    private DashboardCache cache;
+
+    @AfterEach
+    void tearDown() {
+        if (cache != null) {
+            cache.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should serve the cached snapshot until a new account invalidates it")
+    void testInvalidatedOnAccountCreated() throws Exception {
+        BankingService bankingService = new BankingService();
+        User user = bankingService.registerUser("dashowner", "secret", "dash@bankease.test", "Dash Owner", "");
+        BankAccount account = bankingService.createAccount(user.getUserId(), "CHECKING", 100);
+        cache = new DashboardCache(new StatisticsDAO(), 3600);
+
+        SystemStatistics first = cache.getStatistics();
+        assertEquals(1, first.getTotalUsers());
+        assertEquals(1, first.getTotalAccounts());
+        assertEquals(100.0, first.getTotalBalance(), 0.001);
+
+        // A deposit publishes no invalidating event, so the snapshot is still served
+        bankingService.deposit(account.getAccountNumber(), 50, "Deposit");
+        assertSame(first, cache.getStatistics());
+
+        bankingService.createAccount(user.getUserId(), "SAVINGS", 25);
+        SystemStatistics refreshed = awaitStatistics(stats -> stats.getTotalAccounts() == 2);
+        assertEquals(175.0, refreshed.getTotalBalance(), 0.001);
+        assertEquals(3, refreshed.getTotalTransactions());
+        assertTrue(refreshed.getComputedAtMillis() >= first.getComputedAtMillis());
+    }
+
+    @Test
+    @DisplayName("Should never serve a snapshot older than the TTL")
+    void testStalenessBound() throws Exception {
+        BankingService bankingService = new BankingService();
+        User user = bankingService.registerUser("staleowner", "secret", "stale@bankease.test", "Stale Owner", "");
+        BankAccount account = bankingService.createAccount(user.getUserId(), "CHECKING", 100);
+        cache = new DashboardCache(new StatisticsDAO(), 1);
+
+        assertEquals(100.0, cache.getStatistics().getTotalBalance(), 0.001);
+        bankingService.deposit(account.getAccountNumber(), 50, "Deposit");
+
+        SystemStatistics refreshed = awaitStatistics(stats -> stats.getTotalBalance() == 150.0);
+        assertEquals(2, refreshed.getTotalTransactions());
+
+        // Keep reading across several refresh periods; every snapshot stays within the TTL
+        long deadline = System.currentTimeMillis() + 2500;
+        while (System.currentTimeMillis() < deadline) {
+            SystemStatistics stats = cache.getStatistics();
+            assertTrue(stats.getAgeMillis() <= cache.getTtlMillis(),
+                      "snapshot is " + stats.getAgeMillis() + " ms old");
+            Thread.sleep(50);
+        }
+    }
+
+    private SystemStatistics awaitStatistics(Predicate<SystemStatistics> condition)
+            throws SQLException, InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (true) {
+            SystemStatistics stats = cache.getStatistics();
+            assertTrue(stats.getAgeMillis() <= cache.getTtlMillis());
+            if (condition.test(stats)) {
+                return stats;
+            }
+            assertTrue(System.currentTimeMillis() < deadline, "statistics never refreshed: " + stats);
+            Thread.sleep(20);
+        }
+    }
+}
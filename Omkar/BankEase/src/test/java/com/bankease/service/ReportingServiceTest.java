@@ -0,0 +1,190 @@
+package com.bankease.service;
+
+import com.bankease.dao.TransactionDAO;
+import com.bankease.model.AccountType;
+import com.bankease.model.ReportPeriod;
+import com.bankease.model.TransactionType;
+import com.bankease.model.User;
+import com.bankease.model.VolumeBucket;
+import com.bankease.model.VolumeReport;
+import com.bankease.utils.DatabaseConfig;
+import com.bankease.utils.EmbeddedDatabaseExtension;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test class for ReportingService: the fork-join report on the embedded database is
+ * compared with one aggregate query per bucket, for rows placed on day, week and month boundaries
+ */
+@DisplayName("ReportingService Tests")
+@ExtendWith(EmbeddedDatabaseExtension.class)
+public class ReportingServiceTest {
+    // Saturday 31 January to Tuesday 3 February 2026: a month boundary and a Monday inside the range
+    private static final LocalDate START = LocalDate.of(2026, 1, 31);
+    private static final LocalDate END = LocalDate.of(2026, 2, 3);
+    private static final List<LocalDateTime> TIMESTAMPS = Arrays.asList(
+            LocalDateTime.of(2026, 1, 30, 23, 59, 59),   // before the range
+            LocalDateTime.of(2026, 1, 31, 0, 0, 0),
+            LocalDateTime.of(2026, 1, 31, 12, 30, 0),
+            LocalDateTime.of(2026, 1, 31, 23, 59, 59),
+            LocalDateTime.of(2026, 2, 1, 0, 0, 0),
+            LocalDateTime.of(2026, 2, 1, 23, 59, 59),
+            LocalDateTime.of(2026, 2, 2, 0, 0, 0),
+            LocalDateTime.of(2026, 2, 2, 9, 15, 0),
+            LocalDateTime.of(2026, 2, 3, 23, 59, 59),
+            LocalDateTime.of(2026, 2, 4, 0, 0, 0));      // after the range
+
+    private final TransactionDAO transactionDAO = new TransactionDAO();
+    private ReportingService reportingService;
+    private int inRange;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        BankingService bankingService = new BankingService();
+        List<String> accounts = new ArrayList<>();
+        for (int u = 0; u < 2; u++) {
+            User user = bankingService.registerUser("reporter" + u, "secret", "reporter" + u + "@bankease.test",
+                                                    "Reporter " + u, "");
+            accounts.add(bankingService.createAccount(user.getUserId(), "SAVINGS", 1000).getAccountNumber());
+            accounts.add(bankingService.createAccount(user.getUserId(), "CHECKING", 1000).getAccountNumber());
+        }
+        Random random = new Random(42);
+        for (int i = 0; i < 24; i++) {
+            String account = accounts.get(random.nextInt(accounts.size()));
+            double amount = 1 + random.nextInt(50);
+            switch (i % 3) {
+                case 0:
+                    bankingService.deposit(account, amount, "Deposit");
+                    break;
+                case 1:
+                    bankingService.withdraw(account, amount, "Withdrawal");
+                    break;
+                default:
+                    String other = accounts.get((accounts.indexOf(account) + 1) % accounts.size());
+                    bankingService.transfer(account, other, amount, "Transfer");
+                    break;
+            }
+        }
+        inRange = spreadTimestamps();
+        reportingService = new ReportingService(transactionDAO, 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        reportingService.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should match one aggregate query per bucket for daily, weekly and monthly reports")
+    void testMatchesSingleQuery() throws Exception {
+        for (ReportPeriod period : ReportPeriod.values()) {
+            VolumeReport report = reportingService.generateVolumeReport(START, END, period);
+
+            for (Map.Entry<LocalDate, VolumeBucket> entry : report.getBuckets().entrySet()) {
+                LocalDate from = entry.getKey().isBefore(START) ? START : entry.getKey();
+                LocalDate to = nextBucket(period, entry.getKey()).isAfter(END.plusDays(1))
+                        ? END.plusDays(1) : nextBucket(period, entry.getKey());
+                assertSameVolume(aggregate(from, to), entry.getValue(), period + " " + entry.getKey());
+            }
+            assertSameVolume(aggregate(START, END.plusDays(1)), report.getTotals(), period + " totals");
+            assertEquals(inRange, report.getTotals().getTotalCount(), period + " rows in range");
+        }
+    }
+
+    @Test
+    @DisplayName("Should put rows on either side of midnight, Monday and the first of the month in their own buckets")
+    void testBucketBoundaries() throws Exception {
+        VolumeReport daily = reportingService.generateVolumeReport(START, END, ReportPeriod.DAILY);
+        assertEquals(Arrays.asList(START, START.plusDays(1), START.plusDays(2), END),
+                     new ArrayList<>(daily.getBuckets().keySet()));
+
+        VolumeReport weekly = reportingService.generateVolumeReport(START, END, ReportPeriod.WEEKLY);
+        assertEquals(Arrays.asList(LocalDate.of(2026, 1, 26), LocalDate.of(2026, 2, 2)),
+                     new ArrayList<>(weekly.getBuckets().keySet()));
+        assertSameVolume(aggregate(START, LocalDate.of(2026, 2, 2)), weekly.getBuckets().get(LocalDate.of(2026, 1, 26)),
+                         "week before Monday");
+
+        VolumeReport monthly = reportingService.generateVolumeReport(START, END, ReportPeriod.MONTHLY);
+        assertEquals(Arrays.asList(LocalDate.of(2026, 1, 1), LocalDate.of(2026, 2, 1)),
+                     new ArrayList<>(monthly.getBuckets().keySet()));
+        assertSameVolume(aggregate(START, START.plusDays(1)), monthly.getBuckets().get(LocalDate.of(2026, 1, 1)),
+                         "January");
+    }
+
+    /**
+     * Move the journal onto the boundary timestamps in turn
+     * @return number of rows that fall inside the report range
+     */
+    private static int spreadTimestamps() throws Exception {
+        List<Integer> ids = new ArrayList<>();
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement("SELECT transaction_id FROM transactions ORDER BY transaction_id");
+             ResultSet rs = pstmt.executeQuery()) {
+            while (rs.next()) {
+                ids.add(rs.getInt(1));
+            }
+        }
+        int inRange = 0;
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement("UPDATE transactions SET timestamp = ? WHERE transaction_id = ?")) {
+            for (int i = 0; i < ids.size(); i++) {
+                LocalDateTime timestamp = TIMESTAMPS.get(i % TIMESTAMPS.size());
+                pstmt.setTimestamp(1, Timestamp.valueOf(timestamp));
+                pstmt.setInt(2, ids.get(i));
+                pstmt.executeUpdate();
+                if (!timestamp.toLocalDate().isBefore(START) && !timestamp.toLocalDate().isAfter(END)) {
+                    inRange++;
+                }
+            }
+        }
+        return inRange;
+    }
+
+    private VolumeBucket aggregate(LocalDate from, LocalDate to) throws Exception {
+        VolumeBucket bucket = new VolumeBucket();
+        transactionDAO.aggregateVolume(from.atStartOfDay(), to.atStartOfDay(), bucket);
+        return bucket;
+    }
+
+    private static LocalDate nextBucket(ReportPeriod period, LocalDate bucketStart) {
+        switch (period) {
+            case WEEKLY:
+                return bucketStart.plusWeeks(1);
+            case MONTHLY:
+                return bucketStart.plusMonths(1);
+            default:
+                return bucketStart.plusDays(1);
+        }
+    }
+
+    private static void assertSameVolume(VolumeBucket expected, VolumeBucket actual, String label) {
+        assertNotNull(actual, label);
+        assertEquals(expected.getTotalCount(), actual.getTotalCount(), label + " count");
+        assertEquals(expected.getTotalVolumeCents(), actual.getTotalVolumeCents(), label + " volume");
+        for (TransactionType type : TransactionType.values()) {
+            assertEquals(expected.getCount(type), actual.getCount(type), label + " " + type + " count");
+            assertEquals(expected.getVolumeCents(type), actual.getVolumeCents(type), label + " " + type + " volume");
+        }
+        for (AccountType type : AccountType.values()) {
+            assertEquals(expected.getVolumeCents(type), actual.getVolumeCents(type), label + " " + type + " volume");
+        }
+        assertEquals(expected.getVolumeCentsByUser(), actual.getVolumeCentsByUser(), label + " by user");
+    }
+}
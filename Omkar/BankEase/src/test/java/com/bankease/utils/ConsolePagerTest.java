@@ -0,0 +1,90 @@
+package com.bankease.utils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test class for the keyset-paged console listing
+ */
+@DisplayName("ConsolePager Tests")
+public class ConsolePagerTest {
+
+    @Test
+    @DisplayName("Should fetch one page at a time after the last ID shown and go back to earlier pages")
+    void testNextAndPrevious() throws Exception {
+        List<Integer> cursors = new ArrayList<>();
+        StringWriter output = new StringWriter();
+        ConsolePager<Integer> pager = pager(ids(1, 25), false, cursors, output, "n", "n", "p", "q");
+
+        pager.show("Numbers", "ID", (out, id) -> out.println("row " + id), "None.");
+
+        assertEquals(Arrays.asList(0, 10, 20, 10), cursors);
+        String text = output.toString();
+        assertTrue(text.contains("IDs 1-10  [n]ext [j]ump <id> [q]uit"));
+        assertTrue(text.contains("IDs 21-25  [p]rev [j]ump <id> [q]uit"));
+        assertTrue(text.contains("IDs 11-20  [n]ext [p]rev"));
+    }
+
+    @Test
+    @DisplayName("Should jump to an ID in a descending listing, including that ID")
+    void testJumpDescending() throws Exception {
+        List<Integer> cursors = new ArrayList<>();
+        StringWriter output = new StringWriter();
+        ConsolePager<Integer> pager = pager(ids(1, 100), true, cursors, output, "j 42", "jump", "x", "q");
+
+        pager.show("Numbers", "ID", (out, id) -> out.println("row " + id), "None.");
+
+        assertEquals(Arrays.asList(Integer.MAX_VALUE, 43), cursors);
+        assertTrue(output.toString().contains("IDs 42-33"));
+        assertTrue(output.toString().contains("Please enter a valid ID."));
+    }
+
+    @Test
+    @DisplayName("Should print a single page without prompting and report empty listings")
+    void testSinglePageAndEmpty() throws Exception {
+        StringWriter output = new StringWriter();
+        pager(ids(1, 3), false, new ArrayList<>(), output).show("Numbers", "ID",
+                (out, id) -> out.println("row " + id), "None.");
+        assertTrue(output.toString().contains("row 3"));
+
+        StringWriter empty = new StringWriter();
+        pager(ids(1, 0), false, new ArrayList<>(), empty).show("Numbers", "ID",
+                (out, id) -> out.println("row " + id), "None.");
+        assertEquals("None.", empty.toString().trim());
+    }
+
+    private static List<Integer> ids(int from, int to) {
+        return IntStream.rangeClosed(from, to).boxed().collect(Collectors.toList());
+    }
+
+    /**
+     * Pager over an in-memory table that records each cursor it is asked for and fails on unexpected prompts
+     */
+    private static ConsolePager<Integer> pager(List<Integer> table, boolean descending, List<Integer> cursors,
+                                               StringWriter output, String... commands) {
+        Deque<String> input = new ArrayDeque<>(Arrays.asList(commands));
+        return new ConsolePager<>((cursor, limit) -> {
+            cursors.add(cursor);
+            return table.stream()
+                    .sorted(descending ? (a, b) -> b - a : Integer::compare)
+                    .filter(id -> descending ? id < cursor : id > cursor)
+                    .limit(limit)
+                    .collect(Collectors.toList());
+        }, id -> id, descending, 10, prompt -> {
+            assertFalse(input.isEmpty(), "unexpected prompt: " + prompt);
+            return input.pop();
+        }, new PrintWriter(output));
+    }
+}
@@ -0,0 +1,69 @@
+package com.bankease.utils;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test class for the embedded database support in DatabaseConfig
+ */
+@DisplayName("DatabaseConfig Tests")
+public class DatabaseConfigTest {
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        DatabaseConfig.dropEmbeddedDatabase();
+    }
+
+    @Test
+    @DisplayName("Should create the schema in a new embedded database")
+    void testSchemaBootstrap() throws SQLException {
+        DatabaseConfig.useEmbeddedDatabase("config-schema");
+
+        assertTrue(DatabaseConfig.isEmbedded());
+        assertEquals(1, count("SELECT COUNT(*) FROM admins"));
+        assertEquals(0, count("SELECT COUNT(*) FROM transactions"));
+    }
+
+    @Test
+    @DisplayName("Should keep differently named databases apart and drop them on request")
+    void testIsolation() throws SQLException {
+        DatabaseConfig.useEmbeddedDatabase("config-first");
+        execute("INSERT INTO users (username, password, email, full_name) VALUES ('a', 'p', 'a@x.test', 'A')");
+        assertEquals(1, count("SELECT COUNT(*) FROM users"));
+
+        DatabaseConfig.useEmbeddedDatabase("config-second");
+        assertEquals(0, count("SELECT COUNT(*) FROM users"));
+        DatabaseConfig.dropEmbeddedDatabase();
+
+        DatabaseConfig.useEmbeddedDatabase("config-first");
+        assertEquals(1, count("SELECT COUNT(*) FROM users"));
+        DatabaseConfig.dropEmbeddedDatabase();
+
+        DatabaseConfig.useEmbeddedDatabase("config-first");
+        assertEquals(0, count("SELECT COUNT(*) FROM users"));
+    }
+
+    private static int count(String sql) throws SQLException {
+        try (Connection conn = DatabaseConfig.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+
+    private static void execute(String sql) throws SQLException {
+        try (Connection conn = DatabaseConfig.getConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.execute(sql);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.bankease.utils;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test class for the H2 translations of the schema triggers
+ */
+@DisplayName("EmbeddedTriggers Tests")
+@ExtendWith(EmbeddedDatabaseExtension.class)
+public class EmbeddedTriggersTest {
+    
+    @BeforeEach
+    void setUp() throws SQLException {
+        execute("INSERT INTO users (username, password, email, full_name) VALUES ('t', 'p', 't@x.test', 'T')");
+        execute("INSERT INTO accounts (account_number, user_id, account_type, balance) VALUES ('ACC1', 1, 'SAVINGS', 100.00)");
+    }
+    
+    @Test
+    @DisplayName("Should journal balance changes made outside the application")
+    void testBalanceTrigger() throws SQLException {
+        execute("UPDATE accounts SET balance = balance + 25.50 WHERE account_id = 1");
+        execute("UPDATE accounts SET balance = balance - 5.50 WHERE account_id = 1");
+        execute("UPDATE accounts SET is_frozen = FALSE WHERE account_id = 1");
+        
+        try (Connection conn = DatabaseConfig.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT transaction_type, amount, description, status FROM transactions " +
+                                              "ORDER BY transaction_id")) {
+            assertTrue(rs.next());
+            assertEquals("DEPOSIT", rs.getString(1));
+            assertEquals(0, rs.getBigDecimal(2).compareTo(new BigDecimal("25.50")));
+            assertEquals("Balance update: 100.00 -> 125.50", rs.getString(3));
+            assertEquals("COMPLETED", rs.getString(4));
+            assertTrue(rs.next());
+            assertEquals("WITHDRAWAL", rs.getString(1));
+            assertFalse(rs.next(), "updates that leave the balance alone are not journaled");
+        }
+    }
+    
+    @Test
+    @DisplayName("Should leave balance changes of sessions that journal them to the application")
+    void testApplicationJournaledSession() throws SQLException {
+        try (Connection conn = DatabaseConfig.getConnection();
+             Statement stmt = conn.createStatement()) {
+            DatabaseConfig.markApplicationJournaled(conn);
+            stmt.execute("UPDATE accounts SET balance = balance + 10 WHERE account_id = 1");
+        }
+        assertEquals(0, count("SELECT COUNT(*) FROM transactions"));
+        
+        execute("UPDATE accounts SET balance = balance + 10 WHERE account_id = 1");
+        assertEquals(1, count("SELECT COUNT(*) FROM transactions"), "other sessions are still journaled");
+    }
+    
+    @Test
+    @DisplayName("Should reject journal rows and balance changes for frozen or inactive accounts")
+    void testTransactionInsertTrigger() throws SQLException {
+        execute("UPDATE accounts SET is_frozen = TRUE WHERE account_id = 1");
+        SQLException frozen = assertThrows(SQLException.class, () -> execute(
+                "INSERT INTO transactions (transaction_type, account_id, amount, status) VALUES ('DEPOSIT', 1, 1, 'COMPLETED')"));
+        assertTrue(frozen.getMessage().contains("Account is frozen"), frozen.getMessage());
+        assertThrows(SQLException.class, () -> execute("UPDATE accounts SET balance = 0 WHERE account_id = 1"),
+                     "the balance trigger's journal row is rejected too");
+        assertEquals(100, count("SELECT balance FROM accounts WHERE account_id = 1"));
+        
+        execute("UPDATE accounts SET is_frozen = FALSE, is_active = FALSE WHERE account_id = 1");
+        SQLException inactive = assertThrows(SQLException.class, () -> execute(
+                "INSERT INTO transactions (transaction_type, account_id, amount, status) VALUES ('DEPOSIT', 1, 1, 'COMPLETED')"));
+        assertTrue(inactive.getMessage().contains("Account is inactive"), inactive.getMessage());
+        assertEquals(0, count("SELECT COUNT(*) FROM transactions"));
+    }
+    
+    private static int count(String sql) throws SQLException {
+        try (Connection conn = DatabaseConfig.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+    
+    private static void execute(String sql) throws SQLException {
+        try (Connection conn = DatabaseConfig.getConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.execute(sql);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.bankease.utils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test class for adapting the MySQL schema script to an embedded database
+ */
+@DisplayName("SchemaLoader Tests")
+public class SchemaLoaderTest {
+    
+    @Test
+    @DisplayName("Should skip database selection and procedures and drop inline index names")
+    void testStatements() {
+        List<String> statements = SchemaLoader.statements(List.of(
+                "-- header",
+                "CREATE DATABASE IF NOT EXISTS bankease;",
+                "USE bankease;",
+                "CREATE TABLE users (",
+                "    user_id INT PRIMARY KEY,",
+                "    INDEX idx_username (username)",
+                ");",
+                "DELIMITER //",
+                "CREATE PROCEDURE P() BEGIN SELECT 1; END //",
+                "DELIMITER ;",
+                "CREATE INDEX idx_users_date ON users(registration_date);"));
+        
+        assertEquals(2, statements.size());
+        assertTrue(statements.get(0).startsWith("CREATE TABLE users"));
+        assertTrue(statements.get(0).contains("INDEX (username)"));
+        assertFalse(statements.get(0).endsWith(";"));
+        assertEquals("CREATE INDEX idx_users_date ON users(registration_date)", statements.get(1));
+    }
+    
+    @Test
+    @DisplayName("Should translate triggers to their Java classes and refuse unknown ones")
+    void testTriggers() {
+        List<String> statements = SchemaLoader.statements(List.of(
+                "DELIMITER //",
+                "CREATE TRIGGER before_transaction_insert",
+                "BEFORE INSERT ON transactions",
+                "FOR EACH ROW",
+                "BEGIN",
+                "    SIGNAL SQLSTATE '45000';",
+                "END //",
+                "DELIMITER ;"));
+        
+        assertEquals(List.of("CREATE TRIGGER before_transaction_insert BEFORE INSERT ON transactions FOR EACH ROW " +
+                             "CALL '" + EmbeddedTriggers.BeforeTransactionInsert.class.getName() + "'"), statements);
+        assertThrows(IllegalArgumentException.class, () -> SchemaLoader.statements(List.of(
+                "DELIMITER //",
+                "CREATE TRIGGER audit_users AFTER INSERT ON users FOR EACH ROW BEGIN END //",
+                "DELIMITER ;")));
+    }
+    
+    @Test
+    @DisplayName("Should keep every table and trigger of the real schema and none of its procedures")
+    void testRealSchema() throws Exception {
+        List<String> statements = SchemaLoader.statements(
+                Files.readAllLines(Paths.get("database", "schema.sql"), StandardCharsets.UTF_8));
+        
+        assertTrue(statements.stream().anyMatch(sql -> sql.contains("CREATE TABLE IF NOT EXISTS transactions")));
+        assertTrue(statements.stream().anyMatch(sql -> sql.contains("CREATE TABLE IF NOT EXISTS standing_orders")));
+        assertEquals(2, statements.stream().filter(sql -> sql.startsWith("CREATE TRIGGER")).count());
+        assertTrue(statements.stream().noneMatch(sql -> sql.contains("PROCEDURE")));
+        assertTrue(statements.stream().noneMatch(sql -> sql.startsWith("USE ")));
+    }
+}